@@ -0,0 +1,97 @@
+package gerenciadordetarefas;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks das operações do {@link GerenciadorTarefas} em quadros de 1K, 100K e 1M tarefas.
+ * As tarefas começam distribuídas igualmente entre os três status; cada operação é medida
+ * com o armazém padrão e com o colunar.
+ * Para ver a taxa de alocação: java -jar target/benchmarks.jar GerenciadorTarefasBenchmark -prof gc
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GerenciadorTarefasBenchmark {
+
+    private static final Status[] STATUS = Status.values();
+
+    @Param({"1000", "100000", "1000000"})
+    public int tamanho;
+
+    @Param({"OBJETOS", "COLUNAR"})
+    public String armazem;
+
+    private GerenciadorTarefas gerenciador;
+    private Tarefa[] tarefas;
+    private SplittableRandom random;
+
+    // Recriado a cada iteração para que adicionar/remover não mude o tamanho indefinidamente
+    @Setup(Level.Iteration)
+    public void preparar() {
+        gerenciador = new GerenciadorTarefas("COLUNAR".equals(armazem) ? new ArmazemColunar() : new ArmazemObjetos());
+        tarefas = new Tarefa[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            tarefas[i] = gerenciador.adicionarTarefa("Tarefa de benchmark número " + i);
+            Status destino = STATUS[i % STATUS.length];
+            if (destino != Status.AFAZER) {
+                gerenciador.moverTarefa(tarefas[i], destino);
+            }
+        }
+        random = new SplittableRandom(42);
+    }
+
+    @Benchmark
+    public Tarefa adicionarTarefa() {
+        return gerenciador.adicionarTarefa("Nova tarefa");
+    }
+
+    @Benchmark
+    public boolean moverTarefa() {
+        Tarefa tarefa = tarefas[random.nextInt(tamanho)];
+        Status destino = STATUS[(tarefa.getStatus().ordinal() + 1) % STATUS.length];
+        return gerenciador.moverTarefa(tarefa, destino);
+    }
+
+    /**
+     * Remove uma tarefa aleatória e adiciona outra no lugar, mantendo o tamanho do quadro.
+     * O custo da remoção é este resultado menos o de {@link #adicionarTarefa()}.
+     */
+    @Benchmark
+    public boolean removerEAdicionarTarefa() {
+        int indice = random.nextInt(tamanho);
+        boolean removida = gerenciador.removerTarefa(tarefas[indice]);
+        tarefas[indice] = gerenciador.adicionarTarefa("Tarefa reposta");
+        return removida;
+    }
+
+    @Benchmark
+    public Tarefa getTarefaPorIndice() {
+        Status status = STATUS[random.nextInt(STATUS.length)];
+        int tamanhoLista = gerenciador.getTarefasPorStatus(status).size();
+        return gerenciador.getTarefaPorIndice(status, 1 + random.nextInt(tamanhoLista)).orElse(null);
+    }
+
+    @Benchmark
+    public Map<Status, List<Tarefa>> getTodasTarefas() {
+        return gerenciador.getTodasTarefas();
+    }
+}
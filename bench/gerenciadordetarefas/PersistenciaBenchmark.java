@@ -0,0 +1,131 @@
+package gerenciadordetarefas;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks de salvar e carregar nos formatos de persistência, em 1K, 100K e 1M tarefas.
+ * Cada operação processa o arquivo inteiro; tarefas/s = tamanho / tempo médio. Em
+ * salvarAposMover, cada operação move uma tarefa e salva de novo, o caso em que o formato
+ * fragmentado só reescreve os fragmentos alterados.
+ * Para ver a taxa de alocação: java -jar target/benchmarks.jar PersistenciaBenchmark -prof gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersistenciaBenchmark {
+
+    private static final Status[] STATUS = Status.values();
+
+    @Param({"1000", "100000", "1000000"})
+    public int tamanho;
+
+    @Param({"CSV", "CSV_MAPEADO", "JSON", "BINARIO", "FRAGMENTADO", "COMPRIMIDO"})
+    public String formato;
+
+    private PersistenciaTarefas persistencia;
+    private GerenciadorTarefas gerenciador;
+    private Map<Status, List<Tarefa>> tarefas;
+    private int movimentos;
+    private Path arquivoLeitura;
+    private Path arquivoEscrita;
+
+    @Setup(Level.Trial)
+    public void preparar() throws IOException {
+        switch (formato) {
+            case "CSV":
+                persistencia = new PersistenciaCSV();
+                break;
+            case "CSV_MAPEADO":
+                persistencia = new PersistenciaCSV(true);
+                break;
+            case "JSON":
+                persistencia = new PersistenciaJSON();
+                break;
+            case "BINARIO":
+                persistencia = new PersistenciaBinaria();
+                break;
+            case "FRAGMENTADO":
+                persistencia = new PersistenciaFragmentada();
+                break;
+            case "COMPRIMIDO":
+                persistencia = new PersistenciaComprimida();
+                break;
+            default:
+                throw new IllegalArgumentException("Formato desconhecido: " + formato);
+        }
+
+        gerenciador = new GerenciadorTarefas();
+        for (int i = 0; i < tamanho; i++) {
+            Tarefa tarefa = gerenciador.adicionarTarefa("Tarefa de benchmark número " + i);
+            Status destino = STATUS[i % STATUS.length];
+            if (destino != Status.AFAZER) {
+                gerenciador.moverTarefa(tarefa, destino);
+            }
+        }
+        tarefas = gerenciador.getTodasTarefas();
+
+        arquivoLeitura = Files.createTempFile("bench-leitura", "." + formato.toLowerCase());
+        arquivoEscrita = Files.createTempFile("bench-escrita", "." + formato.toLowerCase());
+        persistencia.salvar(tarefas, arquivoLeitura.toString());
+        persistencia.salvar(tarefas, arquivoEscrita.toString());
+    }
+
+    @TearDown(Level.Trial)
+    public void limpar() throws IOException {
+        Files.deleteIfExists(arquivoLeitura);
+        Files.deleteIfExists(arquivoEscrita);
+        for (Path arquivo : List.of(arquivoLeitura, arquivoEscrita)) {
+            Path fragmentos = Path.of(arquivo + PersistenciaFragmentada.EXTENSAO_DIRETORIO);
+            if (Files.isDirectory(fragmentos)) {
+                try (Stream<Path> conteudo = Files.list(fragmentos)) {
+                    for (Path fragmento : (Iterable<Path>) conteudo::iterator) {
+                        Files.delete(fragmento);
+                    }
+                }
+                Files.delete(fragmentos);
+            }
+        }
+    }
+
+    @Benchmark
+    public void salvar() {
+        persistencia.salvar(tarefas, arquivoEscrita.toString());
+    }
+
+    @Benchmark
+    public void salvarAposMover() {
+        // Roda entre os status para que nenhuma lista se esvazie
+        Status origem = STATUS[movimentos++ % STATUS.length];
+        Status destino = STATUS[movimentos % STATUS.length];
+        gerenciador.moverTarefa(gerenciador.getTarefasPorStatus(origem).get(0), destino);
+        persistencia.salvar(gerenciador.getTodasTarefas(), arquivoEscrita.toString());
+    }
+
+    @Benchmark
+    public Map<Status, List<Tarefa>> carregar() {
+        return persistencia.carregar(arquivoLeitura.toString());
+    }
+}
@@ -0,0 +1,437 @@
+package gerenciadordetarefas;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.UUID;
+
+/**
+ * Armazém em colunas: em vez de um objeto Tarefa (com UUID, dois Date e String) por tarefa,
+ * cada campo fica num array de tipo primitivo indexado pela linha da tarefa — ID em dois
+ * long[], datas em long[] de millis, status em byte[] e as descrições em UTF-8, uma após a
+ * outra, num único byte[]. O índice por ID é uma tabela hash aberta de int[] que guarda só
+ * a linha (a chave é lida das colunas de ID).
+ *
+ * Tarefas são entregues como visões ({@link TarefaColunar}) criadas sob demanda: leem as
+ * colunas a cada chamada e, portanto, sempre refletem o estado atual. Uma tarefa nunca muda
+ * de linha; linhas de tarefas removidas são reaproveitadas. Com 1 milhão de tarefas de
+ * descrições de 34 bytes, o heap usado depois de um GC (JDK 17, SerialGC) fica em cerca de
+ * 112 bytes por tarefa, contra cerca de 237 no {@link ArmazemObjetos}, ambos incluindo o
+ * texto. Não é thread-safe.
+ */
+public class ArmazemColunar implements ArmazemTarefas {
+
+    private static final int CAPACIDADE_INICIAL = 16;
+    private static final byte LIVRE = -1; // Status de uma linha sem tarefa
+    private static final Status[] STATUS = Status.values();
+    // Abaixo disso não vale a pena compactar as descrições
+    private static final int LIXO_MINIMO_COMPACTACAO = 1 << 20;
+
+    // Colunas, indexadas pela linha
+    private long[] idMaisSignificativo = new long[CAPACIDADE_INICIAL];
+    private long[] idMenosSignificativo = new long[CAPACIDADE_INICIAL];
+    private long[] dataCriacao = new long[CAPACIDADE_INICIAL];
+    private long[] dataConclusao = new long[CAPACIDADE_INICIAL];
+    private byte[] status = new byte[CAPACIDADE_INICIAL];
+    private int[] posicao = new int[CAPACIDADE_INICIAL];   // Slot da linha na lista do seu status
+    private int[] inicioDescricao = new int[CAPACIDADE_INICIAL];
+    private int[] tamanhoDescricao = new int[CAPACIDADE_INICIAL];
+    private int linhasUsadas;
+
+    // Linhas liberadas por remoções, reaproveitadas antes de crescer as colunas
+    private int[] livres = new int[CAPACIDADE_INICIAL];
+    private int quantidadeLivres;
+
+    // Descrições em UTF-8; edições e remoções deixam lixo, eliminado na compactação
+    private byte[] descricoes = new byte[CAPACIDADE_INICIAL * 32];
+    private int descricoesUsadas;
+    private int descricoesLixo;
+
+    // Tabela hash aberta (sondagem linear) de ID para linha + 1; 0 = vazio
+    private int[] tabela = new int[CAPACIDADE_INICIAL * 2];
+    private int quantidade;
+
+    private final Map<Status, Linhas> linhasPorStatus = new EnumMap<>(Status.class);
+    private final Map<Status, List<Tarefa>> visoes = new EnumMap<>(Status.class);
+
+    public ArmazemColunar() {
+        for (Status s : STATUS) {
+            Linhas linhas = new Linhas();
+            linhasPorStatus.put(s, linhas);
+            visoes.put(s, new Visao(linhas));
+        }
+    }
+
+    @Override
+    public Tarefa adicionar(Tarefa tarefa) {
+        UUID id = tarefa.getId();
+        int linha = novaLinha();
+        idMaisSignificativo[linha] = id.getMostSignificantBits();
+        idMenosSignificativo[linha] = id.getLeastSignificantBits();
+        dataCriacao[linha] = tarefa.getDataCriacaoMillis();
+        dataConclusao[linha] = tarefa.getDataConclusaoMillis();
+        status[linha] = (byte) tarefa.getStatus().ordinal();
+        tamanhoDescricao[linha] = 0; // Uma linha reaproveitada ainda guarda o tamanho da descrição removida
+        gravarDescricao(linha, tarefa.getDescricao());
+        inserirNaTabela(linha);
+        linhasPorStatus.get(tarefa.getStatus()).adicionar(linha);
+        return visao(linha);
+    }
+
+    @Override
+    public Tarefa buscar(UUID id) {
+        int linha = localizar(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        return linha < 0 ? null : visao(linha);
+    }
+
+    @Override
+    public Tarefa remover(UUID id) {
+        return remover(id, true);
+    }
+
+    @Override
+    public List<Tarefa> removerTodas(Collection<UUID> ids) {
+        List<Tarefa> removidas = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            Tarefa removida = remover(id, false);
+            if (removida != null) {
+                removidas.add(removida);
+            }
+        }
+        compactar();
+        return removidas;
+    }
+
+    private Tarefa remover(UUID id, boolean compactar) {
+        int linha = localizar(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (linha < 0) {
+            return null;
+        }
+        // Quem recebe a tarefa removida (ouvintes) ainda precisa dos dados dela
+        Tarefa removida = new Tarefa(id, lerDescricao(linha), paraDate(dataCriacao[linha]),
+                paraDate(dataConclusao[linha]), STATUS[status[linha]]);
+        linhasPorStatus.get(STATUS[status[linha]]).remover(linha, compactar);
+        removerDaTabela(linha);
+        descricoesLixo += tamanhoDescricao[linha];
+        status[linha] = LIVRE;
+        if (quantidadeLivres == livres.length) {
+            livres = Arrays.copyOf(livres, livres.length * 2);
+        }
+        livres[quantidadeLivres++] = linha;
+        return removida;
+    }
+
+    @Override
+    public Tarefa mover(UUID id, Status destino, long dataConclusaoMillis) {
+        int linha = localizar(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (linha < 0) {
+            return null;
+        }
+        linhasPorStatus.get(STATUS[status[linha]]).remover(linha, true);
+        status[linha] = (byte) destino.ordinal();
+        dataConclusao[linha] = dataConclusaoMillis;
+        linhasPorStatus.get(destino).adicionar(linha);
+        return visao(linha);
+    }
+
+    @Override
+    public List<Tarefa> moverTodas(Collection<UUID> ids, Status destino, long dataConclusaoMillis) {
+        List<Tarefa> movidas = new ArrayList<>(ids.size());
+        Linhas linhasDestino = linhasPorStatus.get(destino);
+        for (UUID id : ids) {
+            int linha = localizar(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            if (linha < 0) {
+                continue;
+            }
+            linhasPorStatus.get(STATUS[status[linha]]).remover(linha, false);
+            status[linha] = (byte) destino.ordinal();
+            dataConclusao[linha] = dataConclusaoMillis;
+            linhasDestino.adicionar(linha);
+            movidas.add(visao(linha));
+        }
+        compactar();
+        return movidas;
+    }
+
+    private void compactar() {
+        for (Linhas linhas : linhasPorStatus.values()) {
+            linhas.compactar();
+        }
+    }
+
+    @Override
+    public Tarefa editarDescricao(UUID id, String descricao) {
+        int linha = localizar(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (linha < 0) {
+            return null;
+        }
+        editar(linha, descricao);
+        return visao(linha);
+    }
+
+    @Override
+    public List<Tarefa> listar(Status status) {
+        return visoes.get(status);
+    }
+
+    @Override
+    public boolean gerencia(Tarefa tarefa) {
+        return tarefa instanceof TarefaColunar && ((TarefaColunar) tarefa).pertenceA(this);
+    }
+
+    // --- Acesso usado pelas visões ---
+
+    /**
+     * Indica se a linha ainda guarda a tarefa com este ID (false se ela foi removida).
+     */
+    boolean contem(int linha, long maisSignificativo, long menosSignificativo) {
+        return status[linha] != LIVRE
+                && idMaisSignificativo[linha] == maisSignificativo
+                && idMenosSignificativo[linha] == menosSignificativo;
+    }
+
+    String lerDescricao(int linha) {
+        return new String(descricoes, inicioDescricao[linha], tamanhoDescricao[linha], StandardCharsets.UTF_8);
+    }
+
+    int lerTamanhoDescricao(int linha) {
+        return tamanhoDescricao[linha];
+    }
+
+    void copiarDescricao(int linha, byte[] destino) {
+        System.arraycopy(descricoes, inicioDescricao[linha], destino, 0, tamanhoDescricao[linha]);
+    }
+
+    long lerDataCriacao(int linha) {
+        return dataCriacao[linha];
+    }
+
+    long lerDataConclusao(int linha) {
+        return dataConclusao[linha];
+    }
+
+    Status lerStatus(int linha) {
+        return STATUS[status[linha]];
+    }
+
+    void editar(int linha, String descricao) {
+        descricoesLixo += tamanhoDescricao[linha];
+        tamanhoDescricao[linha] = 0; // Para uma compactação no meio da gravação não copiar o texto antigo
+        gravarDescricao(linha, descricao);
+    }
+
+    private TarefaColunar visao(int linha) {
+        return new TarefaColunar(this, linha, idMaisSignificativo[linha], idMenosSignificativo[linha]);
+    }
+
+    private static Date paraDate(long millis) {
+        return millis == Tarefa.SEM_DATA ? null : new Date(millis);
+    }
+
+    // --- Linhas e descrições ---
+
+    private int novaLinha() {
+        if (quantidadeLivres > 0) {
+            return livres[--quantidadeLivres];
+        }
+        if (linhasUsadas == status.length) {
+            int capacidade = linhasUsadas * 2;
+            idMaisSignificativo = Arrays.copyOf(idMaisSignificativo, capacidade);
+            idMenosSignificativo = Arrays.copyOf(idMenosSignificativo, capacidade);
+            dataCriacao = Arrays.copyOf(dataCriacao, capacidade);
+            dataConclusao = Arrays.copyOf(dataConclusao, capacidade);
+            status = Arrays.copyOf(status, capacidade);
+            posicao = Arrays.copyOf(posicao, capacidade);
+            inicioDescricao = Arrays.copyOf(inicioDescricao, capacidade);
+            tamanhoDescricao = Arrays.copyOf(tamanhoDescricao, capacidade);
+        }
+        return linhasUsadas++;
+    }
+
+    private void gravarDescricao(int linha, String descricao) {
+        byte[] bytes = descricao.getBytes(StandardCharsets.UTF_8);
+        if (descricoesLixo > LIXO_MINIMO_COMPACTACAO && descricoesLixo > descricoesUsadas / 2) {
+            compactarDescricoes();
+        }
+        if (descricoesUsadas + bytes.length > descricoes.length) {
+            // Cresce 50% por vez: o texto é a maior parte do armazém e dobrar deixaria até metade vazia
+            long capacidade = Math.max((long) descricoes.length * 3 / 2, (long) descricoesUsadas + bytes.length);
+            if (capacidade > Integer.MAX_VALUE - 8) {
+                throw new IllegalStateException("As descrições ultrapassaram o limite de 2 GB do armazém colunar.");
+            }
+            descricoes = Arrays.copyOf(descricoes, (int) capacidade);
+        }
+        System.arraycopy(bytes, 0, descricoes, descricoesUsadas, bytes.length);
+        inicioDescricao[linha] = descricoesUsadas;
+        tamanhoDescricao[linha] = bytes.length;
+        descricoesUsadas += bytes.length;
+    }
+
+    private void compactarDescricoes() {
+        byte[] novas = new byte[Math.max(CAPACIDADE_INICIAL * 32, (descricoesUsadas - descricoesLixo) * 2)];
+        int usadas = 0;
+        for (int linha = 0; linha < linhasUsadas; linha++) {
+            if (status[linha] != LIVRE) {
+                System.arraycopy(descricoes, inicioDescricao[linha], novas, usadas, tamanhoDescricao[linha]);
+                inicioDescricao[linha] = usadas;
+                usadas += tamanhoDescricao[linha];
+            }
+        }
+        descricoes = novas;
+        descricoesUsadas = usadas;
+        descricoesLixo = 0;
+    }
+
+    // --- Tabela hash de ID para linha ---
+
+    private static int espalhar(long maisSignificativo, long menosSignificativo) {
+        long h = maisSignificativo * 0x9E3779B97F4A7C15L ^ menosSignificativo;
+        h ^= h >>> 32;
+        return (int) (h ^ (h >>> 16));
+    }
+
+    private int localizar(long maisSignificativo, long menosSignificativo) {
+        int mascara = tabela.length - 1;
+        for (int i = espalhar(maisSignificativo, menosSignificativo) & mascara; tabela[i] != 0; i = (i + 1) & mascara) {
+            int linha = tabela[i] - 1;
+            if (idMaisSignificativo[linha] == maisSignificativo && idMenosSignificativo[linha] == menosSignificativo) {
+                return linha;
+            }
+        }
+        return -1;
+    }
+
+    private void inserirNaTabela(int linha) {
+        if ((quantidade + 1) * 4L > tabela.length * 3L) { // Carga máxima de 75%
+            int[] antiga = tabela;
+            tabela = new int[antiga.length * 2];
+            for (int entrada : antiga) {
+                if (entrada != 0) {
+                    colocar(entrada - 1);
+                }
+            }
+        }
+        colocar(linha);
+        quantidade++;
+    }
+
+    private void colocar(int linha) {
+        int mascara = tabela.length - 1;
+        int i = espalhar(idMaisSignificativo[linha], idMenosSignificativo[linha]) & mascara;
+        while (tabela[i] != 0) {
+            i = (i + 1) & mascara;
+        }
+        tabela[i] = linha + 1;
+    }
+
+    private void removerDaTabela(int linha) {
+        int mascara = tabela.length - 1;
+        int i = espalhar(idMaisSignificativo[linha], idMenosSignificativo[linha]) & mascara;
+        while (tabela[i] != linha + 1) {
+            i = (i + 1) & mascara;
+        }
+        // Remoção sem marcadores: puxa para o buraco as entradas seguintes que
+        // ficariam inalcançáveis a partir da sua posição ideal
+        int buraco = i;
+        for (int j = (i + 1) & mascara; tabela[j] != 0; j = (j + 1) & mascara) {
+            int outra = tabela[j] - 1;
+            int ideal = espalhar(idMaisSignificativo[outra], idMenosSignificativo[outra]) & mascara;
+            if (((j - ideal) & mascara) >= ((j - buraco) & mascara)) {
+                tabela[buraco] = tabela[j];
+                buraco = j;
+            }
+        }
+        tabela[buraco] = 0;
+        quantidade--;
+    }
+
+    /**
+     * Linhas de um status em ordem de inserção, com remoção sem deslocar as outras: a mesma
+     * estratégia de {@link ListaTarefas}, com a posição guardada na coluna {@code posicao}.
+     */
+    private final class Linhas {
+        private int[] slots = new int[CAPACIDADE_INICIAL];
+        private int fim;
+        private int tamanho;
+        private final IndiceSlots ocupados = new IndiceSlots(CAPACIDADE_INICIAL);
+
+        void adicionar(int linha) {
+            if (fim == slots.length) {
+                realocar(tamanho <= slots.length / 2 ? slots.length : slots.length * 2);
+            }
+            posicao[linha] = fim;
+            ocupados.ocupar(fim);
+            slots[fim++] = linha;
+            tamanho++;
+        }
+
+        /**
+         * @param compactar false em remoções em lote, seguidas de um único {@link #compactar()}.
+         */
+        void remover(int linha, boolean compactar) {
+            slots[posicao[linha]] = -1;
+            ocupados.liberar(posicao[linha]);
+            tamanho--;
+            if (tamanho == 0) {
+                fim = 0;
+            } else if (compactar && fim - tamanho > CAPACIDADE_INICIAL && fim - tamanho > tamanho) {
+                realocar(slots.length);
+            }
+        }
+
+        void compactar() {
+            if (fim != tamanho) {
+                realocar(slots.length);
+            }
+        }
+
+        int get(int indice) {
+            Objects.checkIndex(indice, tamanho);
+            return slots[fim == tamanho ? indice : ocupados.localizar(indice)];
+        }
+
+        private void realocar(int capacidade) {
+            int[] novos = new int[Math.max(capacidade, CAPACIDADE_INICIAL)];
+            int j = 0;
+            for (int i = 0; i < fim; i++) {
+                int linha = slots[i];
+                if (linha >= 0) {
+                    posicao[linha] = j;
+                    novos[j++] = linha;
+                }
+            }
+            slots = novos;
+            fim = j;
+            ocupados.reiniciar(novos.length, j);
+        }
+    }
+
+    /**
+     * Visão somente leitura das tarefas de um status; cada get cria uma {@link TarefaColunar}.
+     */
+    private final class Visao extends AbstractList<Tarefa> implements RandomAccess {
+        private final Linhas linhas;
+
+        Visao(Linhas linhas) {
+            this.linhas = linhas;
+        }
+
+        @Override
+        public Tarefa get(int indice) {
+            return visao(linhas.get(indice));
+        }
+
+        @Override
+        public int size() {
+            return linhas.tamanho;
+        }
+    }
+}
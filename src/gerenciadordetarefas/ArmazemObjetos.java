@@ -0,0 +1,121 @@
+package gerenciadordetarefas;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Armazém padrão: guarda as próprias instâncias de Tarefa numa {@link ListaTarefas} por
+ * status, mais um índice por ID. A localização de uma tarefa é o seu status mais a posição
+ * guardada nela, o que torna busca, movimentação e remoção operações de tempo constante.
+ */
+public class ArmazemObjetos implements ArmazemTarefas {
+
+    private final Map<Status, ListaTarefas> tarefasPorStatus = new EnumMap<>(Status.class);
+    private final Map<Status, List<Tarefa>> visoes = new EnumMap<>(Status.class);
+    private final Map<UUID, Tarefa> tarefasPorId = new HashMap<>();
+
+    public ArmazemObjetos() {
+        for (Status status : Status.values()) {
+            ListaTarefas lista = new ListaTarefas();
+            tarefasPorStatus.put(status, lista);
+            visoes.put(status, Collections.unmodifiableList(lista));
+        }
+    }
+
+    @Override
+    public Tarefa adicionar(Tarefa tarefa) {
+        tarefasPorStatus.get(tarefa.getStatus()).adicionar(tarefa);
+        tarefasPorId.put(tarefa.getId(), tarefa);
+        return tarefa;
+    }
+
+    @Override
+    public Tarefa buscar(UUID id) {
+        return tarefasPorId.get(id);
+    }
+
+    @Override
+    public Tarefa remover(UUID id) {
+        Tarefa atual = tarefasPorId.remove(id);
+        if (atual != null) {
+            tarefasPorStatus.get(atual.getStatus()).remover(atual);
+        }
+        return atual;
+    }
+
+    @Override
+    public Tarefa mover(UUID id, Status destino, long dataConclusaoMillis) {
+        Tarefa atual = tarefasPorId.get(id);
+        if (atual == null || !tarefasPorStatus.get(atual.getStatus()).remover(atual)) {
+            return null;
+        }
+        atual.setStatus(destino);
+        atual.setDataConclusao(dataConclusaoMillis == Tarefa.SEM_DATA ? null : new Date(dataConclusaoMillis));
+        tarefasPorStatus.get(destino).adicionar(atual);
+        return atual;
+    }
+
+    @Override
+    public List<Tarefa> removerTodas(Collection<UUID> ids) {
+        List<Tarefa> removidas = new ArrayList<>(ids.size());
+        for (UUID id : ids) {
+            Tarefa atual = tarefasPorId.remove(id);
+            if (atual != null) {
+                tarefasPorStatus.get(atual.getStatus()).retirar(atual);
+                removidas.add(atual);
+            }
+        }
+        compactar();
+        return removidas;
+    }
+
+    @Override
+    public List<Tarefa> moverTodas(Collection<UUID> ids, Status destino, long dataConclusaoMillis) {
+        List<Tarefa> movidas = new ArrayList<>(ids.size());
+        ListaTarefas listaDestino = tarefasPorStatus.get(destino);
+        for (UUID id : ids) {
+            Tarefa atual = tarefasPorId.get(id);
+            if (atual == null || !tarefasPorStatus.get(atual.getStatus()).retirar(atual)) {
+                continue;
+            }
+            atual.setStatus(destino);
+            atual.setDataConclusao(dataConclusaoMillis == Tarefa.SEM_DATA ? null : new Date(dataConclusaoMillis));
+            listaDestino.adicionar(atual);
+            movidas.add(atual);
+        }
+        compactar();
+        return movidas;
+    }
+
+    private void compactar() {
+        for (ListaTarefas lista : tarefasPorStatus.values()) {
+            lista.compactar();
+        }
+    }
+
+    @Override
+    public Tarefa editarDescricao(UUID id, String descricao) {
+        Tarefa atual = tarefasPorId.get(id);
+        if (atual != null) {
+            atual.setDescricao(descricao);
+        }
+        return atual;
+    }
+
+    @Override
+    public List<Tarefa> listar(Status status) {
+        return visoes.get(status);
+    }
+
+    @Override
+    public boolean gerencia(Tarefa tarefa) {
+        return tarefasPorId.get(tarefa.getId()) == tarefa;
+    }
+}
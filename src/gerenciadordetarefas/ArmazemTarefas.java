@@ -0,0 +1,75 @@
+package gerenciadordetarefas;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Onde o {@link GerenciadorTarefas} guarda as tarefas: as listas por status, em ordem de
+ * inserção, e a localização de cada tarefa pelo ID.
+ *
+ * O gerenciador cuida das regras (validação, datas, notificação dos ouvintes); o armazém
+ * só guarda e localiza. Há duas implementações: {@link ArmazemObjetos}, que guarda as
+ * próprias instâncias de Tarefa, e {@link ArmazemColunar}, que guarda os campos em arrays
+ * de tipos primitivos e devolve visões leves sob demanda.
+ */
+public interface ArmazemTarefas {
+
+    /**
+     * Guarda uma tarefa no final da lista do seu status.
+     * @param tarefa A tarefa, que não pode estar no armazém.
+     * @return A instância gerenciada (a própria tarefa ou uma visão dela).
+     */
+    Tarefa adicionar(Tarefa tarefa);
+
+    /**
+     * @return A instância gerenciada com este ID, ou null se não existir.
+     */
+    Tarefa buscar(UUID id);
+
+    /**
+     * Remove uma tarefa.
+     * @return A tarefa removida, com os dados que tinha, ou null se não existir. Continua
+     *         utilizável depois da remoção (ouvintes recebem esta instância).
+     */
+    Tarefa remover(UUID id);
+
+    /**
+     * Move uma tarefa para o final da lista de outro status.
+     * @param dataConclusaoMillis A nova data de conclusão, ou {@link Tarefa#SEM_DATA} para limpar.
+     * @return A instância gerenciada, já atualizada, ou null se não existir.
+     */
+    Tarefa mover(UUID id, Status destino, long dataConclusaoMillis);
+
+    /**
+     * Remove várias tarefas. As listas afetadas são compactadas uma única vez, no final; uma
+     * a uma, cada remoção que deixasse mais buracos que tarefas vivas compactaria a lista.
+     * @return As tarefas removidas, como em {@link #remover}, na ordem dos IDs. IDs que não
+     *         existem são ignorados.
+     */
+    List<Tarefa> removerTodas(Collection<UUID> ids);
+
+    /**
+     * Move várias tarefas, na ordem dos IDs, para o final da lista de outro status, todas com
+     * a mesma data de conclusão. As listas de origem são compactadas uma única vez, no final.
+     * @return As instâncias gerenciadas, já atualizadas. IDs que não existem são ignorados.
+     */
+    List<Tarefa> moverTodas(Collection<UUID> ids, Status destino, long dataConclusaoMillis);
+
+    /**
+     * Altera a descrição de uma tarefa (já validada pelo chamador).
+     * @return A instância gerenciada, já atualizada, ou null se não existir.
+     */
+    Tarefa editarDescricao(UUID id, String descricao);
+
+    /**
+     * @return Uma visão somente leitura, em ordem de inserção, das tarefas de um status.
+     */
+    List<Tarefa> listar(Status status);
+
+    /**
+     * Indica se o objeto é uma instância viva deste armazém, ou seja, se já reflete as
+     * alterações feitas nele (caso contrário o gerenciador atualiza a cópia recebida).
+     */
+    boolean gerencia(Tarefa tarefa);
+}
@@ -0,0 +1,777 @@
+package gerenciadordetarefas;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+/**
+ * Arquivo morto: guarda em disco as tarefas prontas há muito tempo, fora das listas do
+ * {@link GerenciadorTarefas}, que assim só carrega, percorre e salva o trabalho ativo.
+ *
+ * O arquivo só cresce: cada tarefa arquivada é anexada no formato de registro de
+ * {@link PersistenciaBinaria}, e a exclusão definitiva de uma tarefa arquivada anexa uma marca
+ * de exclusão. Na memória fica só um índice: arrays de tipos primitivos (ID, posição no
+ * arquivo, datas e as entradas em ordem de cada data, cerca de 75 bytes por tarefa) e, para a
+ * busca textual, as palavras das descrições com as entradas que as contêm (4 bytes por palavra
+ * de cada tarefa, além do vocabulário). Ele é montado ao abrir com uma leitura sequencial.
+ * Buscas por ID, por datas (uma busca binária) e por palavras consultam o índice e leem do
+ * disco só as tarefas encontradas.
+ *
+ * Formato do arquivo (big-endian):
+ * <pre>
+ * cabeçalho: magic "GTAM" (int), versão (short)
+ * registros: 'T' (byte) seguido de um registro de {@link PersistenciaBinaria}, ou
+ *            'X' (byte), idMaisSignificativo (long), idMenosSignificativo (long)
+ * </pre>
+ *
+ * Uma tarefa restaurada (devolvida ao gerenciador) continua no arquivo e passa a ser ignorada;
+ * como o arquivo de dados principal é salvo depois, numa queda entre os dois a tarefa aparece
+ * nos dois lugares, e {@link GerenciadorTarefas#setArquivoMorto} dá preferência à ativa.
+ *
+ * Todos os métodos podem ser chamados de várias threads. As gravações são feitas uma de cada
+ * vez, mas sem segurar o índice: buscar, restaurar e consultar não esperam por um
+ * {@link #arquivar} (e o seu force) em andamento. Com {@link #setExecutorGravacao}, a exclusão
+ * só muda o índice e deixa a marca para ser gravada no executor; buscar e restaurar continuam
+ * lendo da thread que chama o registro encontrado, uma leitura posicional só dele.
+ */
+public class ArquivoMorto implements Closeable {
+
+    static final int MAGIC = 0x4754414D; // "GTAM"
+    static final short VERSAO = 1;
+    static final String EXTENSAO = ".arquivo";
+
+    private static final byte TAREFA = 'T';
+    private static final byte EXCLUSAO = 'X';
+    private static final int TAMANHO_CABECALHO = 4 + 2;
+    private static final int TAMANHO_EXCLUSAO = 1 + 8 + 8;
+    // Posições especiais das entradas que não valem mais como arquivadas
+    private static final long RESTAURADA = -1;
+    private static final long EXCLUIDA = -2;
+
+    private final Path caminho;
+    private final FileChannel canal;
+    // Serializa as gravações; o índice e o tamanho são protegidos por "this"
+    private final Object gravacao = new Object();
+    private long tamanho;
+    // Marcas de exclusão que ainda não foram gravadas (dois longs por ID)
+    private long[] exclusoesPendentes = new long[16];
+    private int exclusoes;
+    private Executor executorGravacao; // null = grava na thread que exclui
+
+    // Entradas em ordem de chegada; uma tabela de espalhamento aponta para elas pelo ID
+    private long[] idsMais = new long[16];
+    private long[] idsMenos = new long[16];
+    private long[] posicoes = new long[16];
+    private long[] criacoes = new long[16];
+    private long[] conclusoes = new long[16];
+    private int entradas;
+    private int arquivadas;
+    private int[] tabela = new int[32]; // índice da entrada + 1; 0 = vazio
+    // As mesmas entradas em ordem de data, para as consultas por intervalo
+    private final DatasOrdenadas porCriacao = new DatasOrdenadas();
+    private final DatasOrdenadas porConclusao = new DatasOrdenadas();
+    // Palavras das descrições, normalizadas como em IndiceTextual, e as entradas que as contêm.
+    // Entradas restauradas ou excluídas continuam nas listas e são puladas na busca
+    private final TreeMap<String, Entradas> entradasPorPalavra = new TreeMap<>();
+
+    /**
+     * Abre (ou cria) o arquivo morto e monta o índice. Um registro incompleto no final
+     * (queda durante a escrita) é descartado e cortado do arquivo.
+     * @param arquivo Caminho do arquivo
+     * @throws IOException Se o arquivo não puder ser aberto
+     * @throws IllegalArgumentException Se o arquivo não for um arquivo morto
+     */
+    public ArquivoMorto(String arquivo) throws IOException {
+        this.caminho = Paths.get(arquivo);
+        this.canal = FileChannel.open(caminho, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        try {
+            if (canal.size() == 0) {
+                escreverTudo(ByteBuffer.allocate(TAMANHO_CABECALHO).putInt(MAGIC).putShort(VERSAO).flip(), 0);
+                canal.force(false);
+                tamanho = TAMANHO_CABECALHO;
+            } else {
+                indexar();
+            }
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    private void indexar() throws IOException {
+        ByteBuffer cabecalho = lerTrecho(0, TAMANHO_CABECALHO);
+        if (cabecalho.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Não é um arquivo morto: " + caminho);
+        }
+        short versao = cabecalho.getShort();
+        if (versao != VERSAO) {
+            throw new IllegalArgumentException("Versão de arquivo morto não suportada: " + versao);
+        }
+        long fim = canal.size();
+        long posicao = TAMANHO_CABECALHO;
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024).flip();
+        while (posicao < fim) {
+            // Garante no buffer a parte fixa do próximo registro
+            if (buffer.remaining() < 1 + PersistenciaBinaria.TAMANHO_FIXO_REGISTRO && !recarregar(buffer, posicao, fim)) {
+                break;
+            }
+            int inicio = buffer.position();
+            byte tipo = buffer.get(inicio);
+            if (tipo == EXCLUSAO) {
+                if (buffer.remaining() < TAMANHO_EXCLUSAO) {
+                    break;
+                }
+                buffer.get();
+                int entrada = localizar(buffer.getLong(), buffer.getLong());
+                if (entrada >= 0) {
+                    marcar(entrada, EXCLUIDA);
+                }
+                posicao += TAMANHO_EXCLUSAO;
+            } else if (tipo == TAREFA) {
+                if (buffer.remaining() < 1 + PersistenciaBinaria.TAMANHO_FIXO_REGISTRO) {
+                    break;
+                }
+                int tamanhoRegistro = 1 + PersistenciaBinaria.TAMANHO_FIXO_REGISTRO
+                        + buffer.getInt(inicio + PersistenciaBinaria.TAMANHO_FIXO_REGISTRO - 3);
+                if (buffer.remaining() < tamanhoRegistro) {
+                    if (tamanhoRegistro > buffer.capacity()) {
+                        buffer = ByteBuffer.allocate(tamanhoRegistro).flip();
+                    }
+                    if (!recarregar(buffer, posicao, fim) || buffer.remaining() < tamanhoRegistro) {
+                        break;
+                    }
+                    inicio = buffer.position();
+                }
+                buffer.position(inicio + 1);
+                long mais = buffer.getLong();
+                long menos = buffer.getLong();
+                buffer.get(); // status: sempre "Pronto"
+                long criacao = buffer.getLong();
+                long conclusao = buffer.getLong();
+                int inicioDescricao = inicio + 1 + PersistenciaBinaria.TAMANHO_FIXO_REGISTRO;
+                String descricao = new String(buffer.array(), buffer.arrayOffset() + inicioDescricao,
+                        inicio + tamanhoRegistro - inicioDescricao, StandardCharsets.UTF_8);
+                buffer.position(inicio + tamanhoRegistro);
+                registrar(mais, menos, posicao, criacao, conclusao, descricao);
+                posicao += tamanhoRegistro;
+            } else {
+                throw new IllegalArgumentException("Tipo de registro desconhecido no arquivo morto " + caminho + ": " + tipo);
+            }
+        }
+        if (posicao < fim) {
+            System.err.println("Aviso: registro incompleto ignorado no final do arquivo morto " + caminho);
+            canal.truncate(posicao);
+        }
+        tamanho = posicao;
+        ordenarDatas();
+    }
+
+    /**
+     * Descarta o que já foi lido do buffer e o completa a partir de posicao.
+     * @return false se não havia mais nada a ler
+     */
+    private boolean recarregar(ByteBuffer buffer, long posicao, long fim) throws IOException {
+        buffer.clear();
+        int lidos = 0;
+        while (buffer.hasRemaining() && posicao + lidos < fim) {
+            int n = canal.read(buffer, posicao + lidos);
+            if (n < 0) {
+                break;
+            }
+            lidos += n;
+        }
+        buffer.flip();
+        return lidos > 0;
+    }
+
+    /**
+     * Anexa as tarefas ao arquivo, junto com as marcas de exclusão pendentes, e só retorna
+     * depois que estiverem no disco; a partir daí o chamador pode tirá-las da memória.
+     * @param tarefas Tarefas em "Pronto", com data de conclusão
+     * @throws IOException Se a gravação falhar (nada é considerado arquivado)
+     */
+    public void arquivar(List<Tarefa> tarefas) throws IOException {
+        if (tarefas.isEmpty()) {
+            return;
+        }
+        byte[][] descricoes = new byte[tarefas.size()][];
+        int total = 0;
+        for (int i = 0; i < descricoes.length; i++) {
+            descricoes[i] = PersistenciaBinaria.descricaoUtf8(tarefas.get(i));
+            total += 1 + PersistenciaBinaria.TAMANHO_FIXO_REGISTRO + descricoes[i].length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(total);
+        int[] deslocamentos = new int[descricoes.length];
+        for (int i = 0; i < descricoes.length; i++) {
+            deslocamentos[i] = buffer.position();
+            buffer.put(TAREFA);
+            PersistenciaBinaria.escreverRegistro(buffer, tarefas.get(i), descricoes[i]);
+        }
+        synchronized (gravacao) {
+            long inicio = anexar(buffer.flip());
+            synchronized (this) {
+                for (int i = 0; i < descricoes.length; i++) {
+                    Tarefa tarefa = tarefas.get(i);
+                    UUID id = tarefa.getId();
+                    registrar(id.getMostSignificantBits(), id.getLeastSignificantBits(), inicio + deslocamentos[i],
+                            tarefa.getDataCriacaoMillis(), tarefa.getDataConclusaoMillis(), tarefa.getDescricao());
+                }
+                ordenarDatas();
+            }
+        }
+    }
+
+    /**
+     * Grava as marcas de exclusão pendentes (ver {@link #setExecutorGravacao}).
+     * @throws IOException Se a gravação falhar; as marcas continuam pendentes
+     */
+    public void gravarExclusoes() throws IOException {
+        synchronized (gravacao) {
+            synchronized (this) {
+                if (exclusoes == 0) {
+                    return;
+                }
+            }
+            anexar(ByteBuffer.allocate(0));
+        }
+    }
+
+    /**
+     * Anexa ao final do arquivo as marcas de exclusão pendentes seguidas dos registros e força
+     * a gravação. Chamado com o lock de gravação; o índice só é travado para ler e atualizar
+     * o tamanho, não durante a escrita.
+     * @return A posição do arquivo onde os registros começam
+     */
+    private long anexar(ByteBuffer registros) throws IOException {
+        long[] marcas;
+        int quantidade;
+        long inicio;
+        synchronized (this) {
+            marcas = exclusoesPendentes;
+            quantidade = exclusoes;
+            exclusoesPendentes = new long[16];
+            exclusoes = 0;
+            inicio = tamanho;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(quantidade * TAMANHO_EXCLUSAO + registros.remaining());
+        for (int i = 0; i < quantidade; i++) {
+            buffer.put(EXCLUSAO).putLong(marcas[2 * i]).putLong(marcas[2 * i + 1]);
+        }
+        int total = buffer.put(registros).flip().remaining();
+        try {
+            escreverTudo(buffer, inicio);
+            canal.force(false);
+        } catch (IOException e) {
+            // Um registro pela metade seria lido como final incompleto: corta-o já
+            canal.truncate(inicio);
+            synchronized (this) {
+                for (int i = 0; i < quantidade; i++) {
+                    enfileirarExclusao(marcas[2 * i], marcas[2 * i + 1]);
+                }
+            }
+            throw e;
+        }
+        synchronized (this) {
+            tamanho = inicio + total;
+        }
+        return inicio + (long) quantidade * TAMANHO_EXCLUSAO;
+    }
+
+    private void enfileirarExclusao(long mais, long menos) {
+        if (2 * exclusoes == exclusoesPendentes.length) {
+            exclusoesPendentes = Arrays.copyOf(exclusoesPendentes, exclusoesPendentes.length * 2);
+        }
+        exclusoesPendentes[2 * exclusoes] = mais;
+        exclusoesPendentes[2 * exclusoes + 1] = menos;
+        exclusoes++;
+    }
+
+    /**
+     * Passa a gravar as marcas de exclusão no executor (ex: a thread do {@link SalvamentoAutomatico}),
+     * em vez de na thread que exclui. A exclusão vale na memória na hora; a marca vai para o
+     * disco no executor, no próximo {@link #arquivar} ou em {@link #close()}, o que vier antes.
+     * @param executor O executor, ou null para voltar a gravar na thread que exclui.
+     */
+    public synchronized void setExecutorGravacao(Executor executor) {
+        this.executorGravacao = executor;
+    }
+
+    /**
+     * Lê uma tarefa arquivada, sem tirá-la do arquivo.
+     * @return Uma cópia da tarefa, ou null se ela não estiver arquivada
+     */
+    public synchronized Tarefa buscar(UUID id) {
+        int entrada = localizar(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        return entrada >= 0 && posicoes[entrada] >= 0 ? ler(entrada) : null;
+    }
+
+    /**
+     * Tira uma tarefa do arquivo para que volte ao gerenciador. Nada é gravado: a tarefa
+     * só deixa de ser considerada arquivada.
+     * @return A tarefa, ou null se ela não estiver arquivada
+     */
+    public synchronized Tarefa restaurar(UUID id) {
+        int entrada = localizar(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (entrada < 0 || posicoes[entrada] < 0) {
+            return null;
+        }
+        Tarefa tarefa = ler(entrada);
+        marcar(entrada, RESTAURADA);
+        return tarefa;
+    }
+
+    /**
+     * Registra a exclusão definitiva de uma tarefa que está ou já esteve no arquivo (inclusive
+     * uma restaurada, para que não volte ao reabrir). Com {@link #setExecutorGravacao}, a marca
+     * é gravada no executor e esta thread não toca no disco.
+     * @return true se a tarefa estava arquivada
+     * @throws IOException Se a marca de exclusão não puder ser gravada (só sem executor; ela continua pendente)
+     */
+    public boolean excluir(UUID id) throws IOException {
+        boolean arquivada;
+        Executor executor;
+        synchronized (this) {
+            int entrada = localizar(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            if (entrada < 0 || posicoes[entrada] == EXCLUIDA) {
+                return false;
+            }
+            arquivada = posicoes[entrada] >= 0;
+            marcar(entrada, EXCLUIDA);
+            enfileirarExclusao(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            executor = executorGravacao;
+        }
+        if (executor == null) {
+            gravarExclusoes();
+        } else {
+            executor.execute(() -> {
+                try {
+                    gravarExclusoes();
+                } catch (IOException e) {
+                    System.err.println("Erro ao gravar exclusões no arquivo morto: " + e.getMessage());
+                }
+            });
+        }
+        return arquivada;
+    }
+
+    /**
+     * Marca como restaurada uma tarefa que também está ativa no gerenciador.
+     */
+    synchronized void marcarAtiva(UUID id) {
+        int entrada = localizar(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        if (entrada >= 0 && posicoes[entrada] >= 0) {
+            marcar(entrada, RESTAURADA);
+        }
+    }
+
+    /**
+     * Tarefas arquivadas concluídas no intervalo [inicioMillis, fimMillis), da mais antiga
+     * para a mais nova. Só as encontradas são lidas do disco.
+     */
+    public synchronized List<Tarefa> concluidasEntre(long inicioMillis, long fimMillis) {
+        return lerEntre(porConclusao, inicioMillis, fimMillis);
+    }
+
+    /**
+     * Tarefas arquivadas criadas no intervalo [inicioMillis, fimMillis), da mais antiga para
+     * a mais nova.
+     */
+    public synchronized List<Tarefa> criadasEntre(long inicioMillis, long fimMillis) {
+        return lerEntre(porCriacao, inicioMillis, fimMillis);
+    }
+
+    private List<Tarefa> lerEntre(DatasOrdenadas indice, long inicioMillis, long fimMillis) {
+        List<Tarefa> tarefas = new ArrayList<>();
+        for (int i = indice.primeira(inicioMillis); i < indice.tamanho && indice.datas[i] < fimMillis; i++) {
+            int entrada = indice.entradas[i];
+            if (posicoes[entrada] >= 0) {
+                tarefas.add(ler(entrada));
+            }
+        }
+        return tarefas;
+    }
+
+    /**
+     * Tarefas arquivadas cujas descrições contêm todos os termos da consulta, com as mesmas
+     * regras de {@link IndiceTextual#buscar}, na ordem em que chegaram ao arquivo. O índice de
+     * palavras aponta as candidatas; só elas são lidas do disco, e cada uma é conferida pela
+     * descrição lida (uma tarefa arquivada de novo com outra descrição deixa palavras antigas).
+     * @param consulta Termos separados por espaço; "term*" busca por prefixo.
+     */
+    public synchronized List<Tarefa> buscarDescricoes(String consulta) {
+        List<String> palavras = new ArrayList<>();
+        List<Boolean> prefixos = new ArrayList<>();
+        for (String termo : consulta.trim().split("\\s+")) {
+            boolean prefixo = termo.endsWith("*");
+            String[] doTermo = IndiceTextual.extrairPalavras(prefixo ? termo.substring(0, termo.length() - 1) : termo);
+            for (int i = 0; i < doTermo.length; i++) {
+                // "guarda-chuva*": só a última palavra do termo é prefixo
+                palavras.add(doTermo[i]);
+                prefixos.add(prefixo && i == doTermo.length - 1);
+            }
+        }
+        if (palavras.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        int[] candidatas = null;
+        int quantidade = 0;
+        for (int i = 0; i < palavras.size(); i++) {
+            Entradas entradas = prefixos.get(i) ? comPrefixo(palavras.get(i)) : entradasPorPalavra.get(palavras.get(i));
+            if (entradas == null) {
+                return new ArrayList<>();
+            }
+            if (candidatas == null) {
+                candidatas = Arrays.copyOf(entradas.numeros, entradas.tamanho);
+                quantidade = entradas.tamanho;
+            } else {
+                quantidade = intersecao(candidatas, quantidade, entradas);
+            }
+        }
+
+        List<Tarefa> tarefas = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            int entrada = candidatas[i];
+            if (posicoes[entrada] < 0) {
+                continue;
+            }
+            Tarefa tarefa = ler(entrada);
+            if (contemTodas(IndiceTextual.extrairPalavras(tarefa.getDescricao()), palavras, prefixos)) {
+                tarefas.add(tarefa);
+            }
+        }
+        return tarefas;
+    }
+
+    private Entradas comPrefixo(String prefixo) {
+        SortedMap<String, Entradas> faixa = entradasPorPalavra.subMap(prefixo, prefixo + Character.MAX_VALUE);
+        if (faixa.isEmpty()) {
+            return null;
+        }
+        Entradas uniao = new Entradas();
+        for (Entradas entradas : faixa.values()) {
+            for (int i = 0; i < entradas.tamanho; i++) {
+                uniao.adicionar(entradas.numeros[i]);
+            }
+        }
+        return uniao;
+    }
+
+    /**
+     * Deixa em candidatas só as que também estão nas entradas (ambas em ordem crescente).
+     * @return Quantas candidatas sobraram
+     */
+    private static int intersecao(int[] candidatas, int quantidade, Entradas entradas) {
+        int restantes = 0;
+        int j = 0;
+        for (int i = 0; i < quantidade && j < entradas.tamanho; i++) {
+            while (j < entradas.tamanho && entradas.numeros[j] < candidatas[i]) {
+                j++;
+            }
+            if (j < entradas.tamanho && entradas.numeros[j] == candidatas[i]) {
+                candidatas[restantes++] = candidatas[i];
+            }
+        }
+        return restantes;
+    }
+
+    private static boolean contemTodas(String[] daTarefa, List<String> palavras, List<Boolean> prefixos) {
+        busca:
+        for (int i = 0; i < palavras.size(); i++) {
+            for (String palavra : daTarefa) {
+                if (prefixos.get(i) ? palavra.startsWith(palavras.get(i)) : palavra.equals(palavras.get(i))) {
+                    continue busca;
+                }
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return Quantas tarefas estão arquivadas (sem contar as restauradas e as excluídas).
+     */
+    public synchronized int getQuantidade() {
+        return arquivadas;
+    }
+
+    /**
+     * @return O tamanho atual do arquivo, em bytes.
+     */
+    public synchronized long getTamanho() {
+        return tamanho;
+    }
+
+    /**
+     * Grava as marcas de exclusão pendentes e fecha o arquivo.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (gravacao) {
+            try {
+                if (canal.isOpen()) {
+                    gravarExclusoes();
+                }
+            } finally {
+                canal.close();
+            }
+        }
+    }
+
+    private Tarefa ler(int entrada) {
+        long posicao = posicoes[entrada];
+        try {
+            ByteBuffer fixo = lerTrecho(posicao + 1, PersistenciaBinaria.TAMANHO_FIXO_REGISTRO);
+            int tamanhoDescricao = fixo.getInt(PersistenciaBinaria.TAMANHO_FIXO_REGISTRO - 4);
+            ByteBuffer registro = ByteBuffer.allocate(PersistenciaBinaria.TAMANHO_FIXO_REGISTRO + tamanhoDescricao);
+            registro.put(fixo).put(lerTrecho(posicao + 1 + PersistenciaBinaria.TAMANHO_FIXO_REGISTRO, tamanhoDescricao));
+            return PersistenciaBinaria.lerRegistro(registro.flip());
+        } catch (IOException e) {
+            throw new IllegalStateException("Erro ao ler o arquivo morto " + caminho + ": " + e.getMessage(), e);
+        }
+    }
+
+    private void registrar(long mais, long menos, long posicao, long criacao, long conclusao, String descricao) {
+        int entrada = localizar(mais, menos);
+        if (entrada < 0) {
+            if (entradas == idsMais.length) {
+                int capacidade = entradas * 2;
+                idsMais = Arrays.copyOf(idsMais, capacidade);
+                idsMenos = Arrays.copyOf(idsMenos, capacidade);
+                posicoes = Arrays.copyOf(posicoes, capacidade);
+                criacoes = Arrays.copyOf(criacoes, capacidade);
+                conclusoes = Arrays.copyOf(conclusoes, capacidade);
+            }
+            entrada = entradas++;
+            idsMais[entrada] = mais;
+            idsMenos[entrada] = menos;
+            posicoes[entrada] = EXCLUIDA;
+            if (entradas * 2 > tabela.length) {
+                redimensionarTabela();
+            } else {
+                tabela[vaga(mais, menos)] = entrada + 1;
+            }
+            porCriacao.adicionar(criacao, entrada);
+            porConclusao.adicionar(conclusao, entrada);
+        } else {
+            // A mesma tarefa arquivada de novo (depois de restaurada): vale o registro mais recente
+            porCriacao.refazer |= criacoes[entrada] != criacao;
+            porConclusao.refazer |= conclusoes[entrada] != conclusao;
+        }
+        marcar(entrada, posicao);
+        criacoes[entrada] = criacao;
+        conclusoes[entrada] = conclusao;
+        for (String palavra : IndiceTextual.extrairPalavras(descricao)) {
+            entradasPorPalavra.computeIfAbsent(palavra, p -> new Entradas()).adicionar(entrada);
+        }
+    }
+
+    private void ordenarDatas() {
+        porCriacao.ordenar(criacoes, entradas);
+        porConclusao.ordenar(conclusoes, entradas);
+    }
+
+    /**
+     * Entradas que contêm uma palavra, em ordem crescente e sem repetição.
+     */
+    private static final class Entradas {
+        int[] numeros = new int[2];
+        int tamanho;
+
+        void adicionar(int entrada) {
+            int posicao = tamanho;
+            // Quase sempre é a maior até aqui; só uma tarefa arquivada de novo volta com uma entrada antiga
+            if (tamanho > 0 && numeros[tamanho - 1] >= entrada) {
+                posicao = Arrays.binarySearch(numeros, 0, tamanho, entrada);
+                if (posicao >= 0) {
+                    return;
+                }
+                posicao = -posicao - 1;
+            }
+            if (tamanho == numeros.length) {
+                numeros = Arrays.copyOf(numeros, tamanho * 2);
+            }
+            System.arraycopy(numeros, posicao, numeros, posicao + 1, tamanho - posicao);
+            numeros[posicao] = entrada;
+            tamanho++;
+        }
+    }
+
+    /**
+     * Entradas em ordem de data (entre datas iguais, na ordem de chegada), com as datas ao
+     * lado para a busca binária. As registradas depois da última ordenação ficam no final até
+     * {@link #ordenar}, que as ordena e intercala com as anteriores; como as tarefas costumam
+     * ser arquivadas em ordem de data, em geral basta anexá-las.
+     */
+    private static final class DatasOrdenadas {
+        long[] datas = new long[16];
+        int[] entradas = new int[16];
+        int tamanho;
+        int ordenadas;
+        // Uma entrada arquivada de novo mudou de data: a ordem inteira é refeita
+        boolean refazer;
+
+        void adicionar(long data, int entrada) {
+            if (tamanho == datas.length) {
+                datas = Arrays.copyOf(datas, tamanho * 2);
+                entradas = Arrays.copyOf(entradas, tamanho * 2);
+            }
+            datas[tamanho] = data;
+            entradas[tamanho++] = entrada;
+        }
+
+        /**
+         * @param datasPorEntrada A data atual de cada entrada
+         * @param quantidade Quantas entradas existem
+         */
+        void ordenar(long[] datasPorEntrada, int quantidade) {
+            if (refazer) {
+                for (int i = 0; i < quantidade; i++) {
+                    datas[i] = datasPorEntrada[i];
+                    entradas[i] = i;
+                }
+                ordenadas = 0;
+                refazer = false;
+            }
+            int emOrdem = Math.max(ordenadas, 1);
+            while (emOrdem < tamanho && datas[emOrdem - 1] <= datas[emOrdem]) {
+                emOrdem++;
+            }
+            if (emOrdem >= tamanho) {
+                ordenadas = tamanho;
+                return;
+            }
+            long[] auxDatas = new long[tamanho];
+            int[] auxEntradas = new int[tamanho];
+            // Merge sort de baixo para cima só das novas, e depois uma intercalação com as anteriores
+            for (int largura = 1; largura < tamanho - ordenadas; largura *= 2) {
+                for (int esquerda = ordenadas; esquerda < tamanho - largura; esquerda += 2 * largura) {
+                    intercalar(esquerda, esquerda + largura, Math.min(esquerda + 2 * largura, tamanho), auxDatas, auxEntradas);
+                }
+            }
+            if (ordenadas > 0) {
+                intercalar(0, ordenadas, tamanho, auxDatas, auxEntradas);
+            }
+            ordenadas = tamanho;
+        }
+
+        /**
+         * Intercala [inicio, meio) e [meio, fim), já em ordem; entre datas iguais, as da esquerda vêm antes.
+         */
+        private void intercalar(int inicio, int meio, int fim, long[] auxDatas, int[] auxEntradas) {
+            if (datas[meio - 1] <= datas[meio]) {
+                return; // Já estão em ordem
+            }
+            int i = inicio;
+            int j = meio;
+            int k = 0;
+            while (i < meio || j < fim) {
+                if (j == fim || (i < meio && datas[i] <= datas[j])) {
+                    auxDatas[k] = datas[i];
+                    auxEntradas[k++] = entradas[i++];
+                } else {
+                    auxDatas[k] = datas[j];
+                    auxEntradas[k++] = entradas[j++];
+                }
+            }
+            System.arraycopy(auxDatas, 0, datas, inicio, k);
+            System.arraycopy(auxEntradas, 0, entradas, inicio, k);
+        }
+
+        /**
+         * @return A posição da primeira entrada com data maior ou igual a inicio (ou tamanho).
+         */
+        int primeira(long inicio) {
+            int baixo = 0;
+            int alto = tamanho;
+            while (baixo < alto) {
+                int meio = (baixo + alto) >>> 1;
+                if (datas[meio] < inicio) {
+                    baixo = meio + 1;
+                } else {
+                    alto = meio;
+                }
+            }
+            return baixo;
+        }
+    }
+
+    private void marcar(int entrada, long posicao) {
+        if (posicoes[entrada] >= 0) {
+            arquivadas--;
+        }
+        if (posicao >= 0) {
+            arquivadas++;
+        }
+        posicoes[entrada] = posicao;
+    }
+
+    /**
+     * @return O índice da entrada com este ID, ou -1.
+     */
+    private int localizar(long mais, long menos) {
+        int mascara = tabela.length - 1;
+        for (int i = espalhar(mais, menos) & mascara; ; i = (i + 1) & mascara) {
+            int entrada = tabela[i] - 1;
+            if (entrada < 0) {
+                return -1;
+            }
+            if (idsMais[entrada] == mais && idsMenos[entrada] == menos) {
+                return entrada;
+            }
+        }
+    }
+
+    /**
+     * @return A primeira posição livre da tabela para um ID que ainda não está nela.
+     */
+    private int vaga(long mais, long menos) {
+        int mascara = tabela.length - 1;
+        int i = espalhar(mais, menos) & mascara;
+        while (tabela[i] != 0) {
+            i = (i + 1) & mascara;
+        }
+        return i;
+    }
+
+    private void redimensionarTabela() {
+        tabela = new int[tabela.length * 2];
+        for (int entrada = 0; entrada < entradas; entrada++) {
+            tabela[vaga(idsMais[entrada], idsMenos[entrada])] = entrada + 1;
+        }
+    }
+
+    private static int espalhar(long mais, long menos) {
+        long h = (mais ^ menos) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private ByteBuffer lerTrecho(long posicao, int quantidade) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(quantidade);
+        while (buffer.hasRemaining()) {
+            if (canal.read(buffer, posicao + buffer.position()) < 0) {
+                throw new EOFException("Fim inesperado do arquivo morto na posição " + (posicao + buffer.position()));
+            }
+        }
+        return buffer.flip();
+    }
+
+    private void escreverTudo(ByteBuffer buffer, long posicao) throws IOException {
+        while (buffer.hasRemaining()) {
+            posicao += canal.write(buffer, posicao);
+        }
+    }
+}
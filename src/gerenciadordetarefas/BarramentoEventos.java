@@ -0,0 +1,345 @@
+package gerenciadordetarefas;
+
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Repassa as alterações do {@link GerenciadorTarefas} como {@link EventoTarefa}s para consumidores
+ * que rodam nas suas próprias threads, sem que a thread da alteração espere por eles.
+ *
+ * Registrado como ouvinte do gerenciador, copia cada alteração para uma posição de um anel
+ * pré-alocado (um escritor, vários leitores): publicar não trava e não depende da velocidade
+ * dos consumidores. Também não aloca: o ID é copiado como dois longs, e a descrição vai como
+ * a String que a tarefa já tem ou, se ela está guardada em UTF-8 ({@link ArmazemColunar},
+ * {@link TarefaPreguicosa}), como uma cópia dos bytes num buffer da posição, que só cresce
+ * quando passa por ali uma descrição maior que todas as anteriores. O consumidor é que cria o
+ * UUID e decodifica a descrição, se pedir.
+ *
+ * Cada assinatura lê o anel no seu ritmo, numa thread própria, entregando em lotes tudo o que
+ * encontrou disponível. Um consumidor que fica uma volta inteira para trás tem os eventos mais
+ * antigos sobrescritos: ele percebe a perda, é avisado com {@link ConsumidorEventos#eventosPerdidos}
+ * e continua do mais antigo que ainda existe.
+ * {@link Assinatura#getAtraso()} mostra o quanto cada um está atrasado antes disso acontecer.
+ *
+ * Como o próprio gerenciador, só uma thread publica. {@link #fechar()} entrega o que falta e
+ * encerra as threads; deve ser chamado na saída da aplicação.
+ */
+public class BarramentoEventos implements OuvinteTarefas {
+
+    public static final int CAPACIDADE_PADRAO = 1 << 14;
+    private static final int TAMANHO_LOTE_MAXIMO = 256;
+    // Rede de segurança: quem publica acorda os leitores parados
+    private static final long ESPERA_MAXIMA_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long ESCREVENDO = -2;
+
+    /**
+     * Uma posição do anel. A sequência funciona como um seqlock: vale ESCREVENDO enquanto os
+     * campos são preenchidos e a sequência do evento depois; o leitor confere-a antes e depois
+     * de copiar os campos, e descarta a cópia se ela mudou no meio.
+     */
+    private static final class Posicao {
+        volatile long sequencia = -1;
+        EventoTarefa.Tipo tipo;
+        long idMaisSignificativo;
+        long idMenosSignificativo;
+        // A descrição vai na String ou, se o tamanho não for -1, nos bytes em UTF-8
+        String descricao;
+        byte[] descricaoUtf8 = new byte[0];
+        int tamanhoDescricaoUtf8 = -1;
+        Status origem;
+        Status destino;
+    }
+
+    private final Posicao[] anel;
+    private final int mascara;
+    // Próxima sequência a publicar (= quantos eventos já foram publicados)
+    private volatile long proxima;
+    // Array copiado a cada assinatura: publicar não aloca (não há Iterator)
+    private volatile Assinatura[] assinaturas = new Assinatura[0];
+    private volatile boolean fechado;
+    private int threadsCriadas;
+
+    public BarramentoEventos() {
+        this(CAPACIDADE_PADRAO);
+    }
+
+    /**
+     * @param capacidade Quantos eventos cabem no anel, uma potência de 2. É o quanto um
+     *                   consumidor pode se atrasar antes de perder eventos.
+     */
+    public BarramentoEventos(int capacidade) {
+        if (capacidade < 2 || Integer.bitCount(capacidade) != 1) {
+            throw new IllegalArgumentException("A capacidade deve ser uma potência de 2 maior que 1.");
+        }
+        anel = new Posicao[capacidade];
+        for (int i = 0; i < capacidade; i++) {
+            anel[i] = new Posicao();
+        }
+        mascara = capacidade - 1;
+    }
+
+    public int getCapacidade() {
+        return anel.length;
+    }
+
+    /**
+     * @return Quantos eventos já foram publicados.
+     */
+    public long getPublicados() {
+        return proxima;
+    }
+
+    /**
+     * Começa a entregar ao consumidor, numa thread nova, os eventos publicados daqui em diante.
+     * @param consumidor Quem recebe os eventos.
+     * @return A assinatura, para acompanhar o atraso ou cancelá-la.
+     */
+    public synchronized Assinatura assinar(ConsumidorEventos consumidor) {
+        if (fechado) {
+            throw new IllegalStateException("O barramento de eventos já foi fechado.");
+        }
+        Assinatura assinatura = new Assinatura(consumidor, proxima, "barramento-eventos-" + ++threadsCriadas);
+        Assinatura[] novas = Arrays.copyOf(assinaturas, assinaturas.length + 1);
+        novas[novas.length - 1] = assinatura;
+        assinaturas = novas;
+        assinatura.thread.start();
+        return assinatura;
+    }
+
+    private synchronized void desassinar(Assinatura assinatura) {
+        Assinatura[] atuais = assinaturas;
+        for (int i = 0; i < atuais.length; i++) {
+            if (atuais[i] == assinatura) {
+                Assinatura[] novas = new Assinatura[atuais.length - 1];
+                System.arraycopy(atuais, 0, novas, 0, i);
+                System.arraycopy(atuais, i + 1, novas, i, atuais.length - i - 1);
+                assinaturas = novas;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Entrega os eventos já publicados a todas as assinaturas e encerra as suas threads.
+     * Eventos publicados depois disso são ignorados. Pode ser chamado mais de uma vez.
+     */
+    public void fechar() {
+        Assinatura[] atuais;
+        synchronized (this) {
+            if (fechado) {
+                return;
+            }
+            fechado = true;
+            atuais = assinaturas;
+        }
+        for (Assinatura assinatura : atuais) {
+            assinatura.encerrar();
+        }
+    }
+
+    @Override
+    public void tarefaAdicionada(Tarefa tarefa) {
+        publicar(EventoTarefa.Tipo.ADICIONADA, tarefa, null, tarefa.getStatus());
+    }
+
+    @Override
+    public void tarefaMovida(Tarefa tarefa, Status origem, Status destino) {
+        publicar(EventoTarefa.Tipo.MOVIDA, tarefa, origem, destino);
+    }
+
+    @Override
+    public void tarefaRemovida(Tarefa tarefa) {
+        publicar(EventoTarefa.Tipo.REMOVIDA, tarefa, tarefa.getStatus(), null);
+    }
+
+    @Override
+    public void descricaoEditada(Tarefa tarefa) {
+        publicar(EventoTarefa.Tipo.DESCRICAO_EDITADA, tarefa, tarefa.getStatus(), tarefa.getStatus());
+    }
+
+    @Override
+    public void tarefaArquivada(Tarefa tarefa) {
+        publicar(EventoTarefa.Tipo.ARQUIVADA, tarefa, tarefa.getStatus(), null);
+    }
+
+    @Override
+    public void tarefaRestaurada(Tarefa tarefa) {
+        publicar(EventoTarefa.Tipo.RESTAURADA, tarefa, null, tarefa.getStatus());
+    }
+
+    private void publicar(EventoTarefa.Tipo tipo, Tarefa tarefa, Status origem, Status destino) {
+        if (fechado) {
+            return;
+        }
+        long sequencia = proxima;
+        Posicao posicao = anel[(int) sequencia & mascara];
+        posicao.sequencia = ESCREVENDO;
+        // Nenhum leitor pode ver os campos novos ainda com a sequência antiga
+        VarHandle.storeStoreFence();
+        posicao.tipo = tipo;
+        posicao.idMaisSignificativo = tarefa.getIdMaisSignificativo();
+        posicao.idMenosSignificativo = tarefa.getIdMenosSignificativo();
+        int tamanho = tarefa.getTamanhoDescricaoUtf8();
+        if (tamanho < 0) {
+            posicao.descricao = tarefa.getDescricao();
+        } else {
+            if (posicao.descricaoUtf8.length < tamanho) {
+                posicao.descricaoUtf8 = new byte[Math.max(tamanho, posicao.descricaoUtf8.length * 2)];
+            }
+            tarefa.copiarDescricaoUtf8(posicao.descricaoUtf8);
+            posicao.descricao = null;
+        }
+        posicao.tamanhoDescricaoUtf8 = tamanho;
+        posicao.origem = origem;
+        posicao.destino = destino;
+        posicao.sequencia = sequencia;
+        proxima = sequencia + 1;
+        for (Assinatura assinatura : assinaturas) {
+            if (assinatura.parada) {
+                LockSupport.unpark(assinatura.thread);
+            }
+        }
+    }
+
+    /**
+     * Um consumidor lendo o anel na sua própria thread.
+     */
+    public final class Assinatura implements Runnable {
+        private final ConsumidorEventos consumidor;
+        private final EventoTarefa evento = new EventoTarefa();
+        private final Thread thread;
+        // Escritos só pela thread da assinatura; voláteis para serem consultados de fora
+        private volatile long lidos;
+        private volatile long perdidos;
+        private volatile boolean parada;
+        private volatile boolean cancelada;
+
+        private Assinatura(ConsumidorEventos consumidor, long inicio, String nome) {
+            this.consumidor = consumidor;
+            this.lidos = inicio;
+            thread = new Thread(this, nome);
+            thread.setDaemon(true);
+        }
+
+        /**
+         * @return Quantos eventos já publicados esta assinatura ainda não entregou. Chegando
+         *         perto da capacidade do barramento, o consumidor está prestes a perder eventos.
+         */
+        public long getAtraso() {
+            return Math.max(0, proxima - lidos);
+        }
+
+        /**
+         * @return Quantos eventos foram sobrescritos antes de serem lidos, no total.
+         */
+        public long getPerdidos() {
+            return perdidos;
+        }
+
+        /**
+         * Para de entregar eventos (depois do lote em andamento) e encerra a thread.
+         */
+        public void cancelar() {
+            desassinar(this);
+            cancelada = true;
+            encerrar();
+        }
+
+        private void encerrar() {
+            LockSupport.unpark(thread);
+            if (Thread.currentThread() == thread) {
+                return;
+            }
+            try {
+                thread.join(TimeUnit.MINUTES.toMillis(1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void run() {
+            while (!cancelada) {
+                long disponiveis = proxima;
+                long sequencia = lidos;
+                if (sequencia == disponiveis) {
+                    // Relê "proxima" depois de "fechado": o que foi publicado antes de fechar é entregue
+                    if (fechado && proxima == sequencia) {
+                        return;
+                    }
+                    esperar(sequencia);
+                    continue;
+                }
+                long fim = Math.min(disponiveis, sequencia + TAMANHO_LOTE_MAXIMO);
+                for (; sequencia < fim; sequencia++) {
+                    if (!ler(sequencia)) {
+                        pularPerdidos(sequencia);
+                        break;
+                    }
+                    entregar(sequencia == fim - 1);
+                    lidos = sequencia + 1;
+                }
+            }
+        }
+
+        private void esperar(long sequencia) {
+            parada = true;
+            // Confere de novo depois de avisar que vai parar: quem publicou antes disso não
+            // viu o aviso, mas a sua publicação já aparece aqui
+            if (proxima == sequencia && !fechado && !cancelada) {
+                LockSupport.parkNanos(this, ESPERA_MAXIMA_NANOS);
+            }
+            parada = false;
+        }
+
+        /**
+         * Copia o evento da posição para {@link #evento}.
+         * @return false se a posição já foi (ou está sendo) reescrita por um evento mais novo.
+         */
+        private boolean ler(long sequencia) {
+            Posicao posicao = anel[(int) sequencia & mascara];
+            if (posicao.sequencia != sequencia) {
+                return false;
+            }
+            evento.preencher(sequencia, posicao.tipo, posicao.idMaisSignificativo, posicao.idMenosSignificativo,
+                    posicao.origem, posicao.destino);
+            int tamanho = posicao.tamanhoDescricaoUtf8;
+            byte[] utf8 = posicao.descricaoUtf8;
+            if (tamanho < 0) {
+                evento.preencherDescricao(posicao.descricao);
+            } else {
+                // Se a posição estiver sendo reescrita, o tamanho pode não ser deste array:
+                // a conferência abaixo descarta a cópia
+                evento.preencherDescricao(utf8, Math.min(tamanho, utf8.length));
+            }
+            // Os campos têm de ser lidos antes da segunda conferência
+            VarHandle.loadLoadFence();
+            return posicao.sequencia == sequencia;
+        }
+
+        private void pularPerdidos(long sequencia) {
+            // A posição de "proxima" pode estar sendo escrita agora: a mais antiga segura é a seguinte
+            long maisAntiga = proxima - anel.length + 1;
+            long quantidade = maisAntiga - sequencia;
+            lidos = maisAntiga;
+            perdidos += quantidade;
+            try {
+                consumidor.eventosPerdidos(quantidade);
+            } catch (RuntimeException e) {
+                System.err.println("Erro no consumidor de eventos: " + e.getMessage());
+            }
+        }
+
+        private void entregar(boolean fimDoLote) {
+            try {
+                consumidor.evento(evento, fimDoLote);
+            } catch (RuntimeException e) {
+                // Uma exceção aqui mataria a thread e a assinatura em silêncio
+                System.err.println("Erro no consumidor de eventos: " + e.getMessage());
+            }
+        }
+    }
+}
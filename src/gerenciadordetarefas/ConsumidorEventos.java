@@ -0,0 +1,24 @@
+package gerenciadordetarefas;
+
+/**
+ * Recebe os eventos de uma assinatura do {@link BarramentoEventos}, na thread da assinatura
+ * e na ordem em que foram publicados.
+ */
+public interface ConsumidorEventos {
+
+    /**
+     * @param evento O evento, válido só durante esta chamada (a instância é reutilizada).
+     * @param fimDoLote true no último evento disponível no momento: um bom lugar para gravar
+     *                  ou aplicar de uma vez o que foi acumulado no lote.
+     */
+    void evento(EventoTarefa evento, boolean fimDoLote);
+
+    /**
+     * O consumidor ficou tão atrás que eventos foram sobrescritos antes de serem lidos; a
+     * leitura continua do mais antigo ainda disponível. Também encerra o lote em andamento.
+     * Quem mantém um estado derivado dos eventos deve reconstruí-lo a partir do gerenciador.
+     * @param quantidade Quantos eventos foram perdidos.
+     */
+    default void eventosPerdidos(long quantidade) {
+    }
+}
@@ -0,0 +1,25 @@
+package gerenciadordetarefas;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Grava tarefas uma a uma num arquivo, sem precisar do conjunto inteiro na memória.
+ * Obtido com {@link PersistenciaTarefas#abrirEscritor}; o arquivo só fica completo depois de
+ * {@link #close()}.
+ */
+public interface EscritorTarefas extends Closeable {
+
+    /**
+     * Acrescenta uma tarefa ao arquivo. Para que o arquivo volte igual em
+     * {@link PersistenciaTarefas#carregar}, grave os status na ordem de {@link Status#values()}.
+     * @param tarefa Tarefa a gravar
+     */
+    void escrever(Tarefa tarefa) throws IOException;
+
+    /**
+     * Termina o arquivo (ex: fecha o documento JSON) e libera o recurso.
+     */
+    @Override
+    void close() throws IOException;
+}
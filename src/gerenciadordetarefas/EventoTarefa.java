@@ -0,0 +1,114 @@
+package gerenciadordetarefas;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Uma alteração publicada pelo {@link BarramentoEventos}: um retrato da tarefa no momento da
+ * alteração (não a própria tarefa, que pode ter mudado de novo quando o evento for lido).
+ *
+ * Cada assinatura reutiliza a mesma instância para todos os eventos que recebe: ela só vale
+ * durante a chamada a {@link ConsumidorEventos#evento}; quem precisar guardá-la deve copiar
+ * os campos. O UUID e, quando a tarefa guarda a descrição em UTF-8 (ex: {@link ArmazemColunar}),
+ * a String da descrição só são criados no primeiro pedido, na thread do consumidor.
+ */
+public final class EventoTarefa {
+
+    public enum Tipo {
+        ADICIONADA,
+        MOVIDA,
+        REMOVIDA,
+        DESCRICAO_EDITADA,
+        ARQUIVADA,
+        RESTAURADA
+    }
+
+    private long sequencia;
+    private Tipo tipo;
+    private long idMaisSignificativo;
+    private long idMenosSignificativo;
+    private UUID id;
+    private String descricao;
+    // Descrição ainda não decodificada; o tamanho é -1 quando ela veio como String
+    private byte[] descricaoUtf8 = new byte[0];
+    private int tamanhoDescricaoUtf8 = -1;
+    private Status origem;
+    private Status destino;
+
+    void preencher(long sequencia, Tipo tipo, long idMaisSignificativo, long idMenosSignificativo,
+                   Status origem, Status destino) {
+        this.sequencia = sequencia;
+        this.tipo = tipo;
+        this.idMaisSignificativo = idMaisSignificativo;
+        this.idMenosSignificativo = idMenosSignificativo;
+        this.id = null;
+        this.origem = origem;
+        this.destino = destino;
+    }
+
+    void preencherDescricao(String descricao) {
+        this.descricao = descricao;
+        this.tamanhoDescricaoUtf8 = -1;
+    }
+
+    /**
+     * Copia a descrição em UTF-8, decodificada só se for pedida.
+     */
+    void preencherDescricao(byte[] utf8, int tamanho) {
+        if (descricaoUtf8.length < tamanho) {
+            descricaoUtf8 = new byte[tamanho];
+        }
+        System.arraycopy(utf8, 0, descricaoUtf8, 0, tamanho);
+        this.descricao = null;
+        this.tamanhoDescricaoUtf8 = tamanho;
+    }
+
+    /**
+     * @return A posição do evento no barramento, a partir de 0, sem lacunas entre publicações.
+     */
+    public long getSequencia() {
+        return sequencia;
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public UUID getId() {
+        if (id == null) {
+            id = new UUID(idMaisSignificativo, idMenosSignificativo);
+        }
+        return id;
+    }
+
+    /**
+     * @return A descrição da tarefa depois da alteração.
+     */
+    public String getDescricao() {
+        if (descricao == null && tamanhoDescricaoUtf8 >= 0) {
+            descricao = new String(descricaoUtf8, 0, tamanhoDescricaoUtf8, StandardCharsets.UTF_8);
+        }
+        return descricao;
+    }
+
+    /**
+     * @return O status de onde a tarefa saiu, ou null se ela acabou de entrar no gerenciador
+     *         (adicionada ou restaurada). Numa edição, é o status atual.
+     */
+    public Status getOrigem() {
+        return origem;
+    }
+
+    /**
+     * @return O status em que a tarefa ficou, ou null se ela saiu do gerenciador (removida ou
+     *         arquivada).
+     */
+    public Status getDestino() {
+        return destino;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + sequencia + " " + tipo + " " + getId() + " (" + origem + " -> " + destino + ")";
+    }
+}
@@ -0,0 +1,228 @@
+package gerenciadordetarefas;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Executa vários {@link Executavel} em paralelo, em vez de um por um na thread de quem chama.
+ *
+ * Usa threads virtuais quando a JVM oferece (Java 21+) e, caso contrário, um pool de threads
+ * limitado. Em ambos os casos um semáforo limita quantas execuções acontecem ao mesmo tempo.
+ * Cada execução pode ter um tempo limite, contado a partir do seu início: ao estourar, a
+ * thread é interrompida e o item é marcado como TEMPO_ESGOTADO. Como Executavel não tem como
+ * ser forçado a parar, tarefas que ignoram interrupção continuam ocupando sua vaga até terminar.
+ * O término, o tempo esgotado e o cancelamento disputam a situação do item e só o primeiro
+ * vale: uma execução que já terminou não é interrompida nem muda de situação.
+ *
+ * Uma mesma instância pode ser usada por várias threads ao mesmo tempo: cada chamada a
+ * {@link #executar} tem o seu próprio estado de cancelamento e as suas execuções, e
+ * {@link #cancelar()} atinge todas as chamadas em andamento naquele momento.
+ */
+public class ExecutorParaleloTarefas {
+
+    private static final ThreadFactory FABRICA_DAEMON = tarefa -> {
+        Thread thread = new Thread(tarefa, "executor-tarefas");
+        thread.setDaemon(true);
+        return thread;
+    };
+
+    private final int maxConcorrencia;
+    private final long tempoLimiteMillis;
+    // Chamadas a executar() em andamento, para cancelar()
+    private final Set<Rodada> rodadas = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param maxConcorrencia Quantidade máxima de execuções simultâneas
+     * @param tempoLimiteMillis Tempo limite de cada execução, em milissegundos (0 = sem limite)
+     */
+    public ExecutorParaleloTarefas(int maxConcorrencia, long tempoLimiteMillis) {
+        if (maxConcorrencia <= 0) {
+            throw new IllegalArgumentException("A concorrência máxima deve ser positiva.");
+        }
+        if (tempoLimiteMillis < 0) {
+            throw new IllegalArgumentException("O tempo limite não pode ser negativo.");
+        }
+        this.maxConcorrencia = maxConcorrencia;
+        this.tempoLimiteMillis = tempoLimiteMillis;
+    }
+
+    /**
+     * Executa todos os itens e espera o término (ou cancelamento) de cada um.
+     * Se a thread que chamou for interrompida, as execuções pendentes são canceladas.
+     * @param executaveis Os itens a executar
+     * @return O resultado agregado, com um item por executavel, na mesma ordem
+     */
+    public ResultadoExecucao executar(List<? extends Executavel> executaveis) {
+        Rodada rodada = new Rodada();
+        rodadas.add(rodada);
+        List<ResultadoExecucao.Item> itens = new ArrayList<>(executaveis.size());
+        List<Execucao> execucoes = new ArrayList<>(executaveis.size());
+        Semaphore vagas = new Semaphore(maxConcorrencia);
+        ExecutorService executor = criarExecutor();
+        ScheduledExecutorService vigia = Executors.newSingleThreadScheduledExecutor(FABRICA_DAEMON);
+        long inicio = System.nanoTime();
+
+        try {
+            for (Executavel executavel : executaveis) {
+                ResultadoExecucao.Item item = new ResultadoExecucao.Item(executavel);
+                itens.add(item);
+                if (rodada.cancelada) {
+                    continue;
+                }
+                vagas.acquire();
+                Execucao execucao = new Execucao(item, vagas, vigia);
+                execucoes.add(execucao);
+                rodada.emAndamento.add(execucao);
+                if (rodada.cancelada) {
+                    // O cancelamento veio enquanto esperávamos a vaga e não viu esta execução
+                    execucao.encerrar(ResultadoExecucao.Situacao.CANCELADA);
+                }
+                executor.execute(execucao);
+            }
+            for (Execucao execucao : execucoes) {
+                aguardar(rodada, execucao);
+            }
+        } catch (InterruptedException e) {
+            rodada.cancelar();
+            Thread.currentThread().interrupt();
+        } finally {
+            rodadas.remove(rodada);
+            executor.shutdownNow();
+            vigia.shutdownNow();
+        }
+        return new ResultadoExecucao(itens, System.nanoTime() - inicio);
+    }
+
+    /**
+     * Cancela as chamadas a {@link #executar} em andamento: itens que ainda não começaram não
+     * serão executados e os que estão rodando são interrompidos. Não afeta chamadas que
+     * começarem depois.
+     */
+    public void cancelar() {
+        for (Rodada rodada : rodadas) {
+            rodada.cancelar();
+        }
+    }
+
+    /**
+     * O estado de uma chamada a {@link #executar}.
+     */
+    private static final class Rodada {
+        private final Set<Execucao> emAndamento = ConcurrentHashMap.newKeySet();
+        private volatile boolean cancelada;
+
+        void cancelar() {
+            cancelada = true;
+            for (Execucao execucao : emAndamento) {
+                execucao.encerrar(ResultadoExecucao.Situacao.CANCELADA);
+            }
+        }
+    }
+
+    /**
+     * A execução de um item, que devolve a sua vaga no semáforo ao terminar.
+     */
+    private final class Execucao extends FutureTask<Void> {
+        private final ResultadoExecucao.Item item;
+        private final Semaphore vagas;
+        private final ScheduledExecutorService vigia;
+        // Quem marcar primeiro decide quem devolve a vaga: a execução (ao terminar)
+        // ou o cancelamento (se a execução nem chegou a começar)
+        private final AtomicBoolean iniciada = new AtomicBoolean();
+        private long inicio;
+
+        Execucao(ResultadoExecucao.Item item, Semaphore vagas, ScheduledExecutorService vigia) {
+            super(item.getExecutavel()::executar, null);
+            this.item = item;
+            this.vagas = vagas;
+            this.vigia = vigia;
+        }
+
+        @Override
+        public void run() {
+            if (!iniciada.compareAndSet(false, true)) {
+                return;
+            }
+            inicio = System.nanoTime();
+            Future<?> alarme = tempoLimiteMillis > 0
+                    ? vigia.schedule(() -> encerrar(ResultadoExecucao.Situacao.TEMPO_ESGOTADO), tempoLimiteMillis, TimeUnit.MILLISECONDS)
+                    : null;
+            try {
+                super.run();
+            } finally {
+                if (item.duracaoNanos == 0) {
+                    // Interrompida por tempo esgotado ou cancelamento
+                    item.duracaoNanos = System.nanoTime() - inicio;
+                }
+                if (alarme != null) {
+                    alarme.cancel(false);
+                }
+                vagas.release();
+            }
+        }
+
+        // A duração é registrada antes de completar o futuro, que libera quem espera o resultado
+        @Override
+        protected void set(Void resultado) {
+            item.duracaoNanos = System.nanoTime() - inicio;
+            item.concluir(ResultadoExecucao.Situacao.SUCESSO, null);
+            super.set(resultado);
+        }
+
+        @Override
+        protected void setException(Throwable erro) {
+            item.duracaoNanos = System.nanoTime() - inicio;
+            item.concluir(ResultadoExecucao.Situacao.FALHA, erro);
+            super.setException(erro);
+        }
+
+        /**
+         * Termina a execução com a situação dada, interrompendo-a se estiver rodando. Não faz
+         * nada se ela já tinha terminado: quem registrou a situação antes é quem vale.
+         */
+        void encerrar(ResultadoExecucao.Situacao situacao) {
+            if (item.concluir(situacao, null)) {
+                cancel(true);
+            }
+        }
+
+        @Override
+        protected void done() {
+            if (isCancelled() && iniciada.compareAndSet(false, true)) {
+                vagas.release();
+            }
+        }
+    }
+
+    private static void aguardar(Rodada rodada, Future<?> futuro) throws InterruptedException {
+        try {
+            futuro.get();
+        } catch (CancellationException | ExecutionException e) {
+            // A situação do item já foi registrada pela própria execução ou pelo cancelamento
+        } finally {
+            rodada.emAndamento.remove(futuro);
+        }
+    }
+
+    private ExecutorService criarExecutor() {
+        try {
+            // Executors.newVirtualThreadPerTaskExecutor() só existe a partir do Java 21
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(maxConcorrencia, FABRICA_DAEMON);
+        }
+    }
+}
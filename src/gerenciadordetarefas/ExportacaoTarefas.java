@@ -0,0 +1,252 @@
+package gerenciadordetarefas;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Salva as mesmas tarefas em vários destinos (formatos/arquivos) percorrendo-as uma única vez.
+ *
+ * Cada destino roda numa thread própria e recebe um mapa cujas listas não guardam as tarefas:
+ * elas chegam por uma fila limitada, em lotes, à medida que a thread que chamou
+ * {@link #exportar} percorre o quadro. Assim a exportação leva quase o tempo do destino mais
+ * lento, e não a soma de todos, e a memória extra é a das filas, não uma cópia por destino.
+ *
+ * Em troca, cada destino deve ler as listas como as persistências deste pacote fazem: para
+ * frente, uma vez, na ordem dos status. Pular tarefas (ou listas inteiras) é permitido; voltar
+ * a uma tarefa já passada lança IllegalStateException dentro do destino, que é abortado e
+ * informado na saída de erros. Destinos que terminam sem ler tudo (ex: um
+ * {@link PersistenciaJournal} que só anexa o journal) não seguram os demais.
+ */
+public class ExportacaoTarefas {
+
+    static final int TAMANHO_LOTE = 256;
+    private static final int LOTES_NA_FILA = 16;
+    private static final Tarefa[] FIM = new Tarefa[0];
+    private static final Status[] STATUS = Status.values();
+
+    private static final ThreadFactory FABRICA_DAEMON = tarefa -> {
+        Thread thread = new Thread(tarefa, "exportacao-tarefas");
+        thread.setDaemon(true);
+        return thread;
+    };
+
+    private final List<PersistenciaTarefas> persistencias = new ArrayList<>();
+    private final List<String> arquivos = new ArrayList<>();
+    private ExecutorService executor;
+
+    /**
+     * Adiciona um destino às próximas exportações.
+     */
+    public synchronized void adicionarDestino(PersistenciaTarefas persistencia, String arquivo) {
+        persistencias.add(persistencia);
+        arquivos.add(arquivo);
+    }
+
+    /**
+     * Salva as tarefas em todos os destinos e espera todos terminarem. Erros de um destino são
+     * impressos (pela persistência ou aqui) e não interrompem os outros.
+     * @param tarefas As tarefas a salvar; não podem mudar durante a exportação (passe uma cópia
+     *                ou uma visão que só a thread que chama altera).
+     */
+    public void exportar(Map<Status, List<Tarefa>> tarefas) {
+        List<PersistenciaTarefas> destinos;
+        List<String> nomes;
+        synchronized (this) {
+            destinos = new ArrayList<>(persistencias);
+            nomes = new ArrayList<>(arquivos);
+        }
+        if (destinos.size() == 1) {
+            // Um destino só: não há o que sobrepor, grava direto na thread que chamou
+            destinos.get(0).salvar(tarefas, nomes.get(0));
+            return;
+        }
+
+        int[] quantidades = new int[STATUS.length];
+        for (Status status : STATUS) {
+            quantidades[status.ordinal()] = tarefas.getOrDefault(status, List.of()).size();
+        }
+        Fluxo[] fluxos = new Fluxo[destinos.size()];
+        List<Future<?>> futuros = new ArrayList<>();
+        for (int i = 0; i < fluxos.length; i++) {
+            Fluxo fluxo = new Fluxo();
+            PersistenciaTarefas destino = destinos.get(i);
+            String arquivo = nomes.get(i);
+            Map<Status, List<Tarefa>> visao = fluxo.visao(quantidades);
+            fluxos[i] = fluxo;
+            futuros.add(executor().submit(() -> {
+                try {
+                    destino.salvar(visao, arquivo);
+                } catch (RuntimeException e) {
+                    System.err.println("Erro ao exportar para " + arquivo + ": " + e.getMessage());
+                } finally {
+                    fluxo.terminar();
+                }
+            }));
+        }
+
+        try {
+            // A única passada pelas tarefas: cada lote é compartilhado (só para leitura) por todos os destinos
+            Tarefa[] lote = new Tarefa[TAMANHO_LOTE];
+            int preenchidas = 0;
+            for (Status status : STATUS) {
+                for (Tarefa tarefa : tarefas.getOrDefault(status, List.of())) {
+                    lote[preenchidas++] = tarefa;
+                    if (preenchidas == TAMANHO_LOTE) {
+                        publicar(fluxos, lote);
+                        lote = new Tarefa[TAMANHO_LOTE];
+                        preenchidas = 0;
+                    }
+                }
+            }
+            if (preenchidas > 0) {
+                Tarefa[] ultimo = new Tarefa[preenchidas];
+                System.arraycopy(lote, 0, ultimo, 0, preenchidas);
+                publicar(fluxos, ultimo);
+            }
+            publicar(fluxos, FIM);
+            for (Future<?> futuro : futuros) {
+                futuro.get();
+            }
+        } catch (InterruptedException e) {
+            for (Future<?> futuro : futuros) {
+                futuro.cancel(true);
+            }
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("Erro ao exportar tarefas: " + e.getCause());
+        }
+    }
+
+    private static void publicar(Fluxo[] fluxos, Tarefa[] lote) throws InterruptedException {
+        for (Fluxo fluxo : fluxos) {
+            fluxo.entregar(lote);
+        }
+    }
+
+    private synchronized ExecutorService executor() {
+        if (executor == null) {
+            executor = Executors.newCachedThreadPool(FABRICA_DAEMON);
+        }
+        return executor;
+    }
+
+    /**
+     * Encerra as threads dos destinos. Pode ser chamado mais de uma vez.
+     */
+    public synchronized void fechar() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    /**
+     * Fila de lotes de um destino e a posição da leitura dele no quadro.
+     */
+    private static final class Fluxo {
+        private final BlockingQueue<Tarefa[]> fila = new ArrayBlockingQueue<>(LOTES_NA_FILA);
+        private volatile boolean terminado;
+
+        // Só a thread do destino lê estes campos
+        private Tarefa[] lote;
+        private int posicaoNoLote;
+        private long lidas;
+        private Tarefa atual;
+
+        Map<Status, List<Tarefa>> visao(int[] quantidades) {
+            Map<Status, List<Tarefa>> visao = new EnumMap<>(Status.class);
+            long inicio = 0;
+            for (Status status : STATUS) {
+                int quantidade = quantidades[status.ordinal()];
+                visao.put(status, new ListaEmFluxo(this, inicio, quantidade));
+                inicio += quantidade;
+            }
+            return Collections.unmodifiableMap(visao);
+        }
+
+        void entregar(Tarefa[] lote) throws InterruptedException {
+            // Se o destino terminar enquanto esperamos espaço, terminar() esvazia a fila e nos libera
+            if (!terminado) {
+                fila.put(lote);
+            }
+        }
+
+        void terminar() {
+            terminado = true;
+            fila.clear();
+        }
+
+        /**
+         * @param indice Posição da tarefa no quadro inteiro (os status em sequência).
+         */
+        Tarefa tarefa(long indice) {
+            if (indice < lidas - 1) {
+                throw new IllegalStateException("As tarefas só podem ser lidas uma vez, em ordem (posição "
+                        + indice + " depois de " + (lidas - 1) + ").");
+            }
+            while (lidas <= indice) {
+                if (lote == null || posicaoNoLote == lote.length) {
+                    lote = proximoLote();
+                    posicaoNoLote = 0;
+                }
+                atual = lote[posicaoNoLote++];
+                lidas++;
+            }
+            return atual;
+        }
+
+        private Tarefa[] proximoLote() {
+            Tarefa[] proximo;
+            try {
+                proximo = fila.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Exportação interrompida.");
+            }
+            if (proximo == FIM) {
+                throw new NoSuchElementException("O quadro tem menos tarefas que o informado.");
+            }
+            return proximo;
+        }
+    }
+
+    /**
+     * Lista de um status que busca cada tarefa no fluxo do destino.
+     */
+    private static final class ListaEmFluxo extends AbstractList<Tarefa> {
+        private final Fluxo fluxo;
+        private final long inicio;
+        private final int tamanho;
+
+        ListaEmFluxo(Fluxo fluxo, long inicio, int tamanho) {
+            this.fluxo = fluxo;
+            this.inicio = inicio;
+            this.tamanho = tamanho;
+        }
+
+        @Override
+        public Tarefa get(int indice) {
+            if (indice < 0 || indice >= tamanho) {
+                throw new IndexOutOfBoundsException("Índice " + indice + " fora da lista de tamanho " + tamanho);
+            }
+            return fluxo.tarefa(inicio + indice);
+        }
+
+        @Override
+        public int size() {
+            return tamanho;
+        }
+    }
+}
@@ -1,45 +1,468 @@
 package gerenciadordetarefas;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
 import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
 
 /**
  * Gerencia as listas de tarefas (A Fazer, Fazendo, Pronto).
+ * As tarefas ficam num {@link ArmazemTarefas}, que as localiza pelo ID em tempo constante;
+ * o gerenciador aplica as regras (datas, validação) e notifica os ouvintes.
  */
 public class GerenciadorTarefas {
-    private final Map<Status, List<Tarefa>> tarefasPorStatus;
+    private final ArmazemTarefas armazem;
+    // Visões das listas do armazém: montadas uma vez, refletem sempre o estado atual
+    private final Map<Status, List<Tarefa>> todasTarefas;
+    // Array copiado a cada registro: notificar não aloca (não há Iterator)
+    private OuvinteTarefas[] ouvintes = new OuvinteTarefas[0];
+    private MetricasTarefas metricas; // null = sem medição
+    private IndiceTextual indiceTextual; // Criado na primeira busca
+    private IndiceDatas indiceDatas; // Criado na primeira consulta por datas
+    // Um por ordenação, criado na primeira listagem nela
+    private final Map<Ordenacao, IndiceOrdenado> indicesOrdenados = new EnumMap<>(Ordenacao.class);
+    private ArquivoMorto arquivoMorto; // null = sem arquivamento
+    private long idadeArquivamentoMillis;
 
     public GerenciadorTarefas() {
-        tarefasPorStatus = new EnumMap<>(Status.class);
-        for (Status s : Status.values()) {
-            tarefasPorStatus.put(s, new ArrayList<>());
+        this(new ArmazemObjetos());
+    }
+
+    /**
+     * Cria um gerenciador sobre um armazém específico, por exemplo um {@link ArmazemColunar}
+     * para quadros com milhões de tarefas.
+     * @param armazem Onde as tarefas serão guardadas.
+     */
+    public GerenciadorTarefas(ArmazemTarefas armazem) {
+        this.armazem = armazem;
+        Map<Status, List<Tarefa>> visoes = new EnumMap<>(Status.class);
+        for (Status status : Status.values()) {
+            visoes.put(status, armazem.listar(status));
         }
+        this.todasTarefas = Collections.unmodifiableMap(visoes);
     }
 
     // Construtor para inicializar com listas pré-carregadas
     public GerenciadorTarefas(List<Tarefa> aFazer, List<Tarefa> fazendo, List<Tarefa> pronto) {
-        this(); // Chama o construtor padrão para inicializar o mapa
-        tarefasPorStatus.get(Status.AFAZER).addAll(aFazer);
-        tarefasPorStatus.get(Status.FAZENDO).addAll(fazendo);
-        tarefasPorStatus.get(Status.PRONTO).addAll(pronto);
+        this(new ArmazemObjetos(), aFazer, fazendo, pronto);
+    }
+
+    /**
+     * Cria um gerenciador sobre um armazém específico, já com tarefas carregadas.
+     * Nenhum ouvinte é notificado por essas tarefas.
+     */
+    public GerenciadorTarefas(ArmazemTarefas armazem, List<Tarefa> aFazer, List<Tarefa> fazendo, List<Tarefa> pronto) {
+        this(armazem);
+        adicionarCarregadas(Status.AFAZER, aFazer);
+        adicionarCarregadas(Status.FAZENDO, fazendo);
+        adicionarCarregadas(Status.PRONTO, pronto);
+    }
+
+    private void adicionarCarregadas(Status status, List<Tarefa> tarefas) {
+        for (Tarefa tarefa : tarefas) {
+            // A lista em que a tarefa veio define o seu status
+            tarefa.setStatus(status);
+            armazem.adicionar(tarefa);
+        }
+    }
+
+    /**
+     * Registra um ouvinte que será notificado de cada alteração nas tarefas.
+     * @param ouvinte O ouvinte a ser registrado.
+     */
+    public void adicionarOuvinte(OuvinteTarefas ouvinte) {
+        OuvinteTarefas[] novos = Arrays.copyOf(ouvintes, ouvintes.length + 1);
+        novos[ouvintes.length] = ouvinte;
+        ouvintes = novos;
+    }
+
+    /**
+     * Remove um ouvinte registrado anteriormente.
+     * @param ouvinte O ouvinte a ser removido.
+     */
+    public void removerOuvinte(OuvinteTarefas ouvinte) {
+        for (int i = 0; i < ouvintes.length; i++) {
+            if (ouvintes[i] == ouvinte) {
+                OuvinteTarefas[] novos = new OuvinteTarefas[ouvintes.length - 1];
+                System.arraycopy(ouvintes, 0, novos, 0, i);
+                System.arraycopy(ouvintes, i + 1, novos, i, ouvintes.length - i - 1);
+                ouvintes = novos;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Passa a medir as mutações (adicionar, mover, remover, editar) e a acompanhar a
+     * quantidade de tarefas por status nas métricas informadas.
+     * @param metricas As métricas a alimentar, ou null para parar de medir.
+     */
+    public void setMetricas(MetricasTarefas metricas) {
+        if (this.metricas != null) {
+            removerOuvinte(this.metricas);
+        }
+        this.metricas = metricas;
+        if (metricas != null) {
+            for (Status status : Status.values()) {
+                metricas.definirTarefas(status, armazem.listar(status).size());
+            }
+            adicionarOuvinte(metricas);
+        }
+    }
+
+    public MetricasTarefas getMetricas() {
+        return metricas;
+    }
+
+    /**
+     * Passa a levar para um arquivo morto as tarefas prontas há mais de idadeMinimaMillis,
+     * a cada chamada de {@link #arquivarAntigas()}. As arquivadas saem das listas (e, pelos
+     * ouvintes, do que é salvo), mas continuam sendo encontradas por {@link #getTarefaPorId},
+     * pelas consultas por datas e pela busca textual; mover, editar ou remover uma delas a traz
+     * de volta para o final de "Pronto" antes.
+     *
+     * Uma tarefa ativa que também esteja no arquivo (queda entre arquivar e salvar o arquivo de
+     * dados) passa a valer só como ativa.
+     * @param arquivo O arquivo morto, ou null para parar de arquivar.
+     * @param idadeMinimaMillis Há quanto tempo uma tarefa precisa estar pronta para ser arquivada.
+     */
+    public void setArquivoMorto(ArquivoMorto arquivo, long idadeMinimaMillis) {
+        if (idadeMinimaMillis < 0) {
+            throw new IllegalArgumentException("A idade mínima para arquivar não pode ser negativa.");
+        }
+        this.arquivoMorto = arquivo;
+        this.idadeArquivamentoMillis = idadeMinimaMillis;
+        if (arquivo != null) {
+            for (Status status : Status.values()) {
+                for (Tarefa tarefa : armazem.listar(status)) {
+                    arquivo.marcarAtiva(tarefa.getId());
+                }
+            }
+        }
+    }
+
+    public ArquivoMorto getArquivoMorto() {
+        return arquivoMorto;
+    }
+
+    /**
+     * Leva para o arquivo morto as tarefas prontas há mais tempo que a idade configurada.
+     * Elas são gravadas (de uma vez) antes de saírem das listas; os ouvintes recebem
+     * {@link OuvinteTarefas#tarefaArquivada}. Grava no disco na thread que chama; para gravar
+     * em outra, use {@link #escolherAntigas()} e {@link #concluirArquivamento}.
+     * @return Quantas tarefas foram arquivadas (0 se não houver arquivo morto ou se a gravação falhar).
+     */
+    public int arquivarAntigas() {
+        List<Tarefa> antigas = escolherAntigas();
+        if (antigas.isEmpty()) {
+            return 0;
+        }
+        try {
+            arquivoMorto.arquivar(antigas);
+        } catch (IOException e) {
+            System.err.println("Erro ao arquivar tarefas: " + e.getMessage());
+            return 0;
+        }
+        return concluirArquivamento(antigas);
+    }
+
+    /**
+     * Primeira parte de {@link #arquivarAntigas()}: escolhe as tarefas a arquivar sem tirá-las
+     * das listas. As cópias devolvidas podem ser gravadas com {@link ArquivoMorto#arquivar} em
+     * outra thread, enquanto o gerenciador continua sendo usado.
+     * @return Cópias das tarefas prontas há mais tempo que a idade configurada (vazia se não houver arquivo morto).
+     */
+    public List<Tarefa> escolherAntigas() {
+        if (arquivoMorto == null) {
+            return Collections.emptyList();
+        }
+        long limite = System.currentTimeMillis() - idadeArquivamentoMillis;
+        List<Tarefa> antigas = new ArrayList<>();
+        for (Tarefa tarefa : armazem.listar(Status.PRONTO)) {
+            long conclusao = tarefa.getDataConclusaoMillis();
+            if (conclusao != Tarefa.SEM_DATA && conclusao < limite) {
+                antigas.add(new Tarefa(tarefa.getId(), tarefa.getDescricao(), new Date(tarefa.getDataCriacaoMillis()),
+                        new Date(conclusao), Status.PRONTO));
+            }
+        }
+        return antigas;
+    }
+
+    /**
+     * Segunda parte de {@link #arquivarAntigas()}, depois que as tarefas escolhidas foram
+     * gravadas no arquivo morto: tira-as das listas e avisa os ouvintes. Uma tarefa alterada
+     * durante a gravação continua ativa (e o arquivo passa a ignorá-la); uma removida durante
+     * a gravação é excluída também do arquivo.
+     * @param gravadas As tarefas de {@link #escolherAntigas()} já gravadas no arquivo morto.
+     * @return Quantas tarefas saíram das listas.
+     */
+    public int concluirArquivamento(List<Tarefa> gravadas) {
+        if (arquivoMorto == null) {
+            return 0;
+        }
+        int arquivadas = 0;
+        for (Tarefa gravada : gravadas) {
+            UUID id = gravada.getId();
+            Tarefa atual = armazem.buscar(id);
+            if (atual == null) {
+                try {
+                    arquivoMorto.excluir(id);
+                } catch (IOException e) {
+                    System.err.println("Erro ao excluir tarefa do arquivo morto: " + e.getMessage());
+                }
+            } else if (atual.getStatus() != Status.PRONTO
+                    || atual.getDataConclusaoMillis() != gravada.getDataConclusaoMillis()
+                    || !atual.getDescricao().equals(gravada.getDescricao())) {
+                arquivoMorto.marcarAtiva(id);
+            } else {
+                // Remove pelo ID: a instância do armazém pode ser uma visão que muda com a remoção
+                Tarefa arquivada = armazem.remover(id);
+                for (OuvinteTarefas ouvinte : ouvintes) {
+                    ouvinte.tarefaArquivada(arquivada);
+                }
+                arquivadas++;
+            }
+        }
+        return arquivadas;
+    }
+
+    /**
+     * Traz uma tarefa do arquivo morto de volta para o final de "Pronto". Lê o registro da
+     * tarefa nesta thread (uma leitura posicional, sem esperar por gravações do arquivo em
+     * andamento): mover, editar ou remover precisam dela nas listas antes de continuar.
+     * @return A instância gerenciada, ou null se a tarefa não estiver arquivada.
+     */
+    private Tarefa restaurar(UUID id) {
+        Tarefa tarefa = arquivoMorto == null ? null : arquivoMorto.restaurar(id);
+        if (tarefa == null) {
+            return null;
+        }
+        Tarefa restaurada = armazem.adicionar(tarefa);
+        for (OuvinteTarefas ouvinte : ouvintes) {
+            ouvinte.tarefaRestaurada(restaurada);
+        }
+        return restaurada;
+    }
+
+    /**
+     * @return A instância gerenciada com este ID, trazendo-a do arquivo morto se preciso.
+     */
+    private Tarefa buscarOuRestaurar(UUID id) {
+        Tarefa atual = armazem.buscar(id);
+        return atual != null ? atual : restaurar(id);
+    }
+
+    private long iniciarMedicao() {
+        return metricas != null ? System.nanoTime() : 0L;
+    }
+
+    private void registrarMedicao(MetricasTarefas.Operacao operacao, long inicio, boolean sucesso) {
+        if (metricas != null) {
+            metricas.registrar(operacao, System.nanoTime() - inicio, sucesso);
+        }
     }
 
     //feito por Stephanie
     public void executarTarefasPorStatus(Status status) {
-    List<Tarefa> tarefas = tarefasPorStatus.get(status);
+    List<Tarefa> tarefas = armazem.listar(status);
     for (Executavel tarefa : tarefas) {
         tarefa.executar(); // Aqui acontece o polimorfismo
     }
 }
 
-    public void adicionarTarefa(String descricao) {
-        Tarefa novaTarefa = new Tarefa(descricao); // Status padrão AFAZER
-        tarefasPorStatus.get(Status.AFAZER).add(novaTarefa);
+    /**
+     * Executa as tarefas de um status em paralelo, em vez de uma por uma nesta thread.
+     * A lista é copiada antes, então alterações feitas durante a execução não a afetam.
+     * @param status O status das tarefas a executar.
+     * @param executor Define a concorrência máxima e o tempo limite de cada tarefa.
+     * @return O resultado agregado (sucessos, falhas e durações).
+     */
+    public ResultadoExecucao executarTarefasPorStatus(Status status, ExecutorParaleloTarefas executor) {
+        return executor.executar(new ArrayList<>(armazem.listar(status)));
+    }
+
+    /**
+     * Cria uma nova tarefa na lista "A Fazer".
+     * @param descricao A descrição da tarefa.
+     * @return A tarefa criada.
+     * @throws IllegalArgumentException Se a descrição for vazia.
+     */
+    public Tarefa adicionarTarefa(String descricao) {
+        long inicio = iniciarMedicao();
+        Tarefa novaTarefa = armazem.adicionar(new Tarefa(descricao)); // Status padrão AFAZER
+        for (OuvinteTarefas ouvinte : ouvintes) {
+            ouvinte.tarefaAdicionada(novaTarefa);
+        }
+        registrarMedicao(MetricasTarefas.Operacao.ADICIONAR, inicio, true);
+        return novaTarefa;
+    }
+
+    /**
+     * Cria várias tarefas na lista "A Fazer", na ordem recebida e com a mesma data de criação.
+     * Todas as descrições são validadas antes: se alguma for vazia, nenhuma tarefa é criada.
+     * Nas métricas, conta como uma única adição.
+     * @param descricoes As descrições das tarefas.
+     * @return As tarefas criadas.
+     * @throws IllegalArgumentException Se alguma descrição for vazia.
+     */
+    public List<Tarefa> adicionarTarefas(Collection<String> descricoes) {
+        long inicio = iniciarMedicao();
+        List<String> validadas = new ArrayList<>(descricoes.size());
+        for (String descricao : descricoes) {
+            validadas.add(Tarefa.validarDescricao(descricao));
+        }
+        long criacao = System.currentTimeMillis();
+        List<Tarefa> criadas = new ArrayList<>(validadas.size());
+        for (String descricao : validadas) {
+            Tarefa nova = armazem.adicionar(new Tarefa(UUID.randomUUID(), descricao, new Date(criacao), null, Status.AFAZER));
+            criadas.add(nova);
+            for (OuvinteTarefas ouvinte : ouvintes) {
+                ouvinte.tarefaAdicionada(nova);
+            }
+        }
+        registrarMedicao(MetricasTarefas.Operacao.ADICIONAR, inicio, true);
+        return criadas;
+    }
+
+    /**
+     * Altera a descrição de uma tarefa e notifica os ouvintes.
+     * Prefira este método a {@link Tarefa#setDescricao(String)} para que journal e índices
+     * fiquem sabendo da alteração.
+     * @param tarefa A tarefa a ser editada.
+     * @param novaDescricao A nova descrição.
+     * @return true se a tarefa foi encontrada e editada, false caso contrário.
+     * @throws IllegalArgumentException Se a descrição for vazia.
+     */
+    public boolean editarDescricao(Tarefa tarefa, String novaDescricao) {
+        long inicio = iniciarMedicao();
+        if (buscarOuRestaurar(tarefa.getId()) == null) {
+            registrarMedicao(MetricasTarefas.Operacao.EDITAR, inicio, false);
+            return false;
+        }
+        String descricao = Tarefa.validarDescricao(novaDescricao);
+        boolean copia = !armazem.gerencia(tarefa);
+        Tarefa atual = armazem.editarDescricao(tarefa.getId(), descricao);
+        if (copia) {
+            tarefa.setDescricao(descricao);
+        }
+        for (OuvinteTarefas ouvinte : ouvintes) {
+            ouvinte.descricaoEditada(atual);
+        }
+        registrarMedicao(MetricasTarefas.Operacao.EDITAR, inicio, true);
+        return true;
+    }
+
+    /**
+     * Busca uma tarefa pelo seu ID único, em qualquer uma das listas ou no arquivo morto.
+     * Uma tarefa arquivada é lida do disco e devolvida como cópia, sem voltar para as listas.
+     * @param id O UUID da tarefa.
+     * @return Um Optional contendo a Tarefa se encontrada, ou Optional vazio caso contrário.
+     */
+    public Optional<Tarefa> getTarefaPorId(UUID id) {
+        Tarefa tarefa = armazem.buscar(id);
+        if (tarefa == null && arquivoMorto != null) {
+            tarefa = arquivoMorto.buscar(id);
+        }
+        return Optional.ofNullable(tarefa);
+    }
+
+    /**
+     * Busca tarefas pelas palavras da descrição, em todos os status.
+     * @see #buscarTarefas(String, Status)
+     */
+    public List<Tarefa> buscarTarefas(String consulta) {
+        return buscarTarefas(consulta, null);
+    }
+
+    /**
+     * Busca tarefas pelas palavras da descrição usando um índice invertido, sem percorrer
+     * as listas. O índice é montado na primeira busca e depois acompanha as alterações.
+     * As tarefas do arquivo morto que casarem são lidas do disco e devolvidas como cópias.
+     * @param consulta Termos separados por espaço, todos obrigatórios; "term*" busca por prefixo.
+     * @param status Só devolve tarefas neste status, ou null para todos.
+     * @return As tarefas encontradas: as arquivadas (mais antigas) primeiro, depois as ativas
+     *         na ordem de criação.
+     */
+    public List<Tarefa> buscarTarefas(String consulta, Status status) {
+        if (indiceTextual == null) {
+            indiceTextual = new IndiceTextual();
+            for (Status s : Status.values()) {
+                for (Tarefa tarefa : armazem.listar(s)) {
+                    indiceTextual.indexar(tarefa);
+                }
+            }
+            adicionarOuvinte(indiceTextual);
+        }
+        List<Tarefa> ativas = indiceTextual.buscar(consulta, status);
+        if (arquivoMorto == null || (status != null && status != Status.PRONTO)) {
+            return ativas;
+        }
+        List<Tarefa> arquivadas = arquivoMorto.buscarDescricoes(consulta);
+        if (arquivadas.isEmpty()) {
+            return ativas;
+        }
+        arquivadas.addAll(ativas);
+        return arquivadas;
+    }
+
+    /**
+     * Retorna as tarefas criadas no intervalo [inicioMillis, fimMillis), da mais antiga para
+     * a mais nova, sem percorrer as listas. O índice de datas é montado na primeira consulta.
+     * @param inicioMillis Início do intervalo (inclusivo), em milissegundos desde a época.
+     * @param fimMillis Fim do intervalo (exclusivo), em milissegundos desde a época.
+     * @param status Só tarefas neste status, ou null para todos.
+     */
+    public List<Tarefa> getTarefasCriadasEntre(long inicioMillis, long fimMillis, Status status) {
+        List<Tarefa> tarefas = getIndiceDatas().criadasEntre(inicioMillis, fimMillis, status);
+        if (arquivoMorto == null || (status != null && status != Status.PRONTO)) {
+            return tarefas;
+        }
+        return juntar(tarefas, arquivoMorto.criadasEntre(inicioMillis, fimMillis), Tarefa::getDataCriacaoMillis);
+    }
+
+    /**
+     * Retorna as tarefas concluídas no intervalo [inicioMillis, fimMillis), da mais antiga
+     * para a mais nova. Como mover para fora de "Pronto" limpa a data de conclusão, na
+     * prática são tarefas em "Pronto".
+     * @see #getTarefasCriadasEntre(long, long, Status)
+     */
+    public List<Tarefa> getTarefasConcluidasEntre(long inicioMillis, long fimMillis, Status status) {
+        List<Tarefa> tarefas = getIndiceDatas().concluidasEntre(inicioMillis, fimMillis, status);
+        if (arquivoMorto == null || (status != null && status != Status.PRONTO)) {
+            return tarefas;
+        }
+        return juntar(tarefas, arquivoMorto.concluidasEntre(inicioMillis, fimMillis), Tarefa::getDataConclusaoMillis);
+    }
+
+    /**
+     * Intercala o resultado de uma consulta por datas com o do arquivo morto, ambos já em ordem.
+     * Entre datas iguais, as arquivadas (mais antigas) vêm primeiro.
+     */
+    private static List<Tarefa> juntar(List<Tarefa> ativas, List<Tarefa> arquivadas, ToLongFunction<Tarefa> data) {
+        return IndiceDatas.intercalar(arquivadas, ativas, data);
+    }
+
+    private IndiceDatas getIndiceDatas() {
+        if (indiceDatas == null) {
+            indiceDatas = new IndiceDatas();
+            for (Status s : Status.values()) {
+                for (Tarefa tarefa : armazem.listar(s)) {
+                    indiceDatas.indexar(tarefa);
+                }
+            }
+            adicionarOuvinte(indiceDatas);
+        }
+        return indiceDatas;
     }
 
     /**
@@ -50,7 +473,19 @@ public class GerenciadorTarefas {
      * @return Um Optional contendo a Tarefa se encontrada, ou Optional vazio caso contrário.
      */
     public Optional<Tarefa> getTarefaPorIndice(Status status, int indice) {
-        List<Tarefa> lista = tarefasPorStatus.get(status);
+        return getTarefaPorIndice(status, indice, Ordenacao.INSERCAO);
+    }
+
+    /**
+     * Encontra uma tarefa pela sua posição numa listagem ordenada (ver
+     * {@link #getTarefasPorStatus(Status, Ordenacao)}), em O(log n).
+     * @param status A lista onde procurar.
+     * @param indice A posição da tarefa, a partir de 1.
+     * @param ordenacao A ordem da listagem.
+     * @return Um Optional contendo a Tarefa se encontrada, ou Optional vazio caso contrário.
+     */
+    public Optional<Tarefa> getTarefaPorIndice(Status status, int indice, Ordenacao ordenacao) {
+        List<Tarefa> lista = status == null ? null : getTarefasPorStatus(status, ordenacao);
         // Valida se a lista existe e se o índice está dentro dos limites válidos
         if (lista != null && indice > 0 && indice <= lista.size()) {
             return Optional.of(lista.get(indice - 1)); 
@@ -61,18 +496,110 @@ public class GerenciadorTarefas {
 
     /**
      * Remove uma tarefa do gerenciador.
-     * A identificação da tarefa correta depende da implementação de equals() na classe Tarefa (baseado em UUID).
+     * A tarefa é identificada pelo seu ID (UUID) através do armazém, sem percorrer a lista.
      * @param tarefa O objeto Tarefa a ser removido.
      * @return true se a tarefa foi encontrada e removida, false caso contrário.
      */
     public boolean removerTarefa(Tarefa tarefa) {
-        Status statusAtual = tarefa.getStatus();
-        List<Tarefa> lista = tarefasPorStatus.get(statusAtual);
-        if (lista != null) {
-            // List.remove(Object) usa o método equals() da Tarefa para encontrar o item correto
-            return lista.remove(tarefa);
+        long inicio = iniciarMedicao();
+        Tarefa removida = armazem.remover(tarefa.getId());
+        if (arquivoMorto != null) {
+            try {
+                // Arquivada: basta excluí-la do arquivo, os ouvintes já não a acompanham
+                if (arquivoMorto.excluir(tarefa.getId()) && removida == null) {
+                    registrarMedicao(MetricasTarefas.Operacao.REMOVER, inicio, true);
+                    return true;
+                }
+            } catch (IOException e) {
+                System.err.println("Erro ao excluir tarefa do arquivo morto: " + e.getMessage());
+            }
+        }
+        if (removida == null) {
+            registrarMedicao(MetricasTarefas.Operacao.REMOVER, inicio, false);
+            return false;
+        }
+        for (OuvinteTarefas ouvinte : ouvintes) {
+            ouvinte.tarefaRemovida(removida);
+        }
+        registrarMedicao(MetricasTarefas.Operacao.REMOVER, inicio, true);
+        return true;
+    }
+
+    /**
+     * Remove, numa única passada pela lista de um status, as tarefas que atendem ao filtro.
+     * As listas são compactadas uma vez só, no final. Nas métricas, conta como uma remoção.
+     * @param status A lista de onde remover.
+     * @param filtro Decide quais tarefas saem; não deve alterar o gerenciador.
+     * @return Quantas tarefas foram removidas.
+     */
+    public int removerSe(Status status, Predicate<Tarefa> filtro) {
+        long inicio = iniciarMedicao();
+        List<UUID> ids = new ArrayList<>();
+        for (Tarefa tarefa : getTarefasPorStatus(status)) {
+            if (filtro.test(tarefa)) {
+                ids.add(tarefa.getId());
+            }
+        }
+        List<Tarefa> removidas = armazem.removerTodas(ids);
+        for (Tarefa removida : removidas) {
+            if (arquivoMorto != null) {
+                try {
+                    // Uma tarefa restaurada do arquivo morto não pode voltar ao reabri-lo
+                    arquivoMorto.excluir(removida.getId());
+                } catch (IOException e) {
+                    System.err.println("Erro ao excluir tarefa do arquivo morto: " + e.getMessage());
+                }
+            }
+            for (OuvinteTarefas ouvinte : ouvintes) {
+                ouvinte.tarefaRemovida(removida);
+            }
+        }
+        registrarMedicao(MetricasTarefas.Operacao.REMOVER, inicio, !removidas.isEmpty());
+        return removidas.size();
+    }
+
+    /**
+     * Move várias tarefas para o final da lista de destino, na ordem recebida. Todas recebem
+     * a mesma data de conclusão (ou nenhuma, fora de "Pronto"), e as listas de origem são
+     * compactadas uma vez só, no final. Tarefas que não existem, que já estão no destino ou
+     * repetidas são ignoradas; as arquivadas são trazidas de volta antes. Nas métricas,
+     * conta como uma movimentação.
+     * @param tarefas As tarefas a mover.
+     * @param destino O Status de destino.
+     * @return Quantas tarefas foram movidas.
+     */
+    public int moverTarefas(Collection<Tarefa> tarefas, Status destino) {
+        long inicio = iniciarMedicao();
+        if (destino == null) {
+            System.err.println("Erro: Status de destino inválido.");
+            registrarMedicao(MetricasTarefas.Operacao.MOVER, inicio, false);
+            return 0;
+        }
+        // Origem de cada tarefa, lida antes de mover (as visões do armazém colunar mudam junto)
+        LinkedHashMap<UUID, Status> origens = new LinkedHashMap<>();
+        for (Tarefa tarefa : tarefas) {
+            Tarefa atual = buscarOuRestaurar(tarefa.getId());
+            if (atual != null && atual.getStatus() != destino) {
+                origens.putIfAbsent(atual.getId(), atual.getStatus());
+            }
+        }
+        long conclusao = destino == Status.PRONTO ? System.currentTimeMillis() : Tarefa.SEM_DATA;
+        List<Tarefa> movidas = armazem.moverTodas(origens.keySet(), destino, conclusao);
+        for (Tarefa tarefa : tarefas) {
+            if (origens.containsKey(tarefa.getId()) && !armazem.gerencia(tarefa)) {
+                // Mantém as cópias recebidas coerentes com as instâncias gerenciadas
+                tarefa.setStatus(destino);
+                tarefa.setDataConclusao(conclusao == Tarefa.SEM_DATA ? null : new Date(conclusao));
+            }
         }
-        return false; 
+        for (Tarefa movida : movidas) {
+            Status origem = origens.get(movida.getId());
+            for (OuvinteTarefas ouvinte : ouvintes) {
+                ouvinte.tarefaMovida(movida, origem, destino);
+            }
+        }
+        registrarMedicao(MetricasTarefas.Operacao.MOVER, inicio, !movidas.isEmpty());
+        return movidas.size();
     }
 
     /**
@@ -82,34 +609,42 @@ public class GerenciadorTarefas {
      * @return true se a tarefa foi movida com sucesso, false caso contrário.
      */
     public boolean moverTarefa(Tarefa tarefa, Status novoStatus) {
+        long inicio = iniciarMedicao();
+        boolean movida = mover(tarefa, novoStatus);
+        registrarMedicao(MetricasTarefas.Operacao.MOVER, inicio, movida);
+        return movida;
+    }
+
+    private boolean mover(Tarefa tarefa, Status novoStatus) {
         Status statusOrigem = tarefa.getStatus();
         if (statusOrigem == novoStatus) {
             System.out.println("A tarefa já está na lista de destino.");
             return false; 
         }
 
-        List<Tarefa> listaOrigem = tarefasPorStatus.get(statusOrigem);
-        List<Tarefa> listaDestino = tarefasPorStatus.get(novoStatus);
+        if (novoStatus == null) {
+            System.err.println("Erro: Status de destino inválido.");
+            return false;
+        }
 
-        // Verifica se ambas as listas (origem e destino) existem no mapa
-        if (listaOrigem != null && listaDestino != null) {
-             // Tenta remover da lista de origem usando equals() (baseado em UUID)
-            if (listaOrigem.remove(tarefa)) {
+        // Localiza a instância gerenciada pelo ID; o armazém a move sem percorrer a lista
+        Tarefa atual = buscarOuRestaurar(tarefa.getId());
+        if (atual != null && atual.getStatus() == statusOrigem) {
+            boolean copia = !armazem.gerencia(tarefa);
+            long conclusao = novoStatus == Status.PRONTO ? System.currentTimeMillis() : Tarefa.SEM_DATA;
+            atual = armazem.mover(atual.getId(), novoStatus, conclusao);
+            if (copia) {
+                // Mantém a cópia recebida coerente com a instância gerenciada
                 tarefa.setStatus(novoStatus);
-                if (novoStatus == Status.PRONTO) {
-                    tarefa.setDataConclusao(new Date()); 
-                } else {
-                    tarefa.setDataConclusao(null);
-                }
-                listaDestino.add(tarefa);
-                return true; 
-            } else {
-                 System.err.println("Erro: Tarefa com ID " + tarefa.getId() + " não encontrada na lista '" + statusOrigem.getDescricao() + "'.");
-                return false;
+                tarefa.setDataConclusao(atual.getDataConclusao());
+            }
+            for (OuvinteTarefas ouvinte : ouvintes) {
+                ouvinte.tarefaMovida(atual, statusOrigem, novoStatus);
             }
+            return true;
         }
-        System.err.println("Erro: Status de origem ou destino inválido no mapa interno.");
-        return false; 
+        System.err.println("Erro: Tarefa com ID " + tarefa.getId() + " não encontrada na lista '" + statusOrigem.getDescricao() + "'.");
+        return false;
     }
 
     /**
@@ -119,19 +654,48 @@ public class GerenciadorTarefas {
      * @return Uma lista não modificável de tarefas.
      */
     public List<Tarefa> getTarefasPorStatus(Status status) {
-        return Collections.unmodifiableList(tarefasPorStatus.getOrDefault(status, Collections.emptyList()));
+        return status == null ? Collections.emptyList() : armazem.listar(status);
+    }
+
+    /**
+     * Retorna uma visão não modificável da lista de um status numa ordem específica. Na ordem
+     * de inserção é a própria lista; nas outras, a ordem é mantida por um {@link IndiceOrdenado},
+     * montado na primeira listagem e depois atualizado a cada alteração, e cada posição é
+     * buscada em O(log n) (uma página sai sem ordenar a lista inteira).
+     * @param status O status desejado.
+     * @param ordenacao A ordem desejada. Empates ficam na ordem de inserção.
+     * @return Uma lista não modificável que reflete as alterações feitas depois.
+     */
+    public List<Tarefa> getTarefasPorStatus(Status status, Ordenacao ordenacao) {
+        if (status == null || ordenacao == Ordenacao.INSERCAO) {
+            return getTarefasPorStatus(status);
+        }
+        return getIndiceOrdenado(ordenacao).listar(status);
+    }
+
+    private IndiceOrdenado getIndiceOrdenado(Ordenacao ordenacao) {
+        IndiceOrdenado indice = indicesOrdenados.get(ordenacao);
+        if (indice == null) {
+            indice = new IndiceOrdenado(ordenacao);
+            for (Status s : Status.values()) {
+                for (Tarefa tarefa : armazem.listar(s)) {
+                    indice.indexar(tarefa);
+                }
+            }
+            adicionarOuvinte(indice);
+            indicesOrdenados.put(ordenacao, indice);
+        }
+        return indice;
     }
 
     /**
      * Retorna um mapa não modificável contendo todas as tarefas organizadas por status.
      * As listas internas também são não modificáveis para proteger a estrutura de dados.
+     * O mapa é sempre o mesmo (nada é alocado por chamada) e reflete as alterações feitas
+     * depois; quem precisar de uma fotografia deve copiá-lo.
      * @return Mapa não modificável de Status para Lista de Tarefas não modificável.
      */
     public Map<Status, List<Tarefa>> getTodasTarefas() {
-        Map<Status, List<Tarefa>> resultado = new EnumMap<>(Status.class);
-        for (Map.Entry<Status, List<Tarefa>> entry : tarefasPorStatus.entrySet()) {
-            resultado.put(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
-        }
-        return Collections.unmodifiableMap(resultado);
+        return todasTarefas;
     }
 }
\ No newline at end of file
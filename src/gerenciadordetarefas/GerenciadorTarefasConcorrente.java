@@ -0,0 +1,313 @@
+package gerenciadordetarefas;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Variante thread-safe do {@link GerenciadorTarefas}, para ser usada por várias threads ao mesmo tempo.
+ *
+ * Cada status tem a sua própria lista e o seu próprio StampedLock (lock striping): operações em
+ * listas diferentes não competem entre si. Uma movimentação trava as duas listas envolvidas sempre
+ * na ordem de Status.ordinal(), o que a torna atômica e livre de deadlock.
+ *
+ * As leituras nunca bloqueiam escritores: copiam só as listas de que precisam sob leitura otimista
+ * e só usam a cópia se nenhum escritor tocou nelas no meio do caminho; senão, tentam de novo,
+ * cedendo o processador após algumas tentativas (contenção alta). Sob escrita contínua uma leitura
+ * pode demorar, mas nunca atrasa um escritor. O retrato de todas as listas é sempre consistente:
+ * uma tarefa em movimento aparece em exatamente uma delas.
+ * As tarefas retornadas são as instâncias vivas; o retrato vale para a composição das listas.
+ */
+public class GerenciadorTarefasConcorrente {
+    private static final int TENTATIVAS_OTIMISTAS = 3;
+    private static final Status[] STATUS = Status.values();
+
+    private final Faixa[] faixas = new Faixa[STATUS.length];
+    private final Map<UUID, Tarefa> tarefasPorId = new ConcurrentHashMap<>();
+
+    // Uma lista de status e o lock que a protege
+    private static final class Faixa {
+        final StampedLock lock = new StampedLock();
+        final ListaTarefas lista = new ListaTarefas();
+    }
+
+    public GerenciadorTarefasConcorrente() {
+        for (int i = 0; i < faixas.length; i++) {
+            faixas[i] = new Faixa();
+        }
+    }
+
+    // Construtor para inicializar com listas pré-carregadas
+    public GerenciadorTarefasConcorrente(List<Tarefa> aFazer, List<Tarefa> fazendo, List<Tarefa> pronto) {
+        this();
+        adicionarCarregadas(Status.AFAZER, aFazer);
+        adicionarCarregadas(Status.FAZENDO, fazendo);
+        adicionarCarregadas(Status.PRONTO, pronto);
+    }
+
+    private void adicionarCarregadas(Status status, List<Tarefa> tarefas) {
+        Faixa faixa = faixas[status.ordinal()];
+        long carimbo = faixa.lock.writeLock();
+        try {
+            for (Tarefa tarefa : tarefas) {
+                faixa.lista.adicionar(tarefa);
+                tarefasPorId.put(tarefa.getId(), tarefa);
+            }
+        } finally {
+            faixa.lock.unlockWrite(carimbo);
+        }
+    }
+
+    /**
+     * Cria uma nova tarefa na lista "A Fazer".
+     * @param descricao A descrição da tarefa.
+     * @return A tarefa criada.
+     * @throws IllegalArgumentException Se a descrição for vazia.
+     */
+    public Tarefa adicionarTarefa(String descricao) {
+        Tarefa novaTarefa = new Tarefa(descricao); // Validação fora do lock
+        Faixa faixa = faixas[Status.AFAZER.ordinal()];
+        long carimbo = faixa.lock.writeLock();
+        try {
+            faixa.lista.adicionar(novaTarefa);
+            tarefasPorId.put(novaTarefa.getId(), novaTarefa);
+        } finally {
+            faixa.lock.unlockWrite(carimbo);
+        }
+        return novaTarefa;
+    }
+
+    /**
+     * Busca uma tarefa pelo seu ID único, sem bloquear.
+     * @param id O UUID da tarefa.
+     * @return Um Optional contendo a Tarefa se encontrada, ou Optional vazio caso contrário.
+     */
+    public Optional<Tarefa> getTarefaPorId(UUID id) {
+        return Optional.ofNullable(tarefasPorId.get(id));
+    }
+
+    /**
+     * Move uma tarefa de uma lista de status para outra, de forma atômica.
+     * @param tarefa O objeto Tarefa a ser movido.
+     * @param novoStatus O Status de destino da tarefa.
+     * @return true se a tarefa foi movida, false se ela não existe mais, já está no destino
+     *         ou o destino é null.
+     */
+    public boolean moverTarefa(Tarefa tarefa, Status novoStatus) {
+        if (novoStatus == null) {
+            System.err.println("Erro: Status de destino inválido.");
+            return false;
+        }
+        while (true) {
+            Tarefa atual = tarefasPorId.get(tarefa.getId());
+            if (atual == null) {
+                return false;
+            }
+            // Leitura sem lock: confirmada abaixo, já com as duas listas travadas
+            Status origem = atual.getStatus();
+            if (origem == novoStatus) {
+                return false;
+            }
+
+            Faixa primeira = faixas[Math.min(origem.ordinal(), novoStatus.ordinal())];
+            Faixa segunda = faixas[Math.max(origem.ordinal(), novoStatus.ordinal())];
+            long carimboPrimeira = primeira.lock.writeLock();
+            long carimboSegunda = segunda.lock.writeLock();
+            try {
+                if (tarefasPorId.get(atual.getId()) != atual) {
+                    return false; // Removida por outra thread
+                }
+                if (atual.getStatus() != origem) {
+                    continue; // Movida por outra thread entre a leitura e os locks: tenta de novo
+                }
+                faixas[origem.ordinal()].lista.remover(atual);
+                atual.setStatus(novoStatus);
+                atual.setDataConclusao(novoStatus == Status.PRONTO ? new Date() : null);
+                faixas[novoStatus.ordinal()].lista.adicionar(atual);
+                return true;
+            } finally {
+                segunda.lock.unlockWrite(carimboSegunda);
+                primeira.lock.unlockWrite(carimboPrimeira);
+            }
+        }
+    }
+
+    /**
+     * Remove uma tarefa do gerenciador.
+     * @param tarefa O objeto Tarefa a ser removido.
+     * @return true se a tarefa foi encontrada e removida, false caso contrário.
+     */
+    public boolean removerTarefa(Tarefa tarefa) {
+        while (true) {
+            Tarefa atual = tarefasPorId.get(tarefa.getId());
+            if (atual == null) {
+                return false;
+            }
+            Status status = atual.getStatus();
+            Faixa faixa = faixas[status.ordinal()];
+            long carimbo = faixa.lock.writeLock();
+            try {
+                if (atual.getStatus() != status) {
+                    continue;
+                }
+                if (!tarefasPorId.remove(atual.getId(), atual)) {
+                    return false;
+                }
+                faixa.lista.remover(atual);
+                return true;
+            } finally {
+                faixa.lock.unlockWrite(carimbo);
+            }
+        }
+    }
+
+    /**
+     * Altera a descrição de uma tarefa.
+     * @param tarefa A tarefa a ser editada.
+     * @param novaDescricao A nova descrição.
+     * @return true se a tarefa foi encontrada e editada, false caso contrário.
+     * @throws IllegalArgumentException Se a descrição for vazia.
+     */
+    public boolean editarDescricao(Tarefa tarefa, String novaDescricao) {
+        while (true) {
+            Tarefa atual = tarefasPorId.get(tarefa.getId());
+            if (atual == null) {
+                return false;
+            }
+            Status status = atual.getStatus();
+            Faixa faixa = faixas[status.ordinal()];
+            long carimbo = faixa.lock.writeLock();
+            try {
+                if (atual.getStatus() != status) {
+                    continue;
+                }
+                if (tarefasPorId.get(atual.getId()) != atual) {
+                    return false;
+                }
+                atual.setDescricao(novaDescricao);
+                return true;
+            } finally {
+                faixa.lock.unlockWrite(carimbo);
+            }
+        }
+    }
+
+    /**
+     * Encontra uma tarefa em uma lista específica pelo seu índice (1-based), num retrato da lista.
+     * Copia só a lista do status, sem montar um List.
+     * @param status A lista onde procurar.
+     * @param indice O índice da tarefa.
+     * @return Um Optional contendo a Tarefa se encontrada, ou Optional vazio caso contrário.
+     */
+    public Optional<Tarefa> getTarefaPorIndice(Status status, int indice) {
+        if (indice <= 0) {
+            return Optional.empty();
+        }
+        int vistas = 0;
+        for (Tarefa tarefa : copiarFaixa(status.ordinal())) {
+            if (tarefa != null && ++vistas == indice) {
+                return Optional.of(tarefa);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Retorna um retrato não modificável da lista de tarefas de um status. Copia só a lista
+     * do status, sem tocar nas outras.
+     * @param status O status desejado.
+     * @return Uma lista não modificável de tarefas.
+     */
+    public List<Tarefa> getTarefasPorStatus(Status status) {
+        return montarLista(copiarFaixa(status.ordinal()));
+    }
+
+    /**
+     * Retorna um retrato consistente e não modificável de todas as tarefas, organizadas por status.
+     * @return Mapa não modificável de Status para Lista de Tarefas não modificável.
+     */
+    public Map<Status, List<Tarefa>> getTodasTarefas() {
+        Tarefa[][] copias = new Tarefa[faixas.length][];
+        long[] carimbos = new long[faixas.length];
+
+        for (int tentativa = 0; ; tentativa++) {
+            if (copiarOtimista(copias, carimbos)) {
+                return montarRetrato(copias);
+            }
+            esperar(tentativa);
+        }
+    }
+
+    /**
+     * Copia uma única lista sob leitura otimista, tentando até que nenhum escritor a altere
+     * durante a cópia.
+     */
+    private Tarefa[] copiarFaixa(int indice) {
+        StampedLock lock = faixas[indice].lock;
+        for (int tentativa = 0; ; tentativa++) {
+            long carimbo = lock.tryOptimisticRead();
+            if (carimbo != 0) {
+                Tarefa[] copia = faixas[indice].lista.copiarSlots();
+                if (lock.validate(carimbo)) {
+                    return copia;
+                }
+            }
+            esperar(tentativa);
+        }
+    }
+
+    // Entre tentativas otimistas: gira algumas vezes e depois cede o processador aos escritores
+    private static void esperar(int tentativa) {
+        if (tentativa < TENTATIVAS_OTIMISTAS) {
+            Thread.onSpinWait();
+        } else {
+            Thread.yield();
+        }
+    }
+
+    /**
+     * Copia todas as listas sob leitura otimista. Só é válida se nenhum escritor adquiriu o
+     * lock de nenhuma das listas entre o início da cópia e a validação final: nesse caso todas
+     * as cópias refletem o mesmo instante.
+     */
+    private boolean copiarOtimista(Tarefa[][] copias, long[] carimbos) {
+        for (int i = 0; i < faixas.length; i++) {
+            carimbos[i] = faixas[i].lock.tryOptimisticRead();
+            if (carimbos[i] == 0) {
+                return false; // Há um escritor ativo
+            }
+            copias[i] = faixas[i].lista.copiarSlots();
+        }
+        for (int i = 0; i < faixas.length; i++) {
+            if (!faixas[i].lock.validate(carimbos[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Map<Status, List<Tarefa>> montarRetrato(Tarefa[][] copias) {
+        Map<Status, List<Tarefa>> resultado = new EnumMap<>(Status.class);
+        for (int i = 0; i < copias.length; i++) {
+            resultado.put(STATUS[i], montarLista(copias[i]));
+        }
+        return Collections.unmodifiableMap(resultado);
+    }
+
+    private static List<Tarefa> montarLista(Tarefa[] copia) {
+        List<Tarefa> lista = new ArrayList<>(copia.length);
+        for (Tarefa tarefa : copia) {
+            if (tarefa != null) { // Buracos deixados por remoções
+                lista.add(tarefa);
+            }
+        }
+        return Collections.unmodifiableList(lista);
+    }
+}
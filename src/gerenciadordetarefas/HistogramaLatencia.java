@@ -0,0 +1,112 @@
+package gerenciadordetarefas;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latências em nanossegundos com baldes logarítmicos.
+ *
+ * Cada potência de 2 é dividida em 8 baldes, então um percentil é aproximado com erro
+ * relativo de no máximo 12,5%. Registrar um valor só incrementa contadores atômicos:
+ * não aloca e pode ser chamado de várias threads ao mesmo tempo.
+ */
+public class HistogramaLatencia {
+
+    private static final int BITS_SUBBALDE = 3;
+    private static final int SUBBALDES = 1 << BITS_SUBBALDE;
+    // Valores menores que SUBBALDES têm balde próprio; depois, SUBBALDES baldes por potência de 2
+    private static final int TOTAL_BALDES = (64 - BITS_SUBBALDE + 1) * SUBBALDES;
+
+    private final AtomicLongArray baldes = new AtomicLongArray(TOTAL_BALDES);
+    private final AtomicLong contagem = new AtomicLong();
+    private final AtomicLong soma = new AtomicLong();
+    private final AtomicLong maximo = new AtomicLong();
+
+    /**
+     * Registra uma medição. Valores negativos são tratados como zero.
+     * @param nanos A duração medida, em nanossegundos.
+     */
+    public void registrar(long nanos) {
+        long valor = Math.max(nanos, 0);
+        baldes.incrementAndGet(balde(valor));
+        contagem.incrementAndGet();
+        soma.addAndGet(valor);
+        long atual = maximo.get();
+        while (valor > atual && !maximo.compareAndSet(atual, valor)) {
+            atual = maximo.get();
+        }
+    }
+
+    public long getContagem() {
+        return contagem.get();
+    }
+
+    public long getMaximo() {
+        return maximo.get();
+    }
+
+    /**
+     * @return A média das medições, em nanossegundos (0 se não houver nenhuma).
+     */
+    public long getMedia() {
+        long total = contagem.get();
+        return total == 0 ? 0 : soma.get() / total;
+    }
+
+    /**
+     * Estima um percentil a partir dos baldes: devolve o limite superior do balde em que
+     * o percentil cai, limitado ao máximo observado.
+     * @param percentil Entre 0 e 100 (ex.: 50 para a mediana, 99 para o p99).
+     * @return A latência estimada, em nanossegundos (0 se não houver medições).
+     */
+    public long getPercentil(double percentil) {
+        if (percentil < 0 || percentil > 100) {
+            throw new IllegalArgumentException("O percentil deve estar entre 0 e 100.");
+        }
+        long total = contagem.get();
+        if (total == 0) {
+            return 0;
+        }
+        long alvo = Math.max(1, (long) Math.ceil(total * percentil / 100.0));
+        long acumulado = 0;
+        for (int i = 0; i < TOTAL_BALDES; i++) {
+            acumulado += baldes.get(i);
+            if (acumulado >= alvo) {
+                return Math.min(limiteSuperior(i), maximo.get());
+            }
+        }
+        // Registros concorrentes podem deixar contagem à frente dos baldes por um instante
+        return maximo.get();
+    }
+
+    /**
+     * Zera todas as medições.
+     */
+    public void zerar() {
+        for (int i = 0; i < TOTAL_BALDES; i++) {
+            baldes.set(i, 0);
+        }
+        contagem.set(0);
+        soma.set(0);
+        maximo.set(0);
+    }
+
+    static int balde(long valor) {
+        if (valor < SUBBALDES) {
+            return (int) valor;
+        }
+        int expoente = 63 - Long.numberOfLeadingZeros(valor);
+        int subbalde = (int) (valor >>> (expoente - BITS_SUBBALDE)) & (SUBBALDES - 1);
+        return (expoente - BITS_SUBBALDE + 1) * SUBBALDES + subbalde;
+    }
+
+    static long limiteSuperior(int balde) {
+        if (balde < SUBBALDES) {
+            return balde;
+        }
+        int expoente = balde / SUBBALDES + BITS_SUBBALDE - 1;
+        long largura = 1L << (expoente - BITS_SUBBALDE);
+        long inicio = (long) (SUBBALDES + balde % SUBBALDES) << (expoente - BITS_SUBBALDE);
+        return inicio + (largura - 1);
+    }
+}
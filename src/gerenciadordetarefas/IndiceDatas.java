@@ -0,0 +1,157 @@
+package gerenciadordetarefas;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.ToLongFunction;
+
+/**
+ * Índices ordenados das datas de criação e de conclusão, separados por status e
+ * indexados pelo instante em milissegundos.
+ *
+ * Como {@link OuvinteTarefas}, acompanha adições, movimentações (que definem ou limpam a
+ * data de conclusão) e remoções. Uma consulta por intervalo localiza o início em O(log n)
+ * e percorre só as k tarefas do intervalo, sem criar nenhum Date.
+ */
+public class IndiceDatas implements OuvinteTarefas {
+
+    private final Map<Status, TreeMap<Long, List<Tarefa>>> porCriacao = new EnumMap<>(Status.class);
+    private final Map<Status, TreeMap<Long, List<Tarefa>>> porConclusao = new EnumMap<>(Status.class);
+    // A notificação de movimentação chega com a data já alterada: guarda a chave usada no índice
+    private final Map<UUID, Long> conclusaoIndexada = new HashMap<>();
+
+    public IndiceDatas() {
+        for (Status status : Status.values()) {
+            porCriacao.put(status, new TreeMap<>());
+            porConclusao.put(status, new TreeMap<>());
+        }
+    }
+
+    /**
+     * Indexa uma tarefa que ainda não está no índice, no status em que ela se encontra.
+     */
+    public void indexar(Tarefa tarefa) {
+        Status status = tarefa.getStatus();
+        adicionar(porCriacao.get(status), tarefa.getDataCriacaoMillis(), tarefa);
+        long conclusao = tarefa.getDataConclusaoMillis();
+        if (conclusao != Tarefa.SEM_DATA) {
+            adicionar(porConclusao.get(status), conclusao, tarefa);
+            conclusaoIndexada.put(tarefa.getId(), conclusao);
+        }
+    }
+
+    private void desindexar(Tarefa tarefa, Status status) {
+        remover(porCriacao.get(status), tarefa.getDataCriacaoMillis(), tarefa);
+        Long conclusao = conclusaoIndexada.remove(tarefa.getId());
+        if (conclusao != null) {
+            remover(porConclusao.get(status), conclusao, tarefa);
+        }
+    }
+
+    @Override
+    public void tarefaAdicionada(Tarefa tarefa) {
+        indexar(tarefa);
+    }
+
+    @Override
+    public void tarefaMovida(Tarefa tarefa, Status origem, Status destino) {
+        desindexar(tarefa, origem);
+        indexar(tarefa);
+    }
+
+    @Override
+    public void tarefaRemovida(Tarefa tarefa) {
+        desindexar(tarefa, tarefa.getStatus());
+    }
+
+    /**
+     * Tarefas criadas no intervalo [inicioMillis, fimMillis), da mais antiga para a mais nova.
+     * @param status Só tarefas neste status, ou null para todos.
+     */
+    public List<Tarefa> criadasEntre(long inicioMillis, long fimMillis, Status status) {
+        return consultar(porCriacao, inicioMillis, fimMillis, status, Tarefa::getDataCriacaoMillis);
+    }
+
+    /**
+     * Tarefas concluídas no intervalo [inicioMillis, fimMillis), da mais antiga para a mais nova.
+     * @param status Só tarefas neste status, ou null para todos.
+     */
+    public List<Tarefa> concluidasEntre(long inicioMillis, long fimMillis, Status status) {
+        return consultar(porConclusao, inicioMillis, fimMillis, status, Tarefa::getDataConclusaoMillis);
+    }
+
+    private static List<Tarefa> consultar(Map<Status, TreeMap<Long, List<Tarefa>>> indice, long inicio, long fim,
+                                          Status status, ToLongFunction<Tarefa> data) {
+        if (inicio >= fim) {
+            return new ArrayList<>();
+        }
+        if (status != null) {
+            return coletar(indice.get(status), inicio, fim);
+        }
+        // Cada status já vem ordenado: basta intercalar
+        List<Tarefa> resultado = new ArrayList<>();
+        for (TreeMap<Long, List<Tarefa>> porData : indice.values()) {
+            resultado = intercalar(resultado, coletar(porData, inicio, fim), data);
+        }
+        return resultado;
+    }
+
+    private static List<Tarefa> coletar(TreeMap<Long, List<Tarefa>> porData, long inicio, long fim) {
+        Collection<List<Tarefa>> faixa = porData.subMap(inicio, fim).values();
+        List<Tarefa> resultado = new ArrayList<>(faixa.size());
+        for (List<Tarefa> tarefas : faixa) {
+            resultado.addAll(tarefas);
+        }
+        return resultado;
+    }
+
+    /**
+     * Intercala duas listas já em ordem de data; entre datas iguais, as de a vêm primeiro.
+     */
+    static List<Tarefa> intercalar(List<Tarefa> a, List<Tarefa> b, ToLongFunction<Tarefa> data) {
+        if (a.isEmpty()) {
+            return b;
+        }
+        if (b.isEmpty()) {
+            return a;
+        }
+        List<Tarefa> resultado = new ArrayList<>(a.size() + b.size());
+        int i = 0;
+        int j = 0;
+        while (i < a.size() && j < b.size()) {
+            resultado.add(data.applyAsLong(a.get(i)) <= data.applyAsLong(b.get(j)) ? a.get(i++) : b.get(j++));
+        }
+        resultado.addAll(a.subList(i, a.size()));
+        resultado.addAll(b.subList(j, b.size()));
+        return resultado;
+    }
+
+    private static void adicionar(TreeMap<Long, List<Tarefa>> porData, long millis, Tarefa tarefa) {
+        if (millis != Tarefa.SEM_DATA) {
+            // Costuma haver poucas tarefas por instante: evita a capacidade padrão de 10
+            porData.computeIfAbsent(millis, m -> new ArrayList<>(1)).add(tarefa);
+        }
+    }
+
+    private static void remover(TreeMap<Long, List<Tarefa>> porData, long millis, Tarefa tarefa) {
+        List<Tarefa> tarefas = porData.get(millis);
+        if (tarefas == null) {
+            return;
+        }
+        for (int i = 0; i < tarefas.size(); i++) {
+            // equals (pelo ID): com o armazém colunar cada notificação traz uma visão nova
+            if (tarefas.get(i).equals(tarefa)) {
+                tarefas.remove(i);
+                break;
+            }
+        }
+        if (tarefas.isEmpty()) {
+            porData.remove(millis);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package gerenciadordetarefas;
+
+import java.util.AbstractList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * As tarefas de cada status numa {@link Ordenacao}, guardadas numa árvore de busca
+ * balanceada (treap) em que cada nó sabe o tamanho da sua subárvore. Buscar a tarefa numa
+ * posição, inserir e remover custam O(log n), então uma página de uma listagem ordenada sai
+ * sem copiar nem reordenar a lista.
+ *
+ * Como {@link OuvinteTarefas}, acompanha adições, movimentações, remoções e (na ordem por
+ * descrição) edições. Cada nó guarda a chave com que foi inserido, para que a tarefa seja
+ * achada mesmo depois que a data ou a descrição mudou. Empates ficam na ordem de chegada ao
+ * status, a mesma das listas do gerenciador. Não é thread-safe.
+ */
+public class IndiceOrdenado implements OuvinteTarefas {
+
+    private static final Status[] STATUS = Status.values();
+
+    private static final class No {
+        final Tarefa tarefa;
+        final Status status;
+        final long chave;      // Data em millis (ou a ordem de chegada, na ordem de inserção)
+        final String texto;    // Só na ordem por descrição
+        final long chegada;    // Desempate
+        final int prioridade;
+        int tamanho = 1;
+        No esquerda;
+        No direita;
+
+        No(Tarefa tarefa, Status status, long chave, String texto, long chegada, int prioridade) {
+            this.tarefa = tarefa;
+            this.status = status;
+            this.chave = chave;
+            this.texto = texto;
+            this.chegada = chegada;
+            this.prioridade = prioridade;
+        }
+    }
+
+    private final Ordenacao ordenacao;
+    private final No[] raizes = new No[STATUS.length];
+    private final Map<UUID, No> nos = new HashMap<>();
+    private final SplittableRandom aleatorio = new SplittableRandom();
+    private long chegadas;
+
+    /**
+     * @param ordenacao A ordem mantida pelo índice.
+     */
+    public IndiceOrdenado(Ordenacao ordenacao) {
+        this.ordenacao = ordenacao;
+    }
+
+    public Ordenacao getOrdenacao() {
+        return ordenacao;
+    }
+
+    /**
+     * Indexa uma tarefa que ainda não está no índice, no status em que ela se encontra. Para
+     * reproduzir a ordem das listas, indexe-as na ordem em que estão.
+     */
+    public void indexar(Tarefa tarefa) {
+        inserir(tarefa, chegadas++);
+    }
+
+    private void inserir(Tarefa tarefa, long chegada) {
+        Status status = tarefa.getStatus();
+        long chave;
+        switch (ordenacao) {
+            case CRIACAO:
+                chave = tarefa.getDataCriacaoMillis();
+                break;
+            case CONCLUSAO:
+                chave = tarefa.getDataConclusaoMillis();
+                break;
+            default:
+                chave = chegada;
+        }
+        String texto = ordenacao == Ordenacao.DESCRICAO ? tarefa.getDescricao() : null;
+        No no = new No(tarefa, status, chave, texto, chegada, aleatorio.nextInt());
+        nos.put(tarefa.getId(), no);
+        raizes[status.ordinal()] = inserir(raizes[status.ordinal()], no);
+    }
+
+    /**
+     * @return O nó que estava no índice, já fora da árvore, ou null.
+     */
+    private No desindexar(UUID id) {
+        No no = nos.remove(id);
+        if (no != null) {
+            raizes[no.status.ordinal()] = remover(raizes[no.status.ordinal()], no);
+        }
+        return no;
+    }
+
+    @Override
+    public void tarefaAdicionada(Tarefa tarefa) {
+        indexar(tarefa);
+    }
+
+    @Override
+    public void tarefaMovida(Tarefa tarefa, Status origem, Status destino) {
+        desindexar(tarefa.getId());
+        indexar(tarefa);
+    }
+
+    @Override
+    public void tarefaRemovida(Tarefa tarefa) {
+        desindexar(tarefa.getId());
+    }
+
+    @Override
+    public void descricaoEditada(Tarefa tarefa) {
+        if (ordenacao == Ordenacao.DESCRICAO) {
+            No antigo = desindexar(tarefa.getId());
+            // Continua desempatando pela chegada original
+            inserir(tarefa, antigo != null ? antigo.chegada : chegadas++);
+        }
+    }
+
+    /**
+     * @return Quantas tarefas do status estão no índice.
+     */
+    public int tamanho(Status status) {
+        return tamanho(raizes[status.ordinal()]);
+    }
+
+    /**
+     * @param indice Posição na ordem do índice, a partir de 0.
+     * @return A tarefa nessa posição, em O(log n).
+     */
+    public Tarefa get(Status status, int indice) {
+        No no = raizes[status.ordinal()];
+        Objects.checkIndex(indice, tamanho(no));
+        while (true) {
+            int esquerda = tamanho(no.esquerda);
+            if (indice < esquerda) {
+                no = no.esquerda;
+            } else if (indice == esquerda) {
+                return no.tarefa;
+            } else {
+                indice -= esquerda + 1;
+                no = no.direita;
+            }
+        }
+    }
+
+    /**
+     * @return Uma visão somente leitura das tarefas do status, na ordem do índice, que reflete
+     *         as alterações feitas depois.
+     */
+    public List<Tarefa> listar(Status status) {
+        return new Visao(status);
+    }
+
+    private int comparar(No a, No b) {
+        int c = ordenacao == Ordenacao.DESCRICAO
+                ? String.CASE_INSENSITIVE_ORDER.compare(a.texto, b.texto)
+                : Long.compare(a.chave, b.chave);
+        return c != 0 ? c : Long.compare(a.chegada, b.chegada);
+    }
+
+    private No inserir(No raiz, No no) {
+        if (raiz == null) {
+            return no;
+        }
+        if (no.prioridade > raiz.prioridade) {
+            // O novo nó sobe para cá: o que havia se divide em menores e maiores que ele
+            No[] partes = dividir(raiz, no);
+            no.esquerda = partes[0];
+            no.direita = partes[1];
+            atualizar(no);
+            return no;
+        }
+        if (comparar(no, raiz) < 0) {
+            raiz.esquerda = inserir(raiz.esquerda, no);
+        } else {
+            raiz.direita = inserir(raiz.direita, no);
+        }
+        atualizar(raiz);
+        return raiz;
+    }
+
+    /**
+     * @return Os nós menores e os maiores que o pivô, em duas árvores.
+     */
+    private No[] dividir(No raiz, No pivo) {
+        if (raiz == null) {
+            return new No[2];
+        }
+        if (comparar(raiz, pivo) < 0) {
+            No[] partes = dividir(raiz.direita, pivo);
+            raiz.direita = partes[0];
+            atualizar(raiz);
+            partes[0] = raiz;
+            return partes;
+        }
+        No[] partes = dividir(raiz.esquerda, pivo);
+        raiz.esquerda = partes[1];
+        atualizar(raiz);
+        partes[1] = raiz;
+        return partes;
+    }
+
+    private No remover(No raiz, No no) {
+        if (raiz == null) {
+            return null;
+        }
+        if (raiz == no) {
+            return juntar(raiz.esquerda, raiz.direita);
+        }
+        if (comparar(no, raiz) < 0) {
+            raiz.esquerda = remover(raiz.esquerda, no);
+        } else {
+            raiz.direita = remover(raiz.direita, no);
+        }
+        atualizar(raiz);
+        return raiz;
+    }
+
+    /**
+     * Junta duas árvores em que todos os nós da primeira são menores que os da segunda.
+     */
+    private No juntar(No menores, No maiores) {
+        if (menores == null) {
+            return maiores;
+        }
+        if (maiores == null) {
+            return menores;
+        }
+        if (menores.prioridade > maiores.prioridade) {
+            menores.direita = juntar(menores.direita, maiores);
+            atualizar(menores);
+            return menores;
+        }
+        maiores.esquerda = juntar(menores, maiores.esquerda);
+        atualizar(maiores);
+        return maiores;
+    }
+
+    private static void atualizar(No no) {
+        no.tamanho = 1 + tamanho(no.esquerda) + tamanho(no.direita);
+    }
+
+    private static int tamanho(No no) {
+        return no == null ? 0 : no.tamanho;
+    }
+
+    /**
+     * Lista de um status que busca cada posição na árvore.
+     */
+    private final class Visao extends AbstractList<Tarefa> implements RandomAccess {
+        private final Status status;
+
+        Visao(Status status) {
+            this.status = status;
+        }
+
+        @Override
+        public Tarefa get(int indice) {
+            return IndiceOrdenado.this.get(status, indice);
+        }
+
+        @Override
+        public int size() {
+            return tamanho(status);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package gerenciadordetarefas;
+
+/**
+ * Árvore de Fenwick que conta os slots ocupados de uma lista com buracos ({@link ListaTarefas}
+ * e as linhas de {@link ArmazemColunar}). Acha o slot da i-ésima tarefa viva em O(log n) sem
+ * mexer na lista; ocupar ou liberar um slot também custa O(log n). Não é thread-safe.
+ */
+final class IndiceSlots {
+
+    // 1-based: arvore[i] conta os slots ocupados em (i - (i & -i), i]
+    private int[] arvore;
+
+    /**
+     * @param capacidade Quantidade de slots, todos livres.
+     */
+    IndiceSlots(int capacidade) {
+        arvore = new int[capacidade + 1];
+    }
+
+    /**
+     * Recomeça com a capacidade dada e os slots de 0 até ocupados - 1 ocupados, em O(capacidade).
+     */
+    void reiniciar(int capacidade, int ocupados) {
+        int[] nova = new int[capacidade + 1];
+        for (int i = 1; i <= capacidade; i++) {
+            if (i <= ocupados) {
+                nova[i]++;
+            }
+            int pai = i + (i & -i);
+            if (pai <= capacidade) {
+                nova[pai] += nova[i];
+            }
+        }
+        arvore = nova;
+    }
+
+    void ocupar(int slot) {
+        alterar(slot, 1);
+    }
+
+    void liberar(int slot) {
+        alterar(slot, -1);
+    }
+
+    private void alterar(int slot, int diferenca) {
+        for (int i = slot + 1; i < arvore.length; i += i & -i) {
+            arvore[i] += diferenca;
+        }
+    }
+
+    /**
+     * @param indice Posição lógica, contando só os slots ocupados; deve ser menor que o total.
+     * @return O slot da tarefa nessa posição.
+     */
+    int localizar(int indice) {
+        int slot = 0; // Maior prefixo com menos de indice + 1 ocupados
+        int restantes = indice + 1;
+        for (int passo = Integer.highestOneBit(arvore.length - 1); passo > 0; passo >>= 1) {
+            int proximo = slot + passo;
+            if (proximo < arvore.length && arvore[proximo] < restantes) {
+                slot = proximo;
+                restantes -= arvore[proximo];
+            }
+        }
+        return slot;
+    }
+}
@@ -0,0 +1,296 @@
+package gerenciadordetarefas;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido das descrições: cada palavra aponta para as tarefas que a contêm.
+ *
+ * É mantido como {@link OuvinteTarefas}, então acompanha adições, edições (via
+ * {@link GerenciadorTarefas#editarDescricao}) e remoções sem reindexar tudo. As palavras
+ * são comparadas sem diferenciar maiúsculas nem acentos ("Ação" encontra "acao").
+ * Uma consulta é uma lista de termos que precisam aparecer todos (E lógico); um termo
+ * terminado em '*' casa com qualquer palavra que comece com ele.
+ *
+ * Cada indexação dá à tarefa um número crescente, e cada palavra guarda os números das
+ * suas tarefas num int[] que só cresce no final, portanto já ordenado: a interseção de
+ * termos é um merge de arrays. Tarefas removidas ou reindexadas deixam números mortos
+ * que são descartados aos poucos, quando passam da metade de uma lista ou do índice.
+ */
+public class IndiceTextual implements OuvinteTarefas {
+
+    private static final Pattern MARCAS_ACENTO = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+    private static final String[] SEM_PALAVRAS = new String[0];
+    private static final int CAPACIDADE_INICIAL = 16;
+
+    /**
+     * Números das tarefas que contêm uma palavra, em ordem crescente.
+     */
+    private static final class Ocorrencias {
+        int[] numeros = new int[2];
+        int tamanho;
+        int mortos;
+
+        void adicionar(int numero) {
+            if (tamanho == numeros.length) {
+                numeros = Arrays.copyOf(numeros, tamanho * 2);
+            }
+            numeros[tamanho++] = numero;
+        }
+
+        int vivos() {
+            return tamanho - mortos;
+        }
+    }
+
+    // TreeMap para que consultas por prefixo sejam um intervalo de chaves
+    private final TreeMap<String, Ocorrencias> ocorrenciasPorPalavra = new TreeMap<>();
+    private final Map<UUID, Integer> numeroPorId = new HashMap<>();
+    private Tarefa[] tarefaPorNumero = new Tarefa[CAPACIDADE_INICIAL];
+    // Palavras indexadas de cada número, para desfazer a indexação na edição/remoção
+    private String[][] palavrasPorNumero = new String[CAPACIDADE_INICIAL][];
+    private int proximoNumero;
+
+    /**
+     * Indexa uma tarefa (ou reindexa, se ela já estava no índice).
+     */
+    public void indexar(Tarefa tarefa) {
+        desindexar(tarefa);
+        if (proximoNumero == tarefaPorNumero.length) {
+            if (numeroPorId.size() < proximoNumero / 2) {
+                renumerar();
+            } else {
+                tarefaPorNumero = Arrays.copyOf(tarefaPorNumero, proximoNumero * 2);
+                palavrasPorNumero = Arrays.copyOf(palavrasPorNumero, proximoNumero * 2);
+            }
+        }
+        int numero = proximoNumero++;
+        String[] palavras = extrairPalavras(tarefa.getDescricao());
+        for (String palavra : palavras) {
+            ocorrenciasPorPalavra.computeIfAbsent(palavra, p -> new Ocorrencias()).adicionar(numero);
+        }
+        tarefaPorNumero[numero] = tarefa;
+        palavrasPorNumero[numero] = palavras;
+        numeroPorId.put(tarefa.getId(), numero);
+    }
+
+    /**
+     * Retira uma tarefa do índice.
+     */
+    public void desindexar(Tarefa tarefa) {
+        Integer numero = numeroPorId.remove(tarefa.getId());
+        if (numero == null) {
+            return;
+        }
+        tarefaPorNumero[numero] = null;
+        for (String palavra : palavrasPorNumero[numero]) {
+            Ocorrencias ocorrencias = ocorrenciasPorPalavra.get(palavra);
+            ocorrencias.mortos++;
+            if (ocorrencias.vivos() == 0) {
+                ocorrenciasPorPalavra.remove(palavra);
+            } else if (ocorrencias.mortos > ocorrencias.tamanho / 2) {
+                descartarMortos(ocorrencias);
+            }
+        }
+        palavrasPorNumero[numero] = null;
+    }
+
+    @Override
+    public void tarefaAdicionada(Tarefa tarefa) {
+        indexar(tarefa);
+    }
+
+    @Override
+    public void descricaoEditada(Tarefa tarefa) {
+        indexar(tarefa);
+    }
+
+    @Override
+    public void tarefaRemovida(Tarefa tarefa) {
+        desindexar(tarefa);
+    }
+
+    /**
+     * Busca as tarefas que contêm todos os termos da consulta.
+     * @param consulta Termos separados por espaço; "term*" busca por prefixo.
+     * @param status Só devolve tarefas neste status, ou null para todos.
+     * @return As tarefas encontradas, na ordem em que foram indexadas (criação; uma tarefa
+     *         editada passa para o fim).
+     */
+    public List<Tarefa> buscar(String consulta, Status status) {
+        List<Ocorrencias> listas = new ArrayList<>();
+        for (String termo : ESPACOS.split(consulta.trim())) {
+            boolean prefixo = termo.endsWith("*");
+            String[] palavras = extrairPalavras(prefixo ? termo.substring(0, termo.length() - 1) : termo);
+            for (int i = 0; i < palavras.length; i++) {
+                // "guarda-chuva*": só a última palavra do termo é prefixo
+                Ocorrencias ocorrencias = prefixo && i == palavras.length - 1
+                        ? ocorrenciasComPrefixo(palavras[i])
+                        : ocorrenciasPorPalavra.get(palavras[i]);
+                if (ocorrencias == null) {
+                    return Collections.emptyList();
+                }
+                listas.add(ocorrencias);
+            }
+        }
+        if (listas.isEmpty()) {
+            return Collections.emptyList(); // Consulta vazia ou só com pontuação
+        }
+
+        // Percorre a menor lista avançando nas demais por busca exponencial:
+        // o custo acompanha o termo mais raro, não o total de tarefas
+        listas.sort(Comparator.comparingInt(o -> o.tamanho));
+        Ocorrencias menor = listas.get(0);
+        int[] cursores = new int[listas.size()];
+        List<Tarefa> resultado = new ArrayList<>();
+        candidatos:
+        for (int i = 0; i < menor.tamanho; i++) {
+            int numero = menor.numeros[i];
+            for (int j = 1; j < cursores.length; j++) {
+                Ocorrencias outra = listas.get(j);
+                cursores[j] = avancarAte(outra, cursores[j], numero);
+                if (cursores[j] == outra.tamanho) {
+                    break candidatos;
+                }
+                if (outra.numeros[cursores[j]] != numero) {
+                    continue candidatos;
+                }
+            }
+            Tarefa tarefa = tarefaPorNumero[numero];
+            if (tarefa != null && (status == null || tarefa.getStatus() == status)) {
+                resultado.add(tarefa);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * @return A primeira posição a partir de inicio cujo número é >= alvo (ou tamanho).
+     */
+    private static int avancarAte(Ocorrencias ocorrencias, int inicio, int alvo) {
+        int[] numeros = ocorrencias.numeros;
+        int passo = 1;
+        int alto = inicio;
+        while (alto < ocorrencias.tamanho && numeros[alto] < alvo) {
+            inicio = alto + 1;
+            alto += passo;
+            passo <<= 1;
+        }
+        int posicao = Arrays.binarySearch(numeros, inicio, Math.min(alto + 1, ocorrencias.tamanho), alvo);
+        return posicao >= 0 ? posicao : -posicao - 1;
+    }
+
+    private Ocorrencias ocorrenciasComPrefixo(String prefixo) {
+        SortedMap<String, Ocorrencias> faixa = ocorrenciasPorPalavra.subMap(prefixo, prefixo + Character.MAX_VALUE);
+        if (faixa.isEmpty()) {
+            return null;
+        }
+        if (faixa.size() == 1) {
+            return faixa.values().iterator().next();
+        }
+        // Uma tarefa com duas palavras de mesmo prefixo aparece em duas listas: ordena e tira repetidos
+        Ocorrencias uniao = new Ocorrencias();
+        for (Ocorrencias ocorrencias : faixa.values()) {
+            for (int i = 0; i < ocorrencias.tamanho; i++) {
+                uniao.adicionar(ocorrencias.numeros[i]);
+            }
+        }
+        Arrays.sort(uniao.numeros, 0, uniao.tamanho);
+        int distintos = 0;
+        for (int i = 0; i < uniao.tamanho; i++) {
+            if (distintos == 0 || uniao.numeros[distintos - 1] != uniao.numeros[i]) {
+                uniao.numeros[distintos++] = uniao.numeros[i];
+            }
+        }
+        uniao.tamanho = distintos;
+        return uniao;
+    }
+
+    private void descartarMortos(Ocorrencias ocorrencias) {
+        int vivos = 0;
+        for (int i = 0; i < ocorrencias.tamanho; i++) {
+            int numero = ocorrencias.numeros[i];
+            if (tarefaPorNumero[numero] != null) {
+                ocorrencias.numeros[vivos++] = numero;
+            }
+        }
+        ocorrencias.tamanho = vivos;
+        ocorrencias.mortos = 0;
+    }
+
+    /**
+     * Dá números novos e contíguos às tarefas vivas, mantendo a ordem entre elas, para que
+     * remoções e edições não façam os arrays crescerem sem limite.
+     */
+    private void renumerar() {
+        int[] novoNumero = new int[proximoNumero];
+        Tarefa[] tarefas = new Tarefa[Math.max(CAPACIDADE_INICIAL, numeroPorId.size() * 2)];
+        String[][] palavras = new String[tarefas.length][];
+        int vivos = 0;
+        for (int numero = 0; numero < proximoNumero; numero++) {
+            if (tarefaPorNumero[numero] != null) {
+                novoNumero[numero] = vivos;
+                tarefas[vivos] = tarefaPorNumero[numero];
+                palavras[vivos] = palavrasPorNumero[numero];
+                numeroPorId.put(tarefas[vivos].getId(), vivos);
+                vivos++;
+            }
+        }
+        for (Ocorrencias ocorrencias : ocorrenciasPorPalavra.values()) {
+            descartarMortos(ocorrencias);
+            for (int i = 0; i < ocorrencias.tamanho; i++) {
+                ocorrencias.numeros[i] = novoNumero[ocorrencias.numeros[i]];
+            }
+        }
+        tarefaPorNumero = tarefas;
+        palavrasPorNumero = palavras;
+        proximoNumero = vivos;
+    }
+
+    /**
+     * Quebra um texto em palavras normalizadas (minúsculas, sem acento), sem repetição.
+     */
+    static String[] extrairPalavras(String texto) {
+        if (texto == null || texto.isEmpty()) {
+            return SEM_PALAVRAS;
+        }
+        String normalizado = ehAscii(texto)
+                ? texto.toLowerCase(Locale.ROOT)
+                : MARCAS_ACENTO.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("").toLowerCase(Locale.ROOT);
+        Set<String> palavras = new HashSet<>();
+        int inicio = -1;
+        for (int i = 0; i <= normalizado.length(); i++) {
+            boolean parteDaPalavra = i < normalizado.length() && Character.isLetterOrDigit(normalizado.charAt(i));
+            if (parteDaPalavra && inicio < 0) {
+                inicio = i;
+            } else if (!parteDaPalavra && inicio >= 0) {
+                palavras.add(normalizado.substring(inicio, i));
+                inicio = -1;
+            }
+        }
+        return palavras.toArray(SEM_PALAVRAS);
+    }
+
+    private static boolean ehAscii(String texto) {
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,269 @@
+package gerenciadordetarefas;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Lê linhas no formato de {@link PersistenciaCSV} diretamente de um buffer de bytes
+ * (normalmente um arquivo mapeado em memória).
+ * Os campos são decodificados sem Strings intermediárias: UUID e datas em millis são
+ * montados byte a byte, e só a descrição vira String. O resultado é idêntico ao do
+ * parser baseado em String.split; linhas inválidas informam o número da linha e o
+ * deslocamento em bytes onde ela começa.
+ */
+class LeitorCSVMapeado {
+    private static final byte SEPARADOR = ',';
+    private static final Status[] STATUS = Status.values();
+
+    private final ByteBuffer buffer;
+    private final int limite;
+    private final int[] separadores = new int[4];
+    private byte[] rascunho = new byte[256];
+    private int posicao;
+
+    // Linha atual
+    private long numeroLinha;
+    private int inicioLinha;
+    private int fimLinha;
+
+    // Campos da linha atual
+    private long idMaisSignificativo;
+    private long idMenosSignificativo;
+    private Status status;
+    private int inicioDescricao;
+    private int fimDescricao;
+    private long dataCriacao;
+    private long dataConclusao;
+    private boolean temConclusao;
+
+    LeitorCSVMapeado(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.posicao = buffer.position();
+        this.limite = buffer.limit();
+    }
+
+    /**
+     * Avança para a próxima linha e interpreta seus campos.
+     * Aceita os mesmos terminadores de linha que BufferedReader.readLine (\n, \r e \r\n).
+     * @return true se uma linha foi lida, false no fim do buffer.
+     * @throws IllegalArgumentException Se a linha estiver em formato inválido
+     */
+    boolean proximaLinha() {
+        if (posicao >= limite) {
+            return false;
+        }
+        inicioLinha = posicao;
+        int i = posicao;
+        while (i < limite) {
+            byte b = buffer.get(i);
+            if (b == '\n' || b == '\r') {
+                break;
+            }
+            i++;
+        }
+        fimLinha = i;
+        if (i < limite) {
+            i += (buffer.get(i) == '\r' && i + 1 < limite && buffer.get(i + 1) == '\n') ? 2 : 1;
+        }
+        posicao = i;
+        numeroLinha++;
+        interpretarLinha();
+        return true;
+    }
+
+    /**
+     * Cria a Tarefa correspondente à linha atual.
+     * @return Objeto Tarefa criado
+     */
+    Tarefa criarTarefa() {
+        return new Tarefa(
+            new UUID(idMaisSignificativo, idMenosSignificativo),
+            decodificarDescricao(),
+            new Date(dataCriacao),
+            temConclusao ? new Date(dataConclusao) : null,
+            status
+        );
+    }
+
+    /**
+     * Cria a Tarefa da linha atual sem decodificar a descrição, que fica no buffer até ser
+     * pedida (ver {@link TarefaPreguicosa}). O buffer não pode ser alterado depois.
+     * @return Objeto Tarefa criado
+     */
+    Tarefa criarTarefaPreguicosa() {
+        return new TarefaPreguicosa(
+            new UUID(idMaisSignificativo, idMenosSignificativo),
+            new Date(dataCriacao),
+            temConclusao ? new Date(dataConclusao) : null,
+            status,
+            buffer,
+            inicioDescricao,
+            fimDescricao - inicioDescricao
+        );
+    }
+
+    long getNumeroLinha() {
+        return numeroLinha;
+    }
+
+    private void interpretarLinha() {
+        // Equivalente a linha.split(",", 5): no máximo 4 separadores, o resto fica no último campo
+        int encontrados = 0;
+        for (int i = inicioLinha; i < fimLinha && encontrados < 4; i++) {
+            if (buffer.get(i) == SEPARADOR) {
+                separadores[encontrados++] = i;
+            }
+        }
+        if (encontrados < 3) {
+            throw new IllegalArgumentException("Linha CSV inválida" + localizacao() + ": " + texto(inicioLinha, fimLinha));
+        }
+
+        try {
+            lerId(inicioLinha, separadores[0]);
+            lerStatus(separadores[0] + 1, separadores[1]);
+
+            inicioDescricao = inicioAposEspacos(separadores[1] + 1, separadores[2]);
+            fimDescricao = fimAntesDeEspacos(inicioDescricao, separadores[2]);
+
+            int fimCriacao = encontrados == 4 ? separadores[3] : fimLinha;
+            dataCriacao = lerLong(separadores[2] + 1, fimCriacao);
+
+            // Campo opcional: só é lido se não estiver vazio (sem trim, como no parser original)
+            temConclusao = encontrados == 4 && separadores[3] + 1 < fimLinha;
+            if (temConclusao) {
+                dataConclusao = lerLong(separadores[3] + 1, fimLinha);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Erro ao processar linha CSV" + localizacao() + ": " + texto(inicioLinha, fimLinha), e);
+        }
+    }
+
+    private String localizacao() {
+        return " (linha " + numeroLinha + ", byte " + inicioLinha + ")";
+    }
+
+    private void lerId(int inicio, int fim) {
+        int ini = inicioAposEspacos(inicio, fim);
+        int f = fimAntesDeEspacos(ini, fim);
+        if (f - ini == 36 && buffer.get(ini + 8) == '-' && buffer.get(ini + 13) == '-'
+                && buffer.get(ini + 18) == '-' && buffer.get(ini + 23) == '-') {
+            long a = hex(ini, ini + 8);
+            long b = hex(ini + 9, ini + 13);
+            long c = hex(ini + 14, ini + 18);
+            long d = hex(ini + 19, ini + 23);
+            long e = hex(ini + 24, ini + 36);
+            if ((a | b | c | d | e) >= 0) {
+                idMaisSignificativo = a << 32 | b << 16 | c;
+                idMenosSignificativo = d << 48 | e;
+                return;
+            }
+        }
+        // Formato fora do padrão: deixa o JDK aplicar as mesmas regras do parser original
+        UUID id = UUID.fromString(texto(ini, f));
+        idMaisSignificativo = id.getMostSignificantBits();
+        idMenosSignificativo = id.getLeastSignificantBits();
+    }
+
+    // Retorna -1 se algum byte não for um dígito hexadecimal
+    private long hex(int inicio, int fim) {
+        long valor = 0;
+        for (int i = inicio; i < fim; i++) {
+            int digito = Character.digit((char) (buffer.get(i) & 0xFF), 16);
+            if (digito < 0) {
+                return -1;
+            }
+            valor = valor << 4 | digito;
+        }
+        return valor;
+    }
+
+    private void lerStatus(int inicio, int fim) {
+        int ini = inicioAposEspacos(inicio, fim);
+        int f = fimAntesDeEspacos(ini, fim);
+        for (Status s : STATUS) {
+            if (igualIgnorandoCaixa(s.name(), ini, f)) {
+                status = s;
+                return;
+            }
+        }
+        // Nenhum nome ASCII bateu: Status.fromString gera a mesma exceção do parser original
+        status = Status.fromString(texto(ini, f));
+    }
+
+    private boolean igualIgnorandoCaixa(String nome, int inicio, int fim) {
+        if (fim - inicio != nome.length()) {
+            return false;
+        }
+        for (int i = 0; i < nome.length(); i++) {
+            int b = buffer.get(inicio + i);
+            if (b >= 'a' && b <= 'z') {
+                b -= 'a' - 'A';
+            }
+            if (b != nome.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long lerLong(int inicio, int fim) {
+        int ini = inicioAposEspacos(inicio, fim);
+        int f = fimAntesDeEspacos(ini, fim);
+        int i = ini;
+        boolean negativo = false;
+        if (i < f && (buffer.get(i) == '-' || buffer.get(i) == '+')) {
+            negativo = buffer.get(i) == '-';
+            i++;
+        }
+        if (i == f || f - i > 18) {
+            // Vazio ou possível overflow: Long.parseLong lança/trata exatamente como antes
+            return Long.parseLong(texto(ini, f));
+        }
+        long valor = 0;
+        for (; i < f; i++) {
+            int digito = buffer.get(i) - '0';
+            if (digito < 0 || digito > 9) {
+                return Long.parseLong(texto(ini, f));
+            }
+            valor = valor * 10 + digito;
+        }
+        return negativo ? -valor : valor;
+    }
+
+    private String decodificarDescricao() {
+        int tamanho = fimDescricao - inicioDescricao;
+        if (tamanho > rascunho.length) {
+            rascunho = new byte[Math.max(tamanho, rascunho.length * 2)];
+        }
+        for (int i = 0; i < tamanho; i++) {
+            rascunho[i] = buffer.get(inicioDescricao + i);
+        }
+        return new String(rascunho, 0, tamanho, StandardCharsets.UTF_8);
+    }
+
+    // Mesmo critério de String.trim(): bytes <= ' ' (em UTF-8 nunca fazem parte de um caractere multibyte)
+    private int inicioAposEspacos(int inicio, int fim) {
+        while (inicio < fim && (buffer.get(inicio) & 0xFF) <= ' ') {
+            inicio++;
+        }
+        return inicio;
+    }
+
+    private int fimAntesDeEspacos(int inicio, int fim) {
+        while (fim > inicio && (buffer.get(fim - 1) & 0xFF) <= ' ') {
+            fim--;
+        }
+        return fim;
+    }
+
+    // Usado apenas em mensagens de erro e nos caminhos raros de fallback
+    private String texto(int inicio, int fim) {
+        byte[] bytes = new byte[fim - inicio];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(inicio + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
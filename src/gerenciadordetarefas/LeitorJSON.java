@@ -0,0 +1,261 @@
+package gerenciadordetarefas;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Tokenizador JSON incremental ("pull parser") escrito à mão.
+ * Lê o texto em blocos de um Reader e entrega um valor por vez a quem chama,
+ * sem montar o documento inteiro nem uma árvore genérica em memória.
+ * Erros de sintaxe geram IllegalArgumentException com a linha e a coluna.
+ */
+class LeitorJSON {
+    private static final int TAMANHO_BUFFER = 8192;
+
+    private final Reader reader;
+    private final char[] buffer = new char[TAMANHO_BUFFER];
+    private final StringBuilder texto = new StringBuilder();
+    private int posicao;
+    private int limite;
+    private long linha = 1;
+    private long coluna = 1;
+
+    LeitorJSON(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Pula espaços em branco e retorna o próximo caractere sem consumi-lo.
+     * @return O próximo caractere, ou -1 no fim da entrada.
+     */
+    int espiar() throws IOException {
+        pularEspacos();
+        return posicao < limite ? buffer[posicao] : -1;
+    }
+
+    /**
+     * Consome o próximo caractere (após espaços), que precisa ser o esperado.
+     * @param esperado O caractere estrutural esperado (ex: '{', ':', ']').
+     */
+    void esperar(char esperado) throws IOException {
+        int c = espiar();
+        if (c != esperado) {
+            throw erro("esperado '" + esperado + "' mas encontrado " + descrever(c));
+        }
+        avancar();
+    }
+
+    /**
+     * Consome o próximo caractere somente se ele for o informado.
+     * @return true se o caractere foi consumido.
+     */
+    boolean consumirSe(char caractere) throws IOException {
+        if (espiar() == caractere) {
+            avancar();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Lê uma string JSON, decodificando os escapes.
+     * @return O conteúdo da string.
+     */
+    String lerString() throws IOException {
+        esperar('"');
+        texto.setLength(0);
+        while (true) {
+            int c = lerCaractere();
+            if (c == '"') {
+                return texto.toString();
+            }
+            if (c == '\\') {
+                lerEscape();
+            } else {
+                texto.append((char) c);
+            }
+        }
+    }
+
+    /**
+     * Lê uma string JSON ou o literal null.
+     * @return O conteúdo da string, ou null.
+     */
+    String lerStringOuNull() throws IOException {
+        if (espiar() == 'n') {
+            esperarLiteral("null");
+            return null;
+        }
+        return lerString();
+    }
+
+    /**
+     * Lê um número inteiro JSON (sem fração nem expoente).
+     */
+    long lerLong() throws IOException {
+        int c = espiar();
+        if (c != '-' && (c < '0' || c > '9')) {
+            throw erro("esperado número mas encontrado " + descrever(c));
+        }
+        texto.setLength(0);
+        while (c == '-' || c == '+' || (c >= '0' && c <= '9')) {
+            texto.append((char) c);
+            avancar();
+            c = posicao < limite || preencher() ? buffer[posicao] : -1;
+        }
+        try {
+            return Long.parseLong(texto, 0, texto.length(), 10);
+        } catch (NumberFormatException e) {
+            throw erro("número inválido: " + texto);
+        }
+    }
+
+    /**
+     * Pula um valor JSON completo (objeto, array, string, número ou literal),
+     * sem guardar o conteúdo. Usado para campos desconhecidos.
+     */
+    void pularValor() throws IOException {
+        int c = espiar();
+        switch (c) {
+            case '{':
+                avancar();
+                if (!consumirSe('}')) {
+                    do {
+                        lerString();
+                        esperar(':');
+                        pularValor();
+                    } while (consumirSe(','));
+                    esperar('}');
+                }
+                break;
+            case '[':
+                avancar();
+                if (!consumirSe(']')) {
+                    do {
+                        pularValor();
+                    } while (consumirSe(','));
+                    esperar(']');
+                }
+                break;
+            case '"':
+                lerString();
+                break;
+            case 't':
+                esperarLiteral("true");
+                break;
+            case 'f':
+                esperarLiteral("false");
+                break;
+            case 'n':
+                esperarLiteral("null");
+                break;
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    // Números com fração/expoente também são aceitos aqui
+                    while (c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E' || (c >= '0' && c <= '9')) {
+                        avancar();
+                        c = posicao < limite || preencher() ? buffer[posicao] : -1;
+                    }
+                } else {
+                    throw erro("valor inesperado: " + descrever(c));
+                }
+        }
+    }
+
+    /**
+     * Cria uma exceção de formato indicando a posição atual na entrada.
+     */
+    IllegalArgumentException erro(String mensagem) {
+        return new IllegalArgumentException("JSON inválido (linha " + linha + ", coluna " + coluna + "): " + mensagem);
+    }
+
+    private void esperarLiteral(String literal) throws IOException {
+        espiar();
+        for (int i = 0; i < literal.length(); i++) {
+            int c = lerCaractere();
+            if (c != literal.charAt(i)) {
+                throw erro("esperado '" + literal + "'");
+            }
+        }
+    }
+
+    private void lerEscape() throws IOException {
+        int c = lerCaractere();
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                texto.append((char) c);
+                break;
+            case 'b':
+                texto.append('\b');
+                break;
+            case 'f':
+                texto.append('\f');
+                break;
+            case 'n':
+                texto.append('\n');
+                break;
+            case 'r':
+                texto.append('\r');
+                break;
+            case 't':
+                texto.append('\t');
+                break;
+            case 'u': {
+                int valor = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digito = Character.digit(lerCaractere(), 16);
+                    if (digito < 0) {
+                        throw erro("escape \\u inválido");
+                    }
+                    valor = valor << 4 | digito;
+                }
+                texto.append((char) valor);
+                break;
+            }
+            default:
+                // Arquivos antigos não escapavam a barra invertida: mantém o texto como estava
+                texto.append('\\').append((char) c);
+        }
+    }
+
+    private int lerCaractere() throws IOException {
+        if (posicao >= limite && !preencher()) {
+            throw erro("fim inesperado da entrada");
+        }
+        char c = buffer[posicao];
+        avancar();
+        return c;
+    }
+
+    private void avancar() {
+        if (buffer[posicao++] == '\n') {
+            linha++;
+            coluna = 1;
+        } else {
+            coluna++;
+        }
+    }
+
+    private void pularEspacos() throws IOException {
+        while (posicao < limite || preencher()) {
+            char c = buffer[posicao];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return;
+            }
+            avancar();
+        }
+    }
+
+    private boolean preencher() throws IOException {
+        int lidos = reader.read(buffer, 0, buffer.length);
+        posicao = 0;
+        limite = Math.max(lidos, 0);
+        return lidos > 0;
+    }
+
+    private static String descrever(int c) {
+        return c == -1 ? "fim da entrada" : "'" + (char) c + "'";
+    }
+}
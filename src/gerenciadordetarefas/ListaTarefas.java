@@ -0,0 +1,128 @@
+package gerenciadordetarefas;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Lista de tarefas de um único status, mantida em ordem de inserção.
+ * A remoção não desloca as outras tarefas: a posição de cada tarefa fica guardada
+ * na própria Tarefa e o slot removido vira um "buraco" (null). Enquanto houver buracos,
+ * um {@link IndiceSlots} acha a tarefa de cada índice em O(log n), sem que a leitura altere
+ * a lista; os buracos só são eliminados por quem escreve, quando passam do número de tarefas
+ * vivas (custo amortizado O(1) por remoção). Não é thread-safe.
+ */
+class ListaTarefas extends AbstractList<Tarefa> implements RandomAccess {
+    private static final int CAPACIDADE_INICIAL = 16;
+
+    private Tarefa[] slots = new Tarefa[CAPACIDADE_INICIAL];
+    private int fim;     // Próximo slot livre no array
+    private int tamanho; // Quantidade de tarefas vivas (fim - buracos)
+    private final IndiceSlots ocupados = new IndiceSlots(CAPACIDADE_INICIAL);
+
+    /**
+     * Adiciona a tarefa no final da lista.
+     * @param tarefa A tarefa a ser adicionada.
+     */
+    void adicionar(Tarefa tarefa) {
+        if (fim == slots.length) {
+            // Se metade do array são buracos, compactar basta; senão, cresce
+            realocar(tamanho <= slots.length / 2 ? slots.length : slots.length * 2);
+        }
+        tarefa.setPosicao(fim);
+        ocupados.ocupar(fim);
+        slots[fim++] = tarefa;
+        tamanho++;
+        modCount++;
+    }
+
+    /**
+     * Remove a tarefa usando a posição guardada nela, sem percorrer a lista.
+     * @param tarefa A instância exata que foi adicionada a esta lista.
+     * @return true se a tarefa estava na lista, false caso contrário.
+     */
+    boolean remover(Tarefa tarefa) {
+        if (!retirar(tarefa)) {
+            return false;
+        }
+        if (fim - tamanho > CAPACIDADE_INICIAL && fim - tamanho > tamanho) {
+            // Mais buracos do que tarefas: compacta (custo amortizado O(1) por remoção)
+            realocar(slots.length);
+        }
+        return true;
+    }
+
+    /**
+     * Como {@link #remover}, mas só deixa o buraco, sem nunca compactar: para remoções em
+     * lote, seguidas de um único {@link #compactar()}.
+     */
+    boolean retirar(Tarefa tarefa) {
+        int posicao = tarefa.getPosicao();
+        if (posicao < 0 || posicao >= fim || slots[posicao] != tarefa) {
+            return false;
+        }
+        slots[posicao] = null;
+        ocupados.liberar(posicao);
+        tarefa.setPosicao(-1);
+        tamanho--;
+        modCount++;
+        if (tamanho == 0) {
+            fim = 0;
+        }
+        return true;
+    }
+
+    /**
+     * Elimina os buracos, se houver, numa única passada.
+     */
+    void compactar() {
+        if (fim != tamanho) {
+            realocar(slots.length);
+        }
+    }
+
+    @Override
+    public Tarefa get(int indice) {
+        Objects.checkIndex(indice, tamanho);
+        // Sem buracos, o índice lógico é o próprio slot
+        return slots[fim == tamanho ? indice : ocupados.localizar(indice)];
+    }
+
+    @Override
+    public int size() {
+        return tamanho;
+    }
+
+    /**
+     * Copia os slots usados (incluindo buracos, que ficam null) sem compactar a lista.
+     * Pode ser chamado sob leitura otimista de {@link GerenciadorTarefasConcorrente}: lê
+     * apenas duas referências e nunca lança exceção, mesmo que um escritor esteja ativo;
+     * o resultado só vale se a leitura otimista for validada depois.
+     * @return Cópia dos slots de 0 até o fim da lista.
+     */
+    Tarefa[] copiarSlots() {
+        Tarefa[] atuais = slots;
+        return Arrays.copyOf(atuais, Math.min(fim, atuais.length));
+    }
+
+    /**
+     * Copia as tarefas vivas para um novo array, eliminando os buracos e
+     * atualizando a posição guardada em cada tarefa. Sempre aloca um array novo,
+     * de modo que quem ainda segura a referência antiga não vê o array mudar.
+     */
+    private void realocar(int capacidade) {
+        Tarefa[] novos = new Tarefa[Math.max(capacidade, CAPACIDADE_INICIAL)];
+        int j = 0;
+        for (int i = 0; i < fim; i++) {
+            Tarefa tarefa = slots[i];
+            if (tarefa != null) {
+                tarefa.setPosicao(j);
+                novos[j++] = tarefa;
+            }
+        }
+        slots = novos;
+        fim = j;
+        ocupados.reiniciar(novos.length, j);
+    }
+}
@@ -1,6 +1,15 @@
 package gerenciadordetarefas;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Classe principal que executa a interface de linha de comando (CLI)
@@ -10,16 +19,47 @@ public class Main {
     private static final String NOME_ARQUIVO_TAREFAS_JSON = "tarefas.json";
     private static final String NOME_ARQUIVO_TAREFAS_CSV = "tarefas.csv";
     private static final Scanner scanner = new Scanner(System.in);
-    private static final PersistenciaTarefas persistencia = new PersistenciaCSV();
-    private static final PersistenciaTarefas persistencia2 = new PersistenciaJSON();
-    private static final LimpadorTela limpadorTela = new LimpadorTela();
+    private static final MetricasTarefas metricas = new MetricasTarefas();
+    // Carrega só ID, status e datas; cada descrição fica no arquivo mapeado até ser exibida.
+    // Desligado por padrão no Windows, que não deixa o journal substituir um arquivo mapeado
+    private static final boolean DESCRICOES_SOB_DEMANDA = Boolean.parseBoolean(System.getProperty("gerenciador.preguicoso",
+            String.valueOf(!System.getProperty("os.name", "").toLowerCase().contains("windows"))));
+    // CSV como snapshot + journal: salvar só anexa as alterações desde o último salvamento
+    private static final PersistenciaJournal journal = new PersistenciaJournal(new PersistenciaCSV(true, DESCRICOES_SOB_DEMANDA));
+    private static final PersistenciaTarefas persistencia = new PersistenciaComMetricas(journal, metricas);
+    // O JSON é reescrito inteiro: grava num temporário e renomeia, para não deixar um arquivo pela metade
+    private static final PersistenciaTarefas persistencia2 = new PersistenciaComMetricas(new PersistenciaAtomica(new PersistenciaJSON()), metricas);
+    // Janela em que alterações seguidas são agrupadas num único salvamento automático
+    private static final long JANELA_SALVAMENTO_MS = Long.getLong("gerenciador.salvamento.janela", 2000);
+    // Tarefas prontas há mais dias que isto vão para o arquivo morto (negativo = nunca)
+    private static final long DIAS_PARA_ARQUIVAR = Long.getLong("gerenciador.arquivamento.dias", 30);
+    // Redesenha só o que mudou na tela (ANSI), sem criar um processo "clear" a cada troca de tela
+    private static final TelaTerminal tela = TelaTerminal.paraConsole();
+    // Listagens longas são montadas num buffer e escritas de uma vez, em vez de um printf por tarefa
+    private static final PrintWriter saida = new PrintWriter(new BufferedWriter(
+            new OutputStreamWriter(tela.getSaida(), tela.getCodificacao()), 1 << 16));
+    private static final StringBuilder buffer = new StringBuilder(1 << 12);
+    private static final int TAMANHO_PAGINA_PADRAO = 20;
+    private static int tamanhoPagina = TAMANHO_PAGINA_PADRAO;
+    // Ordem da listagem, usada também na numeração para selecionar tarefas
+    private static Ordenacao ordenacao = Ordenacao.INSERCAO;
     private static GerenciadorTarefas gerenciador;
+    private static SalvamentoAutomatico salvamento;
+    // Arquivo morto sendo aberto pela thread do salvamento (null = já aberto, ou desligado)
+    private static CompletableFuture<ArquivoMorto> abertura;
+    // Tarefas sendo gravadas no arquivo morto pela thread do salvamento (null = nenhuma)
+    private static CompletableFuture<List<Tarefa>> arquivamento;
 
     /**
      * Ponto de entrada da aplicação.
-     * @param args Argumentos da linha de comando (não utilizados).
+     * @param args Argumentos da linha de comando. Sem argumentos, abre o menu interativo;
+     *             com argumentos, executa comandos em lote (ver {@link ModoLote}).
      */
     public static void main(String[] args) {
+        if (args.length > 0) {
+            System.exit(ModoLote.executar(args));
+        }
+
         Map<Status, List<Tarefa>> tarefasIniciais = persistencia.carregar(NOME_ARQUIVO_TAREFAS_CSV);
 
         gerenciador = new GerenciadorTarefas(
@@ -27,20 +67,86 @@ public class Main {
                 tarefasIniciais.getOrDefault(Status.FAZENDO, Collections.emptyList()),
                 tarefasIniciais.getOrDefault(Status.PRONTO, Collections.emptyList())
         );
+        // Salva em segundo plano pouco depois de cada alteração. O journal não é seguro para
+        // várias threads, por isso recebe as alterações do salvamento, na thread de fundo
+        salvamento = new SalvamentoAutomatico(gerenciador.getTodasTarefas(), JANELA_SALVAMENTO_MS);
+        salvamento.adicionarOuvinte(journal);
+        salvamento.adicionarDestino(persistencia, NOME_ARQUIVO_TAREFAS_CSV);
+        salvamento.adicionarDestino(persistencia2, NOME_ARQUIVO_TAREFAS_JSON);
+        gerenciador.adicionarOuvinte(salvamento);
+        // Grava o que estiver pendente mesmo se o programa for encerrado com Ctrl+C
+        Runtime.getRuntime().addShutdownHook(new Thread(Main::fechar));
+        gerenciador.setMetricas(metricas);
+        abrirArquivoMorto();
+        tela.instalar();
 
         // Menu loop
         int opcao;
         do {
-            limpadorTela.limparTela(); 
+            tela.limpar();
+            concluirAbertura();
+            concluirArquivamento();
             exibirMenu();              
             opcao = lerOpcao();      
             processarOpcao(opcao);     
         } while (opcao != 0);
 
         System.out.println("\nSaindo do Gerenciador de Tarefas...");
+        tela.restaurar();
+        fechar();
         scanner.close();
     }
 
+    /**
+     * Grava o que estiver pendente e fecha o arquivo morto, depois do salvamento automático,
+     * que pode estar gravando nele. Pode ser chamado mais de uma vez.
+     */
+    private static void fechar() {
+        salvamento.fechar();
+        ArquivoMorto morto = gerenciador.getArquivoMorto();
+        if (morto != null) {
+            try {
+                morto.close();
+            } catch (IOException e) {
+                System.err.println("Erro ao fechar o arquivo morto: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Abre, na thread do salvamento, o arquivo morto ao lado do arquivo de dados. Montar o
+     * índice lê o arquivo inteiro; o menu aparece sem esperar, e até a abertura terminar as
+     * consultas não enxergam as tarefas arquivadas. Depois do salvamento automático registrado,
+     * para que as arquivadas também saiam do arquivo de dados.
+     */
+    private static void abrirArquivoMorto() {
+        if (DIAS_PARA_ARQUIVAR < 0) {
+            return;
+        }
+        abertura = salvamento.executar(() -> new ArquivoMorto(NOME_ARQUIVO_TAREFAS_CSV + ArquivoMorto.EXTENSAO));
+    }
+
+    /**
+     * Se a abertura pedida por {@link #abrirArquivoMorto()} já terminou, liga o arquivo morto
+     * ao gerenciador, aqui na thread do menu, e começa a arquivar as tarefas antigas. As marcas
+     * de exclusão passam a ser gravadas na thread do salvamento.
+     */
+    private static void concluirAbertura() {
+        if (abertura == null || !abertura.isDone()) {
+            return;
+        }
+        try {
+            ArquivoMorto morto = abertura.join();
+            morto.setExecutorGravacao(tarefa -> salvamento.executar(Executors.callable(tarefa)));
+            gerenciador.setArquivoMorto(morto, TimeUnit.DAYS.toMillis(DIAS_PARA_ARQUIVAR));
+            iniciarArquivamento();
+        } catch (CompletionException e) {
+            System.err.println("Erro ao abrir o arquivo morto: " + e.getCause().getMessage());
+        } finally {
+            abertura = null;
+        }
+    }
+
     /**
      * Exibe o menu principal de opções para o usuário.
      */
@@ -51,6 +157,8 @@ public class Main {
         System.out.println("3. Mover Tarefa");
         System.out.println("4. Remover Tarefa");
         System.out.println("5. Salvar Tarefas");
+        System.out.println("6. Estatísticas");
+        System.out.println("7. Buscar Tarefas");
         System.out.println("----------------------------");
         System.out.println("0. Sair");
         System.out.println("----------------------------");
@@ -62,24 +170,31 @@ public class Main {
      * @return O número da opção escolhida pelo usuário, ou -1 em caso de erro de entrada.
      */
     private static int lerOpcao() {
-        int opcao = -1;
-        try {
-            opcao = scanner.nextInt();
-        } catch (InputMismatchException e) {
+        Integer opcao = lerNumero(lerLinha().trim());
+        if (opcao == null) {
             System.out.println("Erro: Por favor, insira um número inteiro válido.");
-            opcao = -1;
-        } finally {
-             scanner.nextLine();
+            return -1;
         }
         return opcao;
     }
 
+    /**
+     * Lê uma linha do usuário. Antes, apresenta a tela atual (o texto da pergunta); depois,
+     * registra a linha que o terminal ecoou, para a tela saber o que está sendo exibido.
+     */
+    private static String lerLinha() {
+        tela.apresentar();
+        String linha = scanner.nextLine();
+        tela.registrarEntrada(linha);
+        return linha;
+    }
+
     /**
      * Direciona a execução para o método apropriado com base na opção escolhida pelo usuário.
      * @param opcao O número da opção escolhida.
      */
     private static void processarOpcao(int opcao) {
-        limpadorTela.limparTela();
+        tela.limpar();
         switch (opcao) {
             case 1:
                 adicionarTarefa();
@@ -96,6 +211,12 @@ public class Main {
             case 5:
                 salvarTarefas();
                 break;
+            case 6:
+                exibirEstatisticas();
+                break;
+            case 7:
+                buscarTarefas();
+                break;
             case 0:
                 // A opção 0 (Sair) é tratada pelo loop `do-while` em `main`
                 break;
@@ -115,7 +236,7 @@ public class Main {
     private static void adicionarTarefa() {
         System.out.println("--- Adicionar Nova Tarefa ---");
         System.out.print("Digite a descrição da tarefa: ");
-        String descricao = scanner.nextLine();
+        String descricao = lerLinha();
         try {
              gerenciador.adicionarTarefa(descricao);
              System.out.println("\nTarefa '" + descricao + "' adicionada com sucesso à lista 'A Fazer'.");
@@ -125,44 +246,157 @@ public class Main {
     }
 
     /**
-     * Exibe todas as tarefas cadastradas, organizadas por status.
+     * Exibe todas as tarefas cadastradas, organizadas por status, uma página por vez.
+     * A numeração de cada tarefa é a mesma usada para selecioná-la (posição no seu status,
+     * na ordenação escolhida).
      */
     private static void listarTarefas() {
-        System.out.println("--- Lista de Tarefas ---");
-        Map<Status, List<Tarefa>> todasTarefas = gerenciador.getTodasTarefas();
-        boolean algumaTarefaExibida = false; 
-
-        for (Status status : Status.values()) {
-            List<Tarefa> tarefas = todasTarefas.get(status); 
-            System.out.println("\n--- " + status.getDescricao() + " ---");
-            if (tarefas == null || tarefas.isEmpty()) {
-                System.out.println("(Nenhuma tarefa nesta lista)");
+        Map<Status, List<Tarefa>> todasTarefas = new EnumMap<>(Status.class);
+        int pagina = 0;
+        while (true) {
+            for (Status status : Status.values()) {
+                todasTarefas.put(status, gerenciador.getTarefasPorStatus(status, ordenacao));
+            }
+            int total = 0;
+            for (List<Tarefa> tarefas : todasTarefas.values()) {
+                total += tarefas.size();
+            }
+            if (total == 0) {
+                System.out.println("--- Lista de Tarefas ---");
+                System.out.println("\n>>> Nenhuma tarefa cadastrada no sistema. <<<");
+                return;
+            }
+            int paginas = contarPaginas(total);
+            pagina = Math.max(0, Math.min(pagina, paginas - 1));
+            exibirPagina("Lista de Tarefas", todasTarefas, pagina, paginas, total);
+
+            System.out.print("[P] Próxima [A] Anterior [nº] Página [T nº] Tarefas por página [O] Ordenar [0] Voltar: ");
+            String comando = lerLinha().trim().toUpperCase(Locale.ROOT);
+            int navegada = navegar(comando, pagina, paginas);
+            if (navegada >= 0) {
+                pagina = navegada;
+            } else if (comando.equals("0")) {
+                return;
+            } else if (comando.equals("O")) {
+                Ordenacao[] ordenacoes = Ordenacao.values();
+                ordenacao = ordenacoes[(ordenacao.ordinal() + 1) % ordenacoes.length];
+                pagina = 0;
             } else {
-                algumaTarefaExibida = true;
-                for (int i = 0; i < tarefas.size(); i++) {
-                    System.out.printf("%d. %s%n", i + 1, tarefas.get(i).toString());
+                Integer numero = lerNumero(comando);
+                if (numero != null) {
+                    pagina = numero - 1;
                 }
             }
+            tela.limpar();
         }
+    }
+
+    private static int contarPaginas(int total) {
+        return (total + tamanhoPagina - 1) / tamanhoPagina;
+    }
 
-        if (!algumaTarefaExibida) {
-             System.out.println("\n>>> Nenhuma tarefa cadastrada no sistema. <<<");
+    /**
+     * Trata os comandos de navegação comuns às listas paginadas: P (ou Enter) para a próxima
+     * página, A para a anterior e "T nº" para mudar o número de tarefas por página.
+     * @param comando O comando digitado, já em maiúsculas.
+     * @return A nova página, ou -1 se o comando não for de navegação.
+     */
+    private static int navegar(String comando, int pagina, int paginas) {
+        if (comando.equals("P") || comando.isEmpty()) {
+            return Math.min(pagina + 1, paginas - 1);
+        } else if (comando.equals("A")) {
+            return Math.max(pagina - 1, 0);
+        } else if (comando.startsWith("T")) {
+            Integer tamanho = lerNumero(comando.substring(1).trim());
+            if (tamanho != null && tamanho > 0) {
+                // Mantém visível a primeira tarefa da página atual
+                int primeira = pagina * tamanhoPagina;
+                tamanhoPagina = tamanho;
+                return primeira / tamanhoPagina;
+            }
+            return pagina;
         }
+        return -1;
     }
 
-     /**
-      * Guia o usuário para selecionar uma tarefa de uma lista e movê-la para outra.
-      */
-     private static void moverTarefa() {
+    /**
+     * Monta a página inteira no buffer reutilizável e a escreve de uma vez. As tarefas são
+     * numeradas pela posição no seu status, e os status aparecem na ordem do mapa.
+     */
+    private static void exibirPagina(String titulo, Map<Status, List<Tarefa>> todasTarefas, int pagina, int paginas, int total) {
+        buffer.setLength(0);
+        buffer.append("--- ").append(titulo).append(" (página ").append(pagina + 1).append(" de ").append(paginas)
+              .append(", ").append(total).append(" tarefa(s), ordem: ")
+              .append(ordenacao.getDescricao()).append(") ---\n");
+        int inicio = pagina * tamanhoPagina;
+        int restantes = tamanhoPagina;
+        for (Map.Entry<Status, List<Tarefa>> entrada : todasTarefas.entrySet()) {
+            Status status = entrada.getKey();
+            List<Tarefa> tarefas = entrada.getValue();
+            if (inicio >= tarefas.size()) {
+                inicio -= tarefas.size();
+                continue;
+            }
+            if (restantes == 0) {
+                break;
+            }
+            buffer.append("\n--- ").append(status.getDescricao()).append(" (").append(tarefas.size()).append(") ---\n");
+            int fim = Math.min(tarefas.size(), inicio + restantes);
+            for (int i = inicio; i < fim; i++) {
+                buffer.append(i + 1).append(". ");
+                tarefas.get(i).formatar(buffer);
+                buffer.append('\n');
+            }
+            restantes -= fim - inicio;
+            inicio = 0;
+        }
+        buffer.append('\n');
+        saida.append(buffer);
+        saida.flush();
+    }
+
+    private static Integer lerNumero(String texto) {
+        try {
+            return Integer.valueOf(texto);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Codificação usada pelo System.out, para que o PrintWriter escreva os acentos da mesma forma.
+     */
+    static Charset codificacaoTerminal() {
+        String nome = System.getProperty("stdout.encoding", System.getProperty("sun.stdout.encoding"));
+        try {
+            return nome != null ? Charset.forName(nome) : Charset.defaultCharset();
+        } catch (IllegalArgumentException e) {
+            return Charset.defaultCharset();
+        }
+    }
+
+    /**
+     * Guia o usuário para selecionar uma tarefa de uma lista e movê-la para outra.
+     */
+    private static void moverTarefa() {
         System.out.println("--- Mover Tarefa ---");
 
         Status statusOrigem = selecionarStatus("De qual lista deseja mover a tarefa?");
         if (statusOrigem == null) return;
 
-        Optional<Tarefa> tarefaOpt = selecionarTarefa(statusOrigem, "Digite o número da tarefa para MOVER:");
-        if (tarefaOpt.isEmpty()) return; // Usuário cancelou ou lista vazia/índice inválido
+        List<Tarefa> escolhidas = selecionarTarefas(statusOrigem, "Digite o número da tarefa para MOVER:");
+        if (escolhidas.isEmpty()) return; // Usuário cancelou ou lista vazia/índice inválido
 
-        Tarefa tarefa = tarefaOpt.get();
+        if (escolhidas.size() > 1) {
+            Status statusDestino = selecionarStatus("Para qual lista deseja mover as " + escolhidas.size() + " tarefas?");
+            if (statusDestino == null) return;
+            int movidas = gerenciador.moverTarefas(escolhidas, statusDestino);
+            System.out.printf("\n%d tarefa(s) movida(s) de '%s' para '%s'.%n",
+                    movidas, statusOrigem.getDescricao(), statusDestino.getDescricao());
+            return;
+        }
+
+        Tarefa tarefa = escolhidas.get(0);
 
         Status statusDestino = selecionarStatus("Para qual lista deseja mover a tarefa '" + tarefa.getDescricao() + "'?");
         if (statusDestino == null) return;
@@ -175,29 +409,44 @@ public class Main {
         }
     }
 
-     /**
-      * Guia o usuário para selecionar e remover uma tarefa de uma lista.
-      */
-     private static void removerTarefa() {
+    /**
+     * Guia o usuário para selecionar uma ou mais tarefas de uma lista e removê-las, após confirmação.
+     */
+    private static void removerTarefa() {
         System.out.println("--- Remover Tarefa ---");
 
         Status status = selecionarStatus("De qual lista deseja remover a tarefa?");
-         if (status == null) return;
+        if (status == null) return;
 
-        Optional<Tarefa> tarefaOpt = selecionarTarefa(status, "Digite o número da tarefa para REMOVER:");
-        if (tarefaOpt.isEmpty()) return;
+        List<Tarefa> escolhidas = selecionarTarefas(status, "Digite o número da tarefa para REMOVER:");
+        if (escolhidas.isEmpty()) return;
 
-        Tarefa tarefa = tarefaOpt.get();
+        if (escolhidas.size() > 1) {
+            System.out.print("\nTem certeza que deseja remover permanentemente as " + escolhidas.size() + " tarefas escolhidas? (S/N): ");
+            if (!lerLinha().trim().equalsIgnoreCase("S")) {
+                System.out.println("\nRemoção cancelada pelo usuário.");
+                return;
+            }
+            Set<UUID> ids = new HashSet<>();
+            for (Tarefa escolhida : escolhidas) {
+                ids.add(escolhida.getId());
+            }
+            int removidas = gerenciador.removerSe(status, tarefa -> ids.contains(tarefa.getId()));
+            System.out.println("\n" + removidas + " tarefa(s) removida(s).");
+            return;
+        }
+
+        Tarefa tarefa = escolhidas.get(0);
 
         System.out.print("\nTem certeza que deseja remover permanentemente a tarefa '" + tarefa.getDescricao() + "'? (S/N): ");
-        String confirmacao = scanner.nextLine().trim().toUpperCase();
+        String confirmacao = lerLinha().trim().toUpperCase();
 
         // 4. Tentar remover se confirmado
         if (confirmacao.equals("S")) {
             if (gerenciador.removerTarefa(tarefa)) {
                 System.out.println("\nTarefa removida com sucesso.");
             } else {
-                 System.err.println("\nErro: Não foi possível remover a tarefa. Ela pode já ter sido removida ou movida anteriormente.");
+                System.err.println("\nErro: Não foi possível remover a tarefa. Ela pode já ter sido removida ou movida anteriormente.");
             }
         } else {
             System.out.println("\nRemoção cancelada pelo usuário.");
@@ -226,7 +475,7 @@ public class Main {
         if (escolha > 0 && escolha <= statusDisponiveis.length) {
             return statusDisponiveis[escolha - 1];
         } else if (escolha == 0) {
-             System.out.println("\nOperação cancelada.");
+            System.out.println("\nOperação cancelada.");
             return null;
         } else {
             System.out.println("\nOpção de status inválida.");
@@ -234,59 +483,154 @@ public class Main {
         }
     }
 
-     /**
-      * Lista as tarefas de um status específico e permite ao usuário selecionar uma pelo número.
-      * @param status O status da lista da qual selecionar a tarefa.
-      * @param mensagem A instrução a ser exibida ao usuário (ex: "Digite o número da tarefa...").
-      * @return Um Optional contendo a Tarefa selecionada se a seleção for válida, ou Optional.empty() caso contrário (lista vazia, índice inválido ou cancelamento).
-      */
-     private static Optional<Tarefa> selecionarTarefa(Status status, String mensagem) {
-        List<Tarefa> tarefas = gerenciador.getTarefasPorStatus(status);
+    /**
+     * Lista as tarefas de um status específico, uma página por vez, e permite ao usuário selecionar
+     * uma pelo número, ou várias ("1,3,5-8", ou "*" para todas), para as operações em lote.
+     * Os números valem para a lista inteira, não só para a página exibida.
+     * @param status O status da lista da qual selecionar as tarefas.
+     * @param mensagem A instrução a ser exibida ao usuário (ex: "Digite o número da tarefa...").
+     * @return As tarefas selecionadas, na ordem da lista, ou uma lista vazia (lista vazia, número inválido ou cancelamento).
+     */
+    private static List<Tarefa> selecionarTarefas(Status status, String mensagem) {
+        List<Tarefa> tarefas = gerenciador.getTarefasPorStatus(status, ordenacao);
 
         if (tarefas.isEmpty()) {
             System.out.println("\nNão há tarefas na lista '" + status.getDescricao() + "' para selecionar.");
-            return Optional.empty();
+            return Collections.emptyList();
         }
 
-        // Exibe as tarefas numeradas da lista
-        System.out.println("\n--- Tarefas em '" + status.getDescricao() + "' ---");
-         for (int i = 0; i < tarefas.size(); i++) {
-            System.out.printf("%d. %s%n", i + 1, tarefas.get(i).toString());
+        // Exibe as tarefas numeradas com o mesmo paginador da listagem, até o usuário escolher
+        Map<Status, List<Tarefa>> lista = new EnumMap<>(Status.class);
+        lista.put(status, tarefas);
+        int pagina = 0;
+        String entrada;
+        while (true) {
+            int paginas = contarPaginas(tarefas.size());
+            pagina = Math.max(0, Math.min(pagina, paginas - 1));
+            exibirPagina("Selecionar Tarefas", lista, pagina, paginas, tarefas.size());
+            System.out.println(mensagem);
+            System.out.print("[P] Próxima [A] Anterior [T nº] Tarefas por página | Número da tarefa"
+                    + " (vários: 1,3,5-8 ou * para todas; 0 para Cancelar): ");
+            entrada = lerLinha().trim();
+            int navegada = navegar(entrada.toUpperCase(Locale.ROOT), pagina, paginas);
+            if (navegada < 0) {
+                break;
+            }
+            pagina = navegada;
+            tela.limpar();
         }
-        System.out.println("----------------------------");
-        System.out.println(mensagem);
-        System.out.print("Escolha o número da tarefa (ou 0 para Cancelar): ");
 
-        int indiceEscolhido = lerOpcao();
+        if (entrada.equals("0")) {
+            System.out.println("\nOperação cancelada.");
+            return Collections.emptyList();
+        }
+        if (entrada.equals("*")) {
+            return new ArrayList<>(tarefas);
+        }
 
-        if (indiceEscolhido == 0) {
-             System.out.println("\nOperação cancelada.");
-             return Optional.empty();
+        // Números e intervalos, na ordem da lista e sem repetição
+        TreeSet<Integer> indices = new TreeSet<>();
+        for (String parte : entrada.split(",")) {
+            String[] limites = parte.trim().split("\\s*-\\s*", 2);
+            Integer primeiro = lerNumero(limites[0]);
+            Integer ultimo = limites.length == 2 ? lerNumero(limites[1]) : primeiro;
+            if (primeiro == null || ultimo == null || primeiro < 1 || ultimo > tarefas.size() || primeiro > ultimo) {
+                System.out.println("\nNúmero de tarefa inválido para a lista '" + status.getDescricao() + "'.");
+                return Collections.emptyList();
+            }
+            for (int indice = primeiro; indice <= ultimo; indice++) {
+                indices.add(indice);
+            }
         }
+        List<Tarefa> escolhidas = new ArrayList<>(indices.size());
+        for (int indice : indices) {
+            escolhidas.add(tarefas.get(indice - 1));
+        }
+        return escolhidas;
+    }
 
-        // Tenta obter a tarefa usando o índice escolhido através do gerenciador
-        Optional<Tarefa> tarefaOpt = gerenciador.getTarefaPorIndice(status, indiceEscolhido);
 
-        if (tarefaOpt.isEmpty() && indiceEscolhido != 0) { // Evita msg de erro se cancelou
-            System.out.println("\nNúmero de tarefa inválido para a lista '" + status.getDescricao() + "'.");
+    /**
+     * Pede o salvamento imediato de todas as tarefas, sem esperar pelo disco. As alterações
+     * também são salvas automaticamente, poucos segundos depois de feitas. As tarefas prontas
+     * há mais de {@link #DIAS_PARA_ARQUIVAR} dias vão para o arquivo morto, também em segundo plano.
+     */
+    private static void salvarTarefas() {
+        System.out.println("--- Salvar Tarefas ---");
+        System.out.println("Salvando o estado atual das tarefas nos arquivos " + NOME_ARQUIVO_TAREFAS_CSV
+                + " e " + NOME_ARQUIVO_TAREFAS_JSON + " em segundo plano.");
+        iniciarArquivamento();
+        // Mensagens de erro, se houver, são impressas pelas persistências
+        salvamento.salvarAgora();
+    }
+
+    /**
+     * Grava no arquivo morto, na thread do salvamento, as tarefas prontas há mais de
+     * {@link #DIAS_PARA_ARQUIVAR} dias. Elas continuam nas listas até {@link #concluirArquivamento()}.
+     */
+    private static void iniciarArquivamento() {
+        ArquivoMorto morto = gerenciador.getArquivoMorto();
+        if (morto == null || arquivamento != null) {
+            return;
+        }
+        List<Tarefa> antigas = gerenciador.escolherAntigas();
+        if (!antigas.isEmpty()) {
+            arquivamento = salvamento.executar(() -> {
+                morto.arquivar(antigas);
+                return antigas;
+            });
         }
+    }
 
-        return tarefaOpt;
+    /**
+     * Se a gravação pedida por {@link #iniciarArquivamento()} no arquivo morto já terminou, tira as
+     * tarefas gravadas das listas, aqui na thread do menu, que é a única a alterar o gerenciador.
+     */
+    private static void concluirArquivamento() {
+        if (arquivamento == null || !arquivamento.isDone()) {
+            return;
+        }
+        try {
+            int arquivadas = gerenciador.concluirArquivamento(arquivamento.join());
+            if (arquivadas > 0) {
+                System.out.println(arquivadas + " tarefa(s) pronta(s) há mais de " + DIAS_PARA_ARQUIVAR + " dias foram para o arquivo morto.");
+            }
+        } catch (CompletionException e) {
+            System.err.println("Erro ao arquivar tarefas: " + e.getCause().getMessage());
+        } finally {
+            arquivamento = null;
+        }
     }
 
+    /**
+     * Busca tarefas pelas palavras da descrição e exibe as encontradas com o seu status.
+     */
+    private static void buscarTarefas() {
+        System.out.println("--- Buscar Tarefas ---");
+        System.out.print("Digite as palavras a buscar (use * no fim para prefixo, ex.: relat*): ");
+        String consulta = lerLinha();
+
+        List<Tarefa> encontradas = gerenciador.buscarTarefas(consulta);
+        if (encontradas.isEmpty()) {
+            System.out.println("\nNenhuma tarefa encontrada.");
+            return;
+        }
+        System.out.println("\n" + encontradas.size() + " tarefa(s) encontrada(s):");
+        for (Tarefa tarefa : encontradas) {
+            System.out.printf("[%s] %s%n", tarefa.getStatus().getDescricao(), tarefa);
+        }
+    }
 
     /**
-     * Aciona o processo de salvar todas as tarefas atuais no arquivo.
+     * Exibe as métricas coletadas desde o início da aplicação: execuções, falhas e
+     * latências de cada operação, bytes lidos/escritos e tarefas por status.
      */
-    private static void salvarTarefas() {
-        System.out.println("--- Salvar Tarefas ---");
-        System.out.println("Salvando o estado atual das tarefas no arquivo: " + NOME_ARQUIVO_TAREFAS_CSV);
-        persistencia.salvar(gerenciador.getTodasTarefas(), NOME_ARQUIVO_TAREFAS_CSV);
-        // A mensagem de sucesso/erro já é impressa pelo método salvarTarefas da persistência
-        
-        System.out.println("Salvando o estado atual das tarefas no arquivo: " + NOME_ARQUIVO_TAREFAS_JSON);
-        persistencia2.salvar(gerenciador.getTodasTarefas(), NOME_ARQUIVO_TAREFAS_JSON);
-        // A mensagem de sucesso/erro já é impressa pelo método salvarTarefas da persistência
+    private static void exibirEstatisticas() {
+        System.out.println("--- Estatísticas ---");
+        System.out.print(metricas);
+        if (gerenciador.getArquivoMorto() != null) {
+            System.out.println("Tarefas no arquivo morto: " + gerenciador.getArquivoMorto().getQuantidade());
+        }
     }
 
      /**2
@@ -296,6 +640,6 @@ public class Main {
       */
      private static void pressioneEnterParaContinuar() {
         System.out.print("\n[Pressione Enter para voltar ao menu]");
-        scanner.nextLine(); // Simplesmente consome a próxima linha (o Enter)
+        lerLinha(); // Simplesmente consome a próxima linha (o Enter)
     }
 }
\ No newline at end of file
@@ -0,0 +1,154 @@
+package gerenciadordetarefas;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Métricas de uso do gerenciador e da persistência: contagem, falhas e histograma de
+ * latência por operação, bytes lidos e escritos e quantidade de tarefas por status.
+ *
+ * O gerenciador registra as mutações em {@link GerenciadorTarefas#setMetricas} e a
+ * persistência é medida envolvendo-a em {@link PersistenciaComMetricas}. Registrar uma
+ * medição não aloca memória.
+ */
+public class MetricasTarefas implements OuvinteTarefas {
+
+    /**
+     * Operações medidas.
+     */
+    public enum Operacao {
+        ADICIONAR("Adicionar"),
+        MOVER("Mover"),
+        REMOVER("Remover"),
+        EDITAR("Editar"),
+        SALVAR("Salvar"),
+        CARREGAR("Carregar");
+
+        private final String descricao;
+
+        Operacao(String descricao) {
+            this.descricao = descricao;
+        }
+
+        public String getDescricao() {
+            return descricao;
+        }
+    }
+
+    private static final Operacao[] OPERACOES = Operacao.values();
+    private static final Status[] STATUS = Status.values();
+
+    private final HistogramaLatencia[] latencias = new HistogramaLatencia[OPERACOES.length];
+    private final AtomicLongArray falhas = new AtomicLongArray(OPERACOES.length);
+    private final AtomicLongArray tarefasPorStatus = new AtomicLongArray(STATUS.length);
+    private final AtomicLong bytesLidos = new AtomicLong();
+    private final AtomicLong bytesEscritos = new AtomicLong();
+
+    public MetricasTarefas() {
+        for (int i = 0; i < latencias.length; i++) {
+            latencias[i] = new HistogramaLatencia();
+        }
+    }
+
+    /**
+     * Registra uma execução de uma operação.
+     * @param operacao A operação executada.
+     * @param nanos Quanto tempo ela levou.
+     * @param sucesso false se a operação não teve efeito (ex.: tarefa não encontrada).
+     */
+    public void registrar(Operacao operacao, long nanos, boolean sucesso) {
+        latencias[operacao.ordinal()].registrar(nanos);
+        if (!sucesso) {
+            falhas.incrementAndGet(operacao.ordinal());
+        }
+    }
+
+    public void registrarBytesLidos(long bytes) {
+        bytesLidos.addAndGet(bytes);
+    }
+
+    public void registrarBytesEscritos(long bytes) {
+        bytesEscritos.addAndGet(bytes);
+    }
+
+    /**
+     * Define a quantidade atual de tarefas de um status. Usado ao associar as métricas a um
+     * gerenciador que já tem tarefas; depois disso a contagem acompanha as notificações.
+     */
+    void definirTarefas(Status status, long quantidade) {
+        tarefasPorStatus.set(status.ordinal(), quantidade);
+    }
+
+    @Override
+    public void tarefaAdicionada(Tarefa tarefa) {
+        tarefasPorStatus.incrementAndGet(tarefa.getStatus().ordinal());
+    }
+
+    @Override
+    public void tarefaMovida(Tarefa tarefa, Status origem, Status destino) {
+        tarefasPorStatus.decrementAndGet(origem.ordinal());
+        tarefasPorStatus.incrementAndGet(destino.ordinal());
+    }
+
+    @Override
+    public void tarefaRemovida(Tarefa tarefa) {
+        tarefasPorStatus.decrementAndGet(tarefa.getStatus().ordinal());
+    }
+
+    /**
+     * @return O histograma de latências da operação (a contagem dele é o total de execuções).
+     */
+    public HistogramaLatencia getLatencia(Operacao operacao) {
+        return latencias[operacao.ordinal()];
+    }
+
+    public long getContagem(Operacao operacao) {
+        return latencias[operacao.ordinal()].getContagem();
+    }
+
+    public long getFalhas(Operacao operacao) {
+        return falhas.get(operacao.ordinal());
+    }
+
+    public long getBytesLidos() {
+        return bytesLidos.get();
+    }
+
+    public long getBytesEscritos() {
+        return bytesEscritos.get();
+    }
+
+    public long getTarefas(Status status) {
+        return tarefasPorStatus.get(status.ordinal());
+    }
+
+    /**
+     * Zera contadores e histogramas. A quantidade de tarefas por status é mantida.
+     */
+    public void zerar() {
+        for (int i = 0; i < latencias.length; i++) {
+            latencias[i].zerar();
+            falhas.set(i, 0);
+        }
+        bytesLidos.set(0);
+        bytesEscritos.set(0);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-10s %10s %8s %12s %12s %12s%n", "Operação", "Execuções", "Falhas", "p50 (µs)", "p99 (µs)", "máx (µs)"));
+        for (Operacao operacao : OPERACOES) {
+            HistogramaLatencia latencia = getLatencia(operacao);
+            sb.append(String.format("%-10s %10d %8d %12.1f %12.1f %12.1f%n",
+                    operacao.getDescricao(), latencia.getContagem(), getFalhas(operacao),
+                    latencia.getPercentil(50) / 1000.0, latencia.getPercentil(99) / 1000.0,
+                    latencia.getMaximo() / 1000.0));
+        }
+        sb.append(String.format("%nBytes lidos: %d | Bytes escritos: %d%n", getBytesLidos(), getBytesEscritos()));
+        for (Status status : STATUS) {
+            sb.append(String.format("%s: %d tarefa(s)%n", status.getDescricao(), getTarefas(status)));
+        }
+        return sb.toString();
+    }
+}
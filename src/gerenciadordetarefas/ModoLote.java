@@ -0,0 +1,569 @@
+package gerenciadordetarefas;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Modo não interativo do {@link Main}: lê um comando por linha (de um arquivo, da entrada
+ * padrão ou dos argumentos) e os executa em sequência, sem limpar a tela nem pedir Enter.
+ *
+ * Comandos:
+ * <pre>
+ * add &lt;descrição&gt;                 cria uma tarefa em "A Fazer"
+ * move &lt;id&gt;[,&lt;id&gt;...] &lt;status&gt;   move uma ou mais tarefas (AFAZER, FAZENDO ou PRONTO)
+ * move --status &lt;origem&gt; &lt;status&gt;  move todas as tarefas de um status
+ * remove &lt;id&gt;                     remove uma tarefa
+ * remove --status &lt;status&gt;         remove todas as tarefas de um status
+ * list [--status &lt;status&gt;] [--sort &lt;ordem&gt;]
+ *                                   lista as tarefas (todas ou de um status), na ordem de
+ *                                   inserção ou por criacao, conclusao ou descricao
+ * save [--format &lt;fmt&gt;] [arquivo]  salva em csv, json, binario, fragmentado ou comprimido (padrão: o arquivo de dados)
+ * </pre>
+ * O id pode ser "$", que indica a última tarefa adicionada no lote. Linhas vazias e as que
+ * começam com '#' são ignoradas. As formas com vários ids ou com --status usam as operações
+ * em lote do {@link GerenciadorTarefas} e contam como um único comando.
+ *
+ * Um comando com erro é relatado na saída de erros e o lote continua; no final, o código de
+ * saída é {@value #FALHA_COMANDO} se algum comando falhou. O relatório de vazão (por comando
+ * e total) também vai para a saída de erros, para não se misturar à saída do "list".
+ */
+public class ModoLote {
+
+    static final int SUCESSO = 0;
+    static final int FALHA_COMANDO = 1;
+    static final int USO_INVALIDO = 2;
+
+    private static final String ARQUIVO_DADOS_PADRAO = "tarefas.csv";
+    private static final String ULTIMA_ADICIONADA = "$";
+
+    private static final String USO =
+            "Uso: java gerenciadordetarefas.Main [--dados <arquivo>] [--save-every <n>] [-c <comando>]... [arquivo de comandos | -]\n"
+            + "Sem argumentos, abre o menu interativo. Com \"-\" (ou sem arquivo nem -c), lê os comandos da entrada padrão.\n"
+            + "Comandos: add <descrição> | move <id>[,<id>...] <status> | move --status <origem> <status>"
+            + " | remove <id> | remove --status <status> | list [--status <status>] [--sort <ordem>]"
+            + " | save [--format csv|json|binario|fragmentado|comprimido] [arquivo]";
+
+    enum Comando {
+        ADD, MOVE, REMOVE, LIST, SAVE;
+
+        private static final Comando[] VALORES = values();
+
+        String getNome() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        static Comando fromString(String nome) {
+            for (Comando comando : VALORES) {
+                if (comando.getNome().equals(nome)) {
+                    return comando;
+                }
+            }
+            throw new IllegalArgumentException("Comando desconhecido: " + nome);
+        }
+    }
+
+    enum Formato {
+        CSV(".csv"), JSON(".json"), BINARIO(".bin"), FRAGMENTADO(".fragmentos"), COMPRIMIDO(".gtz");
+
+        private final String extensao;
+
+        Formato(String extensao) {
+            this.extensao = extensao;
+        }
+
+        PersistenciaTarefas criarPersistencia() {
+            switch (this) {
+                case JSON:
+                    return new PersistenciaJSON();
+                case BINARIO:
+                    return new PersistenciaBinaria();
+                case FRAGMENTADO:
+                    return new PersistenciaFragmentada();
+                case COMPRIMIDO:
+                    // O índice só é gravado no final: uma gravação interrompida no próprio
+                    // arquivo o deixaria ilegível
+                    return new PersistenciaAtomica(new PersistenciaComprimida());
+                default:
+                    return new PersistenciaCSV(true);
+            }
+        }
+
+        static Formato fromString(String nome) {
+            for (Formato formato : values()) {
+                if (formato.name().equalsIgnoreCase(nome)) {
+                    return formato;
+                }
+            }
+            throw new IllegalArgumentException("Formato desconhecido: " + nome + " (use csv, json, binario, fragmentado ou comprimido)");
+        }
+
+        static Formato doArquivo(String arquivo) {
+            String nome = arquivo.toLowerCase(Locale.ROOT);
+            for (Formato formato : values()) {
+                if (nome.endsWith(formato.extensao)) {
+                    return formato;
+                }
+            }
+            return CSV;
+        }
+    }
+
+    private final GerenciadorTarefas gerenciador;
+    private final PersistenciaTarefas persistencia;
+    private final String arquivoDados;
+    private final int salvarACada;
+    private final PrintWriter saida;
+    private final PrintWriter erros;
+    // Os formatos não informam falhas ao chamador; o decorador as conta nas métricas
+    private final MetricasTarefas metricasPersistencia = new MetricasTarefas();
+    private final Map<Formato, PersistenciaTarefas> persistenciasPorFormato = new EnumMap<>(Formato.class);
+    private final HistogramaLatencia[] latencias = new HistogramaLatencia[Comando.VALORES.length];
+    private final long[] tempoTotal = new long[Comando.VALORES.length];
+    private final long[] falhas = new long[Comando.VALORES.length];
+    private final StringBuilder buffer = new StringBuilder(256);
+    private long tempoLote;
+    private int alteracoesPendentes;
+    private UUID ultimaAdicionada;
+
+    /**
+     * @param gerenciador Gerenciador sobre o qual os comandos são executados.
+     * @param persistencia Persistência do arquivo de dados (usada pelo "save" sem argumentos
+     *                     e pelo salvamento periódico).
+     * @param arquivoDados Arquivo de dados.
+     * @param salvarACada Salva o arquivo de dados a cada N comandos que alteram tarefas, e no
+     *                    final do lote se houver alterações pendentes; 0 desliga.
+     * @param saida Destino da saída do "list".
+     * @param erros Destino das mensagens de erro e do relatório.
+     */
+    public ModoLote(GerenciadorTarefas gerenciador, PersistenciaTarefas persistencia, String arquivoDados,
+                    int salvarACada, PrintWriter saida, PrintWriter erros) {
+        if (salvarACada < 0) {
+            throw new IllegalArgumentException("O intervalo de salvamento não pode ser negativo.");
+        }
+        this.gerenciador = gerenciador;
+        this.persistencia = new PersistenciaComMetricas(persistencia, metricasPersistencia);
+        this.arquivoDados = arquivoDados;
+        this.salvarACada = salvarACada;
+        this.saida = saida;
+        this.erros = erros;
+        for (int i = 0; i < latencias.length; i++) {
+            latencias[i] = new HistogramaLatencia();
+        }
+    }
+
+    /**
+     * Interpreta os argumentos da linha de comando, carrega o arquivo de dados, executa os
+     * comandos e imprime o relatório.
+     * @return O código de saída: {@value #SUCESSO}, {@value #FALHA_COMANDO} se algum comando
+     *         falhou ou {@value #USO_INVALIDO} se os argumentos forem inválidos.
+     */
+    public static int executar(String[] args) {
+        String arquivoDados = ARQUIVO_DADOS_PADRAO;
+        String arquivoComandos = null;
+        int salvarACada = 0;
+        List<String> comandos = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "-h":
+                    case "--help":
+                        System.out.println(USO);
+                        return SUCESSO;
+                    case "--dados":
+                        arquivoDados = valorDaOpcao(args, ++i);
+                        break;
+                    case "--save-every":
+                        salvarACada = Integer.parseInt(valorDaOpcao(args, ++i));
+                        if (salvarACada <= 0) {
+                            throw new IllegalArgumentException("--save-every deve ser um número positivo.");
+                        }
+                        break;
+                    case "-c":
+                        comandos.add(valorDaOpcao(args, ++i));
+                        break;
+                    default:
+                        if (arquivoComandos != null || (args[i].startsWith("-") && !args[i].equals("-"))) {
+                            throw new IllegalArgumentException("Argumento inválido: " + args[i]);
+                        }
+                        arquivoComandos = args[i];
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException também cai aqui
+            System.err.println("Erro: " + e.getMessage());
+            System.err.println(USO);
+            return USO_INVALIDO;
+        }
+
+        Formato formato = Formato.doArquivo(arquivoDados);
+        PersistenciaTarefas persistencia;
+        PersistenciaJournal journal = null;
+        if (formato == Formato.CSV) {
+            // Igual ao modo interativo: salvar só anexa as alterações ao journal
+            journal = new PersistenciaJournal(formato.criarPersistencia());
+            persistencia = journal;
+        } else {
+            persistencia = formato.criarPersistencia();
+        }
+
+        Map<Status, List<Tarefa>> iniciais = journal != null || Files.exists(Paths.get(arquivoDados))
+                ? persistencia.carregar(arquivoDados) : Collections.emptyMap();
+        GerenciadorTarefas gerenciador = new GerenciadorTarefas(
+                iniciais.getOrDefault(Status.AFAZER, Collections.emptyList()),
+                iniciais.getOrDefault(Status.FAZENDO, Collections.emptyList()),
+                iniciais.getOrDefault(Status.PRONTO, Collections.emptyList()));
+        if (journal != null) {
+            gerenciador.adicionarOuvinte(journal);
+        }
+
+        Charset codificacao = Main.codificacaoTerminal();
+        PrintWriter saida = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out, codificacao), 1 << 16));
+        PrintWriter erros = new PrintWriter(new OutputStreamWriter(System.err, codificacao), true);
+        ModoLote lote = new ModoLote(gerenciador, persistencia, arquivoDados, salvarACada, saida, erros);
+
+        // Primeiro os comandos de -c; depois o arquivo, ou a entrada padrão se não houver nenhum dos dois
+        boolean sucesso = lote.processar(new StringReader(String.join("\n", comandos)));
+        if (arquivoComandos != null || comandos.isEmpty()) {
+            try (Reader leitor = arquivoComandos == null || arquivoComandos.equals("-")
+                    ? new InputStreamReader(System.in, Charset.defaultCharset())
+                    : new InputStreamReader(new FileInputStream(arquivoComandos), StandardCharsets.UTF_8)) {
+                sucesso &= lote.processar(leitor);
+            } catch (IOException e) {
+                erros.println("Erro ao ler comandos: " + e.getMessage());
+                sucesso = false;
+            }
+        }
+        sucesso &= lote.finalizar();
+        lote.imprimirRelatorio();
+        return sucesso ? SUCESSO : FALHA_COMANDO;
+    }
+
+    private static String valorDaOpcao(String[] args, int indice) {
+        if (indice >= args.length) {
+            throw new IllegalArgumentException("Falta o valor de " + args[indice - 1] + ".");
+        }
+        return args[indice];
+    }
+
+    /**
+     * Executa todos os comandos do leitor, um por linha.
+     * @return true se todos os comandos foram executados com sucesso.
+     */
+    boolean processar(Reader comandos) {
+        BufferedReader leitor = comandos instanceof BufferedReader
+                ? (BufferedReader) comandos : new BufferedReader(comandos, 1 << 16);
+        boolean sucesso = true;
+        int numeroLinha = 0;
+        long inicio = System.nanoTime();
+        try {
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                numeroLinha++;
+                linha = linha.trim();
+                if (!linha.isEmpty() && linha.charAt(0) != '#') {
+                    sucesso &= executarLinha(linha, numeroLinha);
+                }
+            }
+        } catch (IOException e) {
+            erros.println("Erro ao ler comandos: " + e.getMessage());
+            sucesso = false;
+        }
+        saida.flush();
+        tempoLote += System.nanoTime() - inicio;
+        return sucesso;
+    }
+
+    private boolean executarLinha(String linha, int numeroLinha) {
+        int espaco = indiceEspaco(linha);
+        String nome = linha.substring(0, espaco).toLowerCase(Locale.ROOT);
+        String argumentos = linha.substring(espaco).trim();
+        Comando comando;
+        try {
+            comando = Comando.fromString(nome);
+        } catch (IllegalArgumentException e) {
+            erros.println("Erro na linha " + numeroLinha + ": " + e.getMessage());
+            return false;
+        }
+
+        long inicio = System.nanoTime();
+        String erro;
+        try {
+            erro = executarComando(comando, argumentos);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            erro = e.getMessage();
+        }
+        long duracao = System.nanoTime() - inicio;
+        int indice = comando.ordinal();
+        latencias[indice].registrar(duracao);
+        tempoTotal[indice] += duracao;
+        if (erro != null) {
+            falhas[indice]++;
+            erros.println("Erro na linha " + numeroLinha + " (" + linha + "): " + erro);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return null em caso de sucesso, ou a mensagem de erro.
+     */
+    private String executarComando(Comando comando, String argumentos) {
+        switch (comando) {
+            case ADD:
+                ultimaAdicionada = gerenciador.adicionarTarefa(argumentos).getId();
+                return contarAlteracao();
+            case MOVE: {
+                String[] partes = argumentos.split("\\s+");
+                if (partes.length == 3 && partes[0].equals("--status")) {
+                    List<Tarefa> tarefas = List.copyOf(gerenciador.getTarefasPorStatus(Status.fromString(partes[1])));
+                    gerenciador.moverTarefas(tarefas, Status.fromString(partes[2]));
+                    return contarAlteracao();
+                }
+                if (partes.length != 2) {
+                    return "Uso: move <id>[,<id>...] <status> | move --status <origem> <status>";
+                }
+                if (partes[0].indexOf(',') >= 0) {
+                    return moverVarias(partes[0].split(","), Status.fromString(partes[1]));
+                }
+                Tarefa tarefa = buscarTarefa(partes[0]);
+                if (tarefa == null) {
+                    return "Tarefa não encontrada: " + partes[0];
+                }
+                if (!gerenciador.moverTarefa(tarefa, Status.fromString(partes[1]))) {
+                    return "Não foi possível mover a tarefa " + partes[0] + " para " + partes[1] + ".";
+                }
+                return contarAlteracao();
+            }
+            case REMOVE: {
+                if (argumentos.startsWith("--status")) {
+                    String[] partes = argumentos.split("\\s+");
+                    if (partes.length != 2) {
+                        return "Uso: remove --status <status>";
+                    }
+                    gerenciador.removerSe(Status.fromString(partes[1]), tarefa -> true);
+                    return contarAlteracao();
+                }
+                Tarefa tarefa = argumentos.isEmpty() ? null : buscarTarefa(argumentos);
+                if (tarefa == null || !gerenciador.removerTarefa(tarefa)) {
+                    return argumentos.isEmpty() ? "Uso: remove <id>" : "Tarefa não encontrada: " + argumentos;
+                }
+                return contarAlteracao();
+            }
+            case LIST:
+                return listar(argumentos);
+            case SAVE:
+                return salvar(argumentos);
+            default:
+                throw new AssertionError(comando);
+        }
+    }
+
+    private String moverVarias(String[] ids, Status destino) {
+        List<Tarefa> tarefas = new ArrayList<>(ids.length);
+        for (String id : ids) {
+            Tarefa tarefa = buscarTarefa(id.trim());
+            if (tarefa == null) {
+                return "Tarefa não encontrada: " + id.trim();
+            }
+            tarefas.add(tarefa);
+        }
+        if (gerenciador.moverTarefas(tarefas, destino) == 0) {
+            return "Nenhuma das tarefas pôde ser movida para " + destino.name() + ".";
+        }
+        return contarAlteracao();
+    }
+
+    private Tarefa buscarTarefa(String id) {
+        if (ULTIMA_ADICIONADA.equals(id)) {
+            if (ultimaAdicionada == null) {
+                throw new IllegalArgumentException("Nenhuma tarefa foi adicionada neste lote.");
+            }
+            return gerenciador.getTarefaPorId(ultimaAdicionada).orElse(null);
+        }
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("ID inválido: " + id);
+        }
+        return gerenciador.getTarefaPorId(uuid).orElse(null);
+    }
+
+    private String contarAlteracao() {
+        alteracoesPendentes++;
+        if (salvarACada > 0 && alteracoesPendentes >= salvarACada) {
+            String erro = salvarPeriodicamente();
+            return erro == null ? null : "O salvamento periódico falhou. " + erro;
+        }
+        return null;
+    }
+
+    /**
+     * @return null se deu certo, ou a mensagem de erro.
+     */
+    private String salvarPeriodicamente() {
+        alteracoesPendentes = 0;
+        return salvar(persistencia, arquivoDados);
+    }
+
+    /**
+     * Formato de cada linha: id, status e a descrição formatada como no modo interativo.
+     */
+    private String listar(String argumentos) {
+        List<Status> statusListados = List.of(Status.values());
+        Ordenacao ordenacao = Ordenacao.INSERCAO;
+        String[] partes = argumentos.isEmpty() ? new String[0] : argumentos.split("\\s+");
+        for (int i = 0; i < partes.length; i++) {
+            if (partes[i].equals("--status") && i + 1 < partes.length) {
+                statusListados = List.of(Status.fromString(partes[++i]));
+            } else if (partes[i].equals("--sort") && i + 1 < partes.length) {
+                ordenacao = Ordenacao.fromString(partes[++i]);
+            } else {
+                return "Uso: list [--status <status>] [--sort insercao|criacao|conclusao|descricao]";
+            }
+        }
+        for (Status status : statusListados) {
+            for (Tarefa tarefa : gerenciador.getTarefasPorStatus(status, ordenacao)) {
+                buffer.setLength(0);
+                buffer.append(tarefa.getId()).append(' ').append(status.name()).append(' ');
+                tarefa.formatar(buffer);
+                saida.append(buffer).append('\n');
+            }
+        }
+        return null;
+    }
+
+    private String salvar(String argumentos) {
+        Formato formato = null;
+        String arquivo = null;
+        String[] partes = argumentos.isEmpty() ? new String[0] : argumentos.split("\\s+");
+        for (int i = 0; i < partes.length; i++) {
+            if (partes[i].equals("--format") && i + 1 < partes.length) {
+                formato = Formato.fromString(partes[++i]);
+            } else if (arquivo == null && !partes[i].startsWith("--")) {
+                arquivo = partes[i];
+            } else {
+                return "Uso: save [--format csv|json|binario|fragmentado|comprimido] [arquivo]";
+            }
+        }
+
+        if (arquivo == null) {
+            if (formato == null || formato == Formato.doArquivo(arquivoDados)) {
+                return salvarPeriodicamente();
+            }
+            // Mesmo nome do arquivo de dados com a extensão do formato pedido
+            String base = arquivoDados.contains(".") ? arquivoDados.substring(0, arquivoDados.lastIndexOf('.')) : arquivoDados;
+            arquivo = base + formato.extensao;
+        } else if (formato == null) {
+            formato = Formato.doArquivo(arquivo);
+        }
+        if (arquivo.equals(arquivoDados) && formato == Formato.doArquivo(arquivoDados)) {
+            return salvarPeriodicamente();
+        }
+        PersistenciaTarefas outra = persistenciasPorFormato.computeIfAbsent(formato,
+                f -> new PersistenciaComMetricas(f.criarPersistencia(), metricasPersistencia));
+        return salvar(outra, arquivo);
+    }
+
+    /**
+     * @return null se o arquivo foi gravado por inteiro, ou a mensagem de erro.
+     */
+    private String salvar(PersistenciaTarefas destino, String arquivo) {
+        try {
+            destino.gravar(gerenciador.getTodasTarefas(), arquivo);
+            return null;
+        } catch (IOException e) {
+            return "Não foi possível salvar em " + arquivo + ": " + e.getMessage();
+        }
+    }
+
+    /**
+     * Com salvamento periódico ligado, salva as alterações que ainda não foram salvas.
+     * @return false se esse salvamento falhou.
+     */
+    boolean finalizar() {
+        if (salvarACada > 0 && alteracoesPendentes > 0) {
+            String erro = salvarPeriodicamente();
+            if (erro != null) {
+                erros.println("Erro ao salvar as alterações finais. " + erro);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return A quantidade de execuções de um comando (com e sem sucesso).
+     */
+    long getExecucoes(Comando comando) {
+        return latencias[comando.ordinal()].getContagem();
+    }
+
+    long getFalhas(Comando comando) {
+        return falhas[comando.ordinal()];
+    }
+
+    /**
+     * Imprime, para cada comando e no total, execuções, falhas, tempo e comandos por segundo.
+     */
+    void imprimirRelatorio() {
+        long execucoesTotais = 0;
+        long falhasTotais = 0;
+        long tempoTotais = 0;
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%n%-8s %10s %8s %12s %14s %10s %10s%n",
+                "Comando", "Execuções", "Falhas", "Tempo (ms)", "Comandos/s", "p50 (µs)", "p99 (µs)"));
+        for (Comando comando : Comando.VALORES) {
+            HistogramaLatencia latencia = latencias[comando.ordinal()];
+            long execucoes = latencia.getContagem();
+            if (execucoes == 0) {
+                continue;
+            }
+            long tempo = tempoTotal[comando.ordinal()];
+            sb.append(String.format("%-8s %10d %8d %12.1f %14.0f %10.1f %10.1f%n",
+                    comando.getNome(), execucoes, falhas[comando.ordinal()], tempo / 1e6, porSegundo(execucoes, tempo),
+                    latencia.getPercentil(50) / 1000.0, latencia.getPercentil(99) / 1000.0));
+            execucoesTotais += execucoes;
+            falhasTotais += falhas[comando.ordinal()];
+            tempoTotais += tempo;
+        }
+        sb.append(String.format("%-8s %10d %8d %12.1f %14.0f%n",
+                "total", execucoesTotais, falhasTotais, tempoTotais / 1e6, porSegundo(execucoesTotais, tempoTotais)));
+        // Inclui a leitura das linhas e a escrita da saída, que não entram no tempo dos comandos
+        sb.append(String.format("Lote completo: %.1f ms, %.0f comandos/s%n",
+                tempoLote / 1e6, porSegundo(execucoesTotais, tempoLote)));
+        erros.print(sb);
+        erros.flush();
+    }
+
+    private static double porSegundo(long execucoes, long nanos) {
+        return nanos == 0 ? 0 : execucoes * 1e9 / nanos;
+    }
+
+    private static int indiceEspaco(String texto) {
+        for (int i = 0; i < texto.length(); i++) {
+            if (Character.isWhitespace(texto.charAt(i))) {
+                return i;
+            }
+        }
+        return texto.length();
+    }
+}
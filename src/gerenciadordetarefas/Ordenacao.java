@@ -0,0 +1,30 @@
+package gerenciadordetarefas;
+
+/**
+ * Ordens em que as tarefas de um status podem ser listadas e numeradas.
+ */
+public enum Ordenacao {
+    INSERCAO("Inserção"),
+    CRIACAO("Data de criação"),
+    CONCLUSAO("Data de conclusão"),
+    DESCRICAO("Descrição");
+
+    private final String descricao;
+
+    Ordenacao(String descricao) {
+        this.descricao = descricao;
+    }
+
+    public String getDescricao() {
+        return descricao;
+    }
+
+    public static Ordenacao fromString(String text) {
+        for (Ordenacao o : Ordenacao.values()) {
+            if (o.name().equalsIgnoreCase(text)) {
+                return o;
+            }
+        }
+        throw new IllegalArgumentException("Nenhuma ordenação encontrada para a string: " + text);
+    }
+}
@@ -0,0 +1,57 @@
+package gerenciadordetarefas;
+
+/**
+ * Recebe notificações das alterações feitas pelo {@link GerenciadorTarefas}.
+ * Os métodos são chamados na mesma thread da alteração, logo depois que ela foi
+ * aplicada, e devem ser rápidos: qualquer trabalho pesado (ex: disco) deve ser adiado.
+ */
+public interface OuvinteTarefas {
+
+    /**
+     * Uma nova tarefa foi adicionada à lista "A Fazer".
+     * @param tarefa A tarefa adicionada.
+     */
+    default void tarefaAdicionada(Tarefa tarefa) {
+    }
+
+    /**
+     * Uma tarefa foi movida de lista. Status e data de conclusão já foram atualizados.
+     * @param tarefa A tarefa movida.
+     * @param origem O status de onde a tarefa saiu.
+     * @param destino O status para onde a tarefa foi.
+     */
+    default void tarefaMovida(Tarefa tarefa, Status origem, Status destino) {
+    }
+
+    /**
+     * Uma tarefa foi removida do gerenciador.
+     * @param tarefa A tarefa removida.
+     */
+    default void tarefaRemovida(Tarefa tarefa) {
+    }
+
+    /**
+     * A descrição de uma tarefa foi alterada através do gerenciador.
+     * @param tarefa A tarefa já com a nova descrição.
+     */
+    default void descricaoEditada(Tarefa tarefa) {
+    }
+
+    /**
+     * Uma tarefa pronta foi levada para o {@link ArquivoMorto}. Para quem acompanha só as
+     * tarefas ativas (o padrão), equivale a uma remoção.
+     * @param tarefa A tarefa arquivada.
+     */
+    default void tarefaArquivada(Tarefa tarefa) {
+        tarefaRemovida(tarefa);
+    }
+
+    /**
+     * Uma tarefa arquivada voltou ao gerenciador, no final da lista "Pronto". Por padrão,
+     * equivale a uma adição.
+     * @param tarefa A tarefa restaurada.
+     */
+    default void tarefaRestaurada(Tarefa tarefa) {
+        tarefaAdicionada(tarefa);
+    }
+}
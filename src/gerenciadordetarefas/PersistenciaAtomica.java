@@ -0,0 +1,119 @@
+package gerenciadordetarefas;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Decorador que salva em um arquivo temporário ao lado do destino e só então o renomeia por
+ * cima do arquivo antigo, numa operação atômica. Uma queda no meio da escrita deixa o arquivo
+ * anterior intacto, em vez de um arquivo pela metade.
+ */
+public class PersistenciaAtomica implements PersistenciaTarefas {
+
+    static final String EXTENSAO_TEMPORARIA = ".tmp";
+
+    private final PersistenciaTarefas persistencia;
+
+    public PersistenciaAtomica(PersistenciaTarefas persistencia) {
+        this.persistencia = persistencia;
+    }
+
+    @Override
+    public void salvar(Map<Status, List<Tarefa>> tarefas, String arquivo) {
+        try {
+            gravar(tarefas, arquivo);
+        } catch (IOException e) {
+            System.err.println("Erro ao substituir " + arquivo + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * O arquivo só é substituído se a persistência decorada gravar o temporário por inteiro;
+     * se ela falhar, o temporário é apagado e o arquivo anterior fica como estava.
+     */
+    @Override
+    public void gravar(Map<Status, List<Tarefa>> tarefas, String arquivo) throws IOException {
+        Path temporario = Paths.get(arquivo + EXTENSAO_TEMPORARIA);
+        Files.deleteIfExists(temporario);
+        try {
+            persistencia.gravar(tarefas, temporario.toString());
+        } catch (IOException | RuntimeException e) {
+            descartar(temporario, e);
+            throw e;
+        }
+        substituir(temporario, arquivo);
+    }
+
+    /**
+     * {@inheritDoc}
+     * As tarefas vão para o temporário à medida que chegam; ao fechar, ele só substitui o
+     * arquivo se todas as escritas e o fechamento do escritor decorado deram certo.
+     */
+    @Override
+    public EscritorTarefas abrirEscritor(String arquivo) throws IOException {
+        Path temporario = Paths.get(arquivo + EXTENSAO_TEMPORARIA);
+        Files.deleteIfExists(temporario);
+        EscritorTarefas escritor = persistencia.abrirEscritor(temporario.toString());
+        return new EscritorTarefas() {
+            private boolean falhou;
+            private boolean fechado;
+
+            @Override
+            public void escrever(Tarefa tarefa) throws IOException {
+                try {
+                    escritor.escrever(tarefa);
+                } catch (IOException | RuntimeException e) {
+                    falhou = true;
+                    throw e;
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (fechado) {
+                    return;
+                }
+                fechado = true;
+                try {
+                    escritor.close();
+                    if (falhou) {
+                        throw new IOException("Gravação incompleta; " + arquivo + " não foi alterado.");
+                    }
+                } catch (IOException | RuntimeException e) {
+                    descartar(temporario, e);
+                    throw e;
+                }
+                substituir(temporario, arquivo);
+            }
+        };
+    }
+
+    private static void substituir(Path temporario, String arquivo) throws IOException {
+        Files.move(temporario, Paths.get(arquivo), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void descartar(Path temporario, Exception causa) {
+        try {
+            Files.deleteIfExists(temporario);
+        } catch (IOException e) {
+            causa.addSuppressed(e);
+        }
+    }
+
+    @Override
+    public Map<Status, List<Tarefa>> carregar(String arquivo) {
+        return persistencia.carregar(arquivo);
+    }
+
+    @Override
+    public Stream<Tarefa> ler(String arquivo) throws IOException {
+        return persistencia.ler(arquivo);
+    }
+}
@@ -0,0 +1,364 @@
+package gerenciadordetarefas;
+
+import java.io.*;
+import java.util.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Implementação de persistência de tarefas em formato binário compacto e versionado.
+ *
+ * Formato do arquivo (big-endian):
+ * cabeçalho: magic "GTBN" (int), versão (short), quantidade de status (byte),
+ *            quantidade de tarefas por status (int, na ordem de Status.values())
+ * registros: idMaisSignificativo (long), idMenosSignificativo (long), status (byte),
+ *            dataCriacaoMillis (long), dataConclusaoMillis (long, Long.MIN_VALUE = sem data),
+ *            tamanho da descrição (int), descrição em UTF-8
+ *
+ * A parte fixa de cada registro tem {@value #TAMANHO_FIXO_REGISTRO} bytes. {@link #carregar} usa o
+ * arquivo mapeado em memória (ou blocos de um FileChannel, se passar de 2 GB); {@link #ler} lê
+ * sempre em blocos, uma tarefa por vez.
+ */
+public class PersistenciaBinaria implements PersistenciaTarefas {
+
+    static final int MAGIC = 0x4754424E; // "GTBN"
+    static final short VERSAO = 1;
+    static final int TAMANHO_FIXO_REGISTRO = 8 + 8 + 1 + 8 + 8 + 4;
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+    private static final Status[] STATUS = Status.values();
+
+    /**
+     * {@inheritDoc}
+     * @param tarefas Mapa de tarefas a serem salvas
+     * @param arquivo Caminho do arquivo binário de destino
+     */
+    @Override
+    public void salvar(Map<Status, List<Tarefa>> tarefas, String arquivo) {
+        try {
+            gravar(tarefas, arquivo);
+        } catch (IOException e) {
+            System.err.println("Erro ao salvar binário: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void gravar(Map<Status, List<Tarefa>> tarefas, String arquivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(Paths.get(arquivo),
+                StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(TAMANHO_BUFFER);
+            buffer.putInt(MAGIC).putShort(VERSAO).put((byte) STATUS.length);
+            for (Status s : STATUS) {
+                List<Tarefa> lista = tarefas.get(s);
+                buffer.putInt(lista == null ? 0 : lista.size());
+            }
+
+            for (Status s : STATUS) {
+                List<Tarefa> lista = tarefas.get(s);
+                if (lista == null) {
+                    continue;
+                }
+                for (Tarefa tarefa : lista) {
+                    byte[] descricao = descricaoUtf8(tarefa);
+                    if (buffer.remaining() < TAMANHO_FIXO_REGISTRO + descricao.length) {
+                        esvaziar(canal, buffer);
+                    }
+                    if (buffer.remaining() >= TAMANHO_FIXO_REGISTRO + descricao.length) {
+                        escreverRegistro(buffer, tarefa, descricao);
+                    } else {
+                        // Descrição maior que o buffer: grava num buffer próprio
+                        ByteBuffer grande = ByteBuffer.allocate(TAMANHO_FIXO_REGISTRO + descricao.length);
+                        escreverRegistro(grande, tarefa, descricao);
+                        grande.flip();
+                        while (grande.hasRemaining()) {
+                            canal.write(grande);
+                        }
+                    }
+                }
+            }
+            esvaziar(canal, buffer);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * @param arquivo Caminho do arquivo binário a ser carregado
+     * @throws IllegalArgumentException Se o arquivo não estiver no formato esperado
+     */
+    @Override
+    public Map<Status, List<Tarefa>> carregar(String arquivo) {
+        Map<Status, List<Tarefa>> tarefas = new EnumMap<>(Status.class);
+
+        // Inicializa listas vazias para todos os status
+        for (Status s : STATUS) {
+            tarefas.put(s, new ArrayList<>());
+        }
+
+        try (FileChannel canal = FileChannel.open(Paths.get(arquivo), StandardOpenOption.READ)) {
+            EntradaBinaria entrada = new EntradaBinaria(canal, true);
+            int[] quantidades = lerCabecalho(entrada, arquivo);
+            long total = 0;
+            for (int i = 0; i < quantidades.length; i++) {
+                if (i < STATUS.length) {
+                    ((ArrayList<Tarefa>) tarefas.get(STATUS[i])).ensureCapacity(quantidades[i]);
+                }
+                total += quantidades[i];
+            }
+
+            for (long i = 0; i < total; i++) {
+                Tarefa tarefa = lerProximo(entrada, i, arquivo);
+                tarefas.get(tarefa.getStatus()).add(tarefa);
+            }
+        } catch (EOFException e) {
+            throw new IllegalArgumentException("Arquivo binário truncado: " + arquivo, e);
+        } catch (IOException e) {
+            System.err.println("Erro ao carregar binário: " + e.getMessage());
+        }
+        return tarefas;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Lê o arquivo em blocos do canal, sem mapeá-lo, de modo que ele pode ser substituído
+     * assim que o stream for fechado.
+     * @throws IllegalArgumentException Se o arquivo não estiver no formato esperado (no meio
+     *                                  da leitura, ao pedir a tarefa corrompida)
+     */
+    @Override
+    public Stream<Tarefa> ler(String arquivo) throws IOException {
+        FileChannel canal = FileChannel.open(Paths.get(arquivo), StandardOpenOption.READ);
+        long total = 0;
+        EntradaBinaria entrada;
+        try {
+            entrada = new EntradaBinaria(canal, false);
+            for (int quantidade : lerCabecalho(entrada, arquivo)) {
+                total += quantidade;
+            }
+        } catch (EOFException e) {
+            canal.close();
+            throw new IllegalArgumentException("Arquivo binário truncado: " + arquivo, e);
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+
+        long quantidade = total;
+        Iterator<Tarefa> tarefas = new Iterator<>() {
+            private long lidas;
+
+            @Override
+            public boolean hasNext() {
+                return lidas < quantidade;
+            }
+
+            @Override
+            public Tarefa next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                try {
+                    return lerProximo(entrada, lidas++, arquivo);
+                } catch (EOFException e) {
+                    throw new IllegalArgumentException("Arquivo binário truncado: " + arquivo, e);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliterator(tarefas, quantidade,
+                Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        canal.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /**
+     * Lê e valida o cabeçalho.
+     * @return A quantidade de tarefas de cada status gravado no arquivo.
+     */
+    private static int[] lerCabecalho(EntradaBinaria entrada, String arquivo) throws IOException {
+        entrada.garantir(7);
+        ByteBuffer buffer = entrada.buffer();
+        if (buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Arquivo binário inválido: " + arquivo);
+        }
+        short versao = buffer.getShort();
+        if (versao != VERSAO) {
+            throw new IllegalArgumentException("Versão de arquivo binário não suportada: " + versao);
+        }
+        int quantidadeStatus = buffer.get() & 0xFF;
+        entrada.garantir(4 * quantidadeStatus);
+        int[] quantidades = new int[quantidadeStatus];
+        long total = 0;
+        for (int i = 0; i < quantidadeStatus; i++) {
+            quantidades[i] = entrada.buffer().getInt();
+            if (quantidades[i] < 0) {
+                throw new IllegalArgumentException("Cabeçalho binário inválido (quantidade negativa de tarefas) em " + arquivo);
+            }
+            total += quantidades[i];
+        }
+        // Cada registro ocupa pelo menos a parte fixa: uma contagem corrompida não pode reservar memória
+        if (total > entrada.restantes() / TAMANHO_FIXO_REGISTRO) {
+            throw new IllegalArgumentException("Arquivo binário truncado ou corrompido: o cabeçalho indica " + total
+                    + " tarefa(s), mas restam só " + entrada.restantes() + " bytes em " + arquivo);
+        }
+        return quantidades;
+    }
+
+    /**
+     * Lê o próximo registro, conferindo o tamanho da descrição antes de reservar memória para ela.
+     * @param indice Posição do registro no arquivo (a partir de 0), para as mensagens de erro.
+     */
+    private static Tarefa lerProximo(EntradaBinaria entrada, long indice, String arquivo) throws IOException {
+        entrada.garantir(TAMANHO_FIXO_REGISTRO);
+        int tamanhoDescricao = entrada.buffer().getInt(entrada.buffer().position() + TAMANHO_FIXO_REGISTRO - 4);
+        if (tamanhoDescricao < 0) {
+            throw new IllegalArgumentException("Registro binário inválido (tarefa " + (indice + 1) + ") em " + arquivo);
+        }
+        // Comparado antes de somar: um tamanho corrompido perto de Integer.MAX_VALUE estouraria a soma.
+        // O buffer é olhado primeiro para não consultar o canal a cada registro
+        if (tamanhoDescricao > entrada.buffer().remaining() - TAMANHO_FIXO_REGISTRO
+                && tamanhoDescricao > entrada.restantes() - TAMANHO_FIXO_REGISTRO) {
+            throw new IllegalArgumentException("Arquivo binário truncado ou corrompido: a tarefa " + (indice + 1)
+                    + " indica uma descrição de " + tamanhoDescricao + " bytes, mas restam só "
+                    + (entrada.restantes() - TAMANHO_FIXO_REGISTRO) + " bytes em " + arquivo);
+        }
+        entrada.garantir(TAMANHO_FIXO_REGISTRO + tamanhoDescricao);
+        return lerRegistro(entrada.buffer());
+    }
+
+    /**
+     * Descrição da tarefa em UTF-8. Tarefas que já a guardam codificada (ex: {@link TarefaPreguicosa})
+     * a copiam sem passar por String.
+     */
+    static byte[] descricaoUtf8(Tarefa tarefa) {
+        int tamanho = tarefa.getTamanhoDescricaoUtf8();
+        if (tamanho < 0) {
+            return tarefa.getDescricao().getBytes(StandardCharsets.UTF_8);
+        }
+        byte[] descricao = new byte[tamanho];
+        tarefa.copiarDescricaoUtf8(descricao);
+        return descricao;
+    }
+
+    /**
+     * Grava um registro completo no buffer, que precisa ter espaço para ele.
+     * @param destino Buffer de destino
+     * @param tarefa Tarefa a ser gravada
+     * @param descricao Descrição já codificada em UTF-8
+     */
+    static void escreverRegistro(ByteBuffer destino, Tarefa tarefa, byte[] descricao) {
+        destino.putLong(tarefa.getId().getMostSignificantBits())
+               .putLong(tarefa.getId().getLeastSignificantBits())
+               .put((byte) tarefa.getStatus().ordinal())
+               .putLong(tarefa.getDataCriacaoMillis())
+               .putLong(tarefa.getDataConclusaoMillis())
+               .putInt(descricao.length)
+               .put(descricao);
+    }
+
+    /**
+     * Lê um registro completo a partir da posição atual do buffer.
+     * @param origem Buffer contendo o registro inteiro
+     * @return Objeto Tarefa criado
+     */
+    static Tarefa lerRegistro(ByteBuffer origem) {
+        UUID id = new UUID(origem.getLong(), origem.getLong());
+        int ordinal = origem.get();
+        if (ordinal < 0 || ordinal >= STATUS.length) {
+            throw new IllegalArgumentException("Status inválido no registro da tarefa " + id + ": " + ordinal);
+        }
+        long criacao = origem.getLong();
+        long conclusao = origem.getLong();
+        byte[] descricao = new byte[origem.getInt()];
+        origem.get(descricao);
+        return new Tarefa(
+            id,
+            new String(descricao, StandardCharsets.UTF_8),
+            new Date(criacao),
+            conclusao == Tarefa.SEM_DATA ? null : new Date(conclusao),
+            STATUS[ordinal]
+        );
+    }
+
+    private static void esvaziar(FileChannel canal, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Origem de bytes para a leitura: o arquivo inteiro mapeado em memória quando cabe
+     * num único mapeamento, ou blocos lidos do canal para arquivos maiores que 2 GB.
+     */
+    static class EntradaBinaria {
+        private final FileChannel canal;
+        private ByteBuffer buffer;
+
+        /**
+         * @param mapear Se o arquivo deve ser mapeado quando couber num único mapeamento; senão
+         *               é sempre lido em blocos do canal.
+         */
+        EntradaBinaria(FileChannel canal, boolean mapear) throws IOException {
+            long tamanho = canal.size();
+            if (mapear && tamanho <= Integer.MAX_VALUE) {
+                this.canal = null;
+                this.buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanho);
+            } else {
+                this.canal = canal;
+                this.buffer = ByteBuffer.allocateDirect(TAMANHO_BUFFER);
+                this.buffer.flip();
+            }
+        }
+
+        ByteBuffer buffer() {
+            return buffer;
+        }
+
+        /**
+         * @return Quantos bytes ainda não foram consumidos, contando os que estão no canal.
+         */
+        long restantes() throws IOException {
+            return canal == null ? buffer.remaining() : buffer.remaining() + canal.size() - canal.position();
+        }
+
+        /**
+         * Garante que existam pelo menos n bytes disponíveis a partir da posição atual.
+         * @throws EOFException Se o arquivo terminar antes
+         */
+        void garantir(int n) throws IOException {
+            if (buffer.remaining() >= n) {
+                return;
+            }
+            if (canal == null || n > restantes()) {
+                // Não aloca um buffer maior do que o resto do arquivo
+                throw new EOFException();
+            }
+            if (buffer.capacity() < n) {
+                ByteBuffer maior = ByteBuffer.allocateDirect(n);
+                maior.put(buffer);
+                buffer = maior;
+            } else {
+                buffer.compact();
+            }
+            while (buffer.position() < n) {
+                if (canal.read(buffer) < 0) {
+                    throw new EOFException();
+                }
+            }
+            buffer.flip();
+        }
+    }
+}
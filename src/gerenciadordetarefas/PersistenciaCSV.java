@@ -2,7 +2,13 @@ package gerenciadordetarefas;
 
 import java.io.*;
 import java.util.*;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Implementação de persistência de tarefas em formato CSV.
@@ -12,6 +18,32 @@ public class PersistenciaCSV implements PersistenciaTarefas {
     
     private static final String SEPARADOR = ",";
 
+    private final boolean mapearArquivo;
+    private final boolean descricoesSobDemanda;
+
+    public PersistenciaCSV() {
+        this(false);
+    }
+
+    /**
+     * @param mapearArquivo Se true, o carregamento mapeia o arquivo em memória (NIO) e
+     *                      interpreta os campos direto dos bytes, sem criar uma String por linha.
+     */
+    public PersistenciaCSV(boolean mapearArquivo) {
+        this(mapearArquivo, false);
+    }
+
+    /**
+     * @param mapearArquivo Como em {@link #PersistenciaCSV(boolean)}.
+     * @param descricoesSobDemanda Se true (e mapearArquivo também), o carregamento lê só ID,
+     *                             status e datas; cada descrição fica no arquivo mapeado e só é
+     *                             decodificada quando for usada (ver {@link TarefaPreguicosa}).
+     */
+    public PersistenciaCSV(boolean mapearArquivo, boolean descricoesSobDemanda) {
+        this.mapearArquivo = mapearArquivo;
+        this.descricoesSobDemanda = mapearArquivo && descricoesSobDemanda;
+    }
+
     /**
      * {@inheritDoc}
      * @param tarefas Mapa de tarefas a serem salvas
@@ -19,19 +51,47 @@ public class PersistenciaCSV implements PersistenciaTarefas {
      */
     @Override
     public void salvar(Map<Status, List<Tarefa>> tarefas, String arquivo) {
-        try (PrintWriter writer = new PrintWriter(
-                new OutputStreamWriter(new FileOutputStream(arquivo), StandardCharsets.UTF_8))) {
-            
+        try {
+            gravar(tarefas, arquivo);
+        } catch (IOException e) {
+            System.err.println("Erro ao salvar CSV: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void gravar(Map<Status, List<Tarefa>> tarefas, String arquivo) throws IOException {
+        try (EscritorTarefas escritor = abrirEscritor(arquivo)) {
             for (List<Tarefa> lista : tarefas.values()) {
                 for (Tarefa tarefa : lista) {
-                    writer.println(formatarParaCSV(tarefa));
+                    escritor.escrever(tarefa);
                 }
             }
-        } catch (IOException e) {
-            System.err.println("Erro ao salvar CSV: " + e.getMessage());
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * Cada tarefa vira uma linha, gravada assim que recebida.
+     * @param arquivo Caminho do arquivo CSV de destino
+     */
+    @Override
+    public EscritorTarefas abrirEscritor(String arquivo) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(arquivo), StandardCharsets.UTF_8));
+        String quebraDeLinha = System.lineSeparator();
+        return new EscritorTarefas() {
+            @Override
+            public void escrever(Tarefa tarefa) throws IOException {
+                writer.write(formatarParaCSV(tarefa));
+                writer.write(quebraDeLinha);
+            }
+
+            @Override
+            public void close() throws IOException {
+                writer.close();
+            }
+        };
+    }
+
     /**
      * {@inheritDoc}
      * @param arquivo Caminho do arquivo CSV a ser carregado
@@ -45,26 +105,62 @@ public class PersistenciaCSV implements PersistenciaTarefas {
             tarefas.put(s, new ArrayList<>());
         }
 
-        try (BufferedReader reader = new BufferedReader(
-                new InputStreamReader(new FileInputStream(arquivo), StandardCharsets.UTF_8))) {
-            
-            String linha;
-            while ((linha = reader.readLine()) != null) {
-                Tarefa tarefa = parseCSV(linha);
-                tarefas.get(tarefa.getStatus()).add(tarefa);
-            }
+        try (Stream<Tarefa> stream = ler(arquivo)) {
+            stream.forEach(tarefa -> tarefas.get(tarefa.getStatus()).add(tarefa));
         } catch (IOException e) {
             System.err.println("Erro ao carregar CSV: " + e.getMessage());
+        } catch (UncheckedIOException e) {
+            System.err.println("Erro ao carregar CSV: " + e.getCause().getMessage());
         }
         return tarefas;
     }
 
+    /**
+     * {@inheritDoc}
+     * Lê uma linha por vez; com mapearArquivo, percorre o arquivo mapeado em memória com
+     * {@link LeitorCSVMapeado}. Arquivos maiores que 2 GB não cabem em um único mapeamento e
+     * voltam para o leitor comum.
+     * @param arquivo Caminho do arquivo CSV a ser lido
+     */
+    @Override
+    public Stream<Tarefa> ler(String arquivo) throws IOException {
+        if (mapearArquivo) {
+            try (FileChannel canal = FileChannel.open(Paths.get(arquivo), StandardOpenOption.READ)) {
+                long tamanho = canal.size();
+                if (tamanho <= Integer.MAX_VALUE) {
+                    // O mapeamento continua válido depois que o canal é fechado
+                    LeitorCSVMapeado leitor = new LeitorCSVMapeado(canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanho));
+                    return StreamSupport.stream(new Spliterators.AbstractSpliterator<Tarefa>(Long.MAX_VALUE,
+                            Spliterator.ORDERED | Spliterator.NONNULL) {
+                        @Override
+                        public boolean tryAdvance(Consumer<? super Tarefa> acao) {
+                            if (!leitor.proximaLinha()) {
+                                return false;
+                            }
+                            acao.accept(descricoesSobDemanda ? leitor.criarTarefaPreguicosa() : leitor.criarTarefa());
+                            return true;
+                        }
+                    }, false);
+                }
+            }
+        }
+        BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(arquivo), StandardCharsets.UTF_8));
+        return reader.lines().map(PersistenciaCSV::parseCSV).onClose(() -> {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
     /**
      * Formata uma tarefa para o formato CSV
      * @param tarefa Tarefa a ser formatada
      * @return String no formato CSV
      */
-    private String formatarParaCSV(Tarefa tarefa) {
+    static String formatarParaCSV(Tarefa tarefa) {
         return String.join(SEPARADOR,
                 tarefa.getId().toString(),
                 tarefa.getStatus().name(),
@@ -82,7 +178,7 @@ public class PersistenciaCSV implements PersistenciaTarefas {
      * @return Objeto Tarefa criado
      * @throws IllegalArgumentException Se a linha estiver em formato inválido
      */
-    private Tarefa parseCSV(String linha) {
+    static Tarefa parseCSV(String linha) {
         String[] partes = linha.split(SEPARADOR, 5);
 
         // Validação básica da estrutura
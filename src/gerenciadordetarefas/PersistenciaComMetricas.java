@@ -0,0 +1,102 @@
+package gerenciadordetarefas;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decorador que mede o tempo de salvar/carregar de outra {@link PersistenciaTarefas} e os
+ * bytes lidos e escritos, registrando tudo em {@link MetricasTarefas}.
+ *
+ * Os bytes são obtidos pelo tamanho dos arquivos em disco, sem interferir na implementação
+ * decorada. Se existir um journal (arquivo + ".journal", ver {@link PersistenciaJournal}),
+ * um salvamento que só o fez crescer conta apenas os bytes anexados, e um que não alterou
+ * nenhum dos dois arquivos (nada pendente) não conta nada.
+ */
+public class PersistenciaComMetricas implements PersistenciaTarefas {
+
+    private final PersistenciaTarefas persistencia;
+    private final MetricasTarefas metricas;
+
+    public PersistenciaComMetricas(PersistenciaTarefas persistencia, MetricasTarefas metricas) {
+        this.persistencia = persistencia;
+        this.metricas = metricas;
+    }
+
+    @Override
+    public void salvar(Map<Status, List<Tarefa>> tarefas, String arquivo) {
+        try {
+            gravar(tarefas, arquivo);
+        } catch (IOException e) {
+            System.err.println("Erro ao salvar " + arquivo + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * O salvamento conta como falha se a persistência decorada lançar qualquer exceção.
+     */
+    @Override
+    public void gravar(Map<Status, List<Tarefa>> tarefas, String arquivo) throws IOException {
+        Path caminho = Paths.get(arquivo);
+        Path journal = Paths.get(arquivo + PersistenciaJournal.EXTENSAO_JOURNAL);
+        long journalAntes = tamanho(journal);
+        List<Object> snapshotAntes = estado(caminho);
+        long inicio = System.nanoTime();
+        boolean sucesso = false;
+        try {
+            persistencia.gravar(tarefas, arquivo);
+            sucesso = true;
+        } finally {
+            long duracao = System.nanoTime() - inicio;
+            if (sucesso) {
+                long journalDepois = tamanho(journal);
+                long escritos;
+                if (journalDepois > journalAntes) {
+                    escritos = journalDepois - journalAntes; // Só houve anexação
+                } else if (journalDepois == journalAntes && estado(caminho).equals(snapshotAntes)) {
+                    escritos = 0; // Nada pendente: nenhum dos arquivos foi tocado
+                } else {
+                    escritos = tamanho(caminho); // O arquivo principal foi reescrito
+                }
+                metricas.registrarBytesEscritos(escritos);
+            }
+            metricas.registrar(MetricasTarefas.Operacao.SALVAR, duracao, sucesso);
+        }
+    }
+
+    @Override
+    public Map<Status, List<Tarefa>> carregar(String arquivo) {
+        long inicio = System.nanoTime();
+        Map<Status, List<Tarefa>> tarefas = persistencia.carregar(arquivo);
+        long duracao = System.nanoTime() - inicio;
+
+        metricas.registrarBytesLidos(tamanho(Paths.get(arquivo)) + tamanho(Paths.get(arquivo + PersistenciaJournal.EXTENSAO_JOURNAL)));
+        metricas.registrar(MetricasTarefas.Operacao.CARREGAR, duracao, true);
+        return tarefas;
+    }
+
+    // Tamanho, data de modificação e identificação do arquivo: muda se ele for reescrito ou substituído
+    private static List<Object> estado(Path caminho) {
+        try {
+            BasicFileAttributes atributos = Files.readAttributes(caminho, BasicFileAttributes.class);
+            return Arrays.asList(atributos.size(), atributos.lastModifiedTime(), atributos.fileKey());
+        } catch (IOException e) {
+            return Collections.emptyList(); // Não existe
+        }
+    }
+
+    private static long tamanho(Path caminho) {
+        try {
+            return Files.exists(caminho) ? Files.size(caminho) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,534 @@
+package gerenciadordetarefas;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Persistência binária comprimida em blocos, para arquivos grandes e repetitivos (ex: muitas
+ * tarefas prontas com descrições parecidas).
+ *
+ * As tarefas são agrupadas em blocos de até {@value #REGISTROS_POR_BLOCO_PADRAO} registros de
+ * um mesmo status, cada bloco comprimido separadamente com {@link Deflater}. Um índice no
+ * final do arquivo guarda, por bloco, onde ele está, o status e o intervalo de datas das suas
+ * tarefas. Assim o carregamento descomprime os blocos em paralelo e
+ * {@link #carregar(String, Set, long, long, long, long)} nem lê os blocos que não interessam.
+ *
+ * Formato do arquivo (big-endian):
+ * <pre>
+ * cabeçalho: magic "GTZB" (int), versão (short)
+ * blocos:    registros no formato de {@link PersistenciaBinaria}, comprimidos (zlib)
+ * índice:    quantidade de blocos (int) e, por bloco: posição (long), tamanho comprimido (int),
+ *            tamanho original (int), status (byte), quantidade de registros (int),
+ *            menor e maior dataCriacaoMillis (long, long), menor e maior dataConclusaoMillis (long, long)
+ * rodapé:    posição do índice (long), magic (int)
+ * </pre>
+ */
+public class PersistenciaComprimida implements PersistenciaTarefas {
+
+    static final int MAGIC = 0x47545A42; // "GTZB"
+    static final short VERSAO = 1;
+    static final int REGISTROS_POR_BLOCO_PADRAO = 4096;
+
+    private static final int TAMANHO_CABECALHO = 4 + 2;
+    private static final int TAMANHO_RODAPE = 8 + 4;
+    private static final int TAMANHO_ENTRADA_INDICE = 8 + 4 + 4 + 1 + 4 + 8 * 4;
+    private static final Status[] STATUS = Status.values();
+    // Blocos sendo comprimidos ao mesmo tempo durante o salvamento
+    private static final int BLOCOS_EM_ANDAMENTO = Math.max(2, Runtime.getRuntime().availableProcessors() * 2);
+    // Compressão e descompressão dos blocos. Um pool próprio, e não o ForkJoinPool comum, para
+    // que um arquivo grande não ocupe as threads de quem usa parallelStream no resto da JVM
+    private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(), tarefa -> {
+                Thread thread = new Thread(tarefa, "persistencia-comprimida");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private final int registrosPorBloco;
+    private final int nivel;
+    private final AtomicLong blocosLidos = new AtomicLong();
+
+    public PersistenciaComprimida() {
+        this(REGISTROS_POR_BLOCO_PADRAO, Deflater.BEST_SPEED);
+    }
+
+    /**
+     * @param registrosPorBloco Quantidade máxima de tarefas em cada bloco. Blocos menores
+     *                          filtram melhor; maiores comprimem um pouco mais.
+     * @param nivel Nível de compressão do Deflater (0 a 9, ou {@link Deflater#DEFAULT_COMPRESSION}).
+     */
+    public PersistenciaComprimida(int registrosPorBloco, int nivel) {
+        if (registrosPorBloco <= 0) {
+            throw new IllegalArgumentException("A quantidade de registros por bloco deve ser positiva.");
+        }
+        if ((nivel < Deflater.NO_COMPRESSION && nivel != Deflater.DEFAULT_COMPRESSION) || nivel > Deflater.BEST_COMPRESSION) {
+            throw new IllegalArgumentException("Nível de compressão inválido: " + nivel);
+        }
+        this.registrosPorBloco = registrosPorBloco;
+        this.nivel = nivel;
+    }
+
+    /**
+     * Entrada do índice: um bloco do arquivo.
+     */
+    private static final class Bloco {
+        long posicao;
+        int tamanhoComprimido;
+        int tamanhoOriginal;
+        Status status;
+        int quantidade;
+        long menorCriacao = Long.MAX_VALUE;
+        long maiorCriacao = Long.MIN_VALUE;
+        long menorConclusao = Long.MAX_VALUE;
+        long maiorConclusao = Long.MIN_VALUE;
+        // Só durante a escrita
+        byte[] comprimido;
+
+        boolean contemCriacaoEntre(long inicio, long fim) {
+            return maiorCriacao >= inicio && menorCriacao < fim;
+        }
+
+        // Tarefas sem data de conclusão contam como Tarefa.SEM_DATA, a menor data possível
+        boolean contemConclusaoEntre(long inicio, long fim) {
+            return maiorConclusao >= inicio && menorConclusao < fim;
+        }
+    }
+
+    /**
+     * Intervalos de datas aceitos por {@link #carregar(String, Set, long, long, long, long)}, no
+     * formato [início, fim).
+     */
+    private static final class Filtro {
+        static final Filtro TODAS = new Filtro(Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE);
+
+        final long inicioCriacao;
+        final long fimCriacao;
+        final long inicioConclusao;
+        final long fimConclusao;
+
+        Filtro(long inicioCriacao, long fimCriacao, long inicioConclusao, long fimConclusao) {
+            this.inicioCriacao = inicioCriacao;
+            this.fimCriacao = fimCriacao;
+            this.inicioConclusao = inicioConclusao;
+            this.fimConclusao = fimConclusao;
+        }
+
+        boolean aceitaBloco(Bloco bloco) {
+            return bloco.contemCriacaoEntre(inicioCriacao, fimCriacao)
+                    && bloco.contemConclusaoEntre(inicioConclusao, fimConclusao);
+        }
+
+        boolean aceita(Tarefa tarefa) {
+            long criacao = tarefa.getDataCriacaoMillis();
+            long conclusao = tarefa.getDataConclusaoMillis();
+            return criacao >= inicioCriacao && criacao < fimCriacao
+                    && conclusao >= inicioConclusao && conclusao < fimConclusao;
+        }
+
+        // Pelo índice, todas as tarefas do bloco estão nos intervalos: não precisa olhar uma a uma
+        boolean aceitaTodas(Bloco bloco) {
+            return inicioCriacao <= bloco.menorCriacao && fimCriacao > bloco.maiorCriacao
+                    && inicioConclusao <= bloco.menorConclusao && fimConclusao > bloco.maiorConclusao;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * @param tarefas Mapa de tarefas a serem salvas
+     * @param arquivo Caminho do arquivo de destino
+     */
+    @Override
+    public void salvar(Map<Status, List<Tarefa>> tarefas, String arquivo) {
+        try {
+            gravar(tarefas, arquivo);
+        } catch (IOException e) {
+            System.err.println("Erro ao salvar comprimido: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void gravar(Map<Status, List<Tarefa>> tarefas, String arquivo) throws IOException {
+        try (EscritorTarefas escritor = abrirEscritor(arquivo)) {
+            for (List<Tarefa> lista : tarefas.values()) {
+                for (Tarefa tarefa : lista) {
+                    escritor.escrever(tarefa);
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Cada bloco completo é comprimido em paralelo com os seguintes e gravado na ordem; o
+     * índice é gravado ao fechar.
+     * @param arquivo Caminho do arquivo de destino
+     */
+    @Override
+    public EscritorTarefas abrirEscritor(String arquivo) throws IOException {
+        FileChannel canal = FileChannel.open(Paths.get(arquivo),
+                StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            escreverTudo(canal, ByteBuffer.allocate(TAMANHO_CABECALHO).putInt(MAGIC).putShort(VERSAO).flip());
+        } catch (IOException e) {
+            canal.close();
+            throw e;
+        }
+        return new EscritorComprimido(canal);
+    }
+
+    private final class EscritorComprimido implements EscritorTarefas {
+        private final FileChannel canal;
+        private final List<Bloco> indice = new ArrayList<>();
+        private final ArrayDeque<CompletableFuture<Bloco>> emAndamento = new ArrayDeque<>();
+        private ByteBuffer registros = ByteBuffer.allocate(64 * 1024);
+        private Bloco atual;
+        private long posicao = TAMANHO_CABECALHO;
+        private boolean fechado;
+
+        EscritorComprimido(FileChannel canal) {
+            this.canal = canal;
+        }
+
+        @Override
+        public void escrever(Tarefa tarefa) throws IOException {
+            if (atual != null && (atual.quantidade == registrosPorBloco || atual.status != tarefa.getStatus())) {
+                fecharBloco();
+            }
+            if (atual == null) {
+                atual = new Bloco();
+                atual.status = tarefa.getStatus();
+            }
+            byte[] descricao = PersistenciaBinaria.descricaoUtf8(tarefa);
+            int tamanho = PersistenciaBinaria.TAMANHO_FIXO_REGISTRO + descricao.length;
+            if (registros.remaining() < tamanho) {
+                ByteBuffer maior = ByteBuffer.allocate(Math.max(registros.capacity() * 2, registros.position() + tamanho));
+                maior.put(registros.flip());
+                registros = maior;
+            }
+            PersistenciaBinaria.escreverRegistro(registros, tarefa, descricao);
+            long criacao = tarefa.getDataCriacaoMillis();
+            long conclusao = tarefa.getDataConclusaoMillis();
+            atual.quantidade++;
+            atual.menorCriacao = Math.min(atual.menorCriacao, criacao);
+            atual.maiorCriacao = Math.max(atual.maiorCriacao, criacao);
+            atual.menorConclusao = Math.min(atual.menorConclusao, conclusao);
+            atual.maiorConclusao = Math.max(atual.maiorConclusao, conclusao);
+        }
+
+        private void fecharBloco() throws IOException {
+            Bloco bloco = atual;
+            byte[] original = Arrays.copyOf(registros.array(), registros.position());
+            atual = null;
+            registros.clear();
+            bloco.tamanhoOriginal = original.length;
+            emAndamento.add(CompletableFuture.supplyAsync(() -> {
+                bloco.comprimido = comprimir(original);
+                return bloco;
+            }, EXECUTOR));
+            if (emAndamento.size() >= BLOCOS_EM_ANDAMENTO) {
+                gravarProximo();
+            }
+        }
+
+        private void gravarProximo() throws IOException {
+            Bloco bloco;
+            try {
+                bloco = emAndamento.poll().join();
+            } catch (CompletionException e) {
+                throw new IOException("Erro ao comprimir bloco: " + e.getCause().getMessage(), e.getCause());
+            }
+            bloco.posicao = posicao;
+            bloco.tamanhoComprimido = bloco.comprimido.length;
+            escreverTudo(canal, ByteBuffer.wrap(bloco.comprimido));
+            posicao += bloco.comprimido.length;
+            bloco.comprimido = null;
+            indice.add(bloco);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (fechado) {
+                return;
+            }
+            fechado = true;
+            try (canal) {
+                if (atual != null) {
+                    fecharBloco();
+                }
+                while (!emAndamento.isEmpty()) {
+                    gravarProximo();
+                }
+                ByteBuffer buffer = ByteBuffer.allocate(4 + indice.size() * TAMANHO_ENTRADA_INDICE + TAMANHO_RODAPE);
+                buffer.putInt(indice.size());
+                for (Bloco bloco : indice) {
+                    buffer.putLong(bloco.posicao)
+                          .putInt(bloco.tamanhoComprimido)
+                          .putInt(bloco.tamanhoOriginal)
+                          .put((byte) bloco.status.ordinal())
+                          .putInt(bloco.quantidade)
+                          .putLong(bloco.menorCriacao)
+                          .putLong(bloco.maiorCriacao)
+                          .putLong(bloco.menorConclusao)
+                          .putLong(bloco.maiorConclusao);
+                }
+                buffer.putLong(posicao).putInt(MAGIC);
+                escreverTudo(canal, buffer.flip());
+            }
+        }
+    }
+
+    private byte[] comprimir(byte[] original) {
+        Deflater deflater = new Deflater(nivel);
+        try {
+            deflater.setInput(original);
+            deflater.finish();
+            byte[] saida = new byte[Math.max(64, original.length / 2)];
+            int tamanho = 0;
+            while (!deflater.finished()) {
+                if (tamanho == saida.length) {
+                    saida = Arrays.copyOf(saida, saida.length * 2);
+                }
+                tamanho += deflater.deflate(saida, tamanho, saida.length - tamanho);
+            }
+            return Arrays.copyOf(saida, tamanho);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Descomprime os blocos em paralelo.
+     * @param arquivo Caminho do arquivo a ser carregado
+     * @throws IllegalArgumentException Se o arquivo não estiver no formato esperado
+     */
+    @Override
+    public Map<Status, List<Tarefa>> carregar(String arquivo) {
+        return carregar(arquivo, EnumSet.allOf(Status.class), Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Carrega só as tarefas dos status pedidos com data de criação no intervalo [início, fim),
+     * concluídas ou não. Veja {@link #carregar(String, Set, long, long, long, long)}.
+     */
+    public Map<Status, List<Tarefa>> carregar(String arquivo, Set<Status> status, long inicioCriacao, long fimCriacao) {
+        return carregar(arquivo, status, inicioCriacao, fimCriacao, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Carrega só as tarefas dos status pedidos com datas de criação e de conclusão nos
+     * intervalos, que como em {@link GerenciadorTarefas#getTarefasCriadasEntre} incluem o
+     * início e excluem o fim. Os blocos que, pelo índice, não têm nenhuma tarefa assim não são
+     * lidos nem descomprimidos.
+     * @param arquivo Caminho do arquivo a ser carregado
+     * @param status Status desejados
+     * @param inicioCriacao Início do intervalo de criação, em millis (inclusive)
+     * @param fimCriacao Fim do intervalo de criação, em millis (exclusive)
+     * @param inicioConclusao Início do intervalo de conclusão, em millis (inclusive); com
+     *                        Long.MIN_VALUE, as tarefas não concluídas também são aceitas
+     * @param fimConclusao Fim do intervalo de conclusão, em millis (exclusive)
+     * @return Mapa com todos os status; os não pedidos ficam com listas vazias
+     * @throws IllegalArgumentException Se o arquivo não estiver no formato esperado
+     */
+    public Map<Status, List<Tarefa>> carregar(String arquivo, Set<Status> status, long inicioCriacao, long fimCriacao,
+                                              long inicioConclusao, long fimConclusao) {
+        Filtro filtro = new Filtro(inicioCriacao, fimCriacao, inicioConclusao, fimConclusao);
+        Map<Status, List<Tarefa>> tarefas = new EnumMap<>(Status.class);
+        for (Status s : STATUS) {
+            tarefas.put(s, new ArrayList<>());
+        }
+
+        try (FileChannel canal = FileChannel.open(Paths.get(arquivo), StandardOpenOption.READ)) {
+            List<Bloco> selecionados = new ArrayList<>();
+            for (Bloco bloco : lerIndice(canal, arquivo)) {
+                if (status.contains(bloco.status) && filtro.aceitaBloco(bloco)) {
+                    selecionados.add(bloco);
+                }
+            }
+            List<CompletableFuture<List<Tarefa>>> conteudos = new ArrayList<>(selecionados.size());
+            for (Bloco bloco : selecionados) {
+                conteudos.add(CompletableFuture.supplyAsync(() -> lerBloco(canal, bloco, filtro), EXECUTOR));
+            }
+            // Juntados na ordem dos blocos: cada lista termina na ordem em que foi salva
+            for (int i = 0; i < selecionados.size(); i++) {
+                tarefas.get(selecionados.get(i).status).addAll(resultado(conteudos.get(i)));
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao carregar comprimido: " + e.getMessage());
+        } catch (UncheckedIOException e) {
+            System.err.println("Erro ao carregar comprimido: " + e.getCause().getMessage());
+        }
+        return tarefas;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Descomprime um bloco por vez, conforme o stream avança.
+     * @param arquivo Caminho do arquivo a ser lido
+     */
+    @Override
+    public Stream<Tarefa> ler(String arquivo) throws IOException {
+        FileChannel canal = FileChannel.open(Paths.get(arquivo), StandardOpenOption.READ);
+        List<Bloco> indice;
+        try {
+            indice = lerIndice(canal, arquivo);
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+        return indice.stream()
+                .flatMap(bloco -> lerBloco(canal, bloco, Filtro.TODAS).stream())
+                .onClose(() -> {
+                    try {
+                        canal.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    private static List<Bloco> lerIndice(FileChannel canal, String arquivo) throws IOException {
+        long tamanho = canal.size();
+        if (tamanho < TAMANHO_CABECALHO + 4 + TAMANHO_RODAPE) {
+            throw new IllegalArgumentException("Arquivo comprimido inválido: " + arquivo);
+        }
+        ByteBuffer cabecalho = lerTrecho(canal, 0, TAMANHO_CABECALHO);
+        if (cabecalho.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Arquivo comprimido inválido: " + arquivo);
+        }
+        short versao = cabecalho.getShort();
+        if (versao != VERSAO) {
+            throw new IllegalArgumentException("Versão de arquivo comprimido não suportada: " + versao);
+        }
+        ByteBuffer rodape = lerTrecho(canal, tamanho - TAMANHO_RODAPE, TAMANHO_RODAPE);
+        long posicaoIndice = rodape.getLong();
+        if (rodape.getInt() != MAGIC || posicaoIndice < TAMANHO_CABECALHO || posicaoIndice > tamanho - TAMANHO_RODAPE - 4) {
+            // Sem rodapé válido: o salvamento foi interrompido antes de gravar o índice
+            throw new IllegalArgumentException("Arquivo comprimido truncado: " + arquivo);
+        }
+        ByteBuffer indice = lerTrecho(canal, posicaoIndice, (int) (tamanho - TAMANHO_RODAPE - posicaoIndice));
+        int quantidade = indice.getInt();
+        if (quantidade < 0 || indice.remaining() != (long) quantidade * TAMANHO_ENTRADA_INDICE) {
+            throw new IllegalArgumentException("Índice inválido no arquivo comprimido: " + arquivo);
+        }
+        List<Bloco> blocos = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            Bloco bloco = new Bloco();
+            bloco.posicao = indice.getLong();
+            bloco.tamanhoComprimido = indice.getInt();
+            bloco.tamanhoOriginal = indice.getInt();
+            int ordinal = indice.get();
+            bloco.quantidade = indice.getInt();
+            bloco.menorCriacao = indice.getLong();
+            bloco.maiorCriacao = indice.getLong();
+            bloco.menorConclusao = indice.getLong();
+            bloco.maiorConclusao = indice.getLong();
+            if (ordinal < 0 || ordinal >= STATUS.length || bloco.tamanhoComprimido < 0 || bloco.tamanhoOriginal < 0
+                    || bloco.posicao < TAMANHO_CABECALHO || bloco.posicao + bloco.tamanhoComprimido > posicaoIndice) {
+                throw new IllegalArgumentException("Bloco " + i + " inválido no índice de " + arquivo);
+            }
+            bloco.status = STATUS[ordinal];
+            blocos.add(bloco);
+        }
+        return blocos;
+    }
+
+    /**
+     * Lê e descomprime um bloco. Pode ser chamado de várias threads ao mesmo tempo: a leitura
+     * do canal é posicional.
+     */
+    private List<Tarefa> lerBloco(FileChannel canal, Bloco bloco, Filtro filtro) {
+        blocosLidos.incrementAndGet();
+        byte[] original = new byte[bloco.tamanhoOriginal];
+        Inflater inflater = new Inflater();
+        try {
+            ByteBuffer comprimido = lerTrecho(canal, bloco.posicao, bloco.tamanhoComprimido);
+            inflater.setInput(comprimido.array(), 0, bloco.tamanhoComprimido);
+            int tamanho = 0;
+            while (tamanho < original.length && !inflater.finished()) {
+                int lidos = inflater.inflate(original, tamanho, original.length - tamanho);
+                if (lidos == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                tamanho += lidos;
+            }
+            if (tamanho != original.length) {
+                throw new IllegalArgumentException("Bloco comprimido incompleto na posição " + bloco.posicao);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Bloco comprimido inválido na posição " + bloco.posicao + ": " + e.getMessage(), e);
+        } finally {
+            inflater.end();
+        }
+
+        ByteBuffer registros = ByteBuffer.wrap(original);
+        List<Tarefa> tarefas = new ArrayList<>(bloco.quantidade);
+        boolean filtrar = !filtro.aceitaTodas(bloco);
+        for (int i = 0; i < bloco.quantidade; i++) {
+            Tarefa tarefa = PersistenciaBinaria.lerRegistro(registros);
+            if (!filtrar || filtro.aceita(tarefa)) {
+                tarefas.add(tarefa);
+            }
+        }
+        return tarefas;
+    }
+
+    // Repassa a exceção de um bloco sem o CompletionException em volta
+    private static <T> T resultado(CompletableFuture<T> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static ByteBuffer lerTrecho(FileChannel canal, long posicao, int tamanho) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(tamanho);
+        while (buffer.hasRemaining()) {
+            if (canal.read(buffer, posicao + buffer.position()) < 0) {
+                throw new EOFException("Fim inesperado do arquivo comprimido na posição " + (posicao + buffer.position()));
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static void escreverTudo(FileChannel canal, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            canal.write(buffer);
+        }
+    }
+
+    /**
+     * @return Quantos blocos esta instância já descomprimiu (para testes e diagnóstico).
+     */
+    long getBlocosLidos() {
+        return blocosLidos.get();
+    }
+}
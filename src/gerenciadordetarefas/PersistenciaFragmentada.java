@@ -0,0 +1,501 @@
+package gerenciadordetarefas;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+/**
+ * Persistência fragmentada: as tarefas ficam em vários arquivos CSV pequenos, um por status e
+ * por balde de UUID, mais um manifesto. Salvar reescreve só os fragmentos cujo conteúdo mudou
+ * desde o último salvar/carregar desta instância; mover uma tarefa de "A Fazer" para "Pronto"
+ * reescreve dois fragmentos, não o quadro inteiro. Carregar lê os fragmentos em paralelo.
+ *
+ * Layout, para um manifesto "arquivo":
+ * <pre>
+ * arquivo                                manifesto: versão, geração, baldes e um fragmento por linha
+ * arquivo.d/STATUS-balde.gGERACAO.csv    ordem,id,status,descricao,dataCriacaoMillis,dataConclusaoMillis
+ * </pre>
+ * Fragmentos reescritos ganham o nome da nova geração e o manifesto é trocado por último, por
+ * renomeação atômica: uma queda no meio do salvamento deixa o manifesto antigo apontando para
+ * os fragmentos antigos, que só são apagados depois.
+ *
+ * Como os baldes embaralham as tarefas, cada linha guarda uma "ordem" que reconstrói a ordem
+ * das listas ao carregar. A ordem não pode ser a posição na lista, senão remover uma tarefa
+ * mudaria a de todas as seguintes (e todos os fragmentos). Como o gerenciador só acrescenta
+ * tarefas no final das listas, a instância guarda a sequência (id, ordem) de cada status do
+ * último salvamento: tarefas que continuam na lista mantêm a ordem antiga e as que chegaram
+ * depois recebem ordens maiores. Uma impressão digital (hash de 64 bits) de cada fragmento
+ * indica quais mudaram.
+ */
+public class PersistenciaFragmentada implements PersistenciaTarefas {
+
+    static final String EXTENSAO_DIRETORIO = ".d";
+    private static final String CABECALHO = "GTFRAG 1";
+    private static final int BALDES_PADRAO = 64;
+    private static final Status[] STATUS = Status.values();
+    private static final String SEPARADOR = ",";
+
+    private final int baldes;
+
+    // Estado do último salvar/carregar; só vale para o mesmo manifesto e a mesma quantidade de baldes
+    private String manifestoMemorizado;
+    private long geracao;
+    private final Sequencia[] sequencias = new Sequencia[STATUS.length];
+    private long[] impressoes;
+    private int[] quantidades;
+    private String[] nomes;
+    private long fragmentosEscritos;
+
+    /**
+     * Ids e ordens de um status, na ordem da lista.
+     */
+    private static final class Sequencia {
+        final long[] idMaisSignificativo;
+        final long[] idMenosSignificativo;
+        final long[] ordens;
+        final int tamanho;
+
+        Sequencia(long[] idMaisSignificativo, long[] idMenosSignificativo, long[] ordens, int tamanho) {
+            this.idMaisSignificativo = idMaisSignificativo;
+            this.idMenosSignificativo = idMenosSignificativo;
+            this.ordens = ordens;
+            this.tamanho = tamanho;
+        }
+
+        long proximaOrdem() {
+            return tamanho == 0 ? 0 : ordens[tamanho - 1] + 1;
+        }
+    }
+
+    /**
+     * Conteúdo lido de um fragmento, em ordem crescente de "ordem".
+     */
+    private static final class Fragmento {
+        final Status status;
+        final int balde;
+        final String nome;
+        long[] ordens;
+        Tarefa[] tarefas;
+        long impressao;
+
+        Fragmento(Status status, int balde, String nome) {
+            this.status = status;
+            this.balde = balde;
+            this.nome = nome;
+        }
+    }
+
+    public PersistenciaFragmentada() {
+        this(BALDES_PADRAO);
+    }
+
+    /**
+     * @param baldes Quantidade de baldes de UUID por status (o total de fragmentos é 3x isso).
+     */
+    public PersistenciaFragmentada(int baldes) {
+        if (baldes <= 0) {
+            throw new IllegalArgumentException("A quantidade de baldes deve ser positiva.");
+        }
+        this.baldes = baldes;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Reescreve só os fragmentos que mudaram desde o último salvar/carregar deste manifesto;
+     * na primeira vez, escreve todos.
+     * @param arquivo Caminho do manifesto; os fragmentos ficam em arquivo + ".d"
+     */
+    @Override
+    public void salvar(Map<Status, List<Tarefa>> tarefas, String arquivo) {
+        try {
+            gravar(tarefas, arquivo);
+        } catch (IOException e) {
+            // O manifesto antigo continua valendo; a memória não muda, então o próximo
+            // salvamento tenta de novo os mesmos fragmentos
+            System.err.println("Erro ao salvar fragmentos: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void gravar(Map<Status, List<Tarefa>> tarefas, String arquivo) throws IOException {
+        boolean memoriaValida = arquivo.equals(manifestoMemorizado) && impressoes != null
+                && impressoes.length == STATUS.length * baldes && Files.exists(Paths.get(arquivo));
+        Path diretorio = Paths.get(arquivo + EXTENSAO_DIRETORIO);
+        List<String> antigos = new ArrayList<>();
+        if (!memoriaValida) {
+            // Sem memória deste manifesto: escreve tudo numa geração nova e apaga os fragmentos antigos
+            geracao = lerGeracaoEFragmentos(Paths.get(arquivo), antigos);
+            for (int i = 0; i < sequencias.length; i++) {
+                sequencias[i] = null;
+            }
+        }
+
+        int total = STATUS.length * baldes;
+        long[] novasImpressoes = new long[total];
+        int[] novasQuantidades = new int[total];
+        Sequencia[] novasSequencias = new Sequencia[STATUS.length];
+        // Posições na lista de cada tarefa, agrupadas por fragmento (em ordem crescente)
+        int[][] posicoes = new int[total][];
+        for (Status status : STATUS) {
+            List<Tarefa> lista = tarefas.getOrDefault(status, List.of());
+            Sequencia sequencia = ordenar(lista, sequencias[status.ordinal()]);
+            novasSequencias[status.ordinal()] = sequencia;
+            int primeiro = status.ordinal() * baldes;
+            int[] fragmentoDe = new int[lista.size()];
+            for (int i = 0; i < lista.size(); i++) {
+                int fragmento = primeiro + balde(sequencia.idMaisSignificativo[i], sequencia.idMenosSignificativo[i]);
+                fragmentoDe[i] = fragmento;
+                novasImpressoes[fragmento] = acumular(novasImpressoes[fragmento], sequencia.ordens[i], lista.get(i));
+                novasQuantidades[fragmento]++;
+            }
+            for (int f = primeiro; f < primeiro + baldes; f++) {
+                posicoes[f] = new int[novasQuantidades[f]];
+            }
+            int[] preenchidas = new int[total];
+            for (int i = 0; i < fragmentoDe.length; i++) {
+                int f = fragmentoDe[i];
+                posicoes[f][preenchidas[f]++] = i;
+            }
+        }
+
+        long novaGeracao = geracao + 1;
+        String[] novosNomes = new String[total];
+        List<Integer> sujos = new ArrayList<>();
+        for (int f = 0; f < total; f++) {
+            boolean mudou = !memoriaValida || novasImpressoes[f] != impressoes[f] || novasQuantidades[f] != quantidades[f];
+            if (!mudou) {
+                novosNomes[f] = nomes[f];
+            } else if (novasQuantidades[f] == 0) {
+                novosNomes[f] = null; // Fragmento vazio: não precisa de arquivo
+                if (memoriaValida && nomes[f] != null) {
+                    antigos.add(nomes[f]);
+                }
+            } else {
+                novosNomes[f] = STATUS[f / baldes].name() + "-" + (f % baldes) + ".g" + novaGeracao + ".csv";
+                if (memoriaValida && nomes[f] != null) {
+                    antigos.add(nomes[f]);
+                }
+                sujos.add(f);
+            }
+        }
+        if (memoriaValida && sujos.isEmpty() && Arrays.equals(novosNomes, nomes)) {
+            System.arraycopy(novasSequencias, 0, sequencias, 0, sequencias.length);
+            return; // Nada mudou
+        }
+
+        try {
+            Files.createDirectories(diretorio);
+            sujos.parallelStream().forEach(f -> {
+                Status status = STATUS[f / baldes];
+                escreverFragmento(diretorio.resolve(novosNomes[f]), tarefas.getOrDefault(status, List.of()),
+                        novasSequencias[status.ordinal()].ordens, posicoes[f]);
+            });
+            escreverManifesto(Paths.get(arquivo), novaGeracao, novosNomes, novasQuantidades);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        for (String antigo : antigos) {
+            try {
+                Files.deleteIfExists(diretorio.resolve(antigo));
+            } catch (IOException e) {
+                System.err.println("Erro ao apagar fragmento antigo: " + e.getMessage());
+            }
+        }
+
+        manifestoMemorizado = arquivo;
+        geracao = novaGeracao;
+        System.arraycopy(novasSequencias, 0, sequencias, 0, sequencias.length);
+        impressoes = novasImpressoes;
+        quantidades = novasQuantidades;
+        nomes = novosNomes;
+        fragmentosEscritos += sujos.size();
+    }
+
+    /**
+     * Atribui as ordens da lista: quem já estava na sequência anterior mantém a sua ordem; a
+     * partir da primeira tarefa que não está nela, todas recebem ordens novas e crescentes.
+     */
+    private static Sequencia ordenar(List<Tarefa> lista, Sequencia anterior) {
+        int tamanho = lista.size();
+        long[] maisSignificativo = new long[tamanho];
+        long[] menosSignificativo = new long[tamanho];
+        long[] ordens = new long[tamanho];
+        int j = 0;
+        boolean chegadas = anterior == null;
+        long proxima = anterior == null ? 0 : anterior.proximaOrdem();
+        for (int i = 0; i < tamanho; i++) {
+            UUID id = lista.get(i).getId();
+            long msb = id.getMostSignificantBits();
+            long lsb = id.getLeastSignificantBits();
+            maisSignificativo[i] = msb;
+            menosSignificativo[i] = lsb;
+            if (!chegadas) {
+                // As que saíram da lista são puladas; se não achar, começaram as que chegaram depois
+                int k = j;
+                while (k < anterior.tamanho && (anterior.idMaisSignificativo[k] != msb || anterior.idMenosSignificativo[k] != lsb)) {
+                    k++;
+                }
+                if (k < anterior.tamanho) {
+                    ordens[i] = anterior.ordens[k];
+                    j = k + 1;
+                    continue;
+                }
+                chegadas = true;
+            }
+            ordens[i] = proxima++;
+        }
+        return new Sequencia(maisSignificativo, menosSignificativo, ordens, tamanho);
+    }
+
+    private static void escreverFragmento(Path destino, List<Tarefa> lista, long[] ordens, int[] posicoes) {
+        Path temporario = Paths.get(destino + PersistenciaAtomica.EXTENSAO_TEMPORARIA);
+        try {
+            try (Writer writer = Files.newBufferedWriter(temporario, StandardCharsets.UTF_8)) {
+                for (int i : posicoes) {
+                    writer.write(Long.toString(ordens[i]));
+                    writer.write(SEPARADOR);
+                    writer.write(PersistenciaCSV.formatarParaCSV(lista.get(i)));
+                    writer.write('\n');
+                }
+            }
+            Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void escreverManifesto(Path manifesto, long novaGeracao, String[] novosNomes, int[] novasQuantidades) throws IOException {
+        Path temporario = Paths.get(manifesto + PersistenciaAtomica.EXTENSAO_TEMPORARIA);
+        try (BufferedWriter writer = Files.newBufferedWriter(temporario, StandardCharsets.UTF_8)) {
+            writer.write(CABECALHO + "\n");
+            writer.write("geracao " + novaGeracao + "\n");
+            writer.write("baldes " + baldes + "\n");
+            for (int f = 0; f < novosNomes.length; f++) {
+                if (novosNomes[f] != null) {
+                    writer.write(STATUS[f / baldes].name() + " " + (f % baldes) + " " + novasQuantidades[f] + " " + novosNomes[f] + "\n");
+                }
+            }
+        }
+        Files.move(temporario, manifesto, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Lê os fragmentos listados no manifesto em paralelo e junta cada status pela ordem.
+     * @param arquivo Caminho do manifesto
+     */
+    @Override
+    public synchronized Map<Status, List<Tarefa>> carregar(String arquivo) {
+        Map<Status, List<Tarefa>> tarefas = new EnumMap<>(Status.class);
+        for (Status s : STATUS) {
+            tarefas.put(s, new ArrayList<>());
+        }
+        Path manifesto = Paths.get(arquivo);
+        Path diretorio = Paths.get(arquivo + EXTENSAO_DIRETORIO);
+        List<Fragmento> fragmentos = new ArrayList<>();
+        long geracaoLida;
+        int baldesLidos;
+        try (BufferedReader reader = Files.newBufferedReader(manifesto, StandardCharsets.UTF_8)) {
+            if (!CABECALHO.equals(reader.readLine())) {
+                throw new IllegalArgumentException("Manifesto de fragmentos inválido: " + arquivo);
+            }
+            geracaoLida = Long.parseLong(lerCampo(reader.readLine(), "geracao"));
+            baldesLidos = Integer.parseInt(lerCampo(reader.readLine(), "baldes"));
+            String linha;
+            while ((linha = reader.readLine()) != null) {
+                String[] partes = linha.split(" ");
+                if (partes.length != 4) {
+                    throw new IllegalArgumentException("Linha inválida no manifesto: " + linha);
+                }
+                fragmentos.add(new Fragmento(Status.fromString(partes[0]), Integer.parseInt(partes[1]), partes[3]));
+            }
+        } catch (IOException e) {
+            System.err.println("Erro ao carregar fragmentos: " + e.getMessage());
+            return tarefas;
+        }
+
+        try {
+            fragmentos.parallelStream().forEach(fragmento -> lerFragmento(diretorio, fragmento));
+        } catch (UncheckedIOException e) {
+            System.err.println("Erro ao carregar fragmentos: " + e.getCause().getMessage());
+            return tarefas;
+        }
+
+        int total = STATUS.length * baldesLidos;
+        long[] impressoesLidas = new long[total];
+        int[] quantidadesLidas = new int[total];
+        String[] nomesLidos = new String[total];
+        for (Status status : STATUS) {
+            List<Fragmento> doStatus = new ArrayList<>();
+            for (Fragmento fragmento : fragmentos) {
+                if (fragmento.status == status) {
+                    doStatus.add(fragmento);
+                    int f = status.ordinal() * baldesLidos + fragmento.balde;
+                    impressoesLidas[f] = fragmento.impressao;
+                    quantidadesLidas[f] = fragmento.tarefas.length;
+                    nomesLidos[f] = fragmento.nome;
+                }
+            }
+            ArrayList<Tarefa> lista = new ArrayList<>();
+            sequencias[status.ordinal()] = juntar(doStatus, lista);
+            tarefas.put(status, lista);
+        }
+
+        if (baldesLidos == baldes) {
+            manifestoMemorizado = arquivo;
+            geracao = geracaoLida;
+            impressoes = impressoesLidas;
+            quantidades = quantidadesLidas;
+            nomes = nomesLidos;
+        } else {
+            // Com outra quantidade de baldes, o próximo salvamento reescreve tudo
+            manifestoMemorizado = null;
+        }
+        return tarefas;
+    }
+
+    private void lerFragmento(Path diretorio, Fragmento fragmento) {
+        List<Tarefa> tarefas = new ArrayList<>();
+        long[] ordens = new long[16];
+        long impressao = 0;
+        try (BufferedReader reader = Files.newBufferedReader(diretorio.resolve(fragmento.nome), StandardCharsets.UTF_8)) {
+            String linha;
+            while ((linha = reader.readLine()) != null) {
+                int separador = linha.indexOf(SEPARADOR);
+                if (separador < 0) {
+                    throw new IllegalArgumentException("Linha inválida no fragmento " + fragmento.nome + ": " + linha);
+                }
+                long ordem = Long.parseLong(linha.substring(0, separador));
+                Tarefa tarefa = PersistenciaCSV.parseCSV(linha.substring(separador + 1));
+                if (tarefas.size() == ordens.length) {
+                    ordens = Arrays.copyOf(ordens, ordens.length * 2);
+                }
+                ordens[tarefas.size()] = ordem;
+                tarefas.add(tarefa);
+                impressao = acumular(impressao, ordem, tarefa);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        fragmento.ordens = ordens;
+        fragmento.tarefas = tarefas.toArray(new Tarefa[0]);
+        fragmento.impressao = impressao;
+    }
+
+    /**
+     * Intercala os fragmentos de um status (cada um já em ordem crescente) na lista de destino.
+     */
+    private static Sequencia juntar(List<Fragmento> fragmentos, ArrayList<Tarefa> destino) {
+        int tamanho = 0;
+        for (Fragmento fragmento : fragmentos) {
+            tamanho += fragmento.tarefas.length;
+        }
+        long[] maisSignificativo = new long[tamanho];
+        long[] menosSignificativo = new long[tamanho];
+        long[] ordens = new long[tamanho];
+        int[] posicoes = new int[fragmentos.size()];
+        PriorityQueue<Integer> fila = new PriorityQueue<>(Math.max(1, fragmentos.size()),
+                (a, b) -> Long.compare(fragmentos.get(a).ordens[posicoes[a]], fragmentos.get(b).ordens[posicoes[b]]));
+        for (int i = 0; i < fragmentos.size(); i++) {
+            if (fragmentos.get(i).tarefas.length > 0) {
+                fila.add(i);
+            }
+        }
+        destino.ensureCapacity(tamanho);
+        int n = 0;
+        while (!fila.isEmpty()) {
+            int i = fila.poll();
+            Fragmento fragmento = fragmentos.get(i);
+            Tarefa tarefa = fragmento.tarefas[posicoes[i]];
+            UUID id = tarefa.getId();
+            maisSignificativo[n] = id.getMostSignificantBits();
+            menosSignificativo[n] = id.getLeastSignificantBits();
+            ordens[n++] = fragmento.ordens[posicoes[i]];
+            destino.add(tarefa);
+            if (++posicoes[i] < fragmento.tarefas.length) {
+                fila.add(i);
+            }
+        }
+        return new Sequencia(maisSignificativo, menosSignificativo, ordens, n);
+    }
+
+    /**
+     * Lê a geração e os fragmentos de um manifesto existente, para continuar a numeração e
+     * apagar os fragmentos depois de escrever os novos. Manifesto ausente ou inválido: geração 0.
+     */
+    private static long lerGeracaoEFragmentos(Path manifesto, List<String> fragmentos) {
+        if (!Files.exists(manifesto)) {
+            return 0;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(manifesto, StandardCharsets.UTF_8)) {
+            if (!CABECALHO.equals(reader.readLine())) {
+                return 0;
+            }
+            long geracao = Long.parseLong(lerCampo(reader.readLine(), "geracao"));
+            reader.readLine();
+            String linha;
+            while ((linha = reader.readLine()) != null) {
+                String[] partes = linha.split(" ");
+                if (partes.length == 4) {
+                    fragmentos.add(partes[3]);
+                }
+            }
+            return geracao;
+        } catch (IOException | IllegalArgumentException e) {
+            return 0;
+        }
+    }
+
+    private static String lerCampo(String linha, String nome) {
+        if (linha == null || !linha.startsWith(nome + " ")) {
+            throw new IllegalArgumentException("Campo '" + nome + "' ausente no manifesto.");
+        }
+        return linha.substring(nome.length() + 1).trim();
+    }
+
+    private int balde(long msb, long lsb) {
+        return Math.floorMod(Long.hashCode(misturar(msb ^ lsb)), baldes);
+    }
+
+    private static long acumular(long impressao, long ordem, Tarefa tarefa) {
+        UUID id = tarefa.getId();
+        long h = ordem;
+        h = h * 31 + id.getMostSignificantBits();
+        h = h * 31 + id.getLeastSignificantBits();
+        h = h * 31 + tarefa.getDataCriacaoMillis();
+        h = h * 31 + tarefa.getDataConclusaoMillis();
+        h = h * 31 + tarefa.getDescricao().hashCode();
+        return impressao * 0x9E3779B97F4A7C15L + misturar(h);
+    }
+
+    // Finalizador do MurmurHash3 (64 bits)
+    private static long misturar(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * @return Quantos fragmentos esta instância já escreveu (para testes e diagnóstico).
+     */
+    synchronized long getFragmentosEscritos() {
+        return fragmentosEscritos;
+    }
+}
@@ -2,8 +2,15 @@ package gerenciadordetarefas;
 
 import java.io.*;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 
 /**
  * Implementação de persistência de tarefas em formato JSON.
@@ -12,6 +19,8 @@ import java.text.SimpleDateFormat;
 public class PersistenciaJSON implements PersistenciaTarefas {
     
     private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss");
+    // Mesmo padrão de DATE_FORMAT, mas imutável e thread-safe (usado na leitura)
+    private static final DateTimeFormatter FORMATO_LEITURA = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
 
     /**
      * {@inheritDoc}
@@ -20,37 +29,235 @@ public class PersistenciaJSON implements PersistenciaTarefas {
      */
     @Override
     public void salvar(Map<Status, List<Tarefa>> tarefas, String arquivo) {
-        try (PrintWriter writer = new PrintWriter(
-                new OutputStreamWriter(new FileOutputStream(arquivo), StandardCharsets.UTF_8))) {
-            
-            writer.println("{");
-            writer.println("\"tarefas\": [");
-            
-            boolean firstTarefa = true;
+        try {
+            gravar(tarefas, arquivo);
+        } catch (IOException e) {
+            System.err.println("Erro ao salvar JSON: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void gravar(Map<Status, List<Tarefa>> tarefas, String arquivo) throws IOException {
+        try (EscritorTarefas escritor = abrirEscritor(arquivo)) {
             for (List<Tarefa> lista : tarefas.values()) {
                 for (Tarefa tarefa : lista) {
-                    if (!firstTarefa) {
-                        writer.println(",");
-                    }
-                    writer.print(formatarParaJSON(tarefa));
-                    firstTarefa = false;
+                    escritor.escrever(tarefa);
                 }
             }
-            
-            writer.println("\n]");
-            writer.println("}");
-        } catch (IOException e) {
-            System.err.println("Erro ao salvar JSON: " + e.getMessage());
         }
     }
 
     /**
      * {@inheritDoc}
-     * @throws UnsupportedOperationException Esta implementação não suporta carregamento de JSON
+     * O início do documento é gravado ao abrir, cada tarefa ao ser recebida e o fim do
+     * documento ao fechar.
+     * @param arquivo Caminho do arquivo JSON de destino
+     */
+    @Override
+    public EscritorTarefas abrirEscritor(String arquivo) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(arquivo), StandardCharsets.UTF_8));
+        String quebraDeLinha = System.lineSeparator();
+        writer.write("{" + quebraDeLinha);
+        writer.write("\"tarefas\": [" + quebraDeLinha);
+        return new EscritorTarefas() {
+            private boolean primeira = true;
+
+            @Override
+            public void escrever(Tarefa tarefa) throws IOException {
+                if (!primeira) {
+                    writer.write("," + quebraDeLinha);
+                }
+                writer.write(formatarParaJSON(tarefa));
+                primeira = false;
+            }
+
+            @Override
+            public void close() throws IOException {
+                try (writer) {
+                    writer.write("\n]" + quebraDeLinha);
+                    writer.write("}" + quebraDeLinha);
+                }
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     * A leitura é incremental: as tarefas são montadas uma a uma enquanto o arquivo é lido,
+     * então a memória usada não depende do tamanho do documento.
+     * @param arquivo Caminho do arquivo JSON a ser carregado
+     * @throws IllegalArgumentException Se o arquivo não estiver no formato esperado
      */
     @Override
     public Map<Status, List<Tarefa>> carregar(String arquivo) {
-        throw new UnsupportedOperationException("Carregamento de JSON não implementado.");
+        Map<Status, List<Tarefa>> tarefas = new EnumMap<>(Status.class);
+        
+        // Inicializa listas vazias para todos os status
+        for (Status s : Status.values()) {
+            tarefas.put(s, new ArrayList<>());
+        }
+
+        try (Stream<Tarefa> stream = ler(arquivo)) {
+            stream.forEach(tarefa -> tarefas.get(tarefa.getStatus()).add(tarefa));
+        } catch (IOException e) {
+            System.err.println("Erro ao carregar JSON: " + e.getMessage());
+        } catch (UncheckedIOException e) {
+            System.err.println("Erro ao carregar JSON: " + e.getCause().getMessage());
+        }
+        return tarefas;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Lê o documento {"tarefas": [...]} sob demanda: cada tarefa é interpretada quando o stream
+     * pede a próxima. Campos desconhecidos são ignorados.
+     * @param arquivo Caminho do arquivo JSON a ser lido
+     */
+    @Override
+    public Stream<Tarefa> ler(String arquivo) throws IOException {
+        Reader reader = new InputStreamReader(new FileInputStream(arquivo), StandardCharsets.UTF_8);
+        return StreamSupport.stream(new CursorJSON(new LeitorJSON(reader)), false).onClose(() -> {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Percorre o documento entregando uma tarefa por vez. Guarda em que ponto da estrutura
+     * parou, para continuar dali no próximo pedido.
+     */
+    private final class CursorJSON extends Spliterators.AbstractSpliterator<Tarefa> {
+        private static final int INICIO = 0;
+        private static final int CHAVE = 1;
+        private static final int TAREFA = 2;
+        private static final int APOS_TAREFA = 3;
+        private static final int APOS_VALOR = 4;
+        private static final int FIM = 5;
+
+        private final LeitorJSON leitor;
+        private int estado = INICIO;
+
+        CursorJSON(LeitorJSON leitor) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.leitor = leitor;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Tarefa> acao) {
+            try {
+                while (true) {
+                    switch (estado) {
+                        case INICIO:
+                            leitor.esperar('{');
+                            estado = leitor.consumirSe('}') ? FIM : CHAVE;
+                            break;
+                        case CHAVE:
+                            String chave = leitor.lerString();
+                            leitor.esperar(':');
+                            if ("tarefas".equals(chave)) {
+                                leitor.esperar('[');
+                                estado = leitor.consumirSe(']') ? APOS_VALOR : TAREFA;
+                            } else {
+                                leitor.pularValor();
+                                estado = APOS_VALOR;
+                            }
+                            break;
+                        case TAREFA:
+                            Tarefa tarefa = lerTarefa(leitor);
+                            estado = APOS_TAREFA;
+                            acao.accept(tarefa);
+                            return true;
+                        case APOS_TAREFA:
+                            if (leitor.consumirSe(',')) {
+                                estado = TAREFA;
+                            } else {
+                                leitor.esperar(']');
+                                estado = APOS_VALOR;
+                            }
+                            break;
+                        case APOS_VALOR:
+                            if (leitor.consumirSe(',')) {
+                                estado = CHAVE;
+                            } else {
+                                leitor.esperar('}');
+                                estado = FIM;
+                            }
+                            break;
+                        default:
+                            return false;
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private Tarefa lerTarefa(LeitorJSON leitor) throws IOException {
+        UUID id = null;
+        String descricao = null;
+        Status status = null;
+        Date dataCriacao = null;
+        Date dataConclusao = null;
+
+        leitor.esperar('{');
+        if (!leitor.consumirSe('}')) {
+            do {
+                String chave = leitor.lerString();
+                leitor.esperar(':');
+                try {
+                    switch (chave) {
+                        case "id":
+                            id = UUID.fromString(leitor.lerString());
+                            break;
+                        case "descricao":
+                            descricao = leitor.lerString();
+                            break;
+                        case "status":
+                            status = Status.fromString(leitor.lerString());
+                            break;
+                        case "dataCriacao":
+                            dataCriacao = lerData(leitor);
+                            break;
+                        case "dataConclusao":
+                            dataConclusao = lerData(leitor);
+                            break;
+                        default:
+                            leitor.pularValor();
+                    }
+                } catch (DateTimeParseException e) {
+                    throw leitor.erro("data inválida no campo '" + chave + "': " + e.getParsedString());
+                } catch (IllegalArgumentException e) {
+                    if (e.getMessage() != null && e.getMessage().startsWith("JSON inválido")) {
+                        throw e;
+                    }
+                    throw leitor.erro("valor inválido no campo '" + chave + "': " + e.getMessage());
+                }
+            } while (leitor.consumirSe(','));
+            leitor.esperar('}');
+        }
+
+        if (id == null || descricao == null || status == null || dataCriacao == null) {
+            throw leitor.erro("tarefa sem os campos obrigatórios (id, descricao, status, dataCriacao)");
+        }
+        return new Tarefa(id, descricao, dataCriacao, dataConclusao, status);
+    }
+
+    // Aceita o formato gravado por salvar() e, por robustez, millis numéricos ou null
+    private Date lerData(LeitorJSON leitor) throws IOException {
+        int proximo = leitor.espiar();
+        if (proximo == '-' || (proximo >= '0' && proximo <= '9')) {
+            return new Date(leitor.lerLong());
+        }
+        String texto = leitor.lerStringOuNull();
+        if (texto == null) {
+            return null;
+        }
+        LocalDateTime data = LocalDateTime.parse(texto, FORMATO_LEITURA);
+        return Date.from(data.atZone(ZoneId.systemDefault()).toInstant());
     }
 
     /**
@@ -68,7 +275,7 @@ public class PersistenciaJSON implements PersistenciaTarefas {
             "    \"dataConclusao\": %s\n" +
             "  }",
             tarefa.getId(),
-            tarefa.getDescricao().replace("\"", "\\\""),
+            escaparJSON(tarefa.getDescricao()),
             tarefa.getStatus(),
             DATE_FORMAT.format(tarefa.getDataCriacao()),
             tarefa.getDataConclusao() != null 
@@ -76,4 +283,46 @@ public class PersistenciaJSON implements PersistenciaTarefas {
                 : "null"
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * Escapa aspas, barras invertidas e caracteres de controle, para que a descrição
+     * seja sempre uma string JSON válida e volte idêntica na leitura.
+     * @param texto Texto original
+     * @return Texto pronto para ficar entre aspas no JSON
+     */
+    private static String escaparJSON(String texto) {
+        StringBuilder sb = null;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c != '"' && c != '\\' && c >= 0x20) {
+                if (sb != null) {
+                    sb.append(c);
+                }
+                continue;
+            }
+            if (sb == null) {
+                sb = new StringBuilder(texto.length() + 16).append(texto, 0, i);
+            }
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    sb.append(String.format("\\u%04x", (int) c));
+            }
+        }
+        return sb == null ? texto : sb.toString();
+    }
+}
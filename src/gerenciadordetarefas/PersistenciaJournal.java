@@ -0,0 +1,386 @@
+package gerenciadordetarefas;
+
+import java.io.*;
+import java.util.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Persistência incremental: um snapshot completo (em qualquer formato de
+ * {@link PersistenciaTarefas}) mais um journal de alterações que só cresce no final.
+ *
+ * Registrada como ouvinte do {@link GerenciadorTarefas}, acumula cada alteração como um
+ * registro binário compacto em memória; {@link #salvar} apenas anexa esses registros ao
+ * arquivo "arquivo.journal", com custo proporcional às alterações e não ao total de tarefas.
+ * Quando o journal passa do limite de registros, ele é compactado: o snapshot é reescrito
+ * e o journal, apagado. {@link #carregar} lê o snapshot e reaplica o journal sobre ele.
+ */
+public class PersistenciaJournal implements PersistenciaTarefas, OuvinteTarefas {
+
+    static final String EXTENSAO_JOURNAL = ".journal";
+    private static final String EXTENSAO_TEMPORARIA = ".tmp";
+    private static final int LIMITE_COMPACTACAO_PADRAO = 10_000;
+
+    // Tipos de registro do journal
+    private static final byte ADICIONADA = 'A';
+    private static final byte MOVIDA = 'M';
+    private static final byte REMOVIDA = 'R';
+    private static final byte EDITADA = 'E';
+
+    private static final Status[] STATUS = Status.values();
+
+    private final PersistenciaTarefas snapshot;
+    private final int limiteCompactacao;
+    private final ByteArrayOutputStream bufferPendentes = new ByteArrayOutputStream();
+    private final DataOutputStream pendentes = new DataOutputStream(bufferPendentes);
+    private int registrosPendentes;
+    private long registrosNoJournal;
+
+    /**
+     * @param snapshot Formato usado para o snapshot completo (ex: PersistenciaCSV)
+     */
+    public PersistenciaJournal(PersistenciaTarefas snapshot) {
+        this(snapshot, LIMITE_COMPACTACAO_PADRAO);
+    }
+
+    /**
+     * @param snapshot Formato usado para o snapshot completo (ex: PersistenciaCSV)
+     * @param limiteCompactacao Quantidade de registros no journal que dispara a compactação
+     */
+    public PersistenciaJournal(PersistenciaTarefas snapshot, int limiteCompactacao) {
+        if (limiteCompactacao <= 0) {
+            throw new IllegalArgumentException("O limite de compactação deve ser positivo.");
+        }
+        this.snapshot = snapshot;
+        this.limiteCompactacao = limiteCompactacao;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Anexa ao journal as alterações recebidas desde o último salvamento. O mapa só é usado
+     * quando não existe snapshot ou quando o journal precisa ser compactado.
+     * @param tarefas Mapa de tarefas (estado completo atual)
+     * @param arquivo Caminho do arquivo de snapshot; o journal fica em arquivo + ".journal"
+     */
+    @Override
+    public void salvar(Map<Status, List<Tarefa>> tarefas, String arquivo) {
+        try {
+            gravar(tarefas, arquivo);
+        } catch (IOException e) {
+            // Os registros continuam pendentes e serão gravados no próximo salvamento
+            System.err.println("Erro ao salvar journal: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void gravar(Map<Status, List<Tarefa>> tarefas, String arquivo) throws IOException {
+        if (!Files.exists(Paths.get(arquivo)) || registrosNoJournal + registrosPendentes >= limiteCompactacao) {
+            compactar(tarefas, arquivo);
+            return;
+        }
+        if (registrosPendentes == 0) {
+            return;
+        }
+        Path journal = Paths.get(arquivo + EXTENSAO_JOURNAL);
+        long tamanhoAntes = Files.exists(journal) ? Files.size(journal) : 0;
+        try (OutputStream saida = new FileOutputStream(journal.toFile(), true)) {
+            bufferPendentes.writeTo(saida);
+        } catch (IOException e) {
+            // Corta o que chegou a ser anexado: os registros pendentes são gravados de novo,
+            // inteiros, no próximo salvamento
+            truncar(journal, tamanhoAntes);
+            throw e;
+        }
+        registrosNoJournal += registrosPendentes;
+        descartarPendentes();
+    }
+
+    /**
+     * Reescreve o snapshot com o estado completo e apaga o journal.
+     * @param tarefas Mapa de tarefas (estado completo atual)
+     * @param arquivo Caminho do arquivo de snapshot
+     * @throws IOException Se o snapshot não pôde ser gravado; o snapshot antigo e o journal
+     *                     ficam como estavam
+     */
+    public void compactar(Map<Status, List<Tarefa>> tarefas, String arquivo) throws IOException {
+        // O snapshot é escrito num arquivo temporário e só substitui o antigo depois de
+        // gravado por inteiro
+        Path temporario = Paths.get(arquivo + EXTENSAO_TEMPORARIA);
+        try {
+            snapshot.gravar(tarefas, temporario.toString());
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(temporario);
+            } catch (IOException erroAoApagar) {
+                e.addSuppressed(erroAoApagar);
+            }
+            throw e;
+        }
+        Files.move(temporario, Paths.get(arquivo), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        // Se o processo cair antes desta linha, reaplicar o journal sobre o novo snapshot
+        // é inofensivo: todos os registros são idempotentes
+        Files.deleteIfExists(Paths.get(arquivo + EXTENSAO_JOURNAL));
+        registrosNoJournal = 0;
+        descartarPendentes();
+    }
+
+    /**
+     * {@inheritDoc}
+     * Carrega o snapshot (se existir) e reaplica o journal sobre ele. O journal é resumido
+     * primeiro no efeito final de cada tarefa citada; tarefas do snapshot que ele não cita
+     * ficam onde estão, sem passar por nenhuma estrutura intermediária.
+     * @param arquivo Caminho do arquivo de snapshot
+     * @throws IllegalArgumentException Se o journal estiver corrompido (só um último registro
+     *                                  incompleto é tolerado, e descartado)
+     */
+    @Override
+    public Map<Status, List<Tarefa>> carregar(String arquivo) {
+        Map<Status, List<Tarefa>> base = Files.exists(Paths.get(arquivo)) ? snapshot.carregar(arquivo) : Map.of();
+        Map<UUID, Efeito> efeitos = new HashMap<>();
+        registrosNoJournal = reaplicarJournal(Paths.get(arquivo + EXTENSAO_JOURNAL), efeitos);
+        descartarPendentes();
+
+        Map<Status, List<Tarefa>> tarefas = new EnumMap<>(Status.class);
+        for (Status s : STATUS) {
+            tarefas.put(s, new ArrayList<>(base.getOrDefault(s, List.of()).size()));
+        }
+        // Tarefas que o journal reposicionou (adicionadas ou movidas) vão para o final da lista
+        // do seu status, na ordem do último reposicionamento de cada uma
+        List<Efeito> reposicionadas = new ArrayList<>();
+        for (List<Tarefa> lista : base.values()) {
+            for (Tarefa tarefa : lista) {
+                Efeito efeito = efeitos.isEmpty() ? null : efeitos.get(tarefa.getId());
+                if (efeito == null) {
+                    tarefas.get(tarefa.getStatus()).add(tarefa);
+                } else if (!efeito.substituida) {
+                    if (efeito.descricao != null) {
+                        tarefa.setDescricao(efeito.descricao);
+                    }
+                    if (efeito.movida) {
+                        tarefa.setStatus(efeito.destino);
+                        tarefa.setDataConclusao(efeito.conclusao);
+                        efeito.tarefa = tarefa;
+                        reposicionadas.add(efeito);
+                    } else {
+                        tarefas.get(tarefa.getStatus()).add(tarefa);
+                    }
+                }
+            }
+        }
+        for (Efeito efeito : efeitos.values()) {
+            if (efeito.substituida && efeito.tarefa != null) {
+                reposicionadas.add(efeito);
+            }
+        }
+        reposicionadas.sort(Comparator.comparingLong(efeito -> efeito.ordem));
+        for (Efeito efeito : reposicionadas) {
+            tarefas.get(efeito.tarefa.getStatus()).add(efeito.tarefa);
+        }
+        return tarefas;
+    }
+
+    /**
+     * Efeito acumulado dos registros do journal sobre uma tarefa. Enquanto não aparece uma
+     * adição ou remoção, os registros se aplicam à tarefa do snapshot, se ela existir.
+     */
+    private static final class Efeito {
+        // Adicionada ou removida pelo journal: a tarefa do snapshot não conta mais
+        boolean substituida;
+        // A tarefa adicionada (null se removida depois); na resolução, também a do snapshot movida
+        Tarefa tarefa;
+        // Alterações sobre a tarefa do snapshot
+        boolean movida;
+        Status destino;
+        Date conclusao;
+        String descricao;
+        // Número do registro que reposicionou a tarefa por último
+        long ordem;
+    }
+
+    private long reaplicarJournal(Path journal, Map<UUID, Efeito> efeitos) {
+        if (!Files.exists(journal)) {
+            return 0;
+        }
+        long registros = 0;
+        long bytesValidos = 0;
+        try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(Files.newInputStream(journal)))) {
+            long tamanhoJournal = Files.size(journal);
+            int tipo;
+            while ((tipo = entrada.read()) != -1) {
+                long restantes = tamanhoJournal - bytesValidos;
+                UUID id = new UUID(entrada.readLong(), entrada.readLong());
+                long tamanhoRegistro = 17;
+                Efeito efeito = efeitos.computeIfAbsent(id, chave -> new Efeito());
+                switch (tipo) {
+                    case ADICIONADA: {
+                        Status status = lerStatus(entrada, registros);
+                        Date criacao = lerData(entrada);
+                        Date conclusao = lerData(entrada);
+                        byte[] descricao = lerBytes(entrada, restantes, registros);
+                        tamanhoRegistro += 17 + 4 + descricao.length;
+                        efeito.substituida = true;
+                        efeito.tarefa = new Tarefa(id, new String(descricao, StandardCharsets.UTF_8), criacao, conclusao, status);
+                        efeito.ordem = registros;
+                        break;
+                    }
+                    case MOVIDA: {
+                        Status destino = lerStatus(entrada, registros);
+                        Date conclusao = lerData(entrada);
+                        tamanhoRegistro += 9;
+                        if (!efeito.substituida) {
+                            efeito.movida = true;
+                            efeito.destino = destino;
+                            efeito.conclusao = conclusao;
+                            efeito.ordem = registros;
+                        } else if (efeito.tarefa != null) {
+                            efeito.tarefa.setStatus(destino);
+                            efeito.tarefa.setDataConclusao(conclusao);
+                            efeito.ordem = registros;
+                        }
+                        break;
+                    }
+                    case REMOVIDA:
+                        efeito.substituida = true;
+                        efeito.tarefa = null;
+                        break;
+                    case EDITADA: {
+                        byte[] descricao = lerBytes(entrada, restantes, registros);
+                        tamanhoRegistro += 4 + descricao.length;
+                        String texto = new String(descricao, StandardCharsets.UTF_8);
+                        if (!efeito.substituida) {
+                            efeito.descricao = texto;
+                        } else if (efeito.tarefa != null) {
+                            efeito.tarefa.setDescricao(texto);
+                        }
+                        break;
+                    }
+                    default:
+                        throw corrompido(registros, "tipo de registro desconhecido " + tipo);
+                }
+                registros++;
+                bytesValidos += tamanhoRegistro;
+            }
+        } catch (EOFException e) {
+            // Último registro incompleto (ex: queda durante a escrita): é descartado e cortado
+            // do arquivo, para que os próximos registros não sejam anexados depois dele
+            System.err.println("Aviso: registro incompleto ignorado no final do journal " + journal);
+            truncar(journal, bytesValidos);
+        } catch (IOException e) {
+            System.err.println("Erro ao carregar journal: " + e.getMessage());
+        }
+        return registros;
+    }
+
+    private static void truncar(Path journal, long tamanho) {
+        try (FileChannel canal = FileChannel.open(journal, StandardOpenOption.WRITE)) {
+            canal.truncate(tamanho);
+        } catch (IOException e) {
+            System.err.println("Erro ao truncar journal: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void tarefaAdicionada(Tarefa tarefa) {
+        try {
+            escreverCabecalho(ADICIONADA, tarefa);
+            pendentes.writeByte(tarefa.getStatus().ordinal());
+            pendentes.writeLong(tarefa.getDataCriacaoMillis());
+            pendentes.writeLong(tarefa.getDataConclusaoMillis());
+            escreverTexto(tarefa.getDescricao());
+            registrosPendentes++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Não ocorre: a escrita é em memória
+        }
+    }
+
+    @Override
+    public void tarefaMovida(Tarefa tarefa, Status origem, Status destino) {
+        try {
+            escreverCabecalho(MOVIDA, tarefa);
+            pendentes.writeByte(destino.ordinal());
+            pendentes.writeLong(tarefa.getDataConclusaoMillis());
+            registrosPendentes++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void tarefaRemovida(Tarefa tarefa) {
+        try {
+            escreverCabecalho(REMOVIDA, tarefa);
+            registrosPendentes++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void descricaoEditada(Tarefa tarefa) {
+        try {
+            escreverCabecalho(EDITADA, tarefa);
+            escreverTexto(tarefa.getDescricao());
+            registrosPendentes++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void escreverCabecalho(byte tipo, Tarefa tarefa) throws IOException {
+        pendentes.writeByte(tipo);
+        pendentes.writeLong(tarefa.getId().getMostSignificantBits());
+        pendentes.writeLong(tarefa.getId().getLeastSignificantBits());
+    }
+
+    // Texto como tamanho + bytes UTF-8 (writeUTF limita a 64 KB)
+    private void escreverTexto(String texto) throws IOException {
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        pendentes.writeInt(bytes.length);
+        pendentes.write(bytes);
+    }
+
+    /**
+     * @param restantes Bytes do journal a partir do início do registro: um tamanho maior que
+     *                  isso só pode vir de um registro corrompido.
+     */
+    private static byte[] lerBytes(DataInputStream entrada, long restantes, long registro) throws IOException {
+        int tamanho = entrada.readInt();
+        if (tamanho < 0) {
+            throw corrompido(registro, "tamanho de texto inválido " + tamanho);
+        }
+        if (tamanho > restantes) {
+            // Cortado no meio do texto: tratado como último registro incompleto
+            throw new EOFException();
+        }
+        byte[] bytes = new byte[tamanho];
+        entrada.readFully(bytes);
+        return bytes;
+    }
+
+    private static Status lerStatus(DataInputStream entrada, long registro) throws IOException {
+        int ordinal = entrada.readUnsignedByte();
+        if (ordinal >= STATUS.length) {
+            throw corrompido(registro, "status inválido " + ordinal);
+        }
+        return STATUS[ordinal];
+    }
+
+    private static IllegalArgumentException corrompido(long registro, String motivo) {
+        return new IllegalArgumentException("Journal corrompido no registro " + (registro + 1) + ": " + motivo);
+    }
+
+    private static Date lerData(DataInputStream entrada) throws IOException {
+        long millis = entrada.readLong();
+        return millis == Tarefa.SEM_DATA ? null : new Date(millis);
+    }
+
+    private void descartarPendentes() {
+        bufferPendentes.reset();
+        registrosPendentes = 0;
+    }
+}
@@ -1,7 +1,11 @@
 package gerenciadordetarefas;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * 
@@ -18,6 +22,20 @@ public interface PersistenciaTarefas {
      * @param arquivo Caminho do arquivo onde as tarefas serão salvas
      */
     void salvar(Map<Status, List<Tarefa>> tarefas, String arquivo);
+
+    /**
+     * Salva como {@link #salvar}, mas informa a falha em vez de só imprimi-la: se retornar sem
+     * exceção, o arquivo foi gravado por inteiro. Os formatos deste pacote implementam
+     * {@link #salvar} em cima deste método; a implementação padrão só chama {@link #salvar},
+     * que não tem como informar a falha.
+     *
+     * @param tarefas Mapa contendo as tarefas organizadas por status
+     * @param arquivo Caminho do arquivo onde as tarefas serão salvas
+     * @throws IOException Se o arquivo não pôde ser gravado por inteiro
+     */
+    default void gravar(Map<Status, List<Tarefa>> tarefas, String arquivo) throws IOException {
+        salvar(tarefas, arquivo);
+    }
     
     /**
      * Carrega as tarefas de um arquivo no formato específico da implementação.
@@ -26,4 +44,50 @@ public interface PersistenciaTarefas {
      * @return Mapa contendo as tarefas organizadas por status
      */
     Map<Status, List<Tarefa>> carregar(String arquivo);
+
+    /**
+     * Lê as tarefas de um arquivo sob demanda, na ordem em que estão gravadas. Formatos que
+     * implementam a leitura incremental (CSV, JSON) usam memória constante, qualquer que seja
+     * o tamanho do arquivo; a implementação padrão carrega tudo com {@link #carregar}.
+     * O stream deve ser fechado (try-with-resources).
+     *
+     * @param arquivo Caminho do arquivo contendo as tarefas salvas
+     * @return As tarefas do arquivo; erros de leitura no meio do arquivo viram UncheckedIOException
+     * @throws IOException Se o arquivo não puder ser aberto
+     */
+    default Stream<Tarefa> ler(String arquivo) throws IOException {
+        return carregar(arquivo).values().stream().flatMap(List::stream);
+    }
+
+    /**
+     * Abre o arquivo para gravar tarefas uma a uma. Formatos que implementam a escrita
+     * incremental (CSV, JSON) gravam cada tarefa assim que a recebem; a implementação padrão
+     * junta as tarefas por status e chama {@link #gravar} ao fechar.
+     *
+     * @param arquivo Caminho do arquivo onde as tarefas serão salvas
+     * @return Escritor que deve ser fechado para completar o arquivo
+     * @throws IOException Se o arquivo não puder ser criado
+     */
+    default EscritorTarefas abrirEscritor(String arquivo) throws IOException {
+        Map<Status, List<Tarefa>> tarefas = new EnumMap<>(Status.class);
+        for (Status status : Status.values()) {
+            tarefas.put(status, new ArrayList<>());
+        }
+        return new EscritorTarefas() {
+            private boolean fechado;
+
+            @Override
+            public void escrever(Tarefa tarefa) {
+                tarefas.get(tarefa.getStatus()).add(tarefa);
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (!fechado) {
+                    fechado = true;
+                    gravar(tarefas, arquivo);
+                }
+            }
+        };
+    }
 }
\ No newline at end of file
@@ -0,0 +1,149 @@
+package gerenciadordetarefas;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Resultado agregado de uma execução em paralelo feita pelo {@link ExecutorParaleloTarefas}.
+ */
+public class ResultadoExecucao {
+
+    /**
+     * Como terminou a execução de um item.
+     */
+    public enum Situacao {
+        SUCESSO,
+        FALHA,
+        TEMPO_ESGOTADO,
+        CANCELADA
+    }
+
+    /**
+     * Resultado da execução de um único Executavel.
+     */
+    public static class Item {
+        private final Executavel executavel;
+        // null enquanto nada terminou a execução; quem marcar primeiro decide a situação
+        private final AtomicReference<Situacao> situacao = new AtomicReference<>();
+        volatile long duracaoNanos;
+        volatile Throwable erro;
+
+        Item(Executavel executavel) {
+            this.executavel = executavel;
+        }
+
+        public Executavel getExecutavel() {
+            return executavel;
+        }
+
+        /**
+         * @return Como a execução terminou; CANCELADA se ela nem chegou a começar.
+         */
+        public Situacao getSituacao() {
+            Situacao atual = situacao.get();
+            return atual != null ? atual : Situacao.CANCELADA;
+        }
+
+        /**
+         * Registra como a execução terminou, se nada o fez antes: o término da própria
+         * execução, o tempo esgotado e o cancelamento disputam e só o primeiro vale.
+         * @return true se esta foi a situação registrada.
+         */
+        boolean concluir(Situacao situacao, Throwable erro) {
+            if (!this.situacao.compareAndSet(null, situacao)) {
+                return false;
+            }
+            this.erro = erro;
+            return true;
+        }
+
+        /**
+         * @return Tempo entre o início e o fim da execução (0 se nem chegou a começar).
+         */
+        public long getDuracaoNanos() {
+            return duracaoNanos;
+        }
+
+        /**
+         * @return A exceção lançada pelo executavel, se a situação for FALHA.
+         */
+        public Throwable getErro() {
+            return erro;
+        }
+    }
+
+    private final List<Item> itens;
+    private final long duracaoTotalNanos;
+
+    ResultadoExecucao(List<Item> itens, long duracaoTotalNanos) {
+        this.itens = Collections.unmodifiableList(itens);
+        this.duracaoTotalNanos = duracaoTotalNanos;
+    }
+
+    public List<Item> getItens() {
+        return itens;
+    }
+
+    public int getSucessos() {
+        return contar(Situacao.SUCESSO);
+    }
+
+    public int getFalhas() {
+        return contar(Situacao.FALHA);
+    }
+
+    public int getTemposEsgotados() {
+        return contar(Situacao.TEMPO_ESGOTADO);
+    }
+
+    public int getCanceladas() {
+        return contar(Situacao.CANCELADA);
+    }
+
+    /**
+     * @return Tempo de parede da execução inteira, do primeiro envio até o último término.
+     */
+    public long getDuracaoTotalNanos() {
+        return duracaoTotalNanos;
+    }
+
+    /**
+     * @return A maior duração individual entre os itens.
+     */
+    public long getMaiorDuracaoNanos() {
+        long maior = 0;
+        for (Item item : itens) {
+            maior = Math.max(maior, item.duracaoNanos);
+        }
+        return maior;
+    }
+
+    /**
+     * @return A soma das durações individuais (o tempo que a execução sequencial levaria).
+     */
+    public long getSomaDuracoesNanos() {
+        long soma = 0;
+        for (Item item : itens) {
+            soma += item.duracaoNanos;
+        }
+        return soma;
+    }
+
+    private int contar(Situacao situacao) {
+        int total = 0;
+        for (Item item : itens) {
+            if (item.getSituacao() == situacao) {
+                total++;
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d tarefa(s): %d sucesso(s), %d falha(s), %d tempo(s) esgotado(s), %d cancelada(s) em %d ms (soma: %d ms)",
+                itens.size(), getSucessos(), getFalhas(), getTemposEsgotados(), getCanceladas(),
+                duracaoTotalNanos / 1_000_000, getSomaDuracoesNanos() / 1_000_000);
+    }
+}
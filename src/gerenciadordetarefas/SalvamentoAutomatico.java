@@ -0,0 +1,513 @@
+package gerenciadordetarefas;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Salva as tarefas automaticamente, numa thread de fundo, pouco depois de cada alteração.
+ *
+ * Registrado como ouvinte do {@link GerenciadorTarefas}, só anota quais tarefas mudaram (uma
+ * cópia do estado de cada uma, por ID); a thread que fez a alteração nunca espera pelo disco.
+ * A primeira alteração agenda um salvamento para dali a uma janela de tempo, e as que chegarem
+ * nesse intervalo entram no mesmo salvamento.
+ *
+ * O quadro como estava no último salvamento (a cópia de base) fica num arquivo binário
+ * temporário, e não na memória: na memória ficam só as tarefas alteradas desde então. Na hora
+ * de salvar, a thread de fundo troca as alterações pendentes por um mapa vazio, lê a cópia de
+ * base em fluxo, aplicando as alterações pelo caminho, e grava o resultado em todos os destinos
+ * de uma vez, com {@link ExportacaoTarefas} (uma passada pelas tarefas, os destinos gravando em
+ * paralelo). A nova cópia de base é um desses destinos. Como nada disso toca no gerenciador,
+ * ele pode continuar sendo alterado durante a gravação. O custo é ler e gravar de novo a cópia
+ * de base a cada salvamento (41 bytes por tarefa mais a descrição; com 1 milhão de tarefas,
+ * cerca de meio segundo na thread de fundo).
+ *
+ * O construtor não toca no disco: guarda uma cópia de cada tarefa, que serve de cópia de base
+ * até o primeiro salvamento gravar o arquivo. As cópias de {@link TarefaPreguicosa} continuam
+ * lendo a descrição do arquivo mapeado, e a cópia de base a grava sem decodificá-la.
+ *
+ * Destinos que reescrevem o arquivo inteiro devem ser embrulhados em {@link PersistenciaAtomica}.
+ * Persistências incrementais (ex: {@link PersistenciaJournal}) são registradas também com
+ * {@link #adicionarOuvinte}: recebem as alterações agrupadas, na thread de fundo, logo antes
+ * de cada salvamento.
+ *
+ * {@link #fechar()} grava o que estiver pendente, encerra a thread e apaga a cópia de base;
+ * deve ser chamado na saída da aplicação (ou num shutdown hook).
+ */
+public class SalvamentoAutomatico implements OuvinteTarefas {
+
+    private static final Status[] STATUS = Status.values();
+
+    private static final ThreadFactory FABRICA_DAEMON = tarefa -> {
+        Thread thread = new Thread(tarefa, "salvamento-automatico");
+        thread.setDaemon(true);
+        return thread;
+    };
+
+    /**
+     * Última versão de uma tarefa alterada desde o último salvamento.
+     */
+    private static final class Alteracao {
+        // Cópia do estado da tarefa (na remoção, como estava ao ser removida)
+        final Tarefa tarefa;
+        final boolean removida;
+        // Adicionada ou movida: vai para o final da lista do seu status
+        final boolean reposicionar;
+        // Status da tarefa na cópia de base, ou null se ela não está lá
+        final Status origem;
+        // A descrição pode ser diferente da que está na cópia de base
+        final boolean descricaoEditada;
+
+        Alteracao(Tarefa tarefa, boolean removida, boolean reposicionar, Status origem, boolean descricaoEditada) {
+            this.tarefa = tarefa;
+            this.removida = removida;
+            this.reposicionar = reposicionar;
+            this.origem = origem;
+            this.descricaoEditada = descricaoEditada;
+        }
+    }
+
+    private final long janelaMillis;
+    private final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, FABRICA_DAEMON);
+    private final ExportacaoTarefas exportacao = new ExportacaoTarefas();
+    private final List<OuvinteTarefas> ouvintes = new ArrayList<>();
+
+    // Tarefas alteradas desde o último salvamento, na ordem da última alteração de cada uma.
+    // Protegido por "this"; é a única coisa tocada pela thread do gerenciador
+    private LinkedHashMap<UUID, Alteracao> pendentes = new LinkedHashMap<>();
+    private boolean agendado;
+    private boolean fechado;
+
+    // Cópia de base e o que falta aplicar a ela; só a thread de fundo (ou fechar) os acessa
+    private final PersistenciaBinaria formatoBase = new PersistenciaBinaria();
+    private final Path base;
+    private final Path novaBase;
+    // Cópias das tarefas do construtor, na ordem dos status; substituem a cópia de base até ela ser gravada
+    private List<Tarefa> inicial;
+    private final int[] quantidadesBase = new int[STATUS.length];
+    // Alterações já repassadas aos ouvintes que não chegaram à cópia de base (a gravação dela falhou)
+    private LinkedHashMap<UUID, Alteracao> naoAplicadas = new LinkedHashMap<>();
+    private volatile boolean baseGravada;
+    private long salvamentos;
+
+    /**
+     * @param tarefasAtuais O estado atual do gerenciador (ex: {@link GerenciadorTarefas#getTodasTarefas()}),
+     *                      copiado para a cópia de base. Registre o salvamento como ouvinte logo em seguida.
+     * @param janelaMillis Quanto esperar, depois da primeira alteração, antes de salvar.
+     */
+    public SalvamentoAutomatico(Map<Status, List<Tarefa>> tarefasAtuais, long janelaMillis) {
+        if (janelaMillis < 0) {
+            throw new IllegalArgumentException("A janela de salvamento não pode ser negativa.");
+        }
+        this.janelaMillis = janelaMillis;
+        // Salvamentos agendados e ainda não iniciados são descartados em fechar(), que grava tudo
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        // Só o nome: o arquivo é criado pela thread de fundo, no primeiro salvamento
+        base = Paths.get(System.getProperty("java.io.tmpdir"), "salvamento-automatico-" + UUID.randomUUID() + ".bin");
+        novaBase = Paths.get(base + ".nova");
+        base.toFile().deleteOnExit();
+        novaBase.toFile().deleteOnExit();
+        inicial = new ArrayList<>();
+        for (Status status : STATUS) {
+            List<Tarefa> lista = tarefasAtuais.getOrDefault(status, List.of());
+            quantidadesBase[status.ordinal()] = lista.size();
+            for (Tarefa tarefa : lista) {
+                inicial.add(copiar(tarefa));
+            }
+        }
+        exportacao.adicionarDestino(new DestinoBase(), novaBase.toString());
+    }
+
+    /**
+     * Adiciona um destino. Configure os destinos antes de registrar o salvamento no gerenciador.
+     */
+    public void adicionarDestino(PersistenciaTarefas persistencia, String arquivo) {
+        exportacao.adicionarDestino(persistencia, arquivo);
+    }
+
+    /**
+     * Adiciona um ouvinte que recebe, na thread de fundo, as alterações agrupadas de cada
+     * salvamento (ex: um {@link PersistenciaJournal}, que não é seguro para várias threads).
+     */
+    public synchronized void adicionarOuvinte(OuvinteTarefas ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+
+    @Override
+    public void tarefaAdicionada(Tarefa tarefa) {
+        anotar(tarefa.getId(), new Alteracao(copiar(tarefa), false, true, null, false));
+    }
+
+    @Override
+    public void tarefaMovida(Tarefa tarefa, Status origem, Status destino) {
+        anotar(tarefa.getId(), new Alteracao(copiar(tarefa), false, true, origem, false));
+    }
+
+    @Override
+    public void tarefaRemovida(Tarefa tarefa) {
+        anotar(tarefa.getId(), new Alteracao(copiar(tarefa), true, true, tarefa.getStatus(), false));
+    }
+
+    @Override
+    public void descricaoEditada(Tarefa tarefa) {
+        anotar(tarefa.getId(), new Alteracao(copiar(tarefa), false, false, tarefa.getStatus(), true));
+    }
+
+    private synchronized void anotar(UUID id, Alteracao alteracao) {
+        juntar(pendentes, id, alteracao);
+        if (!agendado && !fechado) {
+            agendado = true;
+            try {
+                executor.schedule(() -> salvar(false), janelaMillis, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                agendado = false;
+            }
+        }
+    }
+
+    /**
+     * Junta uma alteração às anteriores da mesma tarefa. A origem é sempre a da primeira; uma
+     * edição de descrição mantém a posição (e o reposicionamento) da alteração anterior, e as
+     * demais vão para o final.
+     */
+    private static void juntar(LinkedHashMap<UUID, Alteracao> alteracoes, UUID id, Alteracao nova) {
+        Alteracao anterior = alteracoes.get(id);
+        if (anterior == null) {
+            alteracoes.put(id, nova);
+            return;
+        }
+        // Removida e adicionada de novo (ex: restaurada): a descrição pode ter mudado
+        boolean editada = nova.descricaoEditada || anterior.descricaoEditada || anterior.removida;
+        if (!nova.reposicionar) {
+            alteracoes.put(id, new Alteracao(nova.tarefa, nova.removida, anterior.reposicionar, anterior.origem, editada));
+            return;
+        }
+        alteracoes.remove(id);
+        alteracoes.put(id, new Alteracao(nova.tarefa, nova.removida, true, anterior.origem, editada));
+    }
+
+    /**
+     * Pede um salvamento imediato, mesmo sem alterações pendentes, e retorna sem esperar.
+     */
+    public synchronized void salvarAgora() {
+        if (!fechado) {
+            executor.execute(() -> salvar(true));
+        }
+    }
+
+    /**
+     * Executa outro trabalho de disco na thread de fundo, na fila dos salvamentos (ex: gravar
+     * no {@link ArquivoMorto}), e retorna sem esperar. O trabalho não deve alterar o gerenciador.
+     * @return O resultado do trabalho; falha com RejectedExecutionException se o salvamento já foi fechado.
+     */
+    public synchronized <T> CompletableFuture<T> executar(Callable<T> trabalho) {
+        CompletableFuture<T> resultado = new CompletableFuture<>();
+        if (fechado) {
+            resultado.completeExceptionally(new RejectedExecutionException("O salvamento automático já foi fechado."));
+            return resultado;
+        }
+        executor.execute(() -> {
+            try {
+                resultado.complete(trabalho.call());
+            } catch (Exception e) {
+                resultado.completeExceptionally(e);
+            }
+        });
+        return resultado;
+    }
+
+    /**
+     * @return Quantas tarefas mudaram desde o último salvamento.
+     */
+    public synchronized int getPendentes() {
+        return pendentes.size();
+    }
+
+    /**
+     * @return Quantas vezes os destinos foram gravados.
+     */
+    public synchronized long getSalvamentos() {
+        return salvamentos;
+    }
+
+    /**
+     * Espera o salvamento em andamento, grava as alterações pendentes, encerra a thread de
+     * fundo e apaga a cópia de base. Pode ser chamado mais de uma vez.
+     */
+    public void fechar() {
+        synchronized (this) {
+            if (fechado) {
+                return;
+            }
+            fechado = true;
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        salvar(false);
+        exportacao.fechar();
+        try {
+            Files.deleteIfExists(base);
+            Files.deleteIfExists(novaBase);
+        } catch (IOException e) {
+            System.err.println("Erro ao apagar a cópia de base do salvamento automático: " + e.getMessage());
+        }
+    }
+
+    private void salvar(boolean forcar) {
+        LinkedHashMap<UUID, Alteracao> lote;
+        synchronized (this) {
+            lote = pendentes;
+            pendentes = new LinkedHashMap<>();
+            agendado = false;
+        }
+        if (lote.isEmpty() && !forcar) {
+            return;
+        }
+        try {
+            notificar(lote);
+            for (Map.Entry<UUID, Alteracao> entrada : lote.entrySet()) {
+                juntar(naoAplicadas, entrada.getKey(), entrada.getValue());
+            }
+            exportar();
+            synchronized (this) {
+                salvamentos++;
+            }
+        } catch (RuntimeException e) {
+            // Exceções numa tarefa agendada seriam engolidas pelo executor
+            System.err.println("Erro no salvamento automático: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Repassa as alterações aos ouvintes, comparando cada uma com a cópia de base.
+     */
+    private void notificar(LinkedHashMap<UUID, Alteracao> lote) {
+        List<OuvinteTarefas> ouvintesAtuais;
+        synchronized (this) {
+            ouvintesAtuais = new ArrayList<>(ouvintes);
+        }
+        for (Alteracao alteracao : lote.values()) {
+            Tarefa tarefa = alteracao.tarefa;
+            for (OuvinteTarefas ouvinte : ouvintesAtuais) {
+                if (alteracao.removida) {
+                    // Adicionada e removida dentro da mesma janela: ninguém precisa saber
+                    if (alteracao.origem != null) {
+                        ouvinte.tarefaRemovida(tarefa);
+                    }
+                    continue;
+                }
+                if (alteracao.origem == null) {
+                    ouvinte.tarefaAdicionada(tarefa);
+                    continue;
+                }
+                if (alteracao.origem != tarefa.getStatus() || alteracao.reposicionar) {
+                    ouvinte.tarefaMovida(tarefa, alteracao.origem, tarefa.getStatus());
+                }
+                if (alteracao.descricaoEditada) {
+                    ouvinte.descricaoEditada(tarefa);
+                }
+            }
+        }
+    }
+
+    /**
+     * Grava nos destinos a cópia de base com as alterações ainda não aplicadas a ela. Se a
+     * nova cópia de base ficar completa, ela substitui a anterior e as alterações são descartadas.
+     */
+    private void exportar() {
+        int[] quantidades = quantidadesBase.clone();
+        List<List<Tarefa>> anexadas = new ArrayList<>();
+        for (int i = 0; i < STATUS.length; i++) {
+            anexadas.add(new ArrayList<>());
+        }
+        for (Alteracao alteracao : naoAplicadas.values()) {
+            if (alteracao.origem != null && (alteracao.reposicionar || alteracao.removida)) {
+                quantidades[alteracao.origem.ordinal()]--;
+            }
+            if (!alteracao.removida && alteracao.reposicionar) {
+                int status = alteracao.tarefa.getStatus().ordinal();
+                quantidades[status]++;
+                anexadas.get(status).add(alteracao.tarefa);
+            }
+        }
+
+        baseGravada = false;
+        try (Stream<Tarefa> anteriores = inicial != null ? inicial.stream() : formatoBase.ler(base.toString())) {
+            Mescla mescla = new Mescla(anteriores.iterator(), naoAplicadas, anexadas);
+            Map<Status, List<Tarefa>> tarefas = new EnumMap<>(Status.class);
+            long inicio = 0;
+            for (Status status : STATUS) {
+                int quantidade = quantidades[status.ordinal()];
+                tarefas.put(status, new ListaMesclada(mescla, inicio, quantidade));
+                inicio += quantidade;
+            }
+            exportacao.exportar(tarefas);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!baseGravada) {
+            return; // As alterações ficam para o próximo salvamento
+        }
+        try {
+            Files.move(novaBase, base, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        System.arraycopy(quantidades, 0, quantidadesBase, 0, quantidades.length);
+        naoAplicadas = new LinkedHashMap<>();
+        inicial = null;
+    }
+
+    /**
+     * Grava a nova cópia de base junto com os outros destinos e anota se ela ficou completa.
+     */
+    private final class DestinoBase implements PersistenciaTarefas {
+        @Override
+        public void salvar(Map<Status, List<Tarefa>> tarefas, String arquivo) {
+            try {
+                formatoBase.gravar(tarefas, arquivo);
+                baseGravada = true;
+            } catch (IOException e) {
+                System.err.println("Erro ao gravar a cópia de base do salvamento automático: " + e.getMessage());
+            }
+        }
+
+        @Override
+        public Map<Status, List<Tarefa>> carregar(String arquivo) {
+            return formatoBase.carregar(arquivo);
+        }
+    }
+
+    /**
+     * Percorre a cópia de base uma vez, na ordem dos status, trocando as tarefas editadas pela
+     * versão nova, pulando as removidas e movidas, e acrescentando ao fim de cada status as que
+     * foram para o final dele.
+     */
+    private static final class Mescla {
+        private final Iterator<Tarefa> anteriores;
+        private final Map<UUID, Alteracao> alteracoes;
+        private final List<List<Tarefa>> anexadas;
+
+        private Tarefa espiada;
+        private int status;
+        private int proximaAnexada = -1; // -1 enquanto ainda lê a cópia de base do status atual
+        private long entregues;
+        private Tarefa atual;
+
+        Mescla(Iterator<Tarefa> anteriores, Map<UUID, Alteracao> alteracoes, List<List<Tarefa>> anexadas) {
+            this.anteriores = anteriores;
+            this.alteracoes = alteracoes;
+            this.anexadas = anexadas;
+        }
+
+        /**
+         * @param indice Posição da tarefa no quadro inteiro (os status em sequência).
+         */
+        Tarefa tarefa(long indice) {
+            if (indice == entregues - 1) {
+                return atual;
+            }
+            if (indice != entregues) {
+                throw new IllegalStateException("As tarefas só podem ser lidas uma vez, em ordem (posição "
+                        + indice + " depois de " + (entregues - 1) + ").");
+            }
+            atual = proxima();
+            entregues++;
+            return atual;
+        }
+
+        private Tarefa proxima() {
+            while (status < STATUS.length) {
+                if (proximaAnexada < 0) {
+                    if (espiada == null && anteriores.hasNext()) {
+                        espiada = anteriores.next();
+                    }
+                    if (espiada != null && espiada.getStatus().ordinal() == status) {
+                        Tarefa anterior = espiada;
+                        espiada = null;
+                        Alteracao alteracao = alteracoes.get(anterior.getId());
+                        if (alteracao == null) {
+                            return anterior;
+                        }
+                        if (!alteracao.removida && !alteracao.reposicionar) {
+                            return alteracao.tarefa;
+                        }
+                        continue; // Removida, ou movida para o final de algum status
+                    }
+                    proximaAnexada = 0;
+                }
+                List<Tarefa> lista = anexadas.get(status);
+                if (proximaAnexada < lista.size()) {
+                    return lista.get(proximaAnexada++);
+                }
+                status++;
+                proximaAnexada = -1;
+            }
+            throw new NoSuchElementException("O quadro tem menos tarefas que o informado.");
+        }
+    }
+
+    /**
+     * Lista de um status que busca cada tarefa na mescla.
+     */
+    private static final class ListaMesclada extends AbstractList<Tarefa> {
+        private final Mescla mescla;
+        private final long inicio;
+        private final int tamanho;
+
+        ListaMesclada(Mescla mescla, long inicio, int tamanho) {
+            this.mescla = mescla;
+            this.inicio = inicio;
+            this.tamanho = tamanho;
+        }
+
+        @Override
+        public Tarefa get(int indice) {
+            if (indice < 0 || indice >= tamanho) {
+                throw new IndexOutOfBoundsException("Índice " + indice + " fora da lista de tamanho " + tamanho);
+            }
+            return mescla.tarefa(inicio + indice);
+        }
+
+        @Override
+        public int size() {
+            return tamanho;
+        }
+    }
+
+    private static Tarefa copiar(Tarefa tarefa) {
+        if (tarefa instanceof TarefaPreguicosa) {
+            return ((TarefaPreguicosa) tarefa).copiar();
+        }
+        return new Tarefa(tarefa.getId(), tarefa.getDescricao(), data(tarefa.getDataCriacaoMillis()),
+                data(tarefa.getDataConclusaoMillis()), tarefa.getStatus());
+    }
+
+    private static Date data(long millis) {
+        return millis == Tarefa.SEM_DATA ? null : new Date(millis);
+    }
+}
@@ -1,7 +1,10 @@
 package gerenciadordetarefas;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.Date;
-import java.text.SimpleDateFormat;
 import java.util.Objects;
 import java.util.UUID; // Importar UUID
 
@@ -14,16 +17,17 @@ public class Tarefa implements Executavel {
     private Date dataCriacao;
     private Date dataConclusao;
     private Status status;
-    // Formato de data para exibição amigável
-    private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("dd/MM/yyyy HH:mm:ss");
+    private int posicao = -1; // Slot ocupado na ListaTarefas do gerenciador (-1 se fora de uma lista)
+    // Valor usado nas representações em millis para "sem data" (ex: tarefa não concluída)
+    static final long SEM_DATA = Long.MIN_VALUE;
+    // Formato de data para exibição amigável (imutável e thread-safe, ao contrário de SimpleDateFormat)
+    private static final DateTimeFormatter FORMATO_DATA =
+            DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm:ss").withZone(ZoneId.systemDefault());
 
     // Construtor principal: Gera um novo ID
     public Tarefa(String descricao) {
-        if (descricao == null || descricao.trim().isEmpty()) {
-            throw new IllegalArgumentException("A descrição da tarefa não pode ser vazia.");
-        }
+        this.descricao = validarDescricao(descricao);
         this.id = UUID.randomUUID(); // Gera um ID único
-        this.descricao = descricao.trim();
         this.dataCriacao = new Date();
         this.dataConclusao = null;
         this.status = Status.AFAZER;
@@ -38,6 +42,23 @@ public class Tarefa implements Executavel {
         this.status = status;
     }
 
+    // Construtor das visões (TarefaColunar), que sobrescrevem os getters e não usam os campos
+    Tarefa() {
+        this.id = null;
+    }
+
+    /**
+     * Valida uma descrição.
+     * @return A descrição sem espaços nas pontas.
+     * @throws IllegalArgumentException Se a descrição for vazia.
+     */
+    static String validarDescricao(String descricao) {
+        if (descricao == null || descricao.trim().isEmpty()) {
+            throw new IllegalArgumentException("A descrição da tarefa não pode ser vazia.");
+        }
+        return descricao.trim();
+    }
+
     // Getters
     public UUID getId() {
         return id;
@@ -59,12 +80,45 @@ public class Tarefa implements Executavel {
         return status;
     }
 
+    // Acesso às datas em millis sem o clone dos getters públicos (uso interno: persistência e índices)
+    long getDataCriacaoMillis() {
+        return dataCriacao == null ? SEM_DATA : dataCriacao.getTime();
+    }
+
+    long getDataConclusaoMillis() {
+        return dataConclusao == null ? SEM_DATA : dataConclusao.getTime();
+    }
+
+    // Partes do ID sem criar o UUID, para as subclasses que não o guardam
+    long getIdMaisSignificativo() {
+        return getId().getMostSignificantBits();
+    }
+
+    long getIdMenosSignificativo() {
+        return getId().getLeastSignificantBits();
+    }
+
+    /**
+     * @return O tamanho da descrição em UTF-8, se ela está guardada assim (copiável com
+     *         {@link #copiarDescricaoUtf8} sem criar uma String), ou -1 se ela já é uma String.
+     */
+    int getTamanhoDescricaoUtf8() {
+        return -1;
+    }
+
+    /**
+     * Copia a descrição em UTF-8 para o início do destino, que precisa ter espaço para ela.
+     * Aqui a descrição é codificada (criando um array); as subclasses que a guardam em UTF-8
+     * copiam os bytes direto.
+     */
+    void copiarDescricaoUtf8(byte[] destino) {
+        byte[] bytes = getDescricao().getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(bytes, 0, destino, 0, bytes.length);
+    }
+
     // Setters
     public void setDescricao(String descricao) {
-         if (descricao == null || descricao.trim().isEmpty()) {
-            throw new IllegalArgumentException("A descrição da tarefa não pode ser vazia.");
-        }
-        this.descricao = descricao.trim();
+        this.descricao = validarDescricao(descricao);
     }
 
     void setStatus(Status status) {
@@ -79,31 +133,61 @@ public class Tarefa implements Executavel {
          this.dataCriacao = dataCriacao == null ? null : (Date) dataCriacao.clone();
     }
 
+    int getPosicao() {
+        return posicao;
+    }
+
+    void setPosicao(int posicao) {
+        this.posicao = posicao;
+    }
+
     //feito por Stephanie
     @Override
     public void executar() {
-        System.out.println("Executando tarefa: " + descricao);
+        System.out.println("Executando tarefa: " + getDescricao());
     }
 
 
     @Override
     public String toString() {
-        return String.format("Descrição: %s (Criada em: %s%s, Status: %s)",
-                descricao,
-                DATE_FORMAT.format(dataCriacao),
-                (dataConclusao != null ? ", Concluída em: " + DATE_FORMAT.format(dataConclusao) : ""),
-                status.getDescricao());
+        StringBuilder sb = new StringBuilder(96);
+        formatar(sb);
+        return sb.toString();
+    }
+
+    /**
+     * Escreve a representação de {@link #toString()} num StringBuilder já existente,
+     * para que listagens longas reutilizem o mesmo buffer.
+     */
+    void formatar(StringBuilder destino) {
+        destino.append("Descrição: ").append(getDescricao()).append(" (Criada em: ");
+        formatarData(getDataCriacaoMillis(), destino);
+        long conclusao = getDataConclusaoMillis();
+        if (conclusao != SEM_DATA) {
+            destino.append(", Concluída em: ");
+            formatarData(conclusao, destino);
+        }
+        destino.append(", Status: ").append(getStatus().getDescricao()).append(')');
+    }
+
+    private static void formatarData(long millis, StringBuilder destino) {
+        if (millis == SEM_DATA) {
+            destino.append('-');
+        } else {
+            FORMATO_DATA.formatTo(Instant.ofEpochMilli(millis), destino);
+        }
     }
 
     /**
      * Implementação de equals baseada *somente* no ID único.
+     * Uma visão do armazém colunar é igual à Tarefa de mesmo ID.
      */
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (!(o instanceof Tarefa)) return false;
         Tarefa tarefa = (Tarefa) o;
-        return Objects.equals(id, tarefa.id); // Compara apenas os IDs
+        return Objects.equals(getId(), tarefa.getId()); // Compara apenas os IDs
     }
 
     /**
@@ -112,6 +196,6 @@ public class Tarefa implements Executavel {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(id); // Gera hash apenas a partir do ID
+        return Objects.hash(getId()); // Gera hash apenas a partir do ID
     }
 }
\ No newline at end of file
@@ -0,0 +1,128 @@
+package gerenciadordetarefas;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Visão de uma tarefa guardada num {@link ArmazemColunar}: só conhece a linha e o ID, e lê
+ * os demais campos das colunas a cada chamada. Várias visões da mesma tarefa são iguais
+ * (equals/hashCode pelo ID) e todas enxergam as alterações feitas pelo gerenciador.
+ *
+ * Depois que a tarefa é removida do armazém, só o ID continua disponível; os outros
+ * getters lançam IllegalStateException.
+ */
+final class TarefaColunar extends Tarefa {
+    private final ArmazemColunar armazem;
+    private final int linha;
+    private final long idMaisSignificativo;
+    private final long idMenosSignificativo;
+
+    TarefaColunar(ArmazemColunar armazem, int linha, long idMaisSignificativo, long idMenosSignificativo) {
+        this.armazem = armazem;
+        this.linha = linha;
+        this.idMaisSignificativo = idMaisSignificativo;
+        this.idMenosSignificativo = idMenosSignificativo;
+    }
+
+    boolean pertenceA(ArmazemColunar outro) {
+        return armazem == outro && armazem.contem(linha, idMaisSignificativo, idMenosSignificativo);
+    }
+
+    private int linha() {
+        if (!armazem.contem(linha, idMaisSignificativo, idMenosSignificativo)) {
+            throw new IllegalStateException("A tarefa " + getId() + " foi removida do armazém.");
+        }
+        return linha;
+    }
+
+    @Override
+    public UUID getId() {
+        return new UUID(idMaisSignificativo, idMenosSignificativo);
+    }
+
+    @Override
+    public String getDescricao() {
+        return armazem.lerDescricao(linha());
+    }
+
+    @Override
+    long getIdMaisSignificativo() {
+        return idMaisSignificativo;
+    }
+
+    @Override
+    long getIdMenosSignificativo() {
+        return idMenosSignificativo;
+    }
+
+    @Override
+    int getTamanhoDescricaoUtf8() {
+        return armazem.lerTamanhoDescricao(linha());
+    }
+
+    @Override
+    void copiarDescricaoUtf8(byte[] destino) {
+        armazem.copiarDescricao(linha(), destino);
+    }
+
+    @Override
+    public Date getDataCriacao() {
+        long millis = getDataCriacaoMillis();
+        return millis == SEM_DATA ? null : new Date(millis);
+    }
+
+    @Override
+    public Date getDataConclusao() {
+        long millis = getDataConclusaoMillis();
+        return millis == SEM_DATA ? null : new Date(millis);
+    }
+
+    @Override
+    public Status getStatus() {
+        return armazem.lerStatus(linha());
+    }
+
+    @Override
+    long getDataCriacaoMillis() {
+        return armazem.lerDataCriacao(linha());
+    }
+
+    @Override
+    long getDataConclusaoMillis() {
+        return armazem.lerDataConclusao(linha());
+    }
+
+    @Override
+    public void setDescricao(String descricao) {
+        armazem.editar(linha(), validarDescricao(descricao));
+    }
+
+    // Status e datas só mudam pelo armazém; a visão já reflete o valor atual
+    @Override
+    void setStatus(Status status) {
+    }
+
+    @Override
+    void setDataConclusao(Date dataConclusao) {
+    }
+
+    @Override
+    void setDataCriacao(Date dataCriacao) {
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof TarefaColunar) {
+            TarefaColunar outra = (TarefaColunar) o;
+            return idMaisSignificativo == outra.idMaisSignificativo && idMenosSignificativo == outra.idMenosSignificativo;
+        }
+        return super.equals(o);
+    }
+
+    @Override
+    public int hashCode() {
+        // Mesmo valor de Tarefa.hashCode (Objects.hash(id)) sem criar o UUID
+        long x = idMaisSignificativo ^ idMenosSignificativo;
+        return 31 + ((int) (x >> 32) ^ (int) x);
+    }
+}
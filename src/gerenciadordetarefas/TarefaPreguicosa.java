@@ -0,0 +1,96 @@
+package gerenciadordetarefas;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tarefa carregada de um arquivo mapeado em memória sem a descrição: guarda só onde ela está
+ * no arquivo e a decodifica a cada pedido (ao ser exibida, buscada ou salva), sem guardar o
+ * resultado. A memória da JVM usada pelas descrições fica restrita às que forem editadas; o
+ * resto são as páginas do arquivo que o sistema operacional mantiver em cache.
+ *
+ * O mapeamento continua válido se o arquivo for substituído por renomeação (como faz
+ * {@link PersistenciaJournal#compactar}), exceto no Windows, que não permite substituir um
+ * arquivo mapeado.
+ */
+final class TarefaPreguicosa extends Tarefa {
+    // Descrições decodificadas por todas as instâncias
+    private static final LongAdder DECODIFICACOES = new LongAdder();
+
+    private final ByteBuffer arquivo;
+    private final int inicioDescricao;
+    private final int tamanhoDescricao;
+    // Descrição editada; enquanto for null, vale a do arquivo
+    private volatile String descricaoEditada;
+
+    TarefaPreguicosa(UUID id, Date dataCriacao, Date dataConclusao, Status status,
+                     ByteBuffer arquivo, int inicioDescricao, int tamanhoDescricao) {
+        super(id, null, dataCriacao, dataConclusao, status);
+        this.arquivo = arquivo;
+        this.inicioDescricao = inicioDescricao;
+        this.tamanhoDescricao = tamanhoDescricao;
+    }
+
+    @Override
+    public String getDescricao() {
+        String editada = descricaoEditada;
+        return editada != null ? editada : decodificar();
+    }
+
+    @Override
+    public void setDescricao(String descricao) {
+        this.descricaoEditada = validarDescricao(descricao);
+    }
+
+    @Override
+    int getTamanhoDescricaoUtf8() {
+        return descricaoEditada != null ? -1 : tamanhoDescricao;
+    }
+
+    @Override
+    void copiarDescricaoUtf8(byte[] destino) {
+        for (int i = 0; i < tamanhoDescricao; i++) {
+            destino[i] = arquivo.get(inicioDescricao + i);
+        }
+    }
+
+    /**
+     * @return true se a descrição foi editada (e, portanto, está na memória).
+     */
+    boolean isDescricaoEditada() {
+        return descricaoEditada != null;
+    }
+
+    /**
+     * Cópia do estado atual que continua lendo a descrição do mesmo arquivo, para que quem
+     * guarda cópias das tarefas (ex: as alterações pendentes do {@link SalvamentoAutomatico})
+     * não decodifique a descrição.
+     */
+    TarefaPreguicosa copiar() {
+        long conclusao = getDataConclusaoMillis();
+        TarefaPreguicosa copia = new TarefaPreguicosa(getId(), new Date(getDataCriacaoMillis()),
+                conclusao == SEM_DATA ? null : new Date(conclusao), getStatus(), arquivo, inicioDescricao, tamanhoDescricao);
+        copia.descricaoEditada = descricaoEditada;
+        return copia;
+    }
+
+    private String decodificar() {
+        DECODIFICACOES.increment();
+        // Leitura absoluta: não mexe na posição do buffer, que é compartilhado entre threads
+        byte[] bytes = new byte[tamanhoDescricao];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = arquivo.get(inicioDescricao + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return Quantas descrições já foram decodificadas do arquivo (para testes e diagnóstico).
+     */
+    static long getDecodificacoes() {
+        return DECODIFICACOES.sum();
+    }
+}
@@ -0,0 +1,388 @@
+package gerenciadordetarefas;
+
+import java.io.BufferedWriter;
+import java.io.Console;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Camada de desenho da interface interativa, com buffer duplo: guarda em memória as linhas
+ * que estão no terminal e as do quadro sendo montado, e a cada {@link #apresentar()} envia
+ * só o trecho que mudou em cada linha, posicionando o cursor com sequências ANSI. Trocar de
+ * tela não cria processo nenhum (ao contrário de {@link LimpadorTela}).
+ *
+ * Tudo o que for escrito em {@link #getSaida()} (e em System.out/System.err depois de
+ * {@link #instalar()}) entra no quadro atual. Antes de ler a entrada do usuário, chame
+ * {@link #apresentar()} e, depois, {@link #registrarEntrada(String)} com a linha lida, já
+ * que o próprio terminal a ecoou na tela.
+ *
+ * O tamanho do terminal vem das variáveis LINES e COLUMNS (24x80 se não existirem). Um quadro
+ * maior que isso faria o terminal rolar e as posições deixariam de valer; nesse caso o quadro
+ * é redesenhado por inteiro, em sequência, depois de limpar a tela com ANSI.
+ *
+ * Se o terminal não suportar ANSI (saída redirecionada, TERM=dumb, console antigo do Windows),
+ * a saída vai direto para System.out e {@link #limpar()} usa o {@link LimpadorTela}. A detecção
+ * pode ser forçada com -Dgerenciador.ansi=true|false.
+ */
+public class TelaTerminal {
+
+    private static final String ESC = "\u001B[";
+    private static final String LIMPAR_TELA = ESC + "H" + ESC + "2J";
+    private static final String LIMPAR_ATE_O_FIM_DA_LINHA = ESC + "K";
+    private static final String LIMPAR_ATE_O_FIM_DA_TELA = ESC + "J";
+    private static final int ALTURA_PADRAO = 24;
+    private static final int LARGURA_PADRAO = 80;
+
+    private final boolean ansi;
+    private final Charset codificacao;
+    private final LimpadorTela limpador;
+    private final PrintStream saida;
+    private final Writer terminal;
+    private final int altura;
+    private final int largura;
+
+    // Quadro sendo montado: linhas completas mais a linha atual (onde fica o cursor)
+    private final List<String> linhas = new ArrayList<>();
+    private final StringBuilder linhaAtual = new StringBuilder();
+    private int maiorLinha;
+
+    // O que está no terminal, linha a linha; só vale se telaConhecida
+    private final List<String> naTela = new ArrayList<>();
+    private boolean telaConhecida;
+
+    // Quadro grande demais, escrito em sequência: quanto dele já foi enviado
+    private boolean sequencial;
+    private int linhasEscritas;
+    private int colunasEscritas;
+
+    private PrintStream outOriginal;
+    private PrintStream errOriginal;
+
+    /**
+     * Cria a tela para o console atual, detectando o suporte a ANSI.
+     */
+    public static TelaTerminal paraConsole() {
+        Charset codificacao = Main.codificacaoTerminal();
+        if (!suportaAnsi()) {
+            return new TelaTerminal(codificacao);
+        }
+        return new TelaTerminal(System.out, codificacao, tamanho("LINES", ALTURA_PADRAO), tamanho("COLUMNS", LARGURA_PADRAO));
+    }
+
+    /**
+     * Tela ANSI que escreve no terminal informado.
+     * @param terminal Destino das sequências ANSI (normalmente System.out).
+     * @param altura Quantidade de linhas do terminal.
+     * @param largura Quantidade de colunas do terminal.
+     */
+    TelaTerminal(OutputStream terminal, Charset codificacao, int altura, int largura) {
+        this.ansi = true;
+        this.codificacao = codificacao;
+        this.limpador = null;
+        this.terminal = new BufferedWriter(new OutputStreamWriter(terminal, codificacao), 1 << 14);
+        this.saida = new PrintStream(new Captura(), false, codificacao);
+        this.altura = altura;
+        this.largura = largura;
+    }
+
+    // Sem ANSI: a saída vai direto para System.out e limpar() usa o LimpadorTela
+    private TelaTerminal(Charset codificacao) {
+        this.ansi = false;
+        this.codificacao = codificacao;
+        this.limpador = new LimpadorTela();
+        this.terminal = null;
+        this.saida = System.out;
+        this.altura = 0;
+        this.largura = 0;
+    }
+
+    public boolean isAnsi() {
+        return ansi;
+    }
+
+    public Charset getCodificacao() {
+        return codificacao;
+    }
+
+    /**
+     * @return Fluxo cujo conteúdo entra no quadro atual (System.out, se não houver ANSI).
+     */
+    public PrintStream getSaida() {
+        return saida;
+    }
+
+    /**
+     * Redireciona System.out e System.err para o quadro, para que mensagens impressas em
+     * outras classes (ex: erros de persistência) apareçam na posição certa. Sem ANSI, não faz nada.
+     */
+    public synchronized void instalar() {
+        if (ansi && outOriginal == null) {
+            outOriginal = System.out;
+            errOriginal = System.err;
+            System.setOut(saida);
+            System.setErr(saida);
+        }
+    }
+
+    /**
+     * Apresenta o que faltar e devolve System.out e System.err originais.
+     */
+    public synchronized void restaurar() {
+        apresentar();
+        if (outOriginal != null) {
+            System.setOut(outOriginal);
+            System.setErr(errOriginal);
+            outOriginal = null;
+            errOriginal = null;
+        }
+    }
+
+    /**
+     * Começa um quadro novo. Com ANSI, nada é enviado ao terminal agora: o quadro anterior
+     * continua visível até o próximo {@link #apresentar()}, que só reescreve as diferenças.
+     */
+    public synchronized void limpar() {
+        if (!ansi) {
+            limpador.limparTela();
+            return;
+        }
+        if (sequencial) {
+            // O terminal rolou; as posições da tela anterior não são mais conhecidas
+            sequencial = false;
+            telaConhecida = false;
+        }
+        linhas.clear();
+        linhaAtual.setLength(0);
+        maiorLinha = 0;
+    }
+
+    /**
+     * Envia ao terminal as diferenças entre o quadro atual e o que está na tela, e deixa o
+     * cursor no final da última linha (ex: depois de "Escolha uma opção: ").
+     */
+    public synchronized void apresentar() {
+        if (!ansi) {
+            System.out.flush();
+            return;
+        }
+        try {
+            if (!sequencial && (linhas.size() + 1 > altura || Math.max(maiorLinha, linhaAtual.length()) > largura)) {
+                sequencial = true;
+                telaConhecida = false;
+                naTela.clear();
+                linhasEscritas = 0;
+                colunasEscritas = 0;
+                terminal.write(LIMPAR_TELA);
+            }
+            if (sequencial) {
+                escreverSequencial();
+            } else {
+                escreverDiferencas();
+            }
+            terminal.flush();
+        } catch (IOException e) {
+            // Terminal fechado: não há onde mostrar o erro
+            telaConhecida = false;
+        }
+    }
+
+    /**
+     * Registra a linha digitada pelo usuário, que o terminal já ecoou depois do texto atual.
+     */
+    public synchronized void registrarEntrada(String entrada) {
+        if (!ansi) {
+            return;
+        }
+        linhaAtual.append(entrada);
+        if (sequencial) {
+            linhasEscritas = linhas.size() + 1;
+            colunasEscritas = 0;
+        } else if (telaConhecida) {
+            int ultima = linhas.size();
+            while (naTela.size() <= ultima) {
+                naTela.add("");
+            }
+            naTela.set(ultima, linhaAtual.toString());
+            naTela.add("");
+            if (ultima + 2 > altura) {
+                telaConhecida = false; // O Enter fez o terminal rolar
+            }
+        }
+        terminarLinha();
+    }
+
+    private void escreverDiferencas() throws IOException {
+        if (!telaConhecida) {
+            terminal.write(LIMPAR_TELA);
+            naTela.clear();
+            telaConhecida = true;
+        }
+        int total = linhas.size() + 1;
+        for (int i = 0; i < total; i++) {
+            String nova = i < linhas.size() ? linhas.get(i) : linhaAtual.toString();
+            String antiga = i < naTela.size() ? naTela.get(i) : "";
+            if (nova.equals(antiga)) {
+                if (i >= naTela.size()) {
+                    naTela.add(nova); // Linha nova e vazia: já está em branco no terminal
+                }
+                continue;
+            }
+            int comum = prefixoComum(nova, antiga);
+            posicionar(i + 1, comum + 1);
+            terminal.write(nova, comum, nova.length() - comum);
+            if (antiga.length() > nova.length()) {
+                terminal.write(LIMPAR_ATE_O_FIM_DA_LINHA);
+            }
+            if (i < naTela.size()) {
+                naTela.set(i, nova);
+            } else {
+                naTela.add(nova);
+            }
+        }
+        if (naTela.size() > total) {
+            posicionar(total + 1, 1);
+            terminal.write(LIMPAR_ATE_O_FIM_DA_TELA);
+            naTela.subList(total, naTela.size()).clear();
+        }
+        posicionar(total, linhaAtual.length() + 1);
+    }
+
+    private void escreverSequencial() throws IOException {
+        for (int i = linhasEscritas; i < linhas.size(); i++) {
+            String linha = linhas.get(i);
+            int inicio = i == linhasEscritas ? colunasEscritas : 0;
+            terminal.write(linha, inicio, linha.length() - inicio);
+            terminal.write(System.lineSeparator());
+        }
+        int inicio = linhasEscritas == linhas.size() ? colunasEscritas : 0;
+        terminal.write(linhaAtual.toString(), inicio, linhaAtual.length() - inicio);
+        linhasEscritas = linhas.size();
+        colunasEscritas = linhaAtual.length();
+    }
+
+    private void posicionar(int linha, int coluna) throws IOException {
+        terminal.write(ESC + linha + ';' + coluna + 'H');
+    }
+
+    private static int prefixoComum(String a, String b) {
+        int limite = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < limite && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private void escrever(CharBuffer texto) {
+        while (texto.hasRemaining()) {
+            char c = texto.get();
+            if (c == '\n') {
+                terminarLinha();
+            } else if (c != '\r') {
+                linhaAtual.append(c);
+            }
+        }
+    }
+
+    private void terminarLinha() {
+        maiorLinha = Math.max(maiorLinha, linhaAtual.length());
+        linhas.add(linhaAtual.toString());
+        linhaAtual.setLength(0);
+    }
+
+    /**
+     * @return As linhas do quadro atual, incluindo a linha onde está o cursor.
+     */
+    synchronized List<String> getQuadro() {
+        List<String> quadro = new ArrayList<>(linhas);
+        quadro.add(linhaAtual.toString());
+        return quadro;
+    }
+
+    /**
+     * Recebe os bytes escritos em {@link #getSaida()} e os decodifica para o quadro. Um
+     * caractere de vários bytes pode chegar dividido entre duas escritas.
+     */
+    private final class Captura extends OutputStream {
+        private final CharsetDecoder decodificador = codificacao.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private final CharBuffer caracteres = CharBuffer.allocate(1024);
+        private ByteBuffer pendentes = ByteBuffer.allocate(1024);
+
+        @Override
+        public void write(int b) {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int inicio, int tamanho) {
+            synchronized (TelaTerminal.this) {
+                if (pendentes.remaining() < tamanho) {
+                    ByteBuffer maior = ByteBuffer.allocate(Math.max(pendentes.capacity() * 2, pendentes.position() + tamanho));
+                    pendentes.flip();
+                    maior.put(pendentes);
+                    pendentes = maior;
+                }
+                pendentes.put(b, inicio, tamanho);
+                pendentes.flip();
+                CoderResult resultado;
+                do {
+                    resultado = decodificador.decode(pendentes, caracteres, false);
+                    caracteres.flip();
+                    escrever(caracteres);
+                    caracteres.clear();
+                } while (resultado.isOverflow());
+                pendentes.compact();
+            }
+        }
+    }
+
+    private static boolean suportaAnsi() {
+        String forcado = System.getProperty("gerenciador.ansi");
+        if (forcado != null) {
+            return Boolean.parseBoolean(forcado);
+        }
+        Console console = System.console();
+        if (console == null || !ehTerminal(console)) {
+            return false;
+        }
+        String term = System.getenv("TERM");
+        if (System.getProperty("os.name", "").toLowerCase().contains("windows")) {
+            // O console clássico do Windows não interpreta ANSI; Windows Terminal e ConEmu sim
+            return System.getenv("WT_SESSION") != null || "ON".equalsIgnoreCase(System.getenv("ConEmuANSI")) || term != null;
+        }
+        return term != null && !term.equals("dumb");
+    }
+
+    // A partir do Java 22, System.console() existe mesmo com a saída redirecionada
+    private static boolean ehTerminal(Console console) {
+        try {
+            Method isTerminal = Console.class.getMethod("isTerminal");
+            return (Boolean) isTerminal.invoke(console);
+        } catch (ReflectiveOperationException e) {
+            return true;
+        }
+    }
+
+    private static int tamanho(String variavel, int padrao) {
+        try {
+            int valor = Integer.parseInt(System.getenv().getOrDefault(variavel, ""));
+            return valor > 0 ? valor : padrao;
+        } catch (NumberFormatException e) {
+            return padrao;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package gerenciadordetarefas;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class ArmazemColunarTest {
+
+    @Test
+    void testComportaSeComoOPadrao() {
+        GerenciadorTarefas colunar = new GerenciadorTarefas(new ArmazemColunar());
+        Tarefa primeira = colunar.adicionarTarefa("Primeira tarefa");
+        Tarefa segunda = colunar.adicionarTarefa("Segunda tarefa com acentuação");
+        Tarefa terceira = colunar.adicionarTarefa("Terceira");
+
+        assertTrue(colunar.moverTarefa(segunda, Status.PRONTO));
+        assertEquals(Status.PRONTO, segunda.getStatus()); // A visão reflete o armazém
+        assertNotNull(segunda.getDataConclusao());
+        assertTrue(colunar.editarDescricao(primeira, "Primeira editada"));
+        assertEquals("Primeira editada", colunar.getTarefaPorIndice(Status.AFAZER, 1).get().getDescricao());
+
+        assertTrue(colunar.removerTarefa(primeira));
+        assertFalse(colunar.removerTarefa(primeira));
+        assertThrows(IllegalStateException.class, primeira::getDescricao);
+        assertEquals(List.of(terceira), colunar.getTarefasPorStatus(Status.AFAZER));
+        assertEquals(segunda, colunar.getTarefaPorId(segunda.getId()).get());
+        assertEquals(segunda.hashCode(), new Tarefa(segunda.getId(), "x", null, null, Status.PRONTO).hashCode());
+        assertEquals(List.of(segunda), colunar.buscarTarefas("acentuacao"));
+
+        // Linhas liberadas são reaproveitadas sem confundir visões antigas
+        Tarefa quarta = colunar.adicionarTarefa("Quarta");
+        assertEquals("Quarta", quarta.getDescricao());
+        assertThrows(IllegalStateException.class, primeira::getStatus);
+        assertEquals(List.of(terceira, quarta), colunar.getTarefasPorStatus(Status.AFAZER));
+    }
+
+    @Test
+    void testComMuitasTarefas() {
+        GerenciadorTarefas colunar = new GerenciadorTarefas(new ArmazemColunar());
+        List<Tarefa> tarefas = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            tarefas.add(colunar.adicionarTarefa("Tarefa " + i));
+        }
+        for (int i = 0; i < 5000; i += 2) {
+            assertTrue(colunar.removerTarefa(tarefas.get(i)));
+        }
+        for (int i = 1; i < 5000; i += 4) {
+            assertTrue(colunar.moverTarefa(tarefas.get(i), Status.FAZENDO));
+        }
+        assertEquals(1250, colunar.getTarefasPorStatus(Status.AFAZER).size());
+        assertEquals(1250, colunar.getTarefasPorStatus(Status.FAZENDO).size());
+        assertEquals("Tarefa 3", colunar.getTarefaPorIndice(Status.AFAZER, 1).get().getDescricao());
+        assertEquals("Tarefa 1", colunar.getTarefaPorIndice(Status.FAZENDO, 1).get().getDescricao());
+        for (int i = 1; i < 5000; i += 2) {
+            assertEquals("Tarefa " + i, colunar.getTarefaPorId(tarefas.get(i).getId()).get().getDescricao());
+        }
+        for (int i = 0; i < 5000; i += 2) {
+            assertFalse(colunar.getTarefaPorId(tarefas.get(i).getId()).isPresent());
+        }
+    }
+
+    @Test
+    void testReaproveitaLinhaDepoisDeMuitasRemocoes() {
+        // A linha liberada guarda o tamanho da descrição antiga; a compactação disparada pela
+        // nova descrição não pode copiá-lo para um buffer dimensionado só pelo texto vivo
+        GerenciadorTarefas colunar = new GerenciadorTarefas(new ArmazemColunar());
+        String longa = "x".repeat(2000);
+        List<Tarefa> tarefas = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            tarefas.add(colunar.adicionarTarefa(longa + i));
+        }
+        for (Tarefa tarefa : tarefas) {
+            assertTrue(colunar.removerTarefa(tarefa));
+        }
+
+        Tarefa nova = colunar.adicionarTarefa("Nova");
+        Tarefa outra = colunar.adicionarTarefa("Outra");
+        assertEquals("Nova", nova.getDescricao());
+        assertEquals(List.of(nova, outra), colunar.getTarefasPorStatus(Status.AFAZER));
+        assertTrue(colunar.editarDescricao(nova, "Nova editada"));
+        assertEquals("Nova editada", colunar.getTarefaPorId(nova.getId()).get().getDescricao());
+        assertEquals("Outra", outra.getDescricao());
+    }
+}
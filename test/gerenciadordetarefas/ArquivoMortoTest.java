@@ -0,0 +1,272 @@
+package gerenciadordetarefas;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.ToLongFunction;
+
+class ArquivoMortoTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testTiraProntasAntigasDaMemoria() throws Exception {
+        Path arquivo = dir.resolve("tarefas" + ArquivoMorto.EXTENSAO);
+        long dia = 24L * 60 * 60 * 1000;
+        long agora = System.currentTimeMillis();
+        List<Tarefa> prontas = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            // As 60 primeiras foram concluídas há mais de 30 dias
+            long conclusao = agora - (i < 60 ? 90 - i : 10) * dia;
+            prontas.add(new Tarefa(UUID.randomUUID(), "Pronta " + i, new Date(conclusao - dia), new Date(conclusao), Status.PRONTO));
+        }
+        GerenciadorTarefas gt = new GerenciadorTarefas(List.of(new Tarefa("Ativa")), List.of(), prontas);
+        List<Tarefa> removidasDaMemoria = new ArrayList<>();
+        gt.adicionarOuvinte(new OuvinteTarefas() {
+            @Override
+            public void tarefaRemovida(Tarefa tarefa) {
+                removidasDaMemoria.add(tarefa);
+            }
+        });
+
+        try (ArquivoMorto morto = new ArquivoMorto(arquivo.toString())) {
+            gt.setArquivoMorto(morto, 30 * dia);
+            assertEquals(60, gt.arquivarAntigas());
+            assertEquals(0, gt.arquivarAntigas());
+            assertEquals(60, removidasDaMemoria.size());
+            assertEquals(40, gt.getTarefasPorStatus(Status.PRONTO).size());
+            assertEquals(60, morto.getQuantidade());
+
+            // Busca por ID e consultas por datas continuam enxergando as arquivadas
+            UUID idArquivada = prontas.get(5).getId();
+            assertEquals("Pronta 5", gt.getTarefaPorId(idArquivada).orElseThrow().getDescricao());
+            assertEquals(40, gt.getTarefasPorStatus(Status.PRONTO).size());
+            List<Tarefa> concluidas = gt.getTarefasConcluidasEntre(agora - 40 * dia, agora, Status.PRONTO);
+            assertEquals(50, concluidas.size());
+            assertEquals("Pronta 50", concluidas.get(0).getDescricao());
+            assertTrue(gt.getTarefasConcluidasEntre(0, agora, Status.AFAZER).isEmpty());
+
+            // Mover uma arquivada a traz de volta antes
+            Tarefa copia = gt.getTarefaPorId(idArquivada).orElseThrow();
+            assertTrue(gt.moverTarefa(copia, Status.FAZENDO));
+            assertEquals(idArquivada, gt.getTarefasPorStatus(Status.FAZENDO).get(0).getId());
+            assertEquals(59, morto.getQuantidade());
+
+            // Remover uma arquivada só a exclui do arquivo; remover a restaurada também
+            assertTrue(gt.removerTarefa(prontas.get(6)));
+            assertTrue(gt.removerTarefa(copia));
+            assertFalse(gt.getTarefaPorId(prontas.get(6).getId()).isPresent());
+            assertEquals(58, morto.getQuantidade());
+            assertEquals(61, removidasDaMemoria.size());
+        }
+
+        // Ao reabrir, o índice é refeito do arquivo; uma tarefa ativa que também está nele vale como ativa
+        try (ArquivoMorto morto = new ArquivoMorto(arquivo.toString())) {
+            assertEquals(58, morto.getQuantidade());
+            assertNull(morto.buscar(prontas.get(5).getId()));
+            GerenciadorTarefas outro = new GerenciadorTarefas(List.of(), List.of(), List.of(prontas.get(7)));
+            outro.setArquivoMorto(morto, 30 * dia);
+            assertEquals(57, morto.getQuantidade());
+            assertEquals(1, outro.arquivarAntigas());
+            assertEquals(58, morto.getQuantidade());
+        }
+    }
+
+    @Test
+    void testAlteracoesDuranteAGravacaoMantemAsTarefasAtivas() throws Exception {
+        long dia = 24L * 60 * 60 * 1000;
+        long conclusao = System.currentTimeMillis() - 60 * dia;
+        List<Tarefa> prontas = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            prontas.add(new Tarefa(UUID.randomUUID(), "Pronta " + i, new Date(conclusao - dia), new Date(conclusao), Status.PRONTO));
+        }
+        GerenciadorTarefas gt = new GerenciadorTarefas(List.of(), List.of(), prontas);
+
+        try (ArquivoMorto morto = new ArquivoMorto(dir.resolve("tarefas" + ArquivoMorto.EXTENSAO).toString())) {
+            gt.setArquivoMorto(morto, 30 * dia);
+            List<Tarefa> antigas = gt.escolherAntigas();
+            assertEquals(4, antigas.size());
+            assertEquals(4, gt.getTarefasPorStatus(Status.PRONTO).size()); // Escolher não tira das listas
+
+            // Enquanto a gravação acontece em outra thread, o gerenciador continua sendo usado
+            morto.arquivar(antigas);
+            assertTrue(gt.moverTarefa(prontas.get(0), Status.FAZENDO));
+            gt.editarDescricao(prontas.get(1), "Editada");
+            assertTrue(gt.removerTarefa(prontas.get(2)));
+
+            assertEquals(1, gt.concluirArquivamento(antigas));
+            assertEquals(List.of("Editada"), descricoes(gt.getTarefasPorStatus(Status.PRONTO)));
+            assertEquals(List.of("Pronta 0"), descricoes(gt.getTarefasPorStatus(Status.FAZENDO)));
+            // Só a que não mudou ficou arquivada; a removida não volta do arquivo
+            assertEquals(1, morto.getQuantidade());
+            assertEquals("Pronta 3", morto.buscar(prontas.get(3).getId()).getDescricao());
+            assertNull(morto.buscar(prontas.get(2).getId()));
+        }
+    }
+
+    @Test
+    void testExclusoesSaoGravadasNoExecutor() throws Exception {
+        String arquivo = dir.resolve("tarefas" + ArquivoMorto.EXTENSAO).toString();
+        List<Tarefa> prontas = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            prontas.add(new Tarefa(UUID.randomUUID(), "Pronta " + i, new Date(i), new Date(i + 1), Status.PRONTO));
+        }
+        GerenciadorTarefas gt = new GerenciadorTarefas();
+        List<Runnable> fila = new ArrayList<>();
+        try (ArquivoMorto morto = new ArquivoMorto(arquivo)) {
+            morto.arquivar(prontas);
+            gt.setArquivoMorto(morto, 0);
+            morto.setExecutorGravacao(fila::add);
+            long tamanho = morto.getTamanho();
+
+            // A exclusão vale na hora, mas a marca só é gravada quando o executor roda
+            assertTrue(gt.removerTarefa(prontas.get(0)));
+            assertFalse(gt.getTarefaPorId(prontas.get(0).getId()).isPresent());
+            assertEquals(9, morto.getQuantidade());
+            assertEquals(tamanho, morto.getTamanho());
+            assertEquals(1, fila.size());
+            fila.remove(0).run();
+            assertTrue(morto.getTamanho() > tamanho);
+
+            // Uma marca que o executor não chegou a gravar vai junto com o próximo arquivamento
+            assertTrue(gt.removerTarefa(prontas.get(1)));
+            morto.arquivar(List.of(new Tarefa(UUID.randomUUID(), "Outra", new Date(20), new Date(21), Status.PRONTO)));
+            tamanho = morto.getTamanho();
+            fila.remove(0).run();
+            assertEquals(tamanho, morto.getTamanho());
+
+            // E a que sobrar, ao fechar
+            assertTrue(gt.removerTarefa(prontas.get(2)));
+        }
+        try (ArquivoMorto morto = new ArquivoMorto(arquivo)) {
+            assertEquals(8, morto.getQuantidade());
+            for (int i = 0; i < 3; i++) {
+                assertNull(morto.buscar(prontas.get(i).getId()));
+            }
+            assertEquals("Pronta 3", morto.buscar(prontas.get(3).getId()).getDescricao());
+        }
+    }
+
+    @Test
+    void testConsultasPorDatasComArquivamentosForaDeOrdem() throws Exception {
+        String arquivo = dir.resolve("tarefas" + ArquivoMorto.EXTENSAO).toString();
+        Random aleatorio = new Random(22);
+        // Ordem de chegada de cada ID e a versão arquivada de cada um
+        List<UUID> chegada = new ArrayList<>();
+        Map<UUID, Tarefa> arquivadas = new HashMap<>();
+        try (ArquivoMorto morto = new ArquivoMorto(arquivo)) {
+            for (int lote = 0; lote < 20; lote++) {
+                // Datas embaralhadas e repetidas; algumas tarefas voltam ao arquivo com outras datas
+                List<Tarefa> tarefas = new ArrayList<>();
+                for (int i = 0; i < 50; i++) {
+                    UUID id = UUID.randomUUID();
+                    if (i < 5 && !arquivadas.isEmpty()) {
+                        id = chegada.get(aleatorio.nextInt(chegada.size()));
+                        if (morto.restaurar(id) == null) {
+                            continue; // Excluída ou já restaurada neste lote
+                        }
+                    } else {
+                        chegada.add(id);
+                    }
+                    long criacao = aleatorio.nextInt(1000);
+                    Tarefa tarefa = new Tarefa(id, "Lote " + lote + " nº " + i, new Date(criacao),
+                            new Date(criacao + aleatorio.nextInt(1000)), Status.PRONTO);
+                    tarefas.add(tarefa);
+                    arquivadas.put(id, tarefa);
+                }
+                morto.arquivar(tarefas);
+                UUID excluida = chegada.get(aleatorio.nextInt(chegada.size()));
+                morto.excluir(excluida);
+                arquivadas.remove(excluida);
+                conferirConsultas(morto, chegada, arquivadas, aleatorio);
+            }
+        }
+        try (ArquivoMorto morto = new ArquivoMorto(arquivo)) {
+            conferirConsultas(morto, chegada, arquivadas, aleatorio);
+        }
+    }
+
+    @Test
+    void testBuscaTextualEncontraAsArquivadas() throws Exception {
+        String arquivo = dir.resolve("tarefas" + ArquivoMorto.EXTENSAO).toString();
+        long dia = 24L * 60 * 60 * 1000;
+        long conclusao = System.currentTimeMillis() - 60 * dia;
+        String[] descricoes = {"Relatório mensal de vendas", "Relatório anual", "Reunião de vendas", "Ação de marketing"};
+        List<Tarefa> prontas = new ArrayList<>();
+        for (String descricao : descricoes) {
+            prontas.add(new Tarefa(UUID.randomUUID(), descricao, new Date(conclusao - dia), new Date(conclusao), Status.PRONTO));
+        }
+        GerenciadorTarefas gt = new GerenciadorTarefas(List.of(new Tarefa("Preparar relatório de vendas")), List.of(), prontas);
+
+        try (ArquivoMorto morto = new ArquivoMorto(arquivo)) {
+            gt.setArquivoMorto(morto, 30 * dia);
+            assertEquals(4, gt.arquivarAntigas());
+
+            // As arquivadas vêm primeiro; acentos, maiúsculas e prefixos como na busca das ativas
+            assertEquals(List.of("Relatório mensal de vendas", "Preparar relatório de vendas"),
+                    descricoes(gt.buscarTarefas("RELATORIO vendas")));
+            assertEquals(List.of("Relatório mensal de vendas", "Relatório anual", "Preparar relatório de vendas"),
+                    descricoes(gt.buscarTarefas("relat*")));
+            assertEquals(List.of("Ação de marketing"), descricoes(gt.buscarTarefas("acao")));
+            assertEquals(List.of("Preparar relatório de vendas"), descricoes(gt.buscarTarefas("vendas", Status.AFAZER)));
+            assertTrue(gt.buscarTarefas("inexistente").isEmpty());
+
+            // Editar traz a tarefa de volta; arquivada de novo, só a descrição nova é encontrada
+            assertTrue(gt.editarDescricao(prontas.get(1), "Balanço anual"));
+            assertEquals(List.of("Balanço anual"), descricoes(gt.buscarTarefas("anual")));
+            assertEquals(1, gt.arquivarAntigas());
+            assertEquals(List.of("Balanço anual"), descricoes(gt.buscarTarefas("anual")));
+            assertTrue(gt.buscarTarefas("relatorio anual").isEmpty());
+
+            // Removida, deixa de ser encontrada
+            assertTrue(gt.removerTarefa(prontas.get(3)));
+            assertTrue(gt.buscarTarefas("marketing").isEmpty());
+        }
+
+        // Ao reabrir, as palavras são indexadas de novo a partir do arquivo
+        try (ArquivoMorto morto = new ArquivoMorto(arquivo)) {
+            assertEquals(List.of("Relatório mensal de vendas", "Reunião de vendas"), descricoes(morto.buscarDescricoes("vendas")));
+            assertEquals(List.of("Balanço anual"), descricoes(morto.buscarDescricoes("balan* anual")));
+            assertTrue(morto.buscarDescricoes("marketing").isEmpty());
+            assertTrue(morto.buscarDescricoes("  ").isEmpty());
+        }
+    }
+
+    // Compara as consultas com uma ordenação estável das arquivadas, na ordem de chegada
+    private static void conferirConsultas(ArquivoMorto morto, List<UUID> chegada, Map<UUID, Tarefa> arquivadas, Random aleatorio) {
+        for (int consulta = 0; consulta < 20; consulta++) {
+            long inicio = aleatorio.nextInt(2000) - 100;
+            long fim = inicio + aleatorio.nextInt(600);
+            for (boolean porCriacao : new boolean[] {true, false}) {
+                ToLongFunction<Tarefa> data = porCriacao ? Tarefa::getDataCriacaoMillis : Tarefa::getDataConclusaoMillis;
+                List<String> esperadas = new ArrayList<>();
+                chegada.stream()
+                        .map(arquivadas::get)
+                        .filter(tarefa -> tarefa != null && data.applyAsLong(tarefa) >= inicio && data.applyAsLong(tarefa) < fim)
+                        .sorted(Comparator.comparingLong(data))
+                        .forEach(tarefa -> esperadas.add(tarefa.getDescricao()));
+                List<Tarefa> encontradas = porCriacao ? morto.criadasEntre(inicio, fim) : morto.concluidasEntre(inicio, fim);
+                assertEquals(esperadas, descricoes(encontradas), "[" + inicio + ", " + fim + ")");
+            }
+        }
+    }
+
+    private static List<String> descricoes(List<Tarefa> tarefas) {
+        List<String> descricoes = new ArrayList<>();
+        for (Tarefa tarefa : tarefas) {
+            descricoes.add(tarefa.getDescricao());
+        }
+        return descricoes;
+    }
+}
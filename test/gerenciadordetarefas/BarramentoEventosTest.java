@@ -0,0 +1,155 @@
+package gerenciadordetarefas;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+class BarramentoEventosTest {
+
+    @Test
+    void testEntregaEmLoteEDetectaAtraso() throws Exception {
+        GerenciadorTarefas gt = new GerenciadorTarefas();
+        BarramentoEventos barramento = new BarramentoEventos(64);
+        gt.adicionarOuvinte(barramento);
+
+        List<String> eventos = Collections.synchronizedList(new ArrayList<>());
+        long[] rapida = new long[3]; // Última sequência, fins de lote, perdidos
+        CountDownLatch primeirosEntregues = new CountDownLatch(4);
+        BarramentoEventos.Assinatura assinaturaRapida = barramento.assinar(new ConsumidorEventos() {
+            @Override
+            public void evento(EventoTarefa evento, boolean fimDoLote) {
+                assertTrue(evento.getSequencia() > rapida[0] || evento.getSequencia() == 0);
+                rapida[0] = evento.getSequencia();
+                rapida[1] += fimDoLote ? 1 : 0;
+                if (evento.getSequencia() < 4) {
+                    eventos.add(evento.getTipo() + " " + evento.getOrigem() + " " + evento.getDestino() + " " + evento.getDescricao());
+                    primeirosEntregues.countDown();
+                }
+            }
+
+            @Override
+            public void eventosPerdidos(long quantidade) {
+                rapida[2] += quantidade;
+            }
+        });
+        // A lenta trava no primeiro evento até ser liberada
+        CountDownLatch liberar = new CountDownLatch(1);
+        long[] lenta = new long[2]; // Recebidos, perdidos
+        BarramentoEventos.Assinatura assinaturaLenta = barramento.assinar(new ConsumidorEventos() {
+            @Override
+            public void evento(EventoTarefa evento, boolean fimDoLote) {
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                lenta[0]++;
+            }
+
+            @Override
+            public void eventosPerdidos(long quantidade) {
+                lenta[1] += quantidade;
+            }
+        });
+
+        Tarefa tarefa = gt.adicionarTarefa("Escrever");
+        gt.moverTarefa(tarefa, Status.FAZENDO);
+        gt.editarDescricao(tarefa, "Revisar");
+        gt.removerTarefa(tarefa);
+        assertTrue(primeirosEntregues.await(10, TimeUnit.SECONDS));
+        assertEquals(List.of("ADICIONADA null AFAZER Escrever", "MOVIDA AFAZER FAZENDO Escrever",
+                "DESCRICAO_EDITADA FAZENDO FAZENDO Revisar", "REMOVIDA FAZENDO null Revisar"), eventos);
+
+        // Quem publica nunca espera: o anel é sobrescrito por cima da assinatura lenta
+        for (int i = 0; i < 200; i++) {
+            gt.adicionarTarefa("Tarefa " + i);
+        }
+        assertEquals(204, barramento.getPublicados());
+        assertEquals(204, assinaturaLenta.getAtraso());
+
+        liberar.countDown();
+        barramento.fechar();
+        assertEquals(0, assinaturaLenta.getAtraso());
+        assertTrue(lenta[1] >= 204 - 64 - 1);
+        assertEquals(lenta[1], assinaturaLenta.getPerdidos());
+        assertEquals(204, lenta[0] + lenta[1]);
+        assertEquals(203, rapida[0]);
+        assertTrue(rapida[1] >= 1);
+        assertEquals(rapida[2], assinaturaRapida.getPerdidos());
+
+        // Depois de fechado, nada mais é publicado
+        gt.adicionarTarefa("Depois");
+        assertEquals(204, barramento.getPublicados());
+    }
+
+    @Test
+    void testCopiaIdEDescricaoDasTarefasColunares() throws Exception {
+        GerenciadorTarefas gt = new GerenciadorTarefas(new ArmazemColunar());
+        // Duas posições: as descrições, curtas e longas, se revezam nos mesmos buffers
+        BarramentoEventos barramento = new BarramentoEventos(2);
+        gt.adicionarOuvinte(barramento);
+        List<String> eventos = Collections.synchronizedList(new ArrayList<>());
+        Semaphore entregues = new Semaphore(0);
+        barramento.assinar(new ConsumidorEventos() {
+            @Override
+            public void evento(EventoTarefa evento, boolean fimDoLote) {
+                eventos.add(evento.getTipo() + " " + evento.getId() + " " + evento.getDescricao());
+                entregues.release();
+            }
+
+            @Override
+            public void eventosPerdidos(long quantidade) {
+                eventos.add("PERDIDOS " + quantidade);
+            }
+        });
+
+        Tarefa tarefa = gt.adicionarTarefa("Curta");
+        List<String> esperados = new ArrayList<>();
+        esperados.add("ADICIONADA " + tarefa.getId() + " Curta");
+        assertTrue(entregues.tryAcquire(10, TimeUnit.SECONDS));
+        for (int i = 1; i <= 6; i++) {
+            String descricao = i % 2 == 0 ? "Curta " + i : "Descrição número " + i + " com acentuação" + "!".repeat(i * 50);
+            gt.editarDescricao(tarefa, descricao);
+            esperados.add("DESCRICAO_EDITADA " + tarefa.getId() + " " + descricao);
+            assertTrue(entregues.tryAcquire(10, TimeUnit.SECONDS));
+        }
+        gt.removerTarefa(tarefa);
+        esperados.add("REMOVIDA " + tarefa.getId() + " Curta 6");
+        barramento.fechar();
+        assertEquals(esperados, eventos);
+    }
+
+    @Test
+    void testSubclasseQueSoInformaOTamanhoUsaACopiaPadrao() throws Exception {
+        // Só sobrescreve o tamanho: a cópia padrão codifica a descrição
+        Tarefa tarefa = new Tarefa("Ação pendente") {
+            @Override
+            int getTamanhoDescricaoUtf8() {
+                return getDescricao().getBytes(StandardCharsets.UTF_8).length;
+            }
+        };
+        BarramentoEventos barramento = new BarramentoEventos(4);
+        List<String> eventos = Collections.synchronizedList(new ArrayList<>());
+        barramento.assinar(new ConsumidorEventos() {
+            @Override
+            public void evento(EventoTarefa evento, boolean fimDoLote) {
+                eventos.add(evento.getId() + " " + evento.getDescricao());
+            }
+
+            @Override
+            public void eventosPerdidos(long quantidade) {
+            }
+        });
+
+        barramento.tarefaAdicionada(tarefa);
+        barramento.fechar();
+        assertEquals(List.of(tarefa.getId() + " Ação pendente"), eventos);
+    }
+}
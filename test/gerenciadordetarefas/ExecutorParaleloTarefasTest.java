@@ -0,0 +1,186 @@
+package gerenciadordetarefas;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class ExecutorParaleloTarefasTest {
+
+    // Limite de segurança para as esperas: só estoura se o executor travar
+    private static final long ESPERA_MAXIMA_SEGUNDOS = 10;
+
+    @Test
+    void testConcorrenciaNaoPassaDoLimite() throws Exception {
+        ExecutorParaleloTarefas executor = new ExecutorParaleloTarefas(2, 0);
+        AtomicInteger ativas = new AtomicInteger();
+        AtomicInteger maximo = new AtomicInteger();
+        AtomicInteger iniciadas = new AtomicInteger();
+        CountDownLatch duasRodando = new CountDownLatch(2);
+        CountDownLatch liberar = new CountDownLatch(1);
+        List<Executavel> executaveis = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            executaveis.add(() -> {
+                iniciadas.incrementAndGet();
+                maximo.accumulateAndGet(ativas.incrementAndGet(), Math::max);
+                duasRodando.countDown();
+                esperar(liberar);
+                ativas.decrementAndGet();
+            });
+        }
+
+        CompletableFuture<ResultadoExecucao> resultado = CompletableFuture.supplyAsync(() -> executor.executar(executaveis));
+        assertTrue(duasRodando.await(ESPERA_MAXIMA_SEGUNDOS, TimeUnit.SECONDS));
+        // As duas primeiras seguram as vagas: nenhuma outra pode ter começado
+        assertEquals(2, iniciadas.get());
+        liberar.countDown();
+
+        ResultadoExecucao concluido = resultado.get(ESPERA_MAXIMA_SEGUNDOS, TimeUnit.SECONDS);
+        assertEquals(6, concluido.getSucessos());
+        assertEquals(6, iniciadas.get());
+        assertEquals(2, maximo.get());
+    }
+
+    @Test
+    void testTempoEsgotadoInterrompeSoAExecucaoAtrasada() throws Exception {
+        ExecutorParaleloTarefas executor = new ExecutorParaleloTarefas(1, 50);
+        CountDownLatch nuncaLiberado = new CountDownLatch(1);
+        CountDownLatch interrompida = new CountDownLatch(1);
+        boolean[] seguinteInterrompida = {true};
+        List<Executavel> executaveis = List.of(
+                () -> {
+                    try {
+                        nuncaLiberado.await();
+                    } catch (InterruptedException e) {
+                        interrompida.countDown();
+                        throw new IllegalStateException("Interrompida.");
+                    }
+                },
+                () -> seguinteInterrompida[0] = Thread.currentThread().isInterrupted());
+
+        ResultadoExecucao resultado = executor.executar(executaveis);
+        assertTrue(interrompida.await(ESPERA_MAXIMA_SEGUNDOS, TimeUnit.SECONDS));
+        assertEquals(ResultadoExecucao.Situacao.TEMPO_ESGOTADO, resultado.getItens().get(0).getSituacao());
+        assertNull(resultado.getItens().get(0).getErro()); // A exceção da interrupção não vira FALHA
+        assertEquals(ResultadoExecucao.Situacao.SUCESSO, resultado.getItens().get(1).getSituacao());
+        assertFalse(seguinteInterrompida[0]);
+        assertEquals(1, resultado.getTemposEsgotados());
+        assertEquals(1, resultado.getSucessos());
+    }
+
+    @Test
+    void testSoASituacaoRegistradaPrimeiroVale() {
+        // O alarme que dispara depois do término não transforma o sucesso em tempo esgotado
+        ResultadoExecucao.Item item = new ResultadoExecucao.Item(() -> { });
+        assertEquals(ResultadoExecucao.Situacao.CANCELADA, item.getSituacao()); // Ainda não começou
+        assertTrue(item.concluir(ResultadoExecucao.Situacao.SUCESSO, null));
+        assertFalse(item.concluir(ResultadoExecucao.Situacao.TEMPO_ESGOTADO, null));
+        assertFalse(item.concluir(ResultadoExecucao.Situacao.FALHA, new IllegalStateException()));
+        assertEquals(ResultadoExecucao.Situacao.SUCESSO, item.getSituacao());
+        assertNull(item.getErro());
+    }
+
+    @Test
+    void testCancelarInterrompeAsEmAndamentoENaoIniciaAsDemais() throws Exception {
+        ExecutorParaleloTarefas executor = new ExecutorParaleloTarefas(1, 0);
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch nuncaLiberado = new CountDownLatch(1);
+        AtomicInteger executadas = new AtomicInteger();
+        List<Executavel> executaveis = new ArrayList<>();
+        executaveis.add(() -> {
+            executadas.incrementAndGet();
+            iniciou.countDown();
+            esperar(nuncaLiberado);
+        });
+        for (int i = 0; i < 3; i++) {
+            executaveis.add(executadas::incrementAndGet);
+        }
+
+        CompletableFuture<ResultadoExecucao> resultado = CompletableFuture.supplyAsync(() -> executor.executar(executaveis));
+        assertTrue(iniciou.await(ESPERA_MAXIMA_SEGUNDOS, TimeUnit.SECONDS));
+        executor.cancelar();
+
+        ResultadoExecucao cancelado = resultado.get(ESPERA_MAXIMA_SEGUNDOS, TimeUnit.SECONDS);
+        assertEquals(4, cancelado.getCanceladas());
+        assertEquals(1, executadas.get());
+        assertEquals(0, cancelado.getItens().get(1).getDuracaoNanos());
+    }
+
+    @Test
+    void testChamadasSimultaneasTemCancelamentoProprio() throws Exception {
+        ExecutorParaleloTarefas executor = new ExecutorParaleloTarefas(2, 0);
+        CountDownLatch iniciou = new CountDownLatch(1);
+        CountDownLatch nuncaLiberado = new CountDownLatch(1);
+        CompletableFuture<ResultadoExecucao> longa = CompletableFuture.supplyAsync(() -> executor.executar(List.of(() -> {
+            iniciou.countDown();
+            esperar(nuncaLiberado);
+        })));
+        assertTrue(iniciou.await(ESPERA_MAXIMA_SEGUNDOS, TimeUnit.SECONDS));
+
+        // Uma chamada que começa e termina no meio da outra não apaga o estado dela
+        AtomicInteger executadas = new AtomicInteger();
+        ResultadoExecucao curta = executor.executar(List.of(executadas::incrementAndGet, executadas::incrementAndGet));
+        assertEquals(2, curta.getSucessos());
+
+        executor.cancelar();
+        assertEquals(1, longa.get(ESPERA_MAXIMA_SEGUNDOS, TimeUnit.SECONDS).getCanceladas());
+
+        // O cancelamento anterior não vale para as chamadas seguintes
+        assertEquals(1, executor.executar(List.of(executadas::incrementAndGet)).getSucessos());
+        assertEquals(3, executadas.get());
+    }
+
+    @Test
+    void testResultadoAgregaSituacoesEDuracoes() {
+        ExecutorParaleloTarefas executor = new ExecutorParaleloTarefas(3, 0);
+        IllegalStateException erro = new IllegalStateException("Falhou.");
+        // Cada execução espera o relógio andar, para que a duração medida nunca seja zero
+        Executavel sucesso = ExecutorParaleloTarefasTest::esperarRelogio;
+        Executavel falha = () -> {
+            esperarRelogio();
+            throw erro;
+        };
+
+        ResultadoExecucao resultado = executor.executar(List.of(sucesso, falha, sucesso));
+        assertEquals(3, resultado.getItens().size());
+        assertSame(falha, resultado.getItens().get(1).getExecutavel());
+        assertEquals(ResultadoExecucao.Situacao.FALHA, resultado.getItens().get(1).getSituacao());
+        assertSame(erro, resultado.getItens().get(1).getErro());
+        assertEquals(2, resultado.getSucessos());
+        assertEquals(1, resultado.getFalhas());
+        assertEquals(0, resultado.getTemposEsgotados() + resultado.getCanceladas());
+
+        long soma = 0;
+        for (ResultadoExecucao.Item item : resultado.getItens()) {
+            assertTrue(item.getDuracaoNanos() > 0);
+            assertTrue(item.getDuracaoNanos() <= resultado.getMaiorDuracaoNanos());
+            soma += item.getDuracaoNanos();
+        }
+        assertEquals(soma, resultado.getSomaDuracoesNanos());
+        assertTrue(resultado.getDuracaoTotalNanos() >= resultado.getMaiorDuracaoNanos());
+        assertTrue(resultado.toString().startsWith("3 tarefa(s): 2 sucesso(s), 1 falha(s), 0 tempo(s) esgotado(s), 0 cancelada(s)"),
+                resultado.toString());
+    }
+
+    private static void esperarRelogio() {
+        long inicio = System.nanoTime();
+        while (System.nanoTime() == inicio) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            if (!latch.await(ESPERA_MAXIMA_SEGUNDOS, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("A espera passou do limite.");
+            }
+        } catch (InterruptedException e) {
+            throw new IllegalStateException("Interrompida.", e);
+        }
+    }
+}
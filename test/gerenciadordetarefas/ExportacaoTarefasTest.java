@@ -0,0 +1,122 @@
+package gerenciadordetarefas;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+class ExportacaoTarefasTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testExportacaoGravaOsDestinosEmParaleloNumaPassada() throws Exception {
+        GerenciadorTarefas gt = new GerenciadorTarefas();
+        for (int i = 0; i < 5000; i++) {
+            Tarefa tarefa = gt.adicionarTarefa("Tarefa " + i);
+            if (i % 4 == 0) {
+                gt.moverTarefa(tarefa, Status.PRONTO);
+            }
+        }
+
+        // Dois destinos que só começam a ler quando ambos estiverem gravando: um lê tudo e o
+        // outro desiste depois da primeira tarefa de "Pronto". Em sequência, nunca se encontrariam
+        CountDownLatch gravando = new CountDownLatch(2);
+        AtomicInteger encontros = new AtomicInteger();
+        PersistenciaTarefas lenta = new PersistenciaTarefas() {
+            @Override
+            public void salvar(Map<Status, List<Tarefa>> tarefas, String arquivo) {
+                encontrar(gravando, encontros);
+                tarefas.values().forEach(lista -> lista.forEach(Tarefa::getId));
+            }
+
+            @Override
+            public Map<Status, List<Tarefa>> carregar(String arquivo) {
+                return Map.of();
+            }
+        };
+        AtomicReference<Tarefa> lida = new AtomicReference<>();
+        PersistenciaTarefas apressada = new PersistenciaTarefas() {
+            @Override
+            public void salvar(Map<Status, List<Tarefa>> tarefas, String arquivo) {
+                encontrar(gravando, encontros);
+                lida.set(tarefas.get(Status.PRONTO).get(0));
+            }
+
+            @Override
+            public Map<Status, List<Tarefa>> carregar(String arquivo) {
+                return Map.of();
+            }
+        };
+        PersistenciaTarefas[] formatos = { new PersistenciaCSV(), new PersistenciaJSON(), new PersistenciaBinaria() };
+        ExportacaoTarefas exportacao = new ExportacaoTarefas();
+        for (int i = 0; i < formatos.length; i++) {
+            exportacao.adicionarDestino(formatos[i], dir.resolve("tarefas" + i).toString());
+        }
+        exportacao.adicionarDestino(lenta, "lenta");
+        exportacao.adicionarDestino(apressada, "apressada");
+
+        exportacao.exportar(gt.getTodasTarefas());
+        exportacao.fechar();
+        assertEquals(2, encontros.get(), "Os destinos não gravaram em paralelo");
+        assertSame(gt.getTarefasPorStatus(Status.PRONTO).get(0), lida.get());
+
+        for (int i = 0; i < formatos.length; i++) {
+            Map<Status, List<Tarefa>> carregadas = formatos[i].carregar(dir.resolve("tarefas" + i).toString());
+            for (Status status : Status.values()) {
+                List<Tarefa> esperadas = gt.getTarefasPorStatus(status);
+                assertEquals(esperadas.size(), carregadas.get(status).size());
+                for (int j = 0; j < esperadas.size(); j++) {
+                    assertEquals(esperadas.get(j).getId(), carregadas.get(status).get(j).getId());
+                }
+            }
+        }
+
+        // Ler para trás não é permitido: o destino é abortado e a exportação termina mesmo assim
+        ExportacaoTarefas invalida = new ExportacaoTarefas();
+        invalida.adicionarDestino(new PersistenciaCSV(), dir.resolve("ok.csv").toString());
+        AtomicBoolean recusada = new AtomicBoolean();
+        invalida.adicionarDestino(new PersistenciaTarefas() {
+            @Override
+            public void salvar(Map<Status, List<Tarefa>> tarefas, String arquivo) {
+                List<Tarefa> afazer = tarefas.get(Status.AFAZER);
+                afazer.get(10);
+                try {
+                    afazer.get(0);
+                } catch (IllegalStateException e) {
+                    recusada.set(true);
+                }
+            }
+
+            @Override
+            public Map<Status, List<Tarefa>> carregar(String arquivo) {
+                return Map.of();
+            }
+        }, "para-tras");
+        invalida.exportar(gt.getTodasTarefas());
+        invalida.fechar();
+        assertTrue(recusada.get());
+        assertEquals(5000, new PersistenciaCSV().carregar(dir.resolve("ok.csv").toString()).values().stream().mapToInt(List::size).sum());
+    }
+
+    // Conta a thread e espera as outras do latch; só conta se todas chegaram
+    private static void encontrar(CountDownLatch latch, AtomicInteger encontros) {
+        latch.countDown();
+        try {
+            if (latch.await(10, TimeUnit.SECONDS)) {
+                encontros.incrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package gerenciadordetarefas;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+class GerenciadorTarefasConcorrenteTest {
+
+    private static final int TAREFAS = 2_000;
+    private static final int ESCRITORES = 8;
+    private static final int OPERACOES_POR_ESCRITOR = 20_000;
+
+    @Test
+    void testMovimentosConcorrentesNaoPerdemNemDuplicamTarefas() throws Exception {
+        GerenciadorTarefasConcorrente gerenciador = new GerenciadorTarefasConcorrente();
+        List<Tarefa> tarefas = new ArrayList<>();
+        for (int i = 0; i < TAREFAS; i++) {
+            tarefas.add(gerenciador.adicionarTarefa("Tarefa " + i));
+        }
+
+        AtomicBoolean parar = new AtomicBoolean();
+        AtomicReference<Throwable> falha = new AtomicReference<>();
+        CountDownLatch inicio = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int e = 0; e < ESCRITORES; e++) {
+            threads.add(new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                aguardar(inicio);
+                for (int i = 0; i < OPERACOES_POR_ESCRITOR; i++) {
+                    Tarefa tarefa = tarefas.get(random.nextInt(TAREFAS));
+                    gerenciador.moverTarefa(tarefa, Status.values()[random.nextInt(Status.values().length)]);
+                }
+            }));
+        }
+        // Leitores conferem que todo retrato tem exatamente as mesmas tarefas, sem duplicatas
+        for (int l = 0; l < 2; l++) {
+            threads.add(new Thread(() -> {
+                aguardar(inicio);
+                try {
+                    while (!parar.get()) {
+                        assertRetratoConsistente(gerenciador.getTodasTarefas(), TAREFAS);
+                    }
+                } catch (Throwable t) {
+                    falha.compareAndSet(null, t);
+                }
+            }));
+        }
+
+        threads.forEach(Thread::start);
+        inicio.countDown();
+        for (int i = 0; i < ESCRITORES; i++) {
+            threads.get(i).join();
+        }
+        parar.set(true);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertNull(falha.get(), () -> "Retrato inconsistente: " + falha.get());
+        assertRetratoConsistente(gerenciador.getTodasTarefas(), TAREFAS);
+    }
+
+    @Test
+    void testAdicoesERemocoesConcorrentes() throws Exception {
+        GerenciadorTarefasConcorrente gerenciador = new GerenciadorTarefasConcorrente();
+        Set<Tarefa> vivas = ConcurrentHashMap.newKeySet();
+        CountDownLatch inicio = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int e = 0; e < ESCRITORES; e++) {
+            threads.add(new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                List<Tarefa> minhas = new ArrayList<>();
+                aguardar(inicio);
+                for (int i = 0; i < OPERACOES_POR_ESCRITOR / 4; i++) {
+                    Tarefa nova = gerenciador.adicionarTarefa("T" + i);
+                    minhas.add(nova);
+                    vivas.add(nova);
+                    Tarefa alvo = minhas.get(random.nextInt(minhas.size()));
+                    if (random.nextInt(4) == 0 && gerenciador.removerTarefa(alvo)) {
+                        vivas.remove(alvo);
+                        minhas.remove(alvo);
+                    } else {
+                        gerenciador.moverTarefa(alvo, Status.values()[random.nextInt(Status.values().length)]);
+                    }
+                }
+            }));
+        }
+
+        threads.forEach(Thread::start);
+        inicio.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Map<Status, List<Tarefa>> retrato = gerenciador.getTodasTarefas();
+        assertRetratoConsistente(retrato, vivas.size());
+        for (Status status : Status.values()) {
+            for (Tarefa tarefa : retrato.get(status)) {
+                assertEquals(status, tarefa.getStatus());
+                assertTrue(vivas.contains(tarefa));
+            }
+        }
+        for (Tarefa tarefa : vivas) {
+            assertSame(tarefa, gerenciador.getTarefaPorId(tarefa.getId()).orElse(null));
+        }
+    }
+
+    @Test
+    void testLeituraDeUmStatusNaoDependeDosOutros() throws Exception {
+        GerenciadorTarefasConcorrente gerenciador = new GerenciadorTarefasConcorrente();
+        List<Tarefa> fazendo = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Tarefa tarefa = gerenciador.adicionarTarefa("Fazendo " + i);
+            gerenciador.moverTarefa(tarefa, Status.FAZENDO);
+            fazendo.add(tarefa);
+        }
+        List<Tarefa> outras = new ArrayList<>();
+        for (int i = 0; i < TAREFAS; i++) {
+            outras.add(gerenciador.adicionarTarefa("Tarefa " + i));
+        }
+
+        AtomicBoolean parar = new AtomicBoolean();
+        AtomicReference<Throwable> falha = new AtomicReference<>();
+        CountDownLatch inicio = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+        // Escritores só mexem em "A Fazer" e "Pronto"; a lista "Fazendo" não muda
+        for (int e = 0; e < ESCRITORES; e++) {
+            threads.add(new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                aguardar(inicio);
+                for (int i = 0; i < OPERACOES_POR_ESCRITOR; i++) {
+                    Tarefa tarefa = outras.get(random.nextInt(TAREFAS));
+                    gerenciador.moverTarefa(tarefa, random.nextBoolean() ? Status.AFAZER : Status.PRONTO);
+                }
+            }));
+        }
+        threads.add(new Thread(() -> {
+            aguardar(inicio);
+            try {
+                while (!parar.get()) {
+                    assertEquals(fazendo, gerenciador.getTarefasPorStatus(Status.FAZENDO));
+                    assertSame(fazendo.get(49), gerenciador.getTarefaPorIndice(Status.FAZENDO, 50).orElse(null));
+                }
+            } catch (Throwable t) {
+                falha.compareAndSet(null, t);
+            }
+        }));
+
+        threads.forEach(Thread::start);
+        inicio.countDown();
+        for (int i = 0; i < ESCRITORES; i++) {
+            threads.get(i).join();
+        }
+        parar.set(true);
+        threads.get(ESCRITORES).join();
+
+        assertNull(falha.get(), () -> "Leitura inconsistente: " + falha.get());
+        assertFalse(gerenciador.getTarefaPorIndice(Status.FAZENDO, 0).isPresent());
+        assertFalse(gerenciador.getTarefaPorIndice(Status.FAZENDO, 101).isPresent());
+    }
+
+    private static void assertRetratoConsistente(Map<Status, List<Tarefa>> retrato, int esperadas) {
+        Set<Tarefa> vistas = new HashSet<>();
+        int total = 0;
+        for (List<Tarefa> lista : retrato.values()) {
+            for (Tarefa tarefa : lista) {
+                assertTrue(vistas.add(tarefa), "Tarefa duplicada: " + tarefa.getId());
+                total++;
+            }
+        }
+        assertEquals(esperadas, total);
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void testMoverParaStatusNuloFalhaSemAlterarATarefa() {
+        GerenciadorTarefasConcorrente gerenciador = new GerenciadorTarefasConcorrente();
+        Tarefa tarefa = gerenciador.adicionarTarefa("Escrever");
+
+        assertFalse(gerenciador.moverTarefa(tarefa, null));
+        assertEquals(Status.AFAZER, gerenciador.getTarefaPorId(tarefa.getId()).get().getStatus());
+        assertEquals(1, gerenciador.getTarefasPorStatus(Status.AFAZER).size());
+    }
+}
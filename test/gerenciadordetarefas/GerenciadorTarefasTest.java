@@ -4,7 +4,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 class GerenciadorTarefasTest {
@@ -34,4 +36,96 @@ class GerenciadorTarefasTest {
         assertEquals(0, gerenciador.getTarefasPorStatus(Status.AFAZER).size());
         assertEquals(1, gerenciador.getTarefasPorStatus(Status.FAZENDO).size());
     }
+
+    @Test
+    void testRemoverTarefaMantemOrdemEIndice() {
+        gerenciador.adicionarTarefa("Primeira");
+        gerenciador.adicionarTarefa("Segunda");
+        gerenciador.adicionarTarefa("Terceira");
+        Tarefa segunda = gerenciador.getTarefasPorStatus(Status.AFAZER).get(1);
+
+        assertTrue(gerenciador.getTarefaPorId(segunda.getId()).isPresent());
+        assertTrue(gerenciador.removerTarefa(segunda));
+        assertFalse(gerenciador.removerTarefa(segunda));
+        assertFalse(gerenciador.getTarefaPorId(segunda.getId()).isPresent());
+
+        List<Tarefa> restantes = gerenciador.getTarefasPorStatus(Status.AFAZER);
+        assertEquals(2, restantes.size());
+        assertEquals("Primeira", restantes.get(0).getDescricao());
+        assertEquals("Terceira", restantes.get(1).getDescricao());
+        assertEquals("Terceira", gerenciador.getTarefaPorIndice(Status.AFAZER, 2).get().getDescricao());
+    }
+
+    @Test
+    void testVisaoSomenteLeituraReutilizadaEFormatoDaTarefa() {
+        java.util.Map<Status, List<Tarefa>> visao = gerenciador.getTodasTarefas();
+        assertSame(visao, gerenciador.getTodasTarefas());
+        Tarefa tarefa = gerenciador.adicionarTarefa("Nova");
+        assertEquals(List.of(tarefa), visao.get(Status.AFAZER)); // Reflete alterações posteriores
+        assertThrows(UnsupportedOperationException.class, () -> visao.get(Status.AFAZER).clear());
+
+        gerenciador.moverTarefa(tarefa, Status.PRONTO);
+        java.text.SimpleDateFormat formato = new java.text.SimpleDateFormat("dd/MM/yyyy HH:mm:ss");
+        assertEquals("Descrição: Nova (Criada em: " + formato.format(tarefa.getDataCriacao())
+                + ", Concluída em: " + formato.format(tarefa.getDataConclusao()) + ", Status: Pronto)", tarefa.toString());
+    }
+
+    @Test
+    void testOperacoesEmLoteNosDoisArmazens() throws Exception {
+        for (ArmazemTarefas armazem : List.of(new ArmazemObjetos(), new ArmazemColunar())) {
+            GerenciadorTarefas gt = new GerenciadorTarefas(armazem);
+            int[] notificacoes = new int[3];
+            gt.adicionarOuvinte(new OuvinteTarefas() {
+                @Override
+                public void tarefaAdicionada(Tarefa tarefa) {
+                    notificacoes[0]++;
+                }
+
+                @Override
+                public void tarefaMovida(Tarefa tarefa, Status origem, Status destino) {
+                    assertEquals(Status.AFAZER, origem);
+                    notificacoes[1]++;
+                }
+
+                @Override
+                public void tarefaRemovida(Tarefa tarefa) {
+                    notificacoes[2]++;
+                }
+            });
+
+            // Uma descrição inválida impede o lote inteiro
+            assertThrows(IllegalArgumentException.class, () -> gt.adicionarTarefas(List.of("Válida", " ")));
+            assertTrue(gt.getTarefasPorStatus(Status.AFAZER).isEmpty());
+
+            List<String> descricoes = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                descricoes.add("Tarefa " + i);
+            }
+            List<Tarefa> criadas = gt.adicionarTarefas(descricoes);
+            assertEquals(1000, notificacoes[0]);
+            assertEquals("Tarefa 999", gt.getTarefasPorStatus(Status.AFAZER).get(999).getDescricao());
+
+            // As pares vão para "Pronto" na ordem recebida e com a mesma data de conclusão; repetidas contam uma vez
+            List<Tarefa> pares = new ArrayList<>();
+            for (int i = 0; i < 1000; i += 2) {
+                pares.add(criadas.get(i));
+            }
+            pares.add(criadas.get(0));
+            assertEquals(500, gt.moverTarefas(pares, Status.PRONTO));
+            assertEquals(0, gt.moverTarefas(pares, Status.PRONTO));
+            assertEquals(500, notificacoes[1]);
+            List<Tarefa> prontas = gt.getTarefasPorStatus(Status.PRONTO);
+            assertEquals("Tarefa 2", prontas.get(1).getDescricao());
+            assertEquals(prontas.get(0).getDataConclusao(), prontas.get(499).getDataConclusao());
+            assertEquals("Tarefa 1", gt.getTarefasPorStatus(Status.AFAZER).get(0).getDescricao());
+            assertEquals("Tarefa 999", gt.getTarefasPorStatus(Status.AFAZER).get(499).getDescricao());
+
+            assertEquals(200, gt.removerSe(Status.PRONTO, tarefa -> tarefa.getDescricao().endsWith("0")
+                    || tarefa.getDescricao().endsWith("4")));
+            assertEquals(200, notificacoes[2]);
+            assertEquals(300, gt.getTarefasPorStatus(Status.PRONTO).size());
+            assertEquals("Tarefa 2", gt.getTarefasPorStatus(Status.PRONTO).get(0).getDescricao());
+            assertFalse(gt.getTarefaPorId(criadas.get(0).getId()).isPresent());
+        }
+    }
 }
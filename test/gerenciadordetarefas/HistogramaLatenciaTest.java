@@ -0,0 +1,21 @@
+package gerenciadordetarefas;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistogramaLatenciaTest {
+
+    @Test
+    void testPercentis() {
+        HistogramaLatencia histograma = new HistogramaLatencia();
+        for (int i = 1; i <= 1000; i++) {
+            histograma.registrar(i * 1000L);
+        }
+        assertEquals(1000, histograma.getContagem());
+        assertEquals(1_000_000, histograma.getMaximo());
+        // Baldes de 1/8 de potência de 2: erro relativo de no máximo 12,5%
+        assertEquals(500_000, histograma.getPercentil(50), 500_000 * 0.125);
+        assertEquals(990_000, histograma.getPercentil(99), 990_000 * 0.125);
+        assertEquals(1_000_000, histograma.getPercentil(100));
+    }
+}
@@ -0,0 +1,35 @@
+package gerenciadordetarefas;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+class IndiceDatasTest {
+
+    @Test
+    void testConsultasAcompanhamMovimentacoes() {
+        Date antes = new Date(System.currentTimeMillis() - 10 * 86_400_000L);
+        Tarefa antiga = new Tarefa(UUID.randomUUID(), "Antiga", antes, antes, Status.PRONTO);
+        GerenciadorTarefas gt = new GerenciadorTarefas(List.of(), List.of(), List.of(antiga));
+        long inicio = System.currentTimeMillis();
+        Tarefa nova = gt.adicionarTarefa("Nova");
+        Tarefa concluida = gt.adicionarTarefa("Concluída");
+        long fim = System.currentTimeMillis() + 1;
+
+        assertEquals(List.of(nova, concluida), gt.getTarefasCriadasEntre(inicio, fim, null));
+        assertTrue(gt.getTarefasConcluidasEntre(inicio, fim, Status.PRONTO).isEmpty());
+
+        // Os índices acompanham movimentações feitas depois da primeira consulta
+        gt.moverTarefa(concluida, Status.PRONTO);
+        gt.moverTarefa(antiga, Status.FAZENDO); // Limpa a data de conclusão
+        assertEquals(List.of(concluida), gt.getTarefasConcluidasEntre(inicio, System.currentTimeMillis() + 1, null));
+        assertEquals(List.of(concluida), gt.getTarefasCriadasEntre(inicio, fim, Status.PRONTO));
+        assertEquals(List.of(antiga), gt.getTarefasCriadasEntre(0, inicio, Status.FAZENDO));
+
+        gt.removerTarefa(nova);
+        assertEquals(List.of(concluida), gt.getTarefasCriadasEntre(inicio, fim, null));
+    }
+}
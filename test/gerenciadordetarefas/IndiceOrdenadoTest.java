@@ -0,0 +1,63 @@
+package gerenciadordetarefas;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+class IndiceOrdenadoTest {
+
+    @Test
+    void testListagemOrdenadaAcompanhaAlteracoesNosDoisArmazens() {
+        for (ArmazemTarefas armazem : List.of(new ArmazemObjetos(), new ArmazemColunar())) {
+            GerenciadorTarefas gt = new GerenciadorTarefas(armazem);
+            Random aleatorio = new Random(42);
+            for (int i = 0; i < 2000; i++) {
+                gt.adicionarTarefa("Tarefa " + aleatorio.nextInt(500));
+            }
+            // Montado agora; daqui em diante só acompanha as alterações
+            List<Tarefa> porDescricao = gt.getTarefasPorStatus(Status.AFAZER, Ordenacao.DESCRICAO);
+            assertEquals(2000, porDescricao.size());
+
+            for (int i = 0; i < 300; i++) {
+                List<Tarefa> afazer = gt.getTarefasPorStatus(Status.AFAZER);
+                Tarefa tarefa = afazer.get(aleatorio.nextInt(afazer.size()));
+                switch (i % 3) {
+                    case 0:
+                        gt.moverTarefa(tarefa, Status.PRONTO);
+                        break;
+                    case 1:
+                        gt.removerTarefa(tarefa);
+                        break;
+                    default:
+                        gt.editarDescricao(tarefa, "tarefa " + aleatorio.nextInt(500));
+                }
+            }
+            gt.adicionarTarefa("AAA");
+
+            // Mesma ordem de uma ordenação estável da lista: empates na ordem de inserção
+            for (Status status : Status.values()) {
+                List<Tarefa> esperadas = new ArrayList<>(gt.getTarefasPorStatus(status));
+                esperadas.sort(Comparator.comparing(Tarefa::getDescricao, String.CASE_INSENSITIVE_ORDER));
+                List<Tarefa> ordenadas = gt.getTarefasPorStatus(status, Ordenacao.DESCRICAO);
+                assertEquals(esperadas.size(), ordenadas.size());
+                for (int i = 0; i < esperadas.size(); i++) {
+                    assertEquals(esperadas.get(i).getId(), ordenadas.get(i).getId());
+                }
+            }
+            assertEquals("AAA", porDescricao.get(0).getDescricao());
+            assertEquals("AAA", gt.getTarefaPorIndice(Status.AFAZER, 1, Ordenacao.DESCRICAO).get().getDescricao());
+            assertFalse(gt.getTarefaPorIndice(Status.PRONTO, 101, Ordenacao.CONCLUSAO).isPresent());
+
+            // Por conclusão, as movidas por último ficam no fim
+            Tarefa ultima = gt.getTarefasPorStatus(Status.AFAZER).get(0);
+            gt.moverTarefa(ultima, Status.PRONTO);
+            List<Tarefa> porConclusao = gt.getTarefasPorStatus(Status.PRONTO, Ordenacao.CONCLUSAO);
+            assertEquals(101, porConclusao.size());
+            assertEquals(ultima.getId(), porConclusao.get(100).getId());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package gerenciadordetarefas;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+class IndiceTextualTest {
+
+    @Test
+    void testBuscaAcompanhaEdicoesERemocoes() {
+        GerenciadorTarefas gerenciador = new GerenciadorTarefas();
+        Tarefa relatorio = gerenciador.adicionarTarefa("Escrever relatório mensal");
+        Tarefa revisao = gerenciador.adicionarTarefa("Revisar relatório de vendas");
+        gerenciador.adicionarTarefa("Comprar café");
+        gerenciador.moverTarefa(revisao, Status.FAZENDO);
+
+        assertEquals(List.of(relatorio, revisao), gerenciador.buscarTarefas("RELATORIO"));
+        assertEquals(List.of(revisao), gerenciador.buscarTarefas("relatório vendas"));
+        assertEquals(List.of(revisao), gerenciador.buscarTarefas("relat*", Status.FAZENDO));
+        assertTrue(gerenciador.buscarTarefas("relatório café").isEmpty());
+
+        // O índice acompanha edições e remoções feitas depois da primeira busca
+        gerenciador.editarDescricao(relatorio, "Escrever ata");
+        gerenciador.removerTarefa(revisao);
+        assertTrue(gerenciador.buscarTarefas("relatorio").isEmpty());
+        assertEquals(List.of(relatorio), gerenciador.buscarTarefas("ata"));
+    }
+}
@@ -0,0 +1,44 @@
+package gerenciadordetarefas;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class ListaTarefasTest {
+
+    @Test
+    void testLeituraComBuracosNaoAlteraALista() {
+        ListaTarefas lista = new ListaTarefas();
+        List<Tarefa> tarefas = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Tarefa tarefa = new Tarefa("Tarefa " + i);
+            tarefas.add(tarefa);
+            lista.adicionar(tarefa);
+        }
+        // Remoções alternadas com leituras, abaixo do limite de compactação
+        List<Tarefa> esperadas = new ArrayList<>(tarefas);
+        for (int i = 0; i < 1000; i += 3) {
+            assertTrue(lista.remover(tarefas.get(i)));
+            esperadas.remove(tarefas.get(i));
+            assertEquals(esperadas.get(esperadas.size() / 2), lista.get(esperadas.size() / 2));
+        }
+        int[] posicoes = esperadas.stream().mapToInt(Tarefa::getPosicao).toArray();
+        assertEquals(esperadas, lista);
+        // A leitura não compactou: cada tarefa continua no mesmo slot
+        assertArrayEquals(posicoes, esperadas.stream().mapToInt(Tarefa::getPosicao).toArray());
+        assertEquals(1000, lista.copiarSlots().length);
+
+        // Passando de metade de buracos, a própria remoção compacta
+        for (int i = 1; i < 1000; i += 3) {
+            assertTrue(lista.remover(tarefas.get(i)));
+            esperadas.remove(tarefas.get(i));
+        }
+        assertEquals(esperadas, lista);
+        assertTrue(lista.copiarSlots().length < 1000);
+        for (int i = 0; i < esperadas.size(); i++) {
+            assertSame(esperadas.get(i), lista.get(i));
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package gerenciadordetarefas;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricasTarefasTest {
+
+    @Test
+    void testRegistraMutacoesETarefasPorStatus() {
+        GerenciadorTarefas gerenciador = new GerenciadorTarefas();
+        gerenciador.adicionarTarefa("Já existia");
+        MetricasTarefas metricas = new MetricasTarefas();
+        gerenciador.setMetricas(metricas);
+        assertEquals(1, metricas.getTarefas(Status.AFAZER));
+
+        Tarefa tarefa = gerenciador.adicionarTarefa("Nova");
+        assertTrue(gerenciador.moverTarefa(tarefa, Status.PRONTO));
+        assertTrue(gerenciador.removerTarefa(tarefa));
+        assertFalse(gerenciador.removerTarefa(tarefa));
+
+        assertEquals(1, metricas.getContagem(MetricasTarefas.Operacao.ADICIONAR));
+        assertEquals(1, metricas.getContagem(MetricasTarefas.Operacao.MOVER));
+        assertEquals(2, metricas.getContagem(MetricasTarefas.Operacao.REMOVER));
+        assertEquals(1, metricas.getFalhas(MetricasTarefas.Operacao.REMOVER));
+        assertEquals(1, metricas.getTarefas(Status.AFAZER));
+        assertEquals(0, metricas.getTarefas(Status.PRONTO));
+    }
+}
@@ -0,0 +1,105 @@
+package gerenciadordetarefas;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+class ModoLoteTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testExecutaComandosEContaFalhas() throws Exception {
+        Path dados = dir.resolve("tarefas.bin");
+        GerenciadorTarefas gerenciador = new GerenciadorTarefas();
+        StringWriter saida = new StringWriter();
+        StringWriter erros = new StringWriter();
+        ModoLote lote = new ModoLote(gerenciador, new PersistenciaBinaria(), dados.toString(), 2,
+                new PrintWriter(saida), new PrintWriter(erros));
+
+        String comandos = "# comentário\n"
+                + "add Escrever relatório\n"
+                + "move $ PRONTO\n"
+                + "add Revisar código\n"
+                + "\n"
+                + "remove 00000000-0000-0000-0000-000000000000\n"
+                + "move nao-e-um-id FAZENDO\n"
+                + "list --status PRONTO\n"
+                + "desconhecido\n";
+        assertFalse(lote.processar(new StringReader(comandos)));
+        assertTrue(lote.finalizar());
+
+        assertEquals(2, lote.getExecucoes(ModoLote.Comando.ADD));
+        assertEquals(2, lote.getExecucoes(ModoLote.Comando.MOVE));
+        assertEquals(1, lote.getFalhas(ModoLote.Comando.MOVE));
+        assertEquals(1, lote.getFalhas(ModoLote.Comando.REMOVE));
+        assertEquals(1, gerenciador.getTarefasPorStatus(Status.PRONTO).size());
+        assertTrue(saida.toString().contains("Escrever relatório"));
+        assertFalse(saida.toString().contains("Revisar código"));
+        assertTrue(erros.toString().contains("Erro na linha 6"));
+        assertTrue(erros.toString().contains("Comando desconhecido"));
+
+        // O salvamento periódico (e o final) deixou o arquivo igual ao gerenciador
+        Map<Status, List<Tarefa>> salvas = new PersistenciaBinaria().carregar(dados.toString());
+        assertEquals(1, salvas.get(Status.AFAZER).size());
+        assertEquals(1, salvas.get(Status.PRONTO).size());
+    }
+
+    @Test
+    void testSaveQueFalhaFalhaOComandoEOLote() throws Exception {
+        String dados = dir.resolve("tarefas.bin").toString();
+        String inacessivel = dir.resolve("nao-existe").resolve("tarefas.csv").toString();
+        StringWriter erros = new StringWriter();
+        ModoLote lote = new ModoLote(new GerenciadorTarefas(), new PersistenciaBinaria(), dados, 0,
+                new PrintWriter(new StringWriter()), new PrintWriter(erros));
+
+        assertFalse(lote.processar(new StringReader("add Primeira\nsave " + inacessivel + "\nsave\n")));
+        assertEquals(2, lote.getExecucoes(ModoLote.Comando.SAVE));
+        assertEquals(1, lote.getFalhas(ModoLote.Comando.SAVE));
+        assertTrue(erros.toString().contains("Não foi possível salvar em " + inacessivel), erros.toString());
+        assertTrue(Files.exists(Path.of(dados)));
+
+        // O código de saída do processo também informa a falha
+        assertEquals(ModoLote.FALHA_COMANDO, ModoLote.executar(new String[] {
+            "--dados", dados, "-c", "add Segunda", "-c", "save " + inacessivel
+        }));
+        assertEquals(ModoLote.SUCESSO, ModoLote.executar(new String[] {"--dados", dados, "-c", "add Terceira", "-c", "save"}));
+    }
+
+    @Test
+    void testMoveComVariosIdsEComandosPorStatus() throws Exception {
+        GerenciadorTarefas gerenciador = new GerenciadorTarefas();
+        StringWriter erros = new StringWriter();
+        ModoLote lote = new ModoLote(gerenciador, new PersistenciaBinaria(), dir.resolve("tarefas.bin").toString(), 0,
+                new PrintWriter(new StringWriter()), new PrintWriter(erros));
+        Tarefa primeira = gerenciador.adicionarTarefa("Primeira");
+        Tarefa segunda = gerenciador.adicionarTarefa("Segunda");
+        gerenciador.adicionarTarefa("Terceira");
+
+        String comandos = "move " + primeira.getId() + "," + segunda.getId() + " FAZENDO\n"
+                + "move --status AFAZER PRONTO\n"
+                + "remove --status FAZENDO\n";
+        assertTrue(lote.processar(new StringReader(comandos)), erros.toString());
+        assertTrue(gerenciador.getTarefasPorStatus(Status.AFAZER).isEmpty());
+        assertTrue(gerenciador.getTarefasPorStatus(Status.FAZENDO).isEmpty());
+        assertEquals("Terceira", gerenciador.getTarefasPorStatus(Status.PRONTO).get(0).getDescricao());
+    }
+
+    @Test
+    void testFormatoComprimidoSalvaPorArquivoTemporario() throws Exception {
+        String dados = dir.resolve("tarefas.gtz").toString();
+        assertEquals(ModoLote.SUCESSO, ModoLote.executar(new String[] {"--dados", dados, "-c", "add Primeira", "-c", "save"}));
+        assertTrue(ModoLote.Formato.COMPRIMIDO.criarPersistencia() instanceof PersistenciaAtomica);
+        assertFalse(Files.exists(Path.of(dados + PersistenciaAtomica.EXTENSAO_TEMPORARIA)));
+        assertEquals(1, new PersistenciaComprimida().carregar(dados).get(Status.AFAZER).size());
+    }
+}
@@ -0,0 +1,112 @@
+package gerenciadordetarefas;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Map;
+
+class PersistenciaAtomicaTest {
+
+    @TempDir
+    Path dir;
+
+    /**
+     * CSV que falha ao gravar a terceira tarefa, depois de já ter escrito as anteriores.
+     */
+    private static final class CSVQueFalha extends PersistenciaCSV {
+        boolean falhar;
+
+        @Override
+        public EscritorTarefas abrirEscritor(String arquivo) throws IOException {
+            EscritorTarefas escritor = super.abrirEscritor(arquivo);
+            return new EscritorTarefas() {
+                private int escritas;
+
+                @Override
+                public void escrever(Tarefa tarefa) throws IOException {
+                    if (falhar && ++escritas == 3) {
+                        throw new IOException("Disco cheio");
+                    }
+                    escritor.escrever(tarefa);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    escritor.close();
+                }
+            };
+        }
+    }
+
+    @Test
+    void testFalhaNoMeioDaGravacaoMantemOArquivoAnterior() throws Exception {
+        Path arquivo = dir.resolve("tarefas.csv");
+        CSVQueFalha csv = new CSVQueFalha();
+        PersistenciaAtomica atomica = new PersistenciaAtomica(csv);
+        GerenciadorTarefas gt = new GerenciadorTarefas();
+        for (int i = 0; i < 5; i++) {
+            gt.adicionarTarefa("Tarefa " + i);
+        }
+        atomica.gravar(gt.getTodasTarefas(), arquivo.toString());
+        byte[] original = Files.readAllBytes(arquivo);
+
+        gt.adicionarTarefa("Nova");
+        csv.falhar = true;
+        assertThrows(IOException.class, () -> atomica.gravar(gt.getTodasTarefas(), arquivo.toString()));
+        assertArrayEquals(original, Files.readAllBytes(arquivo));
+        assertFalse(Files.exists(Path.of(arquivo + PersistenciaAtomica.EXTENSAO_TEMPORARIA)));
+
+        // salvar só informa o erro; o arquivo continua o mesmo
+        atomica.salvar(gt.getTodasTarefas(), arquivo.toString());
+        assertArrayEquals(original, Files.readAllBytes(arquivo));
+
+        // Pelo escritor incremental: a tarefa que falhou impede a troca ao fechar
+        EscritorTarefas escritor = atomica.abrirEscritor(arquivo.toString());
+        for (Tarefa tarefa : gt.getTarefasPorStatus(Status.AFAZER).subList(0, 2)) {
+            escritor.escrever(tarefa);
+        }
+        assertThrows(IOException.class, () -> escritor.escrever(gt.getTarefasPorStatus(Status.AFAZER).get(2)));
+        assertThrows(IOException.class, escritor::close);
+        assertArrayEquals(original, Files.readAllBytes(arquivo));
+        assertFalse(Files.exists(Path.of(arquivo + PersistenciaAtomica.EXTENSAO_TEMPORARIA)));
+
+        csv.falhar = false;
+        atomica.gravar(gt.getTodasTarefas(), arquivo.toString());
+        assertEquals(6, csv.carregar(arquivo.toString()).get(Status.AFAZER).size());
+    }
+
+    @Test
+    void testErroDoChamadorNoMeioDaGravacaoMantemOArquivoAnterior() throws Exception {
+        Path arquivo = dir.resolve("tarefas.json");
+        PersistenciaAtomica atomica = new PersistenciaAtomica(new PersistenciaJSON());
+        GerenciadorTarefas gt = new GerenciadorTarefas();
+        gt.adicionarTarefa("Primeira");
+        atomica.gravar(gt.getTodasTarefas(), arquivo.toString());
+        byte[] original = Files.readAllBytes(arquivo);
+
+        // Uma lista que falha no meio, como o fluxo de uma exportação abortada
+        List<Tarefa> quebrada = new AbstractList<Tarefa>() {
+            @Override
+            public Tarefa get(int indice) {
+                if (indice == 1) {
+                    throw new IllegalStateException("Exportação interrompida.");
+                }
+                return gt.getTarefasPorStatus(Status.AFAZER).get(0);
+            }
+
+            @Override
+            public int size() {
+                return 3;
+            }
+        };
+        assertThrows(IllegalStateException.class, () -> atomica.gravar(Map.of(Status.AFAZER, quebrada), arquivo.toString()));
+        assertArrayEquals(original, Files.readAllBytes(arquivo));
+        assertFalse(Files.exists(Path.of(arquivo + PersistenciaAtomica.EXTENSAO_TEMPORARIA)));
+    }
+}
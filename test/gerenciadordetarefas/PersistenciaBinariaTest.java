@@ -0,0 +1,105 @@
+package gerenciadordetarefas;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+class PersistenciaBinariaTest {
+
+    // Cabeçalho: magic (4 bytes), versão (2), quantidade de status (1) e uma contagem (4) por status
+    private static final int POSICAO_VERSAO = 4;
+    private static final int POSICAO_CONTAGENS = 7;
+    private static final int TAMANHO_CABECALHO = POSICAO_CONTAGENS + 4 * Status.values().length;
+
+    @TempDir
+    Path dir;
+
+    private Path arquivo;
+    private byte[] original;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        GerenciadorTarefas gt = new GerenciadorTarefas();
+        gt.adicionarTarefa("Primeira");
+        gt.moverTarefa(gt.adicionarTarefa("Segunda, concluída"), Status.PRONTO);
+        arquivo = dir.resolve("tarefas.bin");
+        new PersistenciaBinaria().salvar(gt.getTodasTarefas(), arquivo.toString());
+        original = Files.readAllBytes(arquivo);
+        assertEquals(2, contar(new PersistenciaBinaria()));
+    }
+
+    @Test
+    void testMagicInvalido() throws Exception {
+        byte[] bytes = original.clone();
+        bytes[0] = 'X';
+        assertInvalido(bytes, "Arquivo binário inválido");
+
+        // Um arquivo de outro formato, menor que o cabeçalho
+        assertInvalido("id,status\n".getBytes(), "Arquivo binário inválido");
+    }
+
+    @Test
+    void testVersaoNaoSuportada() throws Exception {
+        byte[] bytes = original.clone();
+        ByteBuffer.wrap(bytes).putShort(POSICAO_VERSAO, (short) (PersistenciaBinaria.VERSAO + 1));
+        assertInvalido(bytes, "Versão de arquivo binário não suportada: " + (PersistenciaBinaria.VERSAO + 1));
+    }
+
+    @Test
+    void testRegistroTruncado() throws Exception {
+        // Cortado no cabeçalho, na parte fixa de um registro e no meio da descrição
+        int[] tamanhos = {
+            3,
+            TAMANHO_CABECALHO - 1,
+            TAMANHO_CABECALHO + PersistenciaBinaria.TAMANHO_FIXO_REGISTRO - 1,
+            original.length - 1
+        };
+        for (int tamanho : tamanhos) {
+            assertInvalido(Arrays.copyOf(original, tamanho), "truncado");
+        }
+    }
+
+    @Test
+    void testContagemDoCabecalhoMaiorQueOArquivo() throws Exception {
+        // Uma contagem corrompida não pode virar uma reserva de memória de bilhões de posições
+        byte[] bytes = original.clone();
+        ByteBuffer.wrap(bytes).putInt(POSICAO_CONTAGENS, Integer.MAX_VALUE);
+        assertInvalido(bytes, "truncado ou corrompido: o cabeçalho indica");
+
+        // Cada contagem cabe no arquivo, mas a soma não
+        ByteBuffer.wrap(bytes).putInt(POSICAO_CONTAGENS, 2).putInt(POSICAO_CONTAGENS + 4, 2);
+        assertInvalido(bytes, "truncado ou corrompido: o cabeçalho indica");
+
+        ByteBuffer.wrap(bytes).putInt(POSICAO_CONTAGENS, -1);
+        assertInvalido(bytes, "quantidade negativa");
+    }
+
+    @Test
+    void testTamanhoDeDescricaoMaiorQueOArquivo() throws Exception {
+        // Perto de Integer.MAX_VALUE, somar a parte fixa estouraria para um número negativo
+        int posicaoTamanho = TAMANHO_CABECALHO + PersistenciaBinaria.TAMANHO_FIXO_REGISTRO - 4;
+        for (int tamanho : new int[] {Integer.MAX_VALUE, Integer.MAX_VALUE - PersistenciaBinaria.TAMANHO_FIXO_REGISTRO + 1,
+                original.length}) {
+            byte[] bytes = original.clone();
+            ByteBuffer.wrap(bytes).putInt(posicaoTamanho, tamanho);
+            assertInvalido(bytes, "a tarefa 1 indica uma descrição de " + tamanho + " bytes");
+        }
+    }
+
+    private void assertInvalido(byte[] bytes, String mensagem) throws Exception {
+        Files.write(arquivo, bytes);
+        IllegalArgumentException erro = assertThrows(IllegalArgumentException.class, () -> contar(new PersistenciaBinaria()));
+        assertTrue(erro.getMessage().contains(mensagem), erro.getMessage());
+    }
+
+    private int contar(PersistenciaBinaria binaria) {
+        return binaria.carregar(arquivo.toString()).values().stream().mapToInt(List::size).sum();
+    }
+}
@@ -0,0 +1,100 @@
+package gerenciadordetarefas;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+class PersistenciaCSVTest {
+
+    private static final String ID_1 = "123e4567-e89b-12d3-a456-426614174000";
+    private static final String ID_2 = "123e4567-e89b-12d3-a456-426614174001";
+
+    @TempDir
+    Path dir;
+
+    // Modo mapeado, com e sem descrições sob demanda; o leitor comum é a referência
+    private static final List<PersistenciaCSV> MAPEADOS = List.of(new PersistenciaCSV(true), new PersistenciaCSV(true, true));
+
+    @Test
+    void testArquivoVazio() throws Exception {
+        Path arquivo = dir.resolve("vazio.csv");
+        Files.write(arquivo, new byte[0]);
+        for (PersistenciaCSV csv : MAPEADOS) {
+            Map<Status, List<Tarefa>> tarefas = csv.carregar(arquivo.toString());
+            for (Status status : Status.values()) {
+                assertTrue(tarefas.get(status).isEmpty());
+            }
+        }
+    }
+
+    @Test
+    void testUltimaLinhaSemQuebraDeLinha() throws Exception {
+        String conteudo = ID_1 + ",AFAZER,Primeira,1000,\n" + ID_2 + ",PRONTO,Última,2000,3000";
+        List<String> lidas = lerNosDoisModos(conteudo);
+        assertEquals(List.of(
+                ID_1 + " AFAZER Primeira 1000 null",
+                ID_2 + " PRONTO Última 2000 3000"), lidas);
+
+        // O mesmo, com a data de conclusão vazia no fim do arquivo
+        lidas = lerNosDoisModos(ID_1 + ",FAZENDO,Sem conclusão,1000,");
+        assertEquals(List.of(ID_1 + " FAZENDO Sem conclusão 1000 null"), lidas);
+        lidas = lerNosDoisModos(ID_1 + ",FAZENDO,Sem quinto campo,1000");
+        assertEquals(List.of(ID_1 + " FAZENDO Sem quinto campo 1000 null"), lidas);
+    }
+
+    @Test
+    void testCaracteresMultibyteJuntoAQuebraDeLinha() throws Exception {
+        // Descrições com caracteres de 2, 3 e 4 bytes encostados no separador, nas quebras de
+        // linha (\r\n, \r e \n) e no fim do arquivo
+        String conteudo = ID_1 + ",AFAZER,€ entre €,1000,\r\n"
+                + ID_2 + ",FAZENDO,😀,2000,\r"
+                + ID_1 + ",PRONTO,  ñ ,3000,4000\n"
+                + ID_2 + ",PRONTO,fim 😀,5000";
+        assertEquals(List.of(
+                ID_1 + " AFAZER € entre € 1000 null",
+                ID_2 + " FAZENDO 😀 2000 null",
+                ID_1 + " PRONTO ñ 3000 4000",
+                ID_2 + " PRONTO fim 😀 5000 null"), lerNosDoisModos(conteudo));
+
+        // Um campo numérico com caractere multibyte informa a linha e o byte onde ela começa,
+        // contando os 5 bytes de "ção" na linha anterior (36 + 8 + 5 + 6 + 1)
+        Path arquivo = dir.resolve("invalido.csv");
+        Files.write(arquivo, (ID_1 + ",AFAZER,ção,1000,\n" + ID_2 + ",AFAZER,ok,1000,é\n").getBytes(StandardCharsets.UTF_8));
+        for (PersistenciaCSV csv : MAPEADOS) {
+            IllegalArgumentException erro = assertThrows(IllegalArgumentException.class, () -> descrever(csv, arquivo));
+            assertTrue(erro.getMessage().contains("(linha 2, byte 56)"), erro.getMessage());
+        }
+    }
+
+    /**
+     * Lê o conteúdo com o leitor comum e com os leitores mapeados, confere que todos dão o
+     * mesmo resultado e o devolve como "id status descrição criação conclusão" por tarefa.
+     */
+    private List<String> lerNosDoisModos(String conteudo) throws Exception {
+        Path arquivo = Files.createTempFile(dir, "tarefas", ".csv");
+        Files.write(arquivo, conteudo.getBytes(StandardCharsets.UTF_8));
+        List<String> esperadas = descrever(new PersistenciaCSV(), arquivo);
+        for (PersistenciaCSV csv : MAPEADOS) {
+            assertEquals(esperadas, descrever(csv, arquivo));
+        }
+        return esperadas;
+    }
+
+    private static List<String> descrever(PersistenciaCSV csv, Path arquivo) throws Exception {
+        List<String> descricoes = new ArrayList<>();
+        try (Stream<Tarefa> tarefas = csv.ler(arquivo.toString())) {
+            tarefas.forEach(tarefa -> descricoes.add(tarefa.getId() + " " + tarefa.getStatus() + " " + tarefa.getDescricao()
+                    + " " + tarefa.getDataCriacao().getTime()
+                    + " " + (tarefa.getDataConclusao() != null ? tarefa.getDataConclusao().getTime() : null)));
+        }
+        return descricoes;
+    }
+}
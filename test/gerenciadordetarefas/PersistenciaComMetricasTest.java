@@ -0,0 +1,80 @@
+package gerenciadordetarefas;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+class PersistenciaComMetricasTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testPersistenciaComMetricasContaBytesDoJournal() throws Exception {
+        String arquivo = dir.resolve("tarefas.csv").toString();
+        MetricasTarefas metricas = new MetricasTarefas();
+        PersistenciaJournal journal = new PersistenciaJournal(new PersistenciaCSV());
+        PersistenciaTarefas persistencia = new PersistenciaComMetricas(journal, metricas);
+        GerenciadorTarefas gt = new GerenciadorTarefas();
+        gt.adicionarOuvinte(journal);
+
+        gt.adicionarTarefa("Primeira");
+        persistencia.salvar(gt.getTodasTarefas(), arquivo); // Sem snapshot: grava o arquivo inteiro
+        assertEquals(Files.size(Path.of(arquivo)), metricas.getBytesEscritos());
+
+        gt.adicionarTarefa("Segunda");
+        persistencia.salvar(gt.getTodasTarefas(), arquivo); // Só anexa ao journal
+        long journalBytes = Files.size(Path.of(arquivo + ".journal"));
+        assertEquals(Files.size(Path.of(arquivo)) + journalBytes, metricas.getBytesEscritos());
+
+        // Nada pendente: nenhum arquivo é tocado e nenhum byte é contado
+        persistencia.salvar(gt.getTodasTarefas(), arquivo);
+        assertEquals(Files.size(Path.of(arquivo)) + journalBytes, metricas.getBytesEscritos());
+
+        assertEquals(2, persistencia.carregar(arquivo).get(Status.AFAZER).size());
+        assertEquals(metricas.getBytesEscritos(), metricas.getBytesLidos());
+        assertEquals(3, metricas.getContagem(MetricasTarefas.Operacao.SALVAR));
+        assertEquals(1, metricas.getContagem(MetricasTarefas.Operacao.CARREGAR));
+
+        // Também sem journal, logo depois de uma compactação
+        journal.compactar(gt.getTodasTarefas(), arquivo);
+        long antes = metricas.getBytesEscritos();
+        persistencia.salvar(gt.getTodasTarefas(), arquivo);
+        assertEquals(antes, metricas.getBytesEscritos());
+    }
+
+    @Test
+    void testPersistenciaComMetricasContaFalhaSobreArquivoExistente() throws Exception {
+        Path arquivo = Files.createTempFile(dir, "test-metricas", ".csv");
+        boolean[] falhar = {false};
+        PersistenciaTarefas csv = new PersistenciaCSV() {
+            @Override
+            public void gravar(Map<Status, List<Tarefa>> tarefas, String destino) throws IOException {
+                super.gravar(tarefas, destino);
+                if (falhar[0]) {
+                    throw new IOException("Disco cheio");
+                }
+            }
+        };
+        MetricasTarefas metricas = new MetricasTarefas();
+        PersistenciaTarefas persistencia = new PersistenciaComMetricas(csv, metricas);
+        GerenciadorTarefas gt = new GerenciadorTarefas();
+        gt.adicionarTarefa("Primeira");
+
+        persistencia.salvar(gt.getTodasTarefas(), arquivo.toString());
+        assertEquals(0, metricas.getFalhas(MetricasTarefas.Operacao.SALVAR));
+
+        // O arquivo já existe, mas a gravação falhou: conta como falha
+        falhar[0] = true;
+        persistencia.salvar(gt.getTodasTarefas(), arquivo.toString());
+        assertThrows(IOException.class, () -> persistencia.gravar(gt.getTodasTarefas(), arquivo.toString()));
+        assertEquals(3, metricas.getContagem(MetricasTarefas.Operacao.SALVAR));
+        assertEquals(2, metricas.getFalhas(MetricasTarefas.Operacao.SALVAR));
+    }
+}
@@ -0,0 +1,133 @@
+package gerenciadordetarefas;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+
+class PersistenciaComprimidaTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testPersistenciaComprimidaPulaBlocosPeloIndice() throws Exception {
+        String arquivo = dir.resolve("tarefas.gtz").toString();
+        String csv = dir.resolve("tarefas.csv").toString();
+        long dia = 24L * 60 * 60 * 1000;
+        Map<Status, List<Tarefa>> tarefas = new EnumMap<>(Status.class);
+        for (Status status : Status.values()) {
+            tarefas.put(status, new ArrayList<>());
+        }
+        // Prontas criadas em dias crescentes: cada bloco de 500 cobre um intervalo de datas
+        for (int i = 0; i < 3000; i++) {
+            tarefas.get(Status.PRONTO).add(new Tarefa(UUID.randomUUID(), "Relatório semanal nº " + i,
+                    new Date(i * dia), new Date(i * dia + 1000), Status.PRONTO));
+        }
+        for (int i = 0; i < 100; i++) {
+            tarefas.get(Status.AFAZER).add(new Tarefa("Pendente " + i));
+        }
+        PersistenciaComprimida persistencia = new PersistenciaComprimida(500, Deflater.DEFAULT_COMPRESSION);
+        persistencia.salvar(tarefas, arquivo);
+        new PersistenciaCSV().salvar(tarefas, csv);
+        assertTrue(Files.size(Path.of(arquivo)) < Files.size(Path.of(csv)) / 3);
+
+        Map<Status, List<Tarefa>> carregadas = persistencia.carregar(arquivo);
+        assertEquals(7, persistencia.getBlocosLidos());
+        assertEquals(3000, carregadas.get(Status.PRONTO).size());
+        assertEquals("Relatório semanal nº 2999", carregadas.get(Status.PRONTO).get(2999).getDescricao());
+        assertEquals(tarefas.get(Status.AFAZER).get(99).getId(), carregadas.get(Status.AFAZER).get(99).getId());
+
+        // Só o terceiro bloco de "Pronto" tem tarefas criadas nesse intervalo (o fim fica de fora)
+        PersistenciaComprimida filtrada = new PersistenciaComprimida();
+        Map<Status, List<Tarefa>> intervalo = filtrada.carregar(arquivo, EnumSet.of(Status.PRONTO), 1100 * dia, 1400 * dia);
+        assertEquals(1, filtrada.getBlocosLidos());
+        assertEquals(300, intervalo.get(Status.PRONTO).size());
+        assertEquals("Relatório semanal nº 1399", intervalo.get(Status.PRONTO).get(299).getDescricao());
+        assertEquals("Relatório semanal nº 1100", intervalo.get(Status.PRONTO).get(0).getDescricao());
+        assertTrue(intervalo.get(Status.AFAZER).isEmpty());
+
+        // Pela data de conclusão: só o último bloco de "Pronto"; as pendentes nem são lidas
+        PersistenciaComprimida porConclusao = new PersistenciaComprimida();
+        Map<Status, List<Tarefa>> concluidas = porConclusao.carregar(arquivo, EnumSet.allOf(Status.class),
+                Long.MIN_VALUE, Long.MAX_VALUE, 2600 * dia, 3000 * dia);
+        assertEquals(1, porConclusao.getBlocosLidos());
+        assertEquals(400, concluidas.get(Status.PRONTO).size());
+        assertEquals("Relatório semanal nº 2600", concluidas.get(Status.PRONTO).get(0).getDescricao());
+        assertTrue(concluidas.get(Status.AFAZER).isEmpty());
+
+        try (Stream<Tarefa> lidas = filtrada.ler(arquivo)) {
+            assertEquals(3100, lidas.count());
+        }
+
+        // Sem o índice no final (salvamento interrompido), o arquivo é recusado
+        Files.write(Path.of(arquivo), Arrays.copyOf(Files.readAllBytes(Path.of(arquivo)), 4000));
+        assertThrows(IllegalArgumentException.class, () -> new PersistenciaComprimida().carregar(arquivo));
+    }
+
+    @Test
+    void testPersistenciaComprimidaRecusaBlocoOuIndiceCorrompido() throws Exception {
+        String arquivo = dir.resolve("tarefas.gtz").toString();
+        Map<Status, List<Tarefa>> tarefas = new EnumMap<>(Status.class);
+        for (Status status : Status.values()) {
+            tarefas.put(status, new ArrayList<>());
+        }
+        for (int i = 0; i < 100; i++) {
+            tarefas.get(Status.AFAZER).add(new Tarefa("Pendente " + i));
+            tarefas.get(Status.PRONTO).add(new Tarefa(UUID.randomUUID(), "Pronta " + i,
+                    new Date(i * 1000L), new Date(i * 1000L + 1), Status.PRONTO));
+        }
+        new PersistenciaComprimida(50, Deflater.DEFAULT_COMPRESSION).salvar(tarefas, arquivo);
+        Path caminho = Path.of(arquivo);
+        byte[] original = Files.readAllBytes(caminho);
+
+        // Estraga o começo do primeiro bloco ("A Fazer"), logo depois do cabeçalho
+        byte[] corrompido = original.clone();
+        for (int i = 6; i < 16; i++) {
+            corrompido[i] = (byte) 0xFF;
+        }
+        Files.write(caminho, corrompido);
+        assertThrows(IllegalArgumentException.class, () -> new PersistenciaComprimida().carregar(arquivo));
+        try (Stream<Tarefa> lidas = new PersistenciaComprimida().ler(arquivo)) {
+            assertThrows(IllegalArgumentException.class, lidas::count);
+        }
+
+        // Quem pula o bloco estragado pelo índice nem percebe
+        PersistenciaComprimida filtrada = new PersistenciaComprimida();
+        Map<Status, List<Tarefa>> prontas = filtrada.carregar(arquivo, EnumSet.of(Status.PRONTO), 50_000, Long.MAX_VALUE);
+        assertEquals(1, filtrada.getBlocosLidos());
+        assertEquals(50, prontas.get(Status.PRONTO).size());
+        assertEquals("Pronta 50", prontas.get(Status.PRONTO).get(0).getDescricao());
+
+        // Status fora do enum na primeira entrada do índice
+        ByteBuffer rodape = ByteBuffer.wrap(original, original.length - 12, 12);
+        int entrada = (int) rodape.getLong() + 4;
+        corrompido = original.clone();
+        corrompido[entrada + 8 + 4 + 4] = 42;
+        Files.write(caminho, corrompido);
+        assertThrows(IllegalArgumentException.class, () -> new PersistenciaComprimida().carregar(arquivo));
+
+        // Bloco apontando para além do índice
+        corrompido = original.clone();
+        ByteBuffer.wrap(corrompido).putLong(entrada, original.length);
+        Files.write(caminho, corrompido);
+        assertThrows(IllegalArgumentException.class, () -> new PersistenciaComprimida().carregar(arquivo));
+
+        // Arquivo que nem existe: só o aviso e listas vazias
+        Files.delete(caminho);
+        assertTrue(new PersistenciaComprimida().carregar(arquivo).values().stream().allMatch(List::isEmpty));
+    }
+}
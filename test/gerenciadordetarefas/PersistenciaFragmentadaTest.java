@@ -0,0 +1,134 @@
+package gerenciadordetarefas;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+class PersistenciaFragmentadaTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testPersistenciaFragmentadaReescreveSoFragmentosAlterados() throws Exception {
+        String arquivo = dir.resolve("tarefas.fragmentos").toString();
+        GerenciadorTarefas gt = new GerenciadorTarefas();
+        for (int i = 0; i < 1000; i++) {
+            Tarefa tarefa = gt.adicionarTarefa("Tarefa " + i);
+            if (i % 3 == 1) {
+                gt.moverTarefa(tarefa, Status.FAZENDO);
+            }
+        }
+        PersistenciaFragmentada persistencia = new PersistenciaFragmentada(8);
+        persistencia.salvar(gt.getTodasTarefas(), arquivo);
+        assertEquals(16, persistencia.getFragmentosEscritos()); // "Pronto" está vazio
+
+        persistencia.salvar(gt.getTodasTarefas(), arquivo);
+        assertEquals(16, persistencia.getFragmentosEscritos());
+
+        // Um fragmento de "A Fazer" perde a tarefa e um de "Pronto" a recebe; a remoção muda só um de "Fazendo"
+        gt.moverTarefa(gt.getTarefasPorStatus(Status.AFAZER).get(100), Status.PRONTO);
+        gt.removerTarefa(gt.getTarefasPorStatus(Status.FAZENDO).get(0));
+        persistencia.salvar(gt.getTodasTarefas(), arquivo);
+        assertEquals(19, persistencia.getFragmentosEscritos());
+
+        // Uma instância nova carrega na mesma ordem e continua salvando só o que mudou
+        PersistenciaFragmentada outra = new PersistenciaFragmentada(8);
+        Map<Status, List<Tarefa>> carregadas = outra.carregar(arquivo);
+        for (Status status : Status.values()) {
+            List<Tarefa> esperadas = gt.getTarefasPorStatus(status);
+            assertEquals(esperadas.size(), carregadas.get(status).size());
+            for (int i = 0; i < esperadas.size(); i++) {
+                assertEquals(esperadas.get(i).getId(), carregadas.get(status).get(i).getId());
+                assertEquals(esperadas.get(i).getDescricao(), carregadas.get(status).get(i).getDescricao());
+            }
+        }
+        gt.editarDescricao(gt.getTarefasPorStatus(Status.FAZENDO).get(10), "Editada");
+        outra.salvar(gt.getTodasTarefas(), arquivo);
+        assertEquals(1, outra.getFragmentosEscritos());
+        assertEquals("Editada", new PersistenciaFragmentada(8).carregar(arquivo).get(Status.FAZENDO).get(10).getDescricao());
+
+        // Os fragmentos substituídos foram apagados
+        try (Stream<Path> fragmentos = Files.list(Path.of(arquivo + PersistenciaFragmentada.EXTENSAO_DIRETORIO))) {
+            assertEquals(17, fragmentos.count());
+        }
+    }
+
+    @Test
+    void testFragmentadaSemManifestoOuFragmentoCarregaVazio() throws Exception {
+        String arquivo = dir.resolve("tarefas.fragmentos").toString();
+        GerenciadorTarefas gt = criarGerenciador();
+        PersistenciaFragmentada persistencia = new PersistenciaFragmentada(8);
+        persistencia.salvar(gt.getTodasTarefas(), arquivo);
+
+        // Sem o manifesto não há o que carregar; a mesma instância volta a escrever tudo
+        Files.delete(Path.of(arquivo));
+        assertTrue(new PersistenciaFragmentada(8).carregar(arquivo).values().stream().allMatch(List::isEmpty));
+        persistencia.salvar(gt.getTodasTarefas(), arquivo);
+        assertEquals(32, persistencia.getFragmentosEscritos());
+        assertEquals(gt.getTarefasPorStatus(Status.FAZENDO).size(),
+                new PersistenciaFragmentada(8).carregar(arquivo).get(Status.FAZENDO).size());
+
+        // Um fragmento listado no manifesto sumiu: nada é carregado, em vez de um quadro pela metade
+        Path fragmento = umFragmento(arquivo);
+        Files.delete(fragmento);
+        assertTrue(new PersistenciaFragmentada(8).carregar(arquivo).values().stream().allMatch(List::isEmpty));
+
+        // Uma instância sem memória deste manifesto reescreve todos os fragmentos, inclusive o que faltava
+        PersistenciaFragmentada outra = new PersistenciaFragmentada(8);
+        outra.salvar(gt.getTodasTarefas(), arquivo);
+        assertEquals(16, outra.getFragmentosEscritos());
+        Map<Status, List<Tarefa>> carregadas = new PersistenciaFragmentada(8).carregar(arquivo);
+        for (Status status : Status.values()) {
+            assertEquals(gt.getTarefasPorStatus(status).size(), carregadas.get(status).size());
+        }
+    }
+
+    @Test
+    void testFragmentadaRecusaManifestoOuFragmentoCorrompido() throws Exception {
+        String arquivo = dir.resolve("tarefas.fragmentos").toString();
+        GerenciadorTarefas gt = criarGerenciador();
+        new PersistenciaFragmentada(8).salvar(gt.getTodasTarefas(), arquivo);
+        Path manifesto = Path.of(arquivo);
+        byte[] manifestoOriginal = Files.readAllBytes(manifesto);
+
+        Files.write(manifesto, "GTFRAG 9\n".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IllegalArgumentException.class, () -> new PersistenciaFragmentada(8).carregar(arquivo));
+        Files.write(manifesto, "GTFRAG 1\ngeracao 1\nbaldes 8\nAFAZER 0\n".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IllegalArgumentException.class, () -> new PersistenciaFragmentada(8).carregar(arquivo));
+
+        // Manifesto de volta, mas um fragmento com uma linha sem a ordem
+        Files.write(manifesto, manifestoOriginal);
+        Path fragmento = umFragmento(arquivo);
+        Files.write(fragmento, "linha sem ordem\n".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        assertThrows(IllegalArgumentException.class, () -> new PersistenciaFragmentada(8).carregar(arquivo));
+        Files.write(fragmento, "x,linha,invalida\n".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IllegalArgumentException.class, () -> new PersistenciaFragmentada(8).carregar(arquivo));
+    }
+
+    private static GerenciadorTarefas criarGerenciador() {
+        GerenciadorTarefas gt = new GerenciadorTarefas();
+        for (int i = 0; i < 200; i++) {
+            Tarefa tarefa = gt.adicionarTarefa("Tarefa " + i);
+            if (i % 2 == 1) {
+                gt.moverTarefa(tarefa, Status.FAZENDO);
+            }
+        }
+        return gt;
+    }
+
+    private static Path umFragmento(String arquivo) throws IOException {
+        try (Stream<Path> fragmentos = Files.list(Path.of(arquivo + PersistenciaFragmentada.EXTENSAO_DIRETORIO))) {
+            return fragmentos.findFirst().orElseThrow();
+        }
+    }
+}
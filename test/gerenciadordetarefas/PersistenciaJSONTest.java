@@ -0,0 +1,93 @@
+package gerenciadordetarefas;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+class PersistenciaJSONTest {
+
+    private static final String ID = "123e4567-e89b-12d3-a456-426614174000";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testTodosOsEscapesGravadosVoltamIguais() throws Exception {
+        // Aspas, barra invertida, \n, \r, \t e os demais caracteres de controle (\\u00XX),
+        // além de caracteres fora do ASCII, que são gravados como estão
+        StringBuilder controles = new StringBuilder();
+        for (char c = 0; c < 0x20; c++) {
+            controles.append(c);
+        }
+        String descricao = "\"aspas\" \\barra\\ \\n literal\nquebra\r\ttab " + controles + " é € 😀 /";
+        Path arquivo = dir.resolve("tarefas.json");
+        Tarefa tarefa = new Tarefa(UUID.fromString(ID), descricao, new Date(0), null, Status.FAZENDO);
+        new PersistenciaJSON().salvar(Map.of(Status.FAZENDO, List.of(tarefa)), arquivo.toString());
+
+        String json = Files.readString(arquivo);
+        assertTrue(json.contains("\\\"aspas\\\" \\\\barra\\\\ \\\\n literal\\nquebra\\r\\ttab \\u0000\\u0001"), json);
+        assertTrue(json.contains("\\u001f é € 😀 /"), json);
+        assertEquals(descricao, carregarUnica(arquivo).getDescricao());
+    }
+
+    @Test
+    void testEscapesUnicodeNaLeitura() throws Exception {
+        // Maiúsculas e minúsculas, um par substituto (😀) e os escapes que salvar não gera
+        String descricao = "\\u00E9\\u00e9 \\ud83d\\ude00 \\u20AC \\/ \\b\\f \\u0041";
+        Tarefa tarefa = carregarUnica(escrever(documento(descricao)));
+        assertEquals("éé 😀 € / \b\f A", tarefa.getDescricao());
+
+        for (String invalido : List.of("\\u00G9", "\\u12\"")) {
+            Path arquivo = escrever(documento(invalido));
+            IllegalArgumentException erro = assertThrows(IllegalArgumentException.class, () -> carregarUnica(arquivo));
+            assertTrue(erro.getMessage().contains("escape \\u inválido"), erro.getMessage());
+        }
+    }
+
+    @Test
+    void testDocumentoTruncado() throws Exception {
+        String completo = documento("Primeira \\u00e9\\n");
+        assertEquals("Primeira é\n", carregarUnica(escrever(completo)).getDescricao());
+
+        // Cortado em cada posição: no meio de uma chave, de uma string, de um escape \\u,
+        // entre a tarefa e o ']' e antes do '}' final
+        for (int tamanho = 0; tamanho < completo.stripTrailing().length(); tamanho++) {
+            String truncado = completo.substring(0, tamanho);
+            if (truncado.isBlank()) {
+                continue;
+            }
+            Path arquivo = escrever(truncado);
+            IllegalArgumentException erro = assertThrows(IllegalArgumentException.class,
+                    () -> new PersistenciaJSON().carregar(arquivo.toString()), truncado);
+            assertTrue(erro.getMessage().startsWith("JSON inválido (linha "), erro.getMessage());
+        }
+    }
+
+    private static String documento(String descricaoEscapada) {
+        return "{\n  \"tarefas\": [\n    {\"id\": \"" + ID + "\", \"descricao\": \"" + descricaoEscapada
+                + "\", \"status\": \"AFAZER\", \"dataCriacao\": 1000, \"dataConclusao\": null}\n  ]\n}\n";
+    }
+
+    private Path escrever(String conteudo) throws Exception {
+        Path arquivo = Files.createTempFile(dir, "tarefas", ".json");
+        Files.write(arquivo, conteudo.getBytes(StandardCharsets.UTF_8));
+        return arquivo;
+    }
+
+    private static Tarefa carregarUnica(Path arquivo) {
+        Map<Status, List<Tarefa>> tarefas = new PersistenciaJSON().carregar(arquivo.toString());
+        List<Tarefa> todas = new ArrayList<>();
+        tarefas.values().forEach(todas::addAll);
+        assertEquals(1, todas.size());
+        return todas.get(0);
+    }
+}
@@ -0,0 +1,187 @@
+package gerenciadordetarefas;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+class PersistenciaJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testJournalReaplicaAlteracoesSobreOSnapshot() throws Exception {
+        Path arquivo = dir.resolve("tarefas.csv");
+        PersistenciaJournal journal = new PersistenciaJournal(new PersistenciaCSV());
+        GerenciadorTarefas gt = new GerenciadorTarefas();
+        gt.adicionarOuvinte(journal);
+        Tarefa primeira = gt.adicionarTarefa("Primeira");
+        Tarefa segunda = gt.adicionarTarefa("Segunda");
+        gt.adicionarTarefa("Terceira");
+        journal.gravar(gt.getTodasTarefas(), arquivo.toString()); // Sem snapshot: grava o arquivo inteiro
+        byte[] snapshot = Files.readAllBytes(arquivo);
+
+        gt.moverTarefa(primeira, Status.PRONTO);
+        gt.editarDescricao(segunda, "Segunda, editada");
+        gt.removerTarefa(gt.getTarefasPorStatus(Status.AFAZER).get(1));
+        Tarefa quarta = gt.adicionarTarefa("Quarta");
+        gt.moverTarefa(quarta, Status.FAZENDO);
+        journal.gravar(gt.getTodasTarefas(), arquivo.toString());
+
+        // Só o journal cresceu
+        assertArrayEquals(snapshot, Files.readAllBytes(arquivo));
+        assertTrue(Files.size(Path.of(arquivo + PersistenciaJournal.EXTENSAO_JOURNAL)) > 0);
+        assertEquals(descrever(gt.getTodasTarefas()), descrever(new PersistenciaJournal(new PersistenciaCSV()).carregar(arquivo.toString())));
+    }
+
+    @Test
+    void testCompactacaoReescreveOSnapshotEApagaOJournal() throws Exception {
+        Path arquivo = dir.resolve("tarefas.csv");
+        Path arquivoJournal = Path.of(arquivo + PersistenciaJournal.EXTENSAO_JOURNAL);
+        PersistenciaJournal journal = new PersistenciaJournal(new PersistenciaCSV(), 3);
+        GerenciadorTarefas gt = new GerenciadorTarefas();
+        gt.adicionarOuvinte(journal);
+        gt.adicionarTarefa("Primeira");
+        journal.gravar(gt.getTodasTarefas(), arquivo.toString());
+
+        gt.adicionarTarefa("Segunda");
+        gt.adicionarTarefa("Terceira");
+        journal.gravar(gt.getTodasTarefas(), arquivo.toString());
+        assertTrue(Files.exists(arquivoJournal));
+
+        // O limite de 3 registros foi atingido: o próximo salvamento compacta
+        gt.moverTarefa(gt.getTarefasPorStatus(Status.AFAZER).get(0), Status.PRONTO);
+        journal.gravar(gt.getTodasTarefas(), arquivo.toString());
+        assertFalse(Files.exists(arquivoJournal));
+        assertFalse(Files.exists(Path.of(arquivo + ".tmp")));
+        assertEquals(descrever(gt.getTodasTarefas()), descrever(new PersistenciaCSV().carregar(arquivo.toString())));
+    }
+
+    @Test
+    void testCompactacaoQueFalhaMantemSnapshotEJournal() throws Exception {
+        Path arquivo = dir.resolve("tarefas.csv");
+        Path arquivoJournal = Path.of(arquivo + PersistenciaJournal.EXTENSAO_JOURNAL);
+        boolean[] falhar = {false};
+        // Grava metade do arquivo e falha, como num disco cheio
+        PersistenciaTarefas snapshot = new PersistenciaCSV() {
+            @Override
+            public void gravar(Map<Status, List<Tarefa>> tarefas, String destino) throws IOException {
+                super.gravar(tarefas, destino);
+                if (falhar[0]) {
+                    try (RandomAccessFile arquivoParcial = new RandomAccessFile(destino, "rw")) {
+                        arquivoParcial.setLength(arquivoParcial.length() / 2);
+                    }
+                    throw new IOException("Disco cheio");
+                }
+            }
+        };
+        PersistenciaJournal journal = new PersistenciaJournal(snapshot, 2);
+        GerenciadorTarefas gt = new GerenciadorTarefas();
+        gt.adicionarOuvinte(journal);
+        gt.adicionarTarefa("Primeira");
+        journal.gravar(gt.getTodasTarefas(), arquivo.toString());
+        gt.adicionarTarefa("Segunda");
+        journal.gravar(gt.getTodasTarefas(), arquivo.toString());
+        Map<String, List<String>> salvas = descrever(gt.getTodasTarefas());
+        byte[] snapshotAntes = Files.readAllBytes(arquivo);
+        byte[] journalAntes = Files.readAllBytes(arquivoJournal);
+
+        gt.adicionarTarefa("Terceira");
+        falhar[0] = true;
+        assertThrows(IOException.class, () -> journal.gravar(gt.getTodasTarefas(), arquivo.toString()));
+        assertArrayEquals(snapshotAntes, Files.readAllBytes(arquivo));
+        assertArrayEquals(journalAntes, Files.readAllBytes(arquivoJournal));
+        assertFalse(Files.exists(Path.of(arquivo + ".tmp")));
+        assertEquals(salvas, descrever(new PersistenciaJournal(new PersistenciaCSV()).carregar(arquivo.toString())));
+
+        // A alteração continua pendente e entra na próxima compactação
+        falhar[0] = false;
+        journal.gravar(gt.getTodasTarefas(), arquivo.toString());
+        assertFalse(Files.exists(arquivoJournal));
+        assertEquals(descrever(gt.getTodasTarefas()), descrever(new PersistenciaCSV().carregar(arquivo.toString())));
+    }
+
+    @Test
+    void testUltimoRegistroIncompletoEDescartado() throws Exception {
+        Path arquivo = dir.resolve("tarefas.csv");
+        Path arquivoJournal = Path.of(arquivo + PersistenciaJournal.EXTENSAO_JOURNAL);
+        PersistenciaJournal journal = new PersistenciaJournal(new PersistenciaCSV());
+        GerenciadorTarefas gt = new GerenciadorTarefas();
+        gt.adicionarOuvinte(journal);
+        Tarefa tarefa = gt.adicionarTarefa("Primeira");
+        journal.gravar(gt.getTodasTarefas(), arquivo.toString());
+        gt.moverTarefa(tarefa, Status.FAZENDO);
+        journal.gravar(gt.getTodasTarefas(), arquivo.toString());
+        long completo = Files.size(arquivoJournal);
+        Map<String, List<String>> salvas = descrever(gt.getTodasTarefas());
+
+        // Queda no meio da gravação do registro seguinte
+        gt.adicionarTarefa("Segunda, com uma descrição comprida");
+        journal.gravar(gt.getTodasTarefas(), arquivo.toString());
+        try (RandomAccessFile arquivoJournalParcial = new RandomAccessFile(arquivoJournal.toFile(), "rw")) {
+            arquivoJournalParcial.setLength(Files.size(arquivoJournal) - 5);
+        }
+
+        PersistenciaJournal recarregado = new PersistenciaJournal(new PersistenciaCSV());
+        Map<Status, List<Tarefa>> carregadas = recarregado.carregar(arquivo.toString());
+        assertEquals(salvas, descrever(carregadas));
+        assertEquals(completo, Files.size(arquivoJournal)); // Cortado no último registro inteiro
+
+        // Os próximos registros são anexados depois do último registro válido
+        GerenciadorTarefas depois = new GerenciadorTarefas(carregadas.get(Status.AFAZER),
+                carregadas.get(Status.FAZENDO), carregadas.get(Status.PRONTO));
+        depois.adicionarOuvinte(recarregado);
+        depois.adicionarTarefa("Terceira");
+        recarregado.gravar(depois.getTodasTarefas(), arquivo.toString());
+        assertEquals(descrever(depois.getTodasTarefas()), descrever(new PersistenciaJournal(new PersistenciaCSV()).carregar(arquivo.toString())));
+    }
+
+    @Test
+    void testJournalCorrompidoInformaORegistro() throws Exception {
+        Path arquivo = dir.resolve("tarefas.csv");
+        Path arquivoJournal = Path.of(arquivo + PersistenciaJournal.EXTENSAO_JOURNAL);
+        PersistenciaJournal journal = new PersistenciaJournal(new PersistenciaCSV());
+        GerenciadorTarefas gt = new GerenciadorTarefas();
+        gt.adicionarOuvinte(journal);
+        Tarefa tarefa = gt.adicionarTarefa("Primeira");
+        journal.gravar(gt.getTodasTarefas(), arquivo.toString());
+        gt.moverTarefa(tarefa, Status.PRONTO);
+        journal.gravar(gt.getTodasTarefas(), arquivo.toString());
+
+        // Registro de movimentação: tipo (1 byte), id (16), status de destino (1), conclusão (8)
+        byte[] bytes = Files.readAllBytes(arquivoJournal);
+        bytes[17] = 42;
+        Files.write(arquivoJournal, bytes);
+        IllegalArgumentException erro = assertThrows(IllegalArgumentException.class,
+                () -> new PersistenciaJournal(new PersistenciaCSV()).carregar(arquivo.toString()));
+        assertTrue(erro.getMessage().contains("Journal corrompido no registro 1"), erro.getMessage());
+
+        bytes[0] = 'Z';
+        Files.write(arquivoJournal, bytes);
+        assertThrows(IllegalArgumentException.class,
+                () -> new PersistenciaJournal(new PersistenciaCSV()).carregar(arquivo.toString()));
+    }
+
+    // Status -> "descrição (id)" na ordem das listas
+    private static Map<String, List<String>> descrever(Map<Status, List<Tarefa>> tarefas) {
+        Map<String, List<String>> descricao = new TreeMap<>();
+        for (Status status : Status.values()) {
+            List<String> linhas = new ArrayList<>();
+            for (Tarefa tarefa : tarefas.getOrDefault(status, List.of())) {
+                assertEquals(status, tarefa.getStatus());
+                linhas.add(tarefa.getDescricao() + " (" + tarefa.getId() + ")");
+            }
+            descricao.put(status.name(), linhas);
+        }
+        return descricao;
+    }
+}
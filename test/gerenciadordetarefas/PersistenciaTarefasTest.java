@@ -1,16 +1,27 @@
 package gerenciadordetarefas;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 class PersistenciaTarefasTest {
 
+    @TempDir
+    Path dir;
+
     @Test
     void testSalvarECarregarTarefas() throws Exception {
-        PersistenciaTarefas persistencia = new PersistenciaTarefas();
-        Path tempFile = java.nio.file.Files.createTempFile("test-tarefas", ".csv");
+        PersistenciaTarefas persistencia = new PersistenciaCSV();
+        Path tempFile = Files.createTempFile(dir, "test-tarefas", ".csv");
         
         // Criação de dados de teste
         GerenciadorTarefas gt = new GerenciadorTarefas();
@@ -18,14 +29,164 @@ class PersistenciaTarefasTest {
         gt.adicionarTarefa("Tarefa Teste 2");
         
         // Teste de salvamento
-        persistencia.salvarTarefas(gt.getTodasTarefas(), tempFile.toString());
+        persistencia.salvar(gt.getTodasTarefas(), tempFile.toString());
         
         // Teste de carregamento
-        Map<Status, List<Tarefa>> carregadas = persistencia.carregarTarefas(tempFile.toString());
+        Map<Status, List<Tarefa>> carregadas = persistencia.carregar(tempFile.toString());
         
         assertEquals(2, carregadas.values().stream().mapToInt(List::size).sum());
-        
-        // Limpeza
-        java.nio.file.Files.deleteIfExists(tempFile);
+    }
+
+    @Test
+    void testFormatosPreservamAsTarefas() throws Exception {
+        GerenciadorTarefas gt = new GerenciadorTarefas();
+        gt.adicionarTarefa("Simples");
+        Tarefa especial = gt.adicionarTarefa("Aspas \" barra \\ e acentuação");
+        gt.moverTarefa(especial, Status.PRONTO);
+        gt.moverTarefa(gt.adicionarTarefa("Em andamento"), Status.FAZENDO);
+
+        PersistenciaTarefas[] formatos = {
+            new PersistenciaCSV(), new PersistenciaCSV(true), new PersistenciaJSON(), new PersistenciaBinaria(),
+            new PersistenciaComprimida()
+        };
+        for (PersistenciaTarefas persistencia : formatos) {
+            Path tempFile = Files.createTempFile(dir, "test-tarefas", ".dat");
+            persistencia.salvar(gt.getTodasTarefas(), tempFile.toString());
+            Map<Status, List<Tarefa>> carregadas = persistencia.carregar(tempFile.toString());
+
+            for (Status status : Status.values()) {
+                List<Tarefa> originais = gt.getTarefasPorStatus(status);
+                assertEquals(originais.size(), carregadas.get(status).size(), persistencia.getClass().getSimpleName());
+                for (int i = 0; i < originais.size(); i++) {
+                    assertEquals(originais.get(i).getId(), carregadas.get(status).get(i).getId());
+                    assertEquals(originais.get(i).getDescricao(), carregadas.get(status).get(i).getDescricao());
+                    assertEquals(originais.get(i).getDataConclusao() == null, carregadas.get(status).get(i).getDataConclusao() == null);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testCSVMapeadoInformaLinhaInvalida() throws Exception {
+        Path tempFile = Files.createTempFile(dir, "test-tarefas", ".csv");
+        Files.write(tempFile, "linha,invalida\n".getBytes(StandardCharsets.UTF_8));
+
+        IllegalArgumentException erro = assertThrows(IllegalArgumentException.class,
+                () -> new PersistenciaCSV(true).carregar(tempFile.toString()));
+        assertTrue(erro.getMessage().contains("linha 1, byte 0"));
+    }
+
+    @Test
+    void testLeituraEEscritaIncrementaisConvertemArquivos() throws Exception {
+        String csv = dir.resolve("tarefas.csv").toString();
+        String json = dir.resolve("prontas.json").toString();
+        GerenciadorTarefas gt = new GerenciadorTarefas();
+        for (int i = 0; i < 3000; i++) {
+            Tarefa tarefa = gt.adicionarTarefa("Tarefa, número " + i);
+            if (i % 3 == 0) {
+                gt.moverTarefa(tarefa, Status.PRONTO);
+            }
+        }
+
+        // Grava tarefa a tarefa e confere que o arquivo é o mesmo de salvar()
+        try (EscritorTarefas escritor = new PersistenciaCSV().abrirEscritor(csv)) {
+            for (List<Tarefa> lista : gt.getTodasTarefas().values()) {
+                for (Tarefa tarefa : lista) {
+                    escritor.escrever(tarefa);
+                }
+            }
+        }
+        String inteiro = dir.resolve("inteiro.csv").toString();
+        new PersistenciaCSV().salvar(gt.getTodasTarefas(), inteiro);
+        assertArrayEquals(Files.readAllBytes(Path.of(inteiro)), Files.readAllBytes(Path.of(csv)));
+
+        // Converte só as prontas de CSV (mapeado) para JSON, sem montar o mapa
+        for (PersistenciaTarefas origem : List.of(new PersistenciaCSV(), new PersistenciaCSV(true))) {
+            try (Stream<Tarefa> tarefas = origem.ler(csv);
+                 EscritorTarefas escritor = new PersistenciaJSON().abrirEscritor(json)) {
+                for (Tarefa tarefa : (Iterable<Tarefa>) tarefas.filter(t -> t.getStatus() == Status.PRONTO)::iterator) {
+                    escritor.escrever(tarefa);
+                }
+            }
+            Map<Status, List<Tarefa>> convertidas = new PersistenciaJSON().carregar(json);
+            List<Tarefa> prontas = gt.getTarefasPorStatus(Status.PRONTO);
+            assertEquals(prontas.size(), convertidas.get(Status.PRONTO).size());
+            assertTrue(convertidas.get(Status.AFAZER).isEmpty());
+            for (int i = 0; i < prontas.size(); i++) {
+                assertEquals(prontas.get(i).getId(), convertidas.get(Status.PRONTO).get(i).getId());
+                assertEquals("Tarefa  número " + (i * 3), convertidas.get(Status.PRONTO).get(i).getDescricao());
+            }
+        }
+
+        // A leitura é sob demanda: um arquivo cortado ao meio só dá erro se o stream chegar ao corte
+        byte[] conteudo = Files.readAllBytes(Path.of(json));
+        Files.write(Path.of(json), Arrays.copyOf(conteudo, conteudo.length / 2));
+        try (Stream<Tarefa> tarefas = new PersistenciaJSON().ler(json)) {
+            assertEquals(gt.getTarefasPorStatus(Status.PRONTO).get(0).getId(), tarefas.findFirst().get().getId());
+        }
+        try (Stream<Tarefa> tarefas = new PersistenciaJSON().ler(json)) {
+            assertThrows(IllegalArgumentException.class, tarefas::count);
+        }
+
+        // Formatos sem leitura/escrita incremental usam as implementações padrão
+        String binario = dir.resolve("tarefas.bin").toString();
+        try (Stream<Tarefa> tarefas = new PersistenciaCSV().ler(csv);
+             EscritorTarefas escritor = new PersistenciaBinaria().abrirEscritor(binario)) {
+            for (Tarefa tarefa : (Iterable<Tarefa>) tarefas::iterator) {
+                escritor.escrever(tarefa);
+            }
+        }
+        try (Stream<Tarefa> tarefas = new PersistenciaBinaria().ler(binario)) {
+            assertEquals(3000, tarefas.count());
+        }
+        assertThrows(IOException.class, () -> new PersistenciaJSON().ler(dir.resolve("nao-existe.json").toString()));
+    }
+
+    @Test
+    void testCarregamentoSobDemandaSoDecodificaDescricoesUsadas() throws Exception {
+        String arquivo = dir.resolve("tarefas.csv").toString();
+        GerenciadorTarefas original = new GerenciadorTarefas();
+        for (int i = 0; i < 100; i++) {
+            Tarefa tarefa = original.adicionarTarefa("Descrição nº " + i);
+            if (i % 2 == 0) {
+                original.moverTarefa(tarefa, Status.PRONTO);
+            }
+        }
+        PersistenciaJournal journal = new PersistenciaJournal(new PersistenciaCSV(true, true), 5);
+        journal.salvar(original.getTodasTarefas(), arquivo);
+
+        Map<Status, List<Tarefa>> carregadas = journal.carregar(arquivo);
+        GerenciadorTarefas gt = new GerenciadorTarefas(carregadas.get(Status.AFAZER), carregadas.get(Status.FAZENDO), carregadas.get(Status.PRONTO));
+        gt.adicionarOuvinte(journal);
+        for (Status status : Status.values()) {
+            List<Tarefa> esperadas = original.getTarefasPorStatus(status);
+            for (int i = 0; i < esperadas.size(); i++) {
+                Tarefa tarefa = gt.getTarefasPorStatus(status).get(i);
+                assertInstanceOf(TarefaPreguicosa.class, tarefa);
+                assertEquals(esperadas.get(i).getDescricao(), tarefa.getDescricao());
+                assertEquals(esperadas.get(i).getDataConclusao(), tarefa.getDataConclusao());
+            }
+        }
+
+        // Editar guarda a nova descrição; as outras continuam vindo do arquivo
+        TarefaPreguicosa editada = (TarefaPreguicosa) gt.getTarefasPorStatus(Status.AFAZER).get(0);
+        gt.editarDescricao(editada, "Nova descrição");
+        assertTrue(editada.isDescricaoEditada());
+        assertFalse(((TarefaPreguicosa) gt.getTarefasPorStatus(Status.AFAZER).get(1)).isDescricaoEditada());
+        TarefaPreguicosa copia = editada.copiar();
+        assertEquals("Nova descrição", copia.getDescricao());
+
+        // Alterações suficientes para compactar: o snapshot é substituído por baixo do mapeamento
+        for (int i = 0; i < 6; i++) {
+            gt.moverTarefa(gt.getTarefasPorStatus(Status.PRONTO).get(0), Status.FAZENDO);
+        }
+        journal.salvar(gt.getTodasTarefas(), arquivo);
+        assertFalse(Files.exists(Path.of(arquivo + PersistenciaJournal.EXTENSAO_JOURNAL)));
+        assertEquals("Descrição nº 3", gt.getTarefasPorStatus(Status.AFAZER).get(1).getDescricao());
+
+        Map<Status, List<Tarefa>> recarregadas = new PersistenciaJournal(new PersistenciaCSV(true, true)).carregar(arquivo);
+        assertEquals("Nova descrição", recarregadas.get(Status.AFAZER).get(0).getDescricao());
+        assertEquals(6, recarregadas.get(Status.FAZENDO).size());
+        assertEquals("Descrição nº 0", recarregadas.get(Status.FAZENDO).get(0).getDescricao());
     }
 }
@@ -0,0 +1,190 @@
+package gerenciadordetarefas;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class SalvamentoAutomaticoTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testSalvamentoAutomaticoAgrupaAlteracoesEmSegundoPlano() throws Exception {
+        String csv = dir.resolve("tarefas.csv").toString();
+        String json = dir.resolve("tarefas.json").toString();
+        GerenciadorTarefas gt = new GerenciadorTarefas();
+        Tarefa inicial = gt.adicionarTarefa("Já existia");
+
+        // Destino lento: a primeira gravação fica presa no "disco" até o teste liberá-lo
+        AtomicInteger gravacoes = new AtomicInteger();
+        CountDownLatch gravando = new CountDownLatch(1);
+        CountDownLatch liberarDisco = new CountDownLatch(1);
+        AtomicBoolean primeiraTerminou = new AtomicBoolean();
+        PersistenciaTarefas lenta = new PersistenciaTarefas() {
+            private final PersistenciaTarefas json = new PersistenciaAtomica(new PersistenciaJSON());
+
+            @Override
+            public void salvar(Map<Status, List<Tarefa>> tarefas, String arquivo) {
+                if (gravacoes.incrementAndGet() == 1) {
+                    gravando.countDown();
+                    try {
+                        liberarDisco.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    primeiraTerminou.set(true);
+                }
+                json.salvar(tarefas, arquivo);
+            }
+
+            @Override
+            public Map<Status, List<Tarefa>> carregar(String arquivo) {
+                return json.carregar(arquivo);
+            }
+        };
+        PersistenciaJournal journal = new PersistenciaJournal(new PersistenciaCSV(true));
+        SalvamentoAutomatico salvamento = new SalvamentoAutomatico(gt.getTodasTarefas(), 50);
+        salvamento.adicionarOuvinte(journal);
+        salvamento.adicionarDestino(journal, csv);
+        salvamento.adicionarDestino(lenta, json);
+        gt.adicionarOuvinte(salvamento);
+
+        gt.editarDescricao(inicial, "Já existia (editada)");
+        assertTrue(gravando.await(10, TimeUnit.SECONDS));
+
+        // Com o primeiro salvamento preso, o gerenciador continua aceitando alterações
+        for (int i = 0; i < 200; i++) {
+            Tarefa tarefa = gt.adicionarTarefa("Tarefa " + i);
+            if (i % 3 == 0) {
+                gt.moverTarefa(tarefa, Status.PRONTO);
+            }
+            if (i % 7 == 0) {
+                gt.removerTarefa(tarefa);
+            }
+        }
+        gt.moverTarefa(inicial, Status.FAZENDO);
+        assertFalse(primeiraTerminou.get(), "O gerenciador esperou pelo disco");
+        assertEquals(1, gravacoes.get());
+
+        // Tudo o que chegou durante a gravação presa vai num único salvamento
+        liberarDisco.countDown();
+        salvamento.fechar();
+        assertEquals(2, gravacoes.get(), "Alterações não foram agrupadas");
+
+        for (Map<Status, List<Tarefa>> salvas : List.of(new PersistenciaJournal(new PersistenciaCSV(true)).carregar(csv),
+                new PersistenciaJSON().carregar(json))) {
+            for (Status status : Status.values()) {
+                List<Tarefa> esperadas = gt.getTarefasPorStatus(status);
+                assertEquals(esperadas.size(), salvas.get(status).size());
+                for (int i = 0; i < esperadas.size(); i++) {
+                    assertEquals(esperadas.get(i).getId(), salvas.get(status).get(i).getId());
+                    assertEquals(esperadas.get(i).getDescricao(), salvas.get(status).get(i).getDescricao());
+                }
+            }
+        }
+        assertFalse(Files.exists(Path.of(json + PersistenciaAtomica.EXTENSAO_TEMPORARIA)));
+    }
+
+    @Test
+    void testSalvamentoAutomaticoAplicaAlteracoesNaCopiaDeBase() throws Exception {
+        String csv = dir.resolve("tarefas.csv").toString();
+        String json = dir.resolve("tarefas.json").toString();
+        GerenciadorTarefas gt = new GerenciadorTarefas();
+        for (int i = 0; i < 50; i++) {
+            Tarefa tarefa = gt.adicionarTarefa("Inicial " + i);
+            gt.moverTarefa(tarefa, Status.values()[i % 3]);
+        }
+        PersistenciaJournal journal = new PersistenciaJournal(new PersistenciaCSV(true));
+        SalvamentoAutomatico salvamento = new SalvamentoAutomatico(gt.getTodasTarefas(), TimeUnit.MINUTES.toMillis(1));
+        salvamento.adicionarOuvinte(journal);
+        salvamento.adicionarDestino(journal, csv);
+        salvamento.adicionarDestino(new PersistenciaAtomica(new PersistenciaJSON()), json);
+        gt.adicionarOuvinte(salvamento);
+
+        // Várias rodadas, cada uma salva sobre a cópia de base deixada pela anterior
+        Random aleatorio = new Random(16);
+        for (int rodada = 0; rodada < 10; rodada++) {
+            for (int i = 0; i < 40; i++) {
+                List<Tarefa> todas = new ArrayList<>();
+                gt.getTodasTarefas().values().forEach(todas::addAll);
+                Tarefa tarefa = todas.get(aleatorio.nextInt(todas.size()));
+                switch (aleatorio.nextInt(4)) {
+                    case 0:
+                        gt.adicionarTarefa("Nova " + rodada + "-" + i);
+                        break;
+                    case 1:
+                        gt.moverTarefa(tarefa, Status.values()[aleatorio.nextInt(3)]);
+                        break;
+                    case 2:
+                        gt.editarDescricao(tarefa, tarefa.getDescricao() + " *");
+                        break;
+                    default:
+                        gt.removerTarefa(tarefa);
+                }
+            }
+            salvamento.salvarAgora();
+            salvamento.executar(() -> null).get(10, TimeUnit.SECONDS);
+
+            for (Map<Status, List<Tarefa>> salvas : List.of(new PersistenciaJournal(new PersistenciaCSV(true)).carregar(csv),
+                    new PersistenciaJSON().carregar(json))) {
+                for (Status status : Status.values()) {
+                    List<Tarefa> esperadas = gt.getTarefasPorStatus(status);
+                    assertEquals(esperadas.size(), salvas.get(status).size(), "Rodada " + rodada);
+                    for (int i = 0; i < esperadas.size(); i++) {
+                        assertEquals(esperadas.get(i).getId(), salvas.get(status).get(i).getId());
+                        assertEquals(esperadas.get(i).getDescricao(), salvas.get(status).get(i).getDescricao());
+                    }
+                }
+            }
+        }
+        salvamento.fechar();
+    }
+
+    @Test
+    void testSalvamentoAutomaticoNaoDecodificaDescricoesPreguicosas() throws Exception {
+        String csv = dir.resolve("tarefas.csv").toString();
+        String binario = dir.resolve("tarefas.bin").toString();
+        GerenciadorTarefas original = new GerenciadorTarefas();
+        for (int i = 0; i < 100; i++) {
+            original.adicionarTarefa("Descrição nº " + i);
+        }
+        new PersistenciaCSV().salvar(original.getTodasTarefas(), csv);
+        Map<Status, List<Tarefa>> carregadas = new PersistenciaCSV(true, true).carregar(csv);
+        GerenciadorTarefas gt = new GerenciadorTarefas(carregadas.get(Status.AFAZER), carregadas.get(Status.FAZENDO), carregadas.get(Status.PRONTO));
+        assertInstanceOf(TarefaPreguicosa.class, gt.getTarefasPorStatus(Status.AFAZER).get(0));
+
+        // Criar o salvamento, alterar e gravar a cópia de base e o binário não decodifica nada
+        long decodificacoes = TarefaPreguicosa.getDecodificacoes();
+        SalvamentoAutomatico salvamento = new SalvamentoAutomatico(gt.getTodasTarefas(), 0);
+        salvamento.adicionarDestino(new PersistenciaAtomica(new PersistenciaBinaria()), binario);
+        gt.adicionarOuvinte(salvamento);
+        assertEquals(0, salvamento.getSalvamentos());
+        gt.moverTarefa(gt.getTarefasPorStatus(Status.AFAZER).get(10), Status.PRONTO);
+        salvamento.executar(() -> null).get(10, TimeUnit.SECONDS);
+        gt.moverTarefa(gt.getTarefasPorStatus(Status.AFAZER).get(20), Status.FAZENDO);
+        salvamento.fechar();
+        assertEquals(2, salvamento.getSalvamentos());
+        assertEquals(decodificacoes, TarefaPreguicosa.getDecodificacoes());
+        for (Tarefa tarefa : gt.getTarefasPorStatus(Status.AFAZER)) {
+            assertFalse(((TarefaPreguicosa) tarefa).isDescricaoEditada());
+        }
+
+        Map<Status, List<Tarefa>> salvas = new PersistenciaBinaria().carregar(binario);
+        assertEquals("Descrição nº 10", salvas.get(Status.PRONTO).get(0).getDescricao());
+        assertEquals("Descrição nº 21", salvas.get(Status.FAZENDO).get(0).getDescricao());
+        assertEquals(98, salvas.get(Status.AFAZER).size());
+        assertEquals("Descrição nº 99", salvas.get(Status.AFAZER).get(97).getDescricao());
+    }
+}
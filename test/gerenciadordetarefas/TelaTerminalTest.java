@@ -0,0 +1,48 @@
+package gerenciadordetarefas;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+class TelaTerminalTest {
+
+    @Test
+    void testReescreveSoAsDiferencas() {
+        ByteArrayOutputStream terminal = new ByteArrayOutputStream();
+        TelaTerminal tela = new TelaTerminal(terminal, StandardCharsets.UTF_8, 24, 80);
+        PrintStream saida = tela.getSaida();
+
+        saida.println("--- Menu ---");
+        saida.print("Escolha uma opção: ");
+        tela.apresentar();
+        tela.registrarEntrada("1");
+        assertEquals(List.of("--- Menu ---", "Escolha uma opção: 1", ""), tela.getQuadro());
+
+        // Mesmo quadro de novo: só a linha da opção digitada muda
+        terminal.reset();
+        tela.limpar();
+        saida.println("--- Menu ---");
+        saida.print("Escolha uma opção: ");
+        tela.apresentar();
+        String enviado = terminal.toString(StandardCharsets.UTF_8);
+        assertFalse(enviado.contains("Menu"));
+        assertFalse(enviado.contains("Escolha"));
+        assertTrue(enviado.contains("\u001B[2;20H\u001B[K")); // Apaga o "1" ecoado
+        assertTrue(enviado.contains("\u001B[3;1H\u001B[J")); // Apaga as linhas abaixo
+
+        // Quadro maior que o terminal: redesenho completo, em sequência
+        terminal.reset();
+        tela.limpar();
+        for (int i = 0; i < 30; i++) {
+            saida.println("Linha " + i);
+        }
+        tela.apresentar();
+        enviado = terminal.toString(StandardCharsets.UTF_8);
+        assertTrue(enviado.startsWith("\u001B[H\u001B[2J"));
+        assertTrue(enviado.contains("Linha 0") && enviado.contains("Linha 29"));
+    }
+}